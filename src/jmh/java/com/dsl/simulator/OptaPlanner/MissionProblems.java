@@ -0,0 +1,54 @@
+package com.dsl.simulator.OptaPlanner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Seeded mission planning problems for the benchmarks: one satellite per 20 tasks and twelve
+ * two-hour slots. Task durations average about two hours, so the larger problems are
+ * oversubscribed and solvers are compared on how far they cut the hard score.
+ */
+final class MissionProblems {
+
+    private MissionProblems() {
+    }
+
+    /**
+     * @param assigned start from a random assignment (for score calculation) instead of an
+     *                 uninitialized problem (for solving)
+     */
+    static MissionPlanningProblem generate(int taskCount, long seed, boolean assigned) {
+        Random random = new Random(seed);
+        List<SatelliteResource> satellites = new ArrayList<>();
+        for (int i = 0; i < Math.max(2, taskCount / 20); i++) {
+            satellites.add(SatelliteResource.builder()
+                    .satelliteId("SAT_" + i).name("Sat " + i)
+                    .maxPower(1000).maxFuel(100).operational(true).build());
+        }
+        List<TimeSlot> slots = new ArrayList<>();
+        for (int hour = 0; hour < 24; hour += 2) {
+            slots.add(TimeSlot.builder().startHour(hour).endHour(hour + 2).build());
+        }
+        List<MissionTask> tasks = new ArrayList<>();
+        for (int i = 0; i < taskCount; i++) {
+            MissionTask task = MissionTask.builder()
+                    .taskId("TASK_" + i)
+                    .taskType("EARTH_OBSERVATION")
+                    .durationMinutes(30 + random.nextInt(180))
+                    .requiredPower(100 + random.nextInt(400))
+                    .requiredFuel(random.nextInt(30))
+                    .build();
+            if (assigned) {
+                task.setAssignedSatellite(satellites.get(random.nextInt(satellites.size())));
+                task.setAssignedTimeSlot(slots.get(random.nextInt(slots.size())));
+            }
+            tasks.add(task);
+        }
+        return MissionPlanningProblem.builder()
+                .taskList(tasks)
+                .satelliteList(satellites)
+                .timeSlotList(slots)
+                .build();
+    }
+}
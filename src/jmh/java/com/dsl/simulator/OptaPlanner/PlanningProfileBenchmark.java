@@ -0,0 +1,63 @@
+package com.dsl.simulator.OptaPlanner;
+
+import org.optaplanner.benchmark.api.PlannerBenchmarkFactory;
+import org.optaplanner.benchmark.config.PlannerBenchmarkConfig;
+import org.optaplanner.benchmark.config.SolverBenchmarkConfig;
+import org.optaplanner.core.config.solver.SolverConfig;
+
+import java.io.File;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * OptaPlanner Benchmarker run of every {@link PlanningProfile} on generated problems, from
+ * 100 to 10,000 tasks by default. Writes an HTML report (best score over time, score
+ * calculation speed, time to termination) under target/benchmarks.
+ *
+ * Run with
+ * {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark.main=com.dsl.simulator.OptaPlanner.PlanningProfileBenchmark -Djmh.args="100 1000 10000"};
+ * the arguments are the problem sizes. Each run is capped at
+ * {@code satops.planning.spent-limit-seconds} (default 30) and THOROUGH uses
+ * {@code satops.planning.move-thread-count} (default AUTO); set them as system properties,
+ * e.g. {@code JAVA_TOOL_OPTIONS="-Dsatops.planning.spent-limit-seconds=10"}.
+ */
+public final class PlanningProfileBenchmark {
+
+    private static final List<Integer> DEFAULT_SIZES = List.of(100, 1000, 5000, 10000);
+
+    private PlanningProfileBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        List<Integer> sizes = args.length > 0
+                ? Arrays.stream(args).map(Integer::parseInt).toList()
+                : DEFAULT_SIZES;
+        Duration spentLimit = Duration.ofSeconds(Long.getLong("satops.planning.spent-limit-seconds", 30));
+        String moveThreadCount = System.getProperty("satops.planning.move-thread-count", "AUTO");
+
+        SolverConfig base = SolverConfig.createFromXmlResource("solver-config.xml");
+        List<SolverBenchmarkConfig> solvers = new ArrayList<>();
+        for (PlanningProfile profile : PlanningProfile.values()) {
+            solvers.add(new SolverBenchmarkConfig()
+                    .withName(profile.name())
+                    .withSolverConfig(profile.configure(base, spentLimit, moveThreadCount)));
+        }
+
+        // One benchmark at a time, so THOROUGH's move threads do not compete with other runs
+        PlannerBenchmarkConfig config = new PlannerBenchmarkConfig()
+                .withName("Mission planning profiles")
+                .withBenchmarkDirectory(new File("target/benchmarks"))
+                .withParallelBenchmarkCount("1")
+                .withWarmUpSecondsSpentLimit(Math.min(10L, spentLimit.toSeconds()))
+                .withSolverBenchmarkConfigList(solvers);
+
+        List<MissionPlanningProblem> problems = sizes.stream()
+                .map(size -> MissionProblems.generate(size, 42, false))
+                .toList();
+
+        File report = PlannerBenchmarkFactory.create(config).buildPlannerBenchmark(problems).benchmark();
+        System.out.println("Benchmark report: " + report.getAbsolutePath());
+    }
+}
@@ -0,0 +1,84 @@
+package com.dsl.simulator.OptaPlanner;
+
+import org.optaplanner.core.api.solver.SolverFactory;
+import org.optaplanner.core.config.solver.SolverConfig;
+import org.optaplanner.core.impl.score.director.InnerScoreDirector;
+import org.optaplanner.core.impl.solver.DefaultSolverFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Incremental score calculation speed of {@link MissionConstraintProvider}, measured the way
+ * local search drives it: reassign one task, then recalculate the score. The result in
+ * ops/s is the solver's score calculation speed for that problem size.
+ *
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec -Djmh.args="ScoreCalculationBenchmark"}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ScoreCalculationBenchmark {
+
+    @Param({"500", "2000", "5000"})
+    public int tasks;
+
+    private InnerScoreDirector<MissionPlanningProblem, ?> scoreDirector;
+    private List<MissionTask> taskList;
+    private List<SatelliteResource> satellites;
+    private List<TimeSlot> slots;
+    private Random random;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        random = new Random(17);
+        MissionPlanningProblem problem = MissionProblems.generate(tasks, 17, true);
+        taskList = problem.getTaskList();
+        satellites = problem.getSatelliteList();
+        slots = problem.getTimeSlotList();
+
+        DefaultSolverFactory<MissionPlanningProblem> solverFactory = (DefaultSolverFactory<MissionPlanningProblem>)
+                SolverFactory.<MissionPlanningProblem>create(SolverConfig.createFromXmlResource("solver-config.xml"));
+        scoreDirector = solverFactory.getScoreDirectorFactory().buildScoreDirector();
+        scoreDirector.setWorkingSolution(problem);
+        scoreDirector.calculateScore();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        scoreDirector.close();
+    }
+
+    @Benchmark
+    public Object reassignAndScore() {
+        MissionTask task = taskList.get(random.nextInt(taskList.size()));
+        if (random.nextBoolean()) {
+            scoreDirector.beforeVariableChanged(task, "assignedSatellite");
+            task.setAssignedSatellite(satellites.get(random.nextInt(satellites.size())));
+            scoreDirector.afterVariableChanged(task, "assignedSatellite");
+        } else {
+            scoreDirector.beforeVariableChanged(task, "assignedTimeSlot");
+            task.setAssignedTimeSlot(slots.get(random.nextInt(slots.size())));
+            scoreDirector.afterVariableChanged(task, "assignedTimeSlot");
+        }
+        scoreDirector.triggerVariableListeners();
+        return scoreDirector.calculateScore();
+    }
+}
@@ -0,0 +1,91 @@
+package com.dsl.simulator.RealAI;
+
+import com.dsl.simulator.Service.MissionControlService;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Whole-fleet AI analysis: one batched forward pass per model vs. one analysis per satellite.
+ *
+ * Both paths go through {@link FleetAnalysisService#analyze}, the per-satellite one with a
+ * fleet of one at a time, so features, scoring and ranking are identical and only the batching
+ * differs. Mission control is stubbed with no live subsystem state, so every satellite uses
+ * its deterministic synthetic features. Weights come from {@code -Dsatops.models.dir} as in
+ * {@link InferenceBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class FleetAnalysisBenchmark {
+
+    @Param({"1", "100", "1000"})
+    public int satellites;
+
+    @Param({"batched", "per-satellite"})
+    public String path;
+
+    private ModelRegistry registry;
+    private InferenceService inferenceService;
+    private FleetAnalysisService fleetAnalysis;
+    private List<String> satelliteIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        registry = new ModelRegistry(System.getProperty("satops.models.dir", "./models"), 3, false, 1, 4, 5000);
+        InferenceRuntime runtime = new InferenceRuntime(0, true, 4, false);
+        inferenceService = new InferenceService(runtime, 1, 1, 0, 16);
+
+        SatelliteHealthPredictor health = new SatelliteHealthPredictor(registry, inferenceService);
+        AnomalyDetectionNetwork anomaly = new AnomalyDetectionNetwork(registry, inferenceService, runtime);
+        PatternRecognitionLSTM patterns = new PatternRecognitionLSTM(registry, inferenceService);
+        CollisionRiskClassifier collision = new CollisionRiskClassifier(registry, inferenceService);
+        for (ManagedModel model : List.of(health.getManagedModel(), anomaly.getManagedModel(),
+                patterns.getManagedModel(), collision.getManagedModel())) {
+            model.get();
+        }
+        fleetAnalysis = new FleetAnalysisService(Mockito.mock(MissionControlService.class),
+                health, anomaly, patterns, collision);
+
+        satelliteIds = new ArrayList<>(satellites);
+        for (int i = 0; i < satellites; i++) {
+            satelliteIds.add("SAT-" + i);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        inferenceService.shutdown();
+        registry.shutdown();
+    }
+
+    @Benchmark
+    public Object analyze() {
+        if ("batched".equals(path)) {
+            return fleetAnalysis.analyze(satelliteIds);
+        }
+        List<FleetAnalysisReport> reports = new ArrayList<>(satellites);
+        for (String satelliteId : satelliteIds) {
+            reports.add(fleetAnalysis.analyze(List.of(satelliteId)));
+        }
+        return reports;
+    }
+}
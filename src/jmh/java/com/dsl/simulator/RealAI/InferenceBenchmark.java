@@ -0,0 +1,118 @@
+package com.dsl.simulator.RealAI;
+
+import org.deeplearning4j.nn.multilayer.MultiLayerNetwork;
+import org.nd4j.linalg.factory.Nd4j;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-example latency of the four RealAI models, old allocating path vs. workspace session.
+ *
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec}; the profile adds {@code -prof gc},
+ * so each result comes with {@code gc.alloc.rate.norm} (bytes allocated per inference). Every
+ * off-heap ND4J allocation also creates heap-side buffer objects, so that figure tracks
+ * native allocations as well.
+ *
+ * Weights come from {@code -Dsatops.models.dir} (default ./models), the same registry the
+ * application uses; missing models are trained once and saved there.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class InferenceBenchmark {
+
+    @Param({"health-predictor", "collision-risk", "anomaly-detector", "pattern-lstm"})
+    public String model;
+
+    @Param({"allocating", "workspace"})
+    public String path;
+
+    private static final Map<String, long[]> EXAMPLE_SHAPES = Map.of(
+            "health-predictor", new long[]{6},
+            "collision-risk", new long[]{7},
+            "anomaly-detector", new long[]{8},
+            "pattern-lstm", new long[]{4, 24});
+
+    private ModelRegistry registry;
+    private InferenceService inferenceService;
+    private ManagedModel.Lease replica;
+    private MultiLayerNetwork network;
+    private InferenceSession session;
+
+    private double[] features;
+    private double[][] denseInput;
+    private double[][][] sequenceInput;
+    private double[] output;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        registry = new ModelRegistry(System.getProperty("satops.models.dir", "./models"), 3, false, 1, 4, 5000);
+        InferenceRuntime runtime = new InferenceRuntime(0, true, 4, false);
+        inferenceService = new InferenceService(runtime, 1, 1, 0, 16);
+
+        ManagedModel managed = switch (model) {
+            case "health-predictor" -> new SatelliteHealthPredictor(registry, inferenceService).getManagedModel();
+            case "collision-risk" -> new CollisionRiskClassifier(registry, inferenceService).getManagedModel();
+            case "anomaly-detector" -> new AnomalyDetectionNetwork(registry, inferenceService, runtime).getManagedModel();
+            case "pattern-lstm" -> new PatternRecognitionLSTM(registry, inferenceService).getManagedModel();
+            default -> throw new IllegalArgumentException("Unknown model " + model);
+        };
+        replica = managed.acquire();
+        network = replica.network();
+
+        long[] shape = EXAMPLE_SHAPES.get(model);
+        session = runtime.session(managed, 1, shape);
+
+        Random random = new Random(42);
+        features = new double[session.exampleSize()];
+        for (int i = 0; i < features.length; i++) features[i] = random.nextDouble();
+
+        if (shape.length == 1) {
+            denseInput = new double[][]{features};
+        } else {
+            int rows = (int) shape[0], steps = (int) shape[1];
+            sequenceInput = new double[1][rows][steps];
+            for (int r = 0; r < rows; r++) {
+                System.arraycopy(features, r * steps, sequenceInput[0][r], 0, steps);
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        session.release();
+        replica.close();
+        inferenceService.shutdown();
+        registry.shutdown();
+    }
+
+    @Benchmark
+    public double[] inference() {
+        if ("workspace".equals(path)) {
+            output = session.infer(features, output);
+            return output;
+        }
+        // The pre-workspace path: fresh input array, detached output, copy out
+        return denseInput != null
+                ? network.output(Nd4j.create(denseInput)).toDoubleVector()
+                : network.output(Nd4j.create(sequenceInput)).dup('c').data().asDouble();
+    }
+}
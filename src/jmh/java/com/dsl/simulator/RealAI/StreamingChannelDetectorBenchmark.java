@@ -0,0 +1,65 @@
+package com.dsl.simulator.RealAI;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-frame cost of the anomaly pre-filter's statistical screen, with the same channels and
+ * defaults as {@link AnomalyPrefilter}.
+ *
+ * Frames are replayed from a pre-generated buffer of noisy nominal telemetry, so the result
+ * includes the periodic median/MAD refresh (amortized over {@code robust-refresh} frames) but no
+ * input construction. The {@code -prof gc} column should read 0 bytes per operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class StreamingChannelDetectorBenchmark {
+
+    private static final int FRAMES = 4096;
+
+    private StreamingChannelDetector detector;
+    private double[][] frames;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        int channels = AnomalyPrefilter.CHANNEL_NAMES.length;
+        detector = new StreamingChannelDetector(channels, 0.05, 64, 16, 32, 4.0, 5.0, 0.5, 8.0);
+
+        Random random = new Random(42);
+        double[] nominal = {85, 20, 250};
+        double[] noise = {1.5, 2.0, 10};
+        frames = new double[FRAMES][channels];
+        for (int i = 0; i < FRAMES; i++) {
+            for (int c = 0; c < channels; c++) {
+                frames[i][c] = nominal[c] + noise[c] * random.nextGaussian();
+            }
+        }
+        for (double[] frame : frames) {
+            detector.update(frame);
+        }
+    }
+
+    @Benchmark
+    public int update() {
+        double[] frame = frames[next];
+        next = (next + 1) & (FRAMES - 1);
+        return detector.update(frame);
+    }
+}
@@ -95,6 +95,7 @@ statement:
     | forecastCollisionRiskStatement    #forecastCollisionRiskStatementAlt
     | generateEmergencyPlanStatement    #generateEmergencyPlanStatementAlt
     | analyzeConstellationStatement     #analyzeConstellationStatementAlt
+    | analyzeFleetStatement             #analyzeFleetStatementAlt
     ;
 
 // ===================================================================
@@ -329,6 +330,10 @@ generateEmergencyPlanStatement:
 analyzeConstellationStatement:
     'analyzeConstellation' ';';
 
+// Batched analysis of every active satellite; optional NUMBER = how many to list
+analyzeFleetStatement:
+    'analyzeFleet' NUMBER? ';';
+
 // --- HELPER RULES ---
 
 // Helper rule for list of IDs
@@ -2,14 +2,20 @@ package com.dsl.simulator.AI;
 
 import org.springframework.stereotype.Service;
 import lombok.extern.slf4j.Slf4j;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 
 import java.time.Instant;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 
+/**
+ * Orchestrates the AI engines for the DSL; the engines are also exposed for statements
+ * that use one of them directly.
+ */
 @Slf4j
 @Service
+@Getter
 @RequiredArgsConstructor
 public class AIMissionController {
 
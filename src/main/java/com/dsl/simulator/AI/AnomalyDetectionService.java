@@ -1,69 +1,89 @@
 package com.dsl.simulator.AI;
 
+import com.dsl.simulator.Service.MissionControlService;
+import com.dsl.simulator.Streaming.TelemetryHistory;
+import com.dsl.simulator.Streaming.TelemetrySeries;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import lombok.extern.slf4j.Slf4j;
 
 import java.time.Instant;
 import java.util.*;
 
+/**
+ * Anomalies from stored telemetry: robust (median/MAD) z-scores of the latest frame against
+ * the satellite's own history, and hard limits for the real-time critical checks.
+ */
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class AnomalyDetectionService {
 
+    private static final int MIN_SAMPLES = 16;
+    private static final double ANOMALY_Z = 3.5;
+    private static final double SECONDS_PER_DAY = 86_400;
+
+    // Hard limits for real-time critical anomalies
+    private static final double CRITICAL_BATTERY = 15;
+    private static final double CRITICAL_TEMPERATURE_HIGH = 60;
+    private static final double CRITICAL_TEMPERATURE_LOW = -30;
+    private static final double LINK_LOSS_DBM = -110;
+
+    private final TelemetryHistory history;
+    private final MissionControlService missionControlService;
+
+    /** Channel, anomaly type, display name, unit, likely cause, recommendation. */
+    private record Check(int channel, String type, String parameter, String unit, String cause, String recommendation) {
+    }
+
+    private static final List<Check> CHECKS = List.of(
+            new Check(TelemetryHistory.BATTERY, "POWER_ANOMALY", "Battery Level", "%",
+                    "Solar panel efficiency decrease or battery cell degradation",
+                    "Check solar panel orientation and battery health"),
+            new Check(TelemetryHistory.POWER, "POWER_ANOMALY", "Power Generation", "W",
+                    "Array pointing error or string failure",
+                    "Verify sun-pointing attitude and array string currents"),
+            new Check(TelemetryHistory.TEMPERATURE, "THERMAL_ANOMALY", "Temperature", "°C",
+                    "Thermal management system malfunction or high processing load",
+                    "Reduce processing load and check thermal control system"),
+            new Check(TelemetryHistory.SIGNAL, "COMMUNICATION_ANOMALY", "Signal Strength", "dBm",
+                    "Antenna misalignment or atmospheric interference",
+                    "Check antenna pointing and adjust for optimal signal"));
+
     /**
-     * Detect anomalies in satellite telemetry using AI
+     * Detect anomalies in the latest telemetry frame
      */
     public List<Anomaly> detectAnomalies(String satelliteId) {
         log.info("🔍 Running anomaly detection for {}", satelliteId);
 
         List<Anomaly> anomalies = new ArrayList<>();
+        TelemetrySeries series = history.series(satelliteId).orElse(null);
+        if (series == null || series.size() < MIN_SAMPLES) return anomalies;
 
-        // Simulate various types of anomalies
-        if (Math.random() > 0.6) { // 40% chance of battery anomaly
-            anomalies.add(Anomaly.builder()
-                    .satelliteId(satelliteId)
-                    .type("POWER_ANOMALY")
-                    .parameter("Battery Voltage")
-                    .currentValue("28.2V")
-                    .expectedValue("31.5V ±2V")
-                    .confidence(0.87 + Math.random() * 0.12)
-                    .severity(Math.random() > 0.5 ? "HIGH" : "MEDIUM")
-                    .description("Battery voltage below expected range, possible degradation")
-                    .detectionTime(Instant.now())
-                    .likelyCause("Solar panel efficiency decrease or battery cell degradation")
-                    .recommendation("Check solar panel orientation and battery health")
-                    .build());
-        }
+        Instant detectedAt = Instant.ofEpochMilli((long) (series.latestTime() * 1000));
+        for (Check check : CHECKS) {
+            double[] values = series.channel(check.channel());
+            double median = TimeSeriesMath.median(values);
+            double spread = TimeSeriesMath.robustStd(values, median);
+            double current = values[values.length - 1];
+            if (spread <= 1e-9) continue;
 
-        if (Math.random() > 0.8) { // 20% chance of thermal anomaly
-            anomalies.add(Anomaly.builder()
-                    .satelliteId(satelliteId)
-                    .type("THERMAL_ANOMALY")
-                    .parameter("CPU Temperature")
-                    .currentValue("67°C")
-                    .expectedValue("45°C ±10°C")
-                    .confidence(0.92 + Math.random() * 0.07)
-                    .severity("CRITICAL")
-                    .description("CPU temperature exceeding safe operational limits")
-                    .detectionTime(Instant.now())
-                    .likelyCause("Thermal management system malfunction or high processing load")
-                    .recommendation("Reduce processing load and check thermal control system")
-                    .build());
-        }
+            double z = (current - median) / spread;
+            if (Math.abs(z) <= ANOMALY_Z) continue;
 
-        if (Math.random() > 0.75) { // 25% chance of communication anomaly
             anomalies.add(Anomaly.builder()
                     .satelliteId(satelliteId)
-                    .type("COMMUNICATION_ANOMALY")
-                    .parameter("Signal Strength")
-                    .currentValue("-98 dBm")
-                    .expectedValue("-75 dBm ±10 dBm")
-                    .confidence(0.79 + Math.random() * 0.15)
-                    .severity("MEDIUM")
-                    .description("Signal strength significantly below expected levels")
-                    .detectionTime(Instant.now())
-                    .likelyCause("Antenna misalignment or atmospheric interference")
-                    .recommendation("Check antenna pointing and adjust for optimal signal")
+                    .type(check.type())
+                    .parameter(check.parameter())
+                    .currentValue(String.format("%.1f%s", current, check.unit()))
+                    .expectedValue(String.format("%.1f%s ±%.1f%s", median, check.unit(), ANOMALY_Z * spread, check.unit()))
+                    .confidence(TimeSeriesMath.confidence(z))
+                    .severity(Math.abs(z) > 8 ? "CRITICAL" : Math.abs(z) > 5 ? "HIGH" : "MEDIUM")
+                    .description(String.format("%s %.1fσ %s its recent baseline", check.parameter(),
+                            Math.abs(z), z < 0 ? "below" : "above"))
+                    .detectionTime(detectedAt)
+                    .likelyCause(check.cause())
+                    .recommendation(check.recommendation())
                     .build());
         }
 
@@ -72,55 +92,138 @@ public class AnomalyDetectionService {
     }
 
     /**
-     * Real-time anomaly detection for critical alerts
+     * Real-time anomaly detection for critical alerts: hard limits on the latest frame
      */
     public List<Anomaly> detectRealTimeAnomalies(String satelliteId) {
         log.info("⚡ Real-time anomaly detection for {}", satelliteId);
 
         List<Anomaly> criticalAnomalies = new ArrayList<>();
+        TelemetrySeries series = history.series(satelliteId).orElse(null);
+
+        if (series == null) {
+            // Without telemetry, the commanded battery state is all we have
+            MissionControlService.SatelliteSubsystems subsystems = missionControlService.getSubsystemStatus(satelliteId);
+            if (subsystems != null && subsystems.batteryCharge < CRITICAL_BATTERY) {
+                criticalAnomalies.add(powerFailure(satelliteId, subsystems.batteryCharge, Instant.EPOCH, 600));
+            }
+            return criticalAnomalies;
+        }
+
+        Instant detectedAt = Instant.ofEpochMilli((long) (series.latestTime() * 1000));
+        double battery = series.latest(TelemetryHistory.BATTERY);
+        if (battery < CRITICAL_BATTERY) {
+            // Time to act: until the battery trend reaches 5%
+            TimeSeriesMath.Trend trend = TimeSeriesMath.linearTrend(series.time(), series.channel(TelemetryHistory.BATTERY));
+            double seconds = TimeSeriesMath.secondsUntil(trend, series.latestTime(), 5);
+            int timeToAction = (int) Math.min(3600, Math.max(60, Double.isFinite(seconds) ? seconds : 3600));
+            criticalAnomalies.add(powerFailure(satelliteId, battery, detectedAt, timeToAction));
+        }
+
+        double temperature = series.latest(TelemetryHistory.TEMPERATURE);
+        if (temperature > CRITICAL_TEMPERATURE_HIGH || temperature < CRITICAL_TEMPERATURE_LOW) {
+            criticalAnomalies.add(Anomaly.builder()
+                    .satelliteId(satelliteId)
+                    .type("THERMAL_CRITICAL")
+                    .parameter("Spacecraft Temperature")
+                    .currentValue(String.format("%.1f°C", temperature))
+                    .expectedValue(String.format("%.0f°C to %.0f°C", CRITICAL_TEMPERATURE_LOW, CRITICAL_TEMPERATURE_HIGH))
+                    .confidence(1.0)
+                    .severity("CRITICAL")
+                    .description("Temperature outside survival limits")
+                    .detectionTime(detectedAt)
+                    .likelyCause("Heater or radiator failure")
+                    .recommendation("Switch thermal control to safe mode")
+                    .timeToAction(300)
+                    .build());
+        }
 
-        // Only return critical anomalies that require immediate attention
-        if (Math.random() > 0.85) { // 15% chance of critical anomaly
+        double signal = series.latest(TelemetryHistory.SIGNAL);
+        if (signal < LINK_LOSS_DBM) {
             criticalAnomalies.add(Anomaly.builder()
                     .satelliteId(satelliteId)
-                    .type("CRITICAL_POWER_FAILURE")
-                    .parameter("Main Power Bus")
-                    .currentValue("18.5V")
-                    .expectedValue("28.0V ±2V")
-                    .confidence(0.96)
+                    .type("COMMUNICATION_FAILURE")
+                    .parameter("Signal Strength")
+                    .currentValue(String.format("%.1f dBm", signal))
+                    .expectedValue(String.format("above %.0f dBm", LINK_LOSS_DBM))
+                    .confidence(1.0)
                     .severity("CRITICAL")
-                    .description("Critical power system failure detected")
-                    .detectionTime(Instant.now())
-                    .likelyCause("Main power distribution failure")
-                    .recommendation("Switch to backup power systems immediately")
-                    .timeToAction(180) // 3 minutes
+                    .description("Downlink below acquisition threshold")
+                    .detectionTime(detectedAt)
+                    .likelyCause("Antenna failure or loss of attitude")
+                    .recommendation("Switch to backup antenna")
+                    .timeToAction(900)
                     .build());
         }
 
         return criticalAnomalies;
     }
 
+    private static Anomaly powerFailure(String satelliteId, double battery, Instant detectedAt, int timeToAction) {
+        return Anomaly.builder()
+                .satelliteId(satelliteId)
+                .type("CRITICAL_POWER_FAILURE")
+                .parameter("Battery Level")
+                .currentValue(String.format("%.1f%%", battery))
+                .expectedValue(String.format("above %.0f%%", CRITICAL_BATTERY))
+                .confidence(1.0)
+                .severity("CRITICAL")
+                .description("Battery below critical level")
+                .detectionTime(detectedAt)
+                .likelyCause("Power generation deficit or battery failure")
+                .recommendation("Switch to backup power systems immediately")
+                .timeToAction(timeToAction)
+                .build();
+    }
+
     /**
-     * Analyze anomaly patterns over time
+     * Anomaly counts per type and day over the last {@code days} days of stored telemetry.
+     * Every stored frame is scored against the window's median/MAD baseline.
      */
     public AnomalyTrend analyzeAnomalyTrends(String satelliteId, int days) {
         log.info("📈 Analyzing anomaly trends for {} over {} days", satelliteId, days);
 
-        Map<String, Integer> anomalyTypeCount = new HashMap<>();
-        anomalyTypeCount.put("POWER_ANOMALY", (int)(Math.random() * 10));
-        anomalyTypeCount.put("THERMAL_ANOMALY", (int)(Math.random() * 5));
-        anomalyTypeCount.put("COMMUNICATION_ANOMALY", (int)(Math.random() * 8));
-        anomalyTypeCount.put("ATTITUDE_ANOMALY", (int)(Math.random() * 3));
+        Map<String, Integer> anomalyTypeCount = new TreeMap<>();
+        for (Check check : CHECKS) anomalyTypeCount.put(check.type(), 0);
+
+        TelemetrySeries series = history.series(satelliteId).orElse(null);
+        double[] perDay = new double[Math.max(1, days)];
+        if (series != null && series.size() >= MIN_SAMPLES) {
+            double end = series.latestTime();
+            double start = end - days * SECONDS_PER_DAY;
+            double[] t = series.time();
+
+            for (Check check : CHECKS) {
+                double[] values = series.channel(check.channel());
+                double median = TimeSeriesMath.median(values);
+                double spread = TimeSeriesMath.robustStd(values, median);
+                if (spread <= 1e-9) continue;
+                double limit = ANOMALY_Z * spread;
+
+                int count = 0;
+                for (int i = 0; i < values.length; i++) {
+                    if (t[i] < start || Math.abs(values[i] - median) <= limit) continue;
+                    count++;
+                    int day = (int) Math.min(perDay.length - 1, (t[i] - start) / SECONDS_PER_DAY);
+                    perDay[day]++;
+                }
+                anomalyTypeCount.merge(check.type(), count, Integer::sum);
+            }
+        }
 
         int totalAnomalies = anomalyTypeCount.values().stream().mapToInt(Integer::intValue).sum();
 
+        double[] dayIndex = new double[perDay.length];
+        for (int i = 0; i < dayIndex.length; i++) dayIndex[i] = i;
+        double slope = TimeSeriesMath.linearTrend(dayIndex, perDay).slope();
+        String direction = slope > 0.1 ? "INCREASING" : slope < -0.1 ? "DECREASING" : "STABLE";
+
         return AnomalyTrend.builder()
                 .satelliteId(satelliteId)
                 .analysisPeriodDays(days)
                 .totalAnomalies(totalAnomalies)
                 .anomaliesByType(anomalyTypeCount)
-                .trendDirection(Math.random() > 0.5 ? "INCREASING" : "DECREASING")
-                .averageAnomaliesPerDay(totalAnomalies / (double)days)
+                .trendDirection(direction)
+                .averageAnomaliesPerDay(days > 0 ? totalAnomalies / (double) days : 0)
                 .mostCommonAnomaly(Collections.max(anomalyTypeCount.entrySet(),
                         Map.Entry.comparingByValue()).getKey())
                 .build();
@@ -1,113 +1,173 @@
 package com.dsl.simulator.AI;
 
+import com.dsl.simulator.RealAI.EvaluatedModel;
+import com.dsl.simulator.RealAI.ManagedModel;
+import com.dsl.simulator.RealAI.ModelEvaluation;
+import com.dsl.simulator.Streaming.TelemetryHistory;
+import com.dsl.simulator.Streaming.TelemetrySeries;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import lombok.extern.slf4j.Slf4j;
 
 import java.time.Instant;
 import java.util.*;
 
+/**
+ * Reports on the RealAI models from their cached held-out evaluations, and on which
+ * telemetry channels drive a satellite's health score.
+ */
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class MachineLearningService {
 
+    private static final String[] FEATURES = {"Battery Level", "Temperature", "Power Generation",
+            "Fuel Level", "Signal Strength", "Data Rate"};
+
+    private final TelemetryHistory history;
+    private final List<EvaluatedModel> models;
+
     /**
-     * Generate ML-powered insights
+     * Generate ML insights: live model versions and accuracies, plus feature importance as
+     * each channel's |correlation| with the satellite's health score over stored telemetry
      */
     public MLInsights generateInsights(String satelliteId) {
         log.info("🧠 Generating ML insights for {}", satelliteId);
 
-        // Feature importance analysis
-        Map<String, Double> featureImportance = new HashMap<>();
-        featureImportance.put("Battery Voltage", 0.284);
-        featureImportance.put("Solar Panel Efficiency", 0.219);
-        featureImportance.put("Attitude Stability", 0.187);
-        featureImportance.put("Communication Signal", 0.156);
-        featureImportance.put("Thermal Management", 0.154);
-
-        // Key insights from ML analysis
-        List<String> keyInsights = Arrays.asList(
-                "Battery performance predictor accuracy improved to 96.8% with new thermal correlation features",
-                "Orbital decay predictions 23% more accurate when including solar activity index",
-                "Anomaly detection false positive rate reduced to 2.1% with ensemble methods",
-                "Mission success probability correlates strongest with power system health (R²=0.91)",
-                "Predictive maintenance recommendations prevent 78% of potential failures"
-        );
+        List<String> keyInsights = new ArrayList<>();
+        List<String> versions = new ArrayList<>();
+        double accuracySum = 0;
+        double calibrationSum = 0;
+        int evaluated = 0;
+        Instant lastUpdate = null;
+
+        for (ManagedModel model : managedModels()) {
+            versions.add(model.getName() + " v" + model.getVersion());
+            Optional<ModelEvaluation> evaluation = model.getEvaluation();
+            if (evaluation.isEmpty()) {
+                keyInsights.add(String.format("%s: %s", model.getName(), model.isReady() ? "evaluation pending" : "not loaded"));
+                continue;
+            }
+            ModelEvaluation eval = evaluation.get();
+            evaluated++;
+            accuracySum += eval.getAccuracy();
+            calibrationSum += eval.getCalibrationError() != null ? 1 - eval.getCalibrationError() : eval.getAccuracy();
+            if (lastUpdate == null || eval.getEvaluatedAt().isAfter(lastUpdate)) lastUpdate = eval.getEvaluatedAt();
+            keyInsights.add(String.format("%s v%d: %.1f%% accuracy on %d held-out samples",
+                    model.getName(), eval.getVersion(), eval.getAccuracy() * 100, eval.getSamples()));
+        }
+
+        TelemetrySeries series = history.series(satelliteId).orElse(null);
+        Map<String, Double> featureImportance = featureImportance(series);
+        featureImportance.entrySet().stream()
+                .max(Map.Entry.comparingByValue())
+                .filter(top -> top.getValue() > 0)
+                .ifPresent(top -> keyInsights.add(String.format("Health of %s is driven most by %s (%.0f%% of importance)",
+                        satelliteId, top.getKey(), top.getValue() * 100)));
 
         return MLInsights.builder()
-                .modelAccuracy(0.943 + Math.random() * 0.05)
-                .overallConfidence(0.891 + Math.random() * 0.1)
+                .modelAccuracy(evaluated > 0 ? accuracySum / evaluated : 0)
+                .overallConfidence(evaluated > 0 ? calibrationSum / evaluated : 0)
                 .keyInsights(keyInsights)
                 .featureImportance(featureImportance)
-                .modelVersion("SatML-v3.2.1")
-                .trainingDataPoints(2_347_891L)
-                .lastModelUpdate(Instant.now().minusSeconds(3600 * 24 * 7)) // 1 week ago
+                .modelVersion(String.join(", ", versions))
+                .trainingDataPoints(series != null ? series.size() : 0)
+                .lastModelUpdate(lastUpdate)
                 .build();
     }
 
+    private Map<String, Double> featureImportance(TelemetrySeries series) {
+        Map<String, Double> importance = new LinkedHashMap<>();
+        if (series == null || series.size() < 2) {
+            for (String feature : FEATURES) importance.put(feature, 0.0);
+            return importance;
+        }
+
+        int n = series.size();
+        double[] health = new double[n];
+        double[] battery = series.channel(TelemetryHistory.BATTERY);
+        double[] power = series.channel(TelemetryHistory.POWER);
+        double[] fuel = series.channel(TelemetryHistory.FUEL);
+        double[] temperature = series.channel(TelemetryHistory.TEMPERATURE);
+        double[] signal = series.channel(TelemetryHistory.SIGNAL);
+        for (int i = 0; i < n; i++) {
+            health[i] = PredictiveAnalyticsService.overallScore(battery[i], power[i], fuel[i], temperature[i], signal[i]);
+        }
+
+        double[] weights = new double[FEATURES.length];
+        double total = 0;
+        for (int c = 0; c < FEATURES.length; c++) {
+            weights[c] = Math.abs(TimeSeriesMath.correlation(series.channel(c), health));
+            total += weights[c];
+        }
+        for (int c = 0; c < FEATURES.length; c++) {
+            importance.put(FEATURES[c], total > 0 ? weights[c] / total : 0);
+        }
+        return importance;
+    }
+
     /**
-     * Train and update ML models
+     * Retrain the RealAI models in the background; each new version is evaluated and
+     * swapped in when ready
      */
     public String updateMLModels(String satelliteId) {
         log.info("🔄 Updating ML models for {}", satelliteId);
 
-        // Simulate model training process
-        int newDataPoints = (int)(1000 + Math.random() * 5000);
-        double accuracyImprovement = Math.random() * 0.02; // Up to 2% improvement
-
-        return String.format("""
-            🧠 === ML MODEL UPDATE COMPLETED ===
-            Satellite: %s
-            New Training Data: %,d points
-            Model Accuracy: %.2f%% (↑%.2f%%)
-            Training Time: %.1f minutes
-            Model Version: SatML-v3.2.2
-            
-            🔄 Updated Models:
-               ✅ Health Predictor: 96.8% accuracy
-               ✅ Anomaly Detector: 94.3% precision
-               ✅ Orbit Predictor: 99.1% accuracy
-               ✅ Performance Optimizer: 91.7% success
-            
-            💾 Model deployment: Scheduled for next maintenance window
-            =====================================
-            """, satelliteId, newDataPoints, 94.3 + accuracyImprovement,
-                accuracyImprovement, 12.5 + Math.random() * 5);
+        int samples = history.series(satelliteId).map(TelemetrySeries::size).orElse(0);
+        StringBuilder sb = new StringBuilder();
+        sb.append("🧠 === ML MODEL UPDATE STARTED ===\n");
+        sb.append("Satellite: ").append(satelliteId).append("\n");
+        sb.append(String.format("Stored Telemetry: %,d samples%n%n", samples));
+        sb.append("🔄 Retraining:\n");
+        for (ManagedModel model : managedModels()) {
+            model.retrainAsync();
+            sb.append("   ⏳ ").append(model.getName()).append(": v").append(model.getVersion())
+                    .append(" live, new version training\n");
+        }
+        sb.append("\n💾 New versions go live after training and held-out evaluation\n");
+        sb.append("=====================================");
+        return sb.toString();
     }
 
     /**
-     * Evaluate model performance
+     * Evaluate model performance from the cached held-out evaluations
      */
     public String evaluateModelPerformance() {
         log.info("📊 Evaluating overall ML model performance");
 
-        return """
-            📊 === ML MODEL PERFORMANCE REPORT ===
-            
-            🎯 PREDICTIVE MODELS:
-               📈 Satellite Health Predictor: 96.8% accuracy
-               🔮 Failure Prediction: 89.2% precision, 91.5% recall
-               🛰️ Orbit Decay Model: 99.1% accuracy (±2.3m error)
-               ⚠️ Collision Risk: 94.7% accuracy, 2.1% false positives
-            
-            🚨 ANOMALY DETECTION:
-               🔍 Real-time Detection: 94.3% precision
-               📊 Pattern Recognition: 91.8% accuracy
-               ⏰ Early Warning: 87.6% success rate
-               🎯 Classification: 93.2% F1-score
-            
-            🎯 OPTIMIZATION MODELS:
-               ⚡ Resource Allocation: 91.7% efficiency
-               🛰️ Formation Flying: 95.3% stability
-               📡 Communication: 89.4% throughput optimization
-               🔋 Power Management: 92.1% efficiency gains
-            
-            📈 OVERALL SYSTEM HEALTH:
-               🧠 Model Ensemble: 94.1% average accuracy
-               ⚡ Processing Speed: 847ms average response
-               💾 Data Pipeline: 99.7% uptime
-               🔄 Auto-learning: ACTIVE
-            
-            ===================================
-            """;
+        StringBuilder sb = new StringBuilder();
+        sb.append("📊 === ML MODEL PERFORMANCE REPORT ===\n\n");
+        double accuracySum = 0;
+        int evaluated = 0;
+        for (ManagedModel model : managedModels()) {
+            Optional<ModelEvaluation> evaluation = model.getEvaluation();
+            if (evaluation.isEmpty()) {
+                sb.append("   ⏳ ").append(model.getName()).append(": ")
+                        .append(model.isReady() ? "evaluation pending" : "not loaded").append("\n");
+                continue;
+            }
+            ModelEvaluation eval = evaluation.get();
+            evaluated++;
+            accuracySum += eval.getAccuracy();
+            sb.append(String.format("   🎯 %s v%d: %.1f%% accuracy", model.getName(), eval.getVersion(), eval.getAccuracy() * 100));
+            if (eval.getPrecision() != null) sb.append(String.format(", %.1f%% precision", eval.getPrecision() * 100));
+            if (eval.getRecall() != null) sb.append(String.format(", %.1f%% recall", eval.getRecall() * 100));
+            if (eval.getCalibrationError() != null) sb.append(String.format(", ECE %.3f", eval.getCalibrationError()));
+            sb.append(String.format(" (%d samples)%n", eval.getSamples()));
+        }
+        sb.append("\n📈 OVERALL:\n");
+        sb.append(String.format("   🧠 Models evaluated: %d of %d%n", evaluated, models.size()));
+        if (evaluated > 0) {
+            sb.append(String.format("   🧠 Average accuracy: %.1f%%%n", accuracySum / evaluated * 100));
+        }
+        sb.append("===================================");
+        return sb.toString();
+    }
+
+    private List<ManagedModel> managedModels() {
+        return models.stream()
+                .map(EvaluatedModel::getManagedModel)
+                .sorted(Comparator.comparing(ManagedModel::getName))
+                .toList();
     }
 }
@@ -1,51 +1,122 @@
 package com.dsl.simulator.AI;
 
+import com.dsl.simulator.Service.MissionControlService;
+import com.dsl.simulator.Streaming.TelemetryHistory;
+import com.dsl.simulator.Streaming.TelemetrySeries;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import lombok.extern.slf4j.Slf4j;
 
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
 import java.util.*;
 
+/**
+ * Trends and orbital-cycle patterns in stored telemetry. Each channel is split into a
+ * linear trend and a seasonal profile over the satellite's orbital period (from its
+ * propagator), and the numbers reported are read off those fits.
+ */
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class PatternRecognitionService {
 
+    private static final int PHASE_BINS = 12;
+    private static final int MIN_SAMPLES = 16;
+    private static final int FULL_CONFIDENCE_SAMPLES = 256;
+    private static final double SECONDS_PER_DAY = 86_400;
+    private static final double PRIOR_CONFIDENCE = 0.5;
+    private static final DateTimeFormatter UTC_TIME = DateTimeFormatter.ofPattern("HH:mm 'UTC'").withZone(ZoneOffset.UTC);
+
+    private final TelemetryHistory history;
+    private final MissionControlService missionControlService;
+
+    /** Per-satellite fits reused by the single and constellation analyses. */
+    private record Fits(TelemetrySeries series, double period,
+                        TimeSeriesMath.Trend[] trends, TimeSeriesMath.Seasonal[] seasonal) {
+        double relativeChangePerDay(int channel) {
+            double mean = Math.abs(TimeSeriesMath.mean(series.channel(channel)));
+            return mean > 1e-9 ? trends[channel].slope() * SECONDS_PER_DAY / mean : 0;
+        }
+
+        double stability() {
+            double total = 0;
+            int[] channels = {TelemetryHistory.POWER, TelemetryHistory.TEMPERATURE, TelemetryHistory.SIGNAL, TelemetryHistory.BATTERY};
+            for (int channel : channels) {
+                double mean = Math.abs(TimeSeriesMath.mean(series.channel(channel)));
+                total += mean > 1e-9 ? Math.max(0, 1 - seasonal[channel].residualStd() / mean) : 0;
+            }
+            return total / channels.length;
+        }
+    }
+
+    private Optional<Fits> fit(String satelliteId, TelemetrySeries series) {
+        if (series == null || series.size() < MIN_SAMPLES) return Optional.empty();
+        double period = PropagatedStates.orbitalPeriod(missionControlService.getActiveSatellites().get(satelliteId));
+
+        TimeSeriesMath.Trend[] trends = new TimeSeriesMath.Trend[TelemetryHistory.CHANNELS];
+        TimeSeriesMath.Seasonal[] seasonal = new TimeSeriesMath.Seasonal[TelemetryHistory.CHANNELS];
+        for (int c = 0; c < TelemetryHistory.CHANNELS; c++) {
+            trends[c] = TimeSeriesMath.linearTrend(series.time(), series.channel(c));
+            seasonal[c] = TimeSeriesMath.decompose(series.time(), series.channel(c), trends[c], period, PHASE_BINS);
+        }
+        return Optional.of(new Fits(series, period, trends, seasonal));
+    }
+
     /**
      * Analyze behavioral patterns in satellite operations
      */
     public PatternAnalysis analyzePatterns(String satelliteId) {
         log.info("📊 Analyzing patterns for {}", satelliteId);
 
-        // Performance trends analysis
-        Map<String, Double> performanceTrends = new HashMap<>();
-        performanceTrends.put("Power Efficiency", -0.023); // 2.3% decrease
-        performanceTrends.put("Data Throughput", 0.156);   // 15.6% increase
-        performanceTrends.put("Fuel Consumption", 0.089);  // 8.9% increase
-        performanceTrends.put("Task Completion Rate", -0.045); // 4.5% decrease
-        performanceTrends.put("Communication Quality", 0.034);  // 3.4% increase
-
-        // Behavioral insights
-        List<String> behavioralInsights = Arrays.asList(
-                "Satellite performs 23% better during eclipse periods due to reduced thermal stress",
-                "Communication efficiency peaks at orbital positions 45° and 225°",
-                "Power consumption spikes correlate with attitude adjustments (R² = 0.89)",
-                "Optimal task execution window: 14:30-16:45 UTC daily",
-                "Fuel efficiency decreases 3.2% per 100 orbit cycles"
-        );
-
-        // Usage patterns
-        Map<String, Double> usagePatterns = new HashMap<>();
-        usagePatterns.put("Peak Power Hours", 8.5); // hours per day
-        usagePatterns.put("Average Daily Orbits", 15.2);
-        usagePatterns.put("Communication Windows", 6.8); // per day
-        usagePatterns.put("Maneuver Frequency", 2.3); // per week
+        Optional<Fits> maybeFits = fit(satelliteId, history.series(satelliteId).orElse(null));
+        if (maybeFits.isEmpty()) {
+            return baselinePatterns(satelliteId);
+        }
+        Fits fits = maybeFits.get();
+        TelemetrySeries series = fits.series();
+
+        // Relative change per day of each metric
+        Map<String, Double> performanceTrends = new LinkedHashMap<>();
+        performanceTrends.put("Power Efficiency", fits.relativeChangePerDay(TelemetryHistory.POWER));
+        performanceTrends.put("Data Throughput", fits.relativeChangePerDay(TelemetryHistory.DATA_RATE));
+        performanceTrends.put("Fuel Consumption", -fits.relativeChangePerDay(TelemetryHistory.FUEL));
+        performanceTrends.put("Battery Level", fits.relativeChangePerDay(TelemetryHistory.BATTERY));
+        performanceTrends.put("Communication Quality", fits.relativeChangePerDay(TelemetryHistory.SIGNAL));
+
+        TimeSeriesMath.Seasonal power = fits.seasonal()[TelemetryHistory.POWER];
+        TimeSeriesMath.Seasonal thermal = fits.seasonal()[TelemetryHistory.TEMPERATURE];
+        TimeSeriesMath.Seasonal signal = fits.seasonal()[TelemetryHistory.SIGNAL];
+        double sunlitFraction = fractionAboveMean(power.profile());
+
+        List<String> behavioralInsights = new ArrayList<>();
+        behavioralInsights.add(String.format("Power generation follows the %.1f-minute orbit: ±%.1f W swing, %.0f%% of variance explained",
+                fits.period() / 60, power.amplitude(), power.strength() * 100));
+        behavioralInsights.add(String.format("Estimated sunlit fraction of each orbit: %.0f%%", sunlitFraction * 100));
+        behavioralInsights.add(String.format("Thermal cycle amplitude ±%.1f°C; residual noise %.2f°C after removing the cycle",
+                thermal.amplitude(), thermal.residualStd()));
+        behavioralInsights.add(String.format("Signal strongest in orbital phase %d/%d (±%.1f dB over the orbit)",
+                signal.peakBin() + 1, PHASE_BINS, signal.amplitude()));
+        TimeSeriesMath.Trend battery = fits.trends()[TelemetryHistory.BATTERY];
+        behavioralInsights.add(String.format("Battery trend %+.2f%% per day (R² = %.2f)",
+                battery.slope() * SECONDS_PER_DAY, battery.r2()));
+
+        Map<String, Double> usagePatterns = new LinkedHashMap<>();
+        usagePatterns.put("Orbital Period (min)", fits.period() / 60);
+        usagePatterns.put("Average Daily Orbits", SECONDS_PER_DAY / fits.period());
+        usagePatterns.put("Peak Power Hours", sunlitFraction * 24);
+        usagePatterns.put("Telemetry Span (h)", series.spanSeconds() / 3600);
+        usagePatterns.put("Samples Analyzed", (double) series.size());
 
+        double coverage = Math.min(1.0, series.size() / (double) FULL_CONFIDENCE_SAMPLES);
         return PatternAnalysis.builder()
                 .satelliteId(satelliteId)
                 .performanceTrends(performanceTrends)
                 .behavioralInsights(behavioralInsights)
                 .usagePatterns(usagePatterns)
-                .analysisConfidence(0.91 + Math.random() * 0.08)
-                .patternStability(0.87 + Math.random() * 0.12)
+                .analysisConfidence(coverage * (0.5 + 0.5 * Math.max(power.strength(), thermal.strength())))
+                .patternStability(fits.stability())
                 .build();
     }
 
@@ -55,66 +126,175 @@ public class PatternRecognitionService {
     public ConstellationPatterns analyzeConstellationPatterns(List<String> satelliteIds) {
         log.info("🌐 Analyzing constellation patterns for {} satellites", satelliteIds.size());
 
-        Map<String, Double> overallTrends = new HashMap<>();
-        overallTrends.put("Constellation Efficiency", 0.872);
-        overallTrends.put("Inter-satellite Coordination", 0.934);
-        overallTrends.put("Resource Utilization", 0.756);
-        overallTrends.put("Mission Success Rate", 0.891);
+        Map<String, TelemetrySeries> allSeries = history.series(satelliteIds);
+        Map<String, Fits> fleet = new TreeMap<>();
+        allSeries.forEach((id, series) -> fit(id, series).ifPresent(fits -> fleet.put(id, fits)));
 
-        List<String> constellationInsights = Arrays.asList(
-                "Best performing satellite pair: SAT_Alpha + SAT_Beta (94.2% coordination)",
-                "Optimal formation flying achieved in triangular configuration",
-                "Communication relay efficiency: 87.6% across constellation",
-                "Resource sharing reduces individual fuel consumption by 23.4%",
-                "Coordinated maneuvers save 31.2% fuel compared to individual operations"
-        );
+        Map<String, Double> overallTrends = new LinkedHashMap<>();
+        List<String> constellationInsights = new ArrayList<>();
+        double coverage = satelliteIds.isEmpty() ? 0 : fleet.size() / (double) satelliteIds.size();
+        overallTrends.put("Telemetry Coverage", coverage);
+
+        double meanStability = 0;
+        if (!fleet.isEmpty()) {
+            double powerTrend = 0, signalScore = 0;
+            String mostStable = null, leastStable = null;
+            double best = Double.NEGATIVE_INFINITY, worst = Double.POSITIVE_INFINITY;
+            for (Map.Entry<String, Fits> entry : fleet.entrySet()) {
+                Fits fits = entry.getValue();
+                double stability = fits.stability();
+                meanStability += stability;
+                powerTrend += fits.relativeChangePerDay(TelemetryHistory.POWER);
+                signalScore += PredictiveAnalyticsService.communicationScore(fits.series().latest(TelemetryHistory.SIGNAL));
+                if (stability > best) { best = stability; mostStable = entry.getKey(); }
+                if (stability < worst) { worst = stability; leastStable = entry.getKey(); }
+            }
+            meanStability /= fleet.size();
+            overallTrends.put("Pattern Stability", meanStability);
+            overallTrends.put("Power Trend per Day", powerTrend / fleet.size());
+            overallTrends.put("Communication Quality", signalScore / fleet.size());
+
+            constellationInsights.add(String.format("Most stable satellite: %s (%.1f%%)", mostStable, best * 100));
+            constellationInsights.add(String.format("Least stable satellite: %s (%.1f%%)", leastStable, worst * 100));
+        }
+        if (fleet.size() < satelliteIds.size()) {
+            constellationInsights.add(String.format("%d of %d satellites have too little telemetry to analyze",
+                    satelliteIds.size() - fleet.size(), satelliteIds.size()));
+        }
 
         return ConstellationPatterns.builder()
                 .satelliteCount(satelliteIds.size())
                 .overallTrends(overallTrends)
                 .constellationInsights(constellationInsights)
-                .coordinationEfficiency(0.876 + Math.random() * 0.1)
+                .coordinationEfficiency(coverage * meanStability)
                 .optimalFormations(Arrays.asList("Triangle", "Line", "Grid"))
                 .build();
     }
 
     /**
-     * Predict optimal operational windows
+     * Predict optimal operational windows: the orbital phase where each activity's driving
+     * channel peaks, projected to its next occurrence after the latest sample.
      */
     public OptimalWindows predictOptimalWindows(String satelliteId) {
         log.info("⏰ Predicting optimal operational windows for {}", satelliteId);
 
-        List<TimeWindow> optimalWindows = Arrays.asList(
+        Optional<Fits> maybeFits = fit(satelliteId, history.series(satelliteId).orElse(null));
+        if (maybeFits.isEmpty()) {
+            return baselineWindows(satelliteId);
+        }
+        Fits fits = maybeFits.get();
+
+        List<TimeWindow> optimalWindows = List.of(
+                window(fits, TelemetryHistory.POWER, "Earth Observation", "Peak power generation (sunlit arc)"),
+                window(fits, TelemetryHistory.SIGNAL, "Communication Relay", "Strongest link margin in the orbit"),
+                window(fits, TelemetryHistory.DATA_RATE, "Data Downlink", "Highest sustained data rate"));
+
+        double strength = (fits.seasonal()[TelemetryHistory.POWER].strength()
+                + fits.seasonal()[TelemetryHistory.SIGNAL].strength()
+                + fits.seasonal()[TelemetryHistory.DATA_RATE].strength()) / 3;
+
+        return OptimalWindows.builder()
+                .satelliteId(satelliteId)
+                .optimalWindows(optimalWindows)
+                .averageEfficiency(optimalWindows.stream().mapToDouble(TimeWindow::getEfficiency).average().orElse(0))
+                .predictionAccuracy(strength)
+                .build();
+    }
+
+    /**
+     * Until a satellite has enough stored telemetry (e.g. streaming is off), patterns are
+     * the nominal baseline: no trend, with usage figures from the orbit alone.
+     */
+    private PatternAnalysis baselinePatterns(String satelliteId) {
+        double period = PropagatedStates.orbitalPeriod(missionControlService.getActiveSatellites().get(satelliteId));
+
+        Map<String, Double> performanceTrends = new LinkedHashMap<>();
+        performanceTrends.put("Power Efficiency", 0.0);
+        performanceTrends.put("Data Throughput", 0.0);
+        performanceTrends.put("Fuel Consumption", 0.0);
+        performanceTrends.put("Battery Level", 0.0);
+        performanceTrends.put("Communication Quality", 0.0);
+
+        Map<String, Double> usagePatterns = new LinkedHashMap<>();
+        usagePatterns.put("Orbital Period (min)", period / 60);
+        usagePatterns.put("Average Daily Orbits", SECONDS_PER_DAY / period);
+        usagePatterns.put("Peak Power Hours", 8.5);
+        usagePatterns.put("Samples Analyzed", 0.0);
+
+        return PatternAnalysis.builder()
+                .satelliteId(satelliteId)
+                .performanceTrends(performanceTrends)
+                .behavioralInsights(List.of(
+                        "Not enough stored telemetry for pattern analysis; showing the nominal baseline",
+                        String.format("Orbital period %.1f minutes (%.1f orbits per day)", period / 60, SECONDS_PER_DAY / period)))
+                .usagePatterns(usagePatterns)
+                .analysisConfidence(PRIOR_CONFIDENCE)
+                .patternStability(PRIOR_CONFIDENCE)
+                .build();
+    }
+
+    /** Nominal daily windows, used until the satellite has enough telemetry to fit its own. */
+    private static OptimalWindows baselineWindows(String satelliteId) {
+        List<TimeWindow> optimalWindows = List.of(
                 TimeWindow.builder()
                         .startTime("03:45 UTC")
                         .endTime("05:30 UTC")
                         .activity("Earth Observation")
                         .efficiency(0.94)
-                        .reason("Optimal sunlight angle and minimal atmospheric interference")
+                        .reason("Nominal schedule: optimal sunlight angle")
                         .build(),
-
                 TimeWindow.builder()
                         .startTime("14:15 UTC")
                         .endTime("16:45 UTC")
                         .activity("Communication Relay")
                         .efficiency(0.89)
-                        .reason("Peak ground station availability and signal strength")
+                        .reason("Nominal schedule: peak ground station availability")
                         .build(),
-
                 TimeWindow.builder()
                         .startTime("21:00 UTC")
                         .endTime("22:30 UTC")
                         .activity("Data Downlink")
                         .efficiency(0.91)
-                        .reason("Low network traffic and stable atmospheric conditions")
-                        .build()
-        );
+                        .reason("Nominal schedule: low network traffic")
+                        .build());
 
         return OptimalWindows.builder()
                 .satelliteId(satelliteId)
                 .optimalWindows(optimalWindows)
                 .averageEfficiency(0.91)
-                .predictionAccuracy(0.88)
+                .predictionAccuracy(PRIOR_CONFIDENCE)
                 .build();
     }
+
+    private TimeWindow window(Fits fits, int channel, String activity, String reason) {
+        TelemetrySeries series = fits.series();
+        TimeSeriesMath.Seasonal seasonal = fits.seasonal()[channel];
+        int peak = seasonal.peakBin();
+
+        // Phase is measured from the first stored sample, as in the decomposition
+        double binLength = fits.period() / PHASE_BINS;
+        double phaseNow = (series.latestTime() - series.time()[0]) % fits.period();
+        double untilStart = Math.floorMod((long) (peak * binLength - phaseNow), (long) fits.period());
+        double start = series.latestTime() + untilStart;
+
+        // Efficiency: how far the peak bin sits above the orbit's low point, relative to the swing
+        double[] profile = seasonal.profile();
+        double min = Arrays.stream(profile).min().orElse(0);
+        double max = profile[peak];
+        double mean = Arrays.stream(profile).average().orElse(0);
+        double efficiency = max > min ? 0.5 + 0.5 * (max - mean) / (max - min) : 0.5;
+
+        return TimeWindow.builder()
+                .startTime(UTC_TIME.format(Instant.ofEpochSecond((long) start)))
+                .endTime(UTC_TIME.format(Instant.ofEpochSecond((long) (start + binLength))))
+                .activity(activity)
+                .efficiency(efficiency)
+                .reason(reason)
+                .build();
+    }
+
+    private static double fractionAboveMean(double[] profile) {
+        double mean = Arrays.stream(profile).average().orElse(0);
+        return Arrays.stream(profile).filter(v -> v > mean).count() / (double) profile.length;
+    }
 }
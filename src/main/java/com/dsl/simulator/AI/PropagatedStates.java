@@ -0,0 +1,79 @@
+package com.dsl.simulator.AI;
+
+import com.dsl.simulator.Product.Satellite;
+import org.orekit.forces.drag.DragForce;
+import org.orekit.propagation.Propagator;
+import org.orekit.propagation.analytical.tle.TLEPropagator;
+import org.orekit.propagation.numerical.NumericalPropagator;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.utils.Constants;
+
+/**
+ * Samples a satellite's Orekit propagator into flat position arrays (km, inertial frame)
+ * so the analytics engines can run distance and altitude math over plain doubles.
+ */
+public final class PropagatedStates {
+
+    public static final double DEFAULT_PERIOD_SECONDS = 5400;
+    private static final double EARTH_RADIUS_KM = Constants.WGS84_EARTH_EQUATORIAL_RADIUS / 1000;
+
+    private PropagatedStates() {
+    }
+
+    public static boolean available(Satellite satellite) {
+        return satellite != null && satellite.isPhysicsBased() && satellite.getCurrentDate() != null;
+    }
+
+    /**
+     * Whether the propagator includes atmospheric drag, i.e. whether its altitude trend says
+     * anything about decay. SGP4 does through B*, numerical propagators only with a
+     * {@link DragForce}; Keplerian orbits (set after every maneuver) never decay.
+     */
+    public static boolean modelsDrag(Satellite satellite) {
+        if (!available(satellite)) return false;
+        Propagator propagator = satellite.getPropagator();
+        if (propagator instanceof TLEPropagator tle) {
+            return tle.getTLE().getBStar() != 0;
+        }
+        if (propagator instanceof NumericalPropagator numerical) {
+            return numerical.getAllForceModels().stream().anyMatch(DragForce.class::isInstance);
+        }
+        return false;
+    }
+
+    /** Keplerian period of the initial state, or 90 minutes when the satellite has no propagator. */
+    public static double orbitalPeriod(Satellite satellite) {
+        if (satellite == null || !satellite.isPhysicsBased()) return DEFAULT_PERIOD_SECONDS;
+        try {
+            return satellite.getPropagator().getInitialState().getKeplerianPeriod();
+        } catch (Exception e) {
+            return DEFAULT_PERIOD_SECONDS;
+        }
+    }
+
+    /** Positions at start + i·step for i in [0, count): rows x, y, z. */
+    public static double[][] positions(Satellite satellite, AbsoluteDate start, double stepSeconds, int count) {
+        Propagator propagator = satellite.getPropagator();
+        double[][] xyz = new double[3][count];
+        // Propagators keep internal state; serialize concurrent analytics on the same satellite
+        synchronized (propagator) {
+            for (int i = 0; i < count; i++) {
+                var p = propagator.propagate(start.shiftedBy(i * stepSeconds)).getPVCoordinates().getPosition();
+                xyz[0][i] = p.getX() / 1000;
+                xyz[1][i] = p.getY() / 1000;
+                xyz[2][i] = p.getZ() / 1000;
+            }
+        }
+        return xyz;
+    }
+
+    /** Mean geocentric altitude (km, spherical Earth) over one orbit starting at {@code start}. */
+    public static double meanAltitude(Satellite satellite, AbsoluteDate start, int samples) {
+        double[][] xyz = positions(satellite, start, orbitalPeriod(satellite) / samples, samples);
+        double sum = 0;
+        for (int i = 0; i < samples; i++) {
+            sum += Math.sqrt(xyz[0][i] * xyz[0][i] + xyz[1][i] * xyz[1][i] + xyz[2][i] * xyz[2][i]);
+        }
+        return sum / samples - EARTH_RADIUS_KM;
+    }
+}
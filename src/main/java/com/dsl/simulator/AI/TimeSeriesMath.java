@@ -0,0 +1,196 @@
+package com.dsl.simulator.AI;
+
+import java.util.Arrays;
+
+/**
+ * Primitive-array time-series kernels shared by the analytics engines: least-squares trend,
+ * phase-binned seasonal decomposition, threshold-crossing extrapolation and robust statistics.
+ * Every method is a pure function of its inputs, so results are reproducible.
+ */
+public final class TimeSeriesMath {
+
+    private TimeSeriesMath() {
+    }
+
+    /** y ≈ intercept + slope·t, with t in the caller's units (seconds for telemetry). */
+    public record Trend(double slope, double intercept, double r2, double residualStd, int n) {
+        public double valueAt(double t) {
+            return intercept + slope * t;
+        }
+    }
+
+    /**
+     * Mean phase-bin profile after removing the trend; {@code strength} is the share of the
+     * detrended variance the profile explains (0 = no cycle, 1 = pure cycle).
+     */
+    public record Seasonal(double periodSeconds, double[] profile, double amplitude, double strength,
+                           double residualStd) {
+        public int peakBin() {
+            int best = 0;
+            for (int i = 1; i < profile.length; i++) if (profile[i] > profile[best]) best = i;
+            return best;
+        }
+    }
+
+    public static Trend linearTrend(double[] t, double[] y) {
+        int n = t.length;
+        if (n < 2) return new Trend(0, n == 1 ? y[0] : 0, 0, 0, n);
+
+        // Centered sums keep epoch-second timestamps numerically safe
+        double meanT = 0, meanY = 0;
+        for (int i = 0; i < n; i++) {
+            meanT += t[i];
+            meanY += y[i];
+        }
+        meanT /= n;
+        meanY /= n;
+
+        double sxx = 0, sxy = 0, syy = 0;
+        for (int i = 0; i < n; i++) {
+            double dt = t[i] - meanT;
+            double dy = y[i] - meanY;
+            sxx += dt * dt;
+            sxy += dt * dy;
+            syy += dy * dy;
+        }
+
+        double slope = sxx > 0 ? sxy / sxx : 0;
+        double intercept = meanY - slope * meanT;
+        double ssRes = Math.max(0, syy - slope * sxy);
+        double r2 = syy > 0 ? 1 - ssRes / syy : 0;
+        double residualStd = n > 2 ? Math.sqrt(ssRes / (n - 2)) : 0;
+        return new Trend(slope, intercept, r2, residualStd, n);
+    }
+
+    /**
+     * Phase-binned profile over {@code periodSeconds}. One backfitting pass re-estimates the
+     * trend on the deseasonalized series, so partial cycles at the ends do not tilt the trend
+     * and smear the profile.
+     */
+    public static Seasonal decompose(double[] t, double[] y, Trend trend, double periodSeconds, int bins) {
+        int n = t.length;
+        int[] bin = new int[n];
+        double origin = n > 0 ? t[0] : 0;
+        for (int i = 0; i < n; i++) {
+            double phase = ((t[i] - origin) % periodSeconds) / periodSeconds;
+            bin[i] = Math.min(bins - 1, (int) (phase * bins));
+        }
+
+        double[] profile = profile(t, y, trend, bin, bins);
+        double[] deseasonalized = new double[n];
+        for (int i = 0; i < n; i++) deseasonalized[i] = y[i] - profile[bin[i]];
+        Trend refined = linearTrend(t, deseasonalized);
+        profile = profile(t, y, refined, bin, bins);
+
+        double min = Double.POSITIVE_INFINITY, max = Double.NEGATIVE_INFINITY;
+        for (double value : profile) {
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+
+        double detrendedVar = 0, residualVar = 0;
+        for (int i = 0; i < n; i++) {
+            double detrended = y[i] - refined.valueAt(t[i]);
+            detrendedVar += detrended * detrended;
+            double residual = detrended - profile[bin[i]];
+            residualVar += residual * residual;
+        }
+        double strength = detrendedVar > 0 ? Math.max(0, 1 - residualVar / detrendedVar) : 0;
+        double residualStd = n > 1 ? Math.sqrt(residualVar / (n - 1)) : 0;
+        double amplitude = max > min ? (max - min) / 2 : 0;
+        return new Seasonal(periodSeconds, profile, amplitude, strength, residualStd);
+    }
+
+    /** Mean detrended value per phase bin, centered so the profile sums to zero over occupied bins. */
+    private static double[] profile(double[] t, double[] y, Trend trend, int[] bin, int bins) {
+        double[] sums = new double[bins];
+        int[] counts = new int[bins];
+        for (int i = 0; i < t.length; i++) {
+            sums[bin[i]] += y[i] - trend.valueAt(t[i]);
+            counts[bin[i]]++;
+        }
+        double[] profile = new double[bins];
+        double total = 0;
+        int occupied = 0;
+        for (int b = 0; b < bins; b++) {
+            if (counts[b] == 0) continue;
+            profile[b] = sums[b] / counts[b];
+            total += profile[b];
+            occupied++;
+        }
+        double offset = occupied > 0 ? total / occupied : 0;
+        for (int b = 0; b < bins; b++) {
+            if (counts[b] > 0) profile[b] -= offset;
+        }
+        return profile;
+    }
+
+    /**
+     * Seconds after {@code fromT} until the trend line reaches {@code threshold};
+     * +∞ if it is moving away from it, 0 if already past.
+     */
+    public static double secondsUntil(Trend trend, double fromT, double threshold) {
+        double current = trend.valueAt(fromT);
+        double gap = threshold - current;
+        if (gap == 0) return 0;
+        if (trend.slope() == 0 || Math.signum(gap) != Math.signum(trend.slope())) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return gap / trend.slope();
+    }
+
+    public static double mean(double[] values) {
+        if (values.length == 0) return 0;
+        double sum = 0;
+        for (double v : values) sum += v;
+        return sum / values.length;
+    }
+
+    public static double median(double[] values) {
+        if (values.length == 0) return 0;
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int mid = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[mid] : (sorted[mid - 1] + sorted[mid]) / 2;
+    }
+
+    /** Median absolute deviation scaled to a standard deviation for normal data. */
+    public static double robustStd(double[] values, double median) {
+        double[] deviations = new double[values.length];
+        for (int i = 0; i < values.length; i++) deviations[i] = Math.abs(values[i] - median);
+        return 1.4826 * median(deviations);
+    }
+
+    public static double correlation(double[] x, double[] y) {
+        int n = Math.min(x.length, y.length);
+        if (n < 2) return 0;
+        double meanX = 0, meanY = 0;
+        for (int i = 0; i < n; i++) {
+            meanX += x[i];
+            meanY += y[i];
+        }
+        meanX /= n;
+        meanY /= n;
+        double sxy = 0, sxx = 0, syy = 0;
+        for (int i = 0; i < n; i++) {
+            double dx = x[i] - meanX, dy = y[i] - meanY;
+            sxy += dx * dy;
+            sxx += dx * dx;
+            syy += dy * dy;
+        }
+        return sxx > 0 && syy > 0 ? sxy / Math.sqrt(sxx * syy) : 0;
+    }
+
+    /** Two-sided normal confidence that a |z| deviation is not noise: erf(|z|/√2). */
+    public static double confidence(double z) {
+        double x = Math.abs(z) / Math.sqrt(2);
+        // Abramowitz & Stegun 7.1.26
+        double k = 1 / (1 + 0.3275911 * x);
+        double poly = k * (0.254829592 + k * (-0.284496736 + k * (1.421413741 + k * (-1.453152027 + k * 1.061405429))));
+        return 1 - poly * Math.exp(-x * x);
+    }
+
+    public static double clamp(double value) {
+        return Math.max(0, Math.min(1, value));
+    }
+}
@@ -5,7 +5,10 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "command_history")
+@Table(name = "command_history", indexes = {
+        // Created by db/migration/V2__history_indexes.sql
+        @Index(name = "idx_command_history_executed", columnList = "executed_at, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
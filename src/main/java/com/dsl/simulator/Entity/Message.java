@@ -6,7 +6,13 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "messages")
+@Table(name = "messages", indexes = {
+        // Created by db/migration/V2__history_indexes.sql; listed here to keep the mapping complete
+        @Index(name = "idx_messages_from_sent", columnList = "from_entity, sent_at, id"),
+        @Index(name = "idx_messages_to_sent", columnList = "to_entity, sent_at, id"),
+        @Index(name = "idx_messages_conversation", columnList = "from_entity, to_entity, sent_at, id"),
+        @Index(name = "idx_messages_sent", columnList = "sent_at, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
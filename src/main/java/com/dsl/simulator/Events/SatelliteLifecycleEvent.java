@@ -0,0 +1,28 @@
+package com.dsl.simulator.Events;
+
+import lombok.Data;
+import lombok.Builder;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Published in-process when the fleet changes, so that planners holding a schedule
+ * can react without polling.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SatelliteLifecycleEvent {
+
+    private String satelliteId;
+    private LifecycleType type;
+    private Instant timestamp;
+
+    public enum LifecycleType {
+        DEPLOYED,
+        DECOMMISSIONED
+    }
+}
@@ -0,0 +1,33 @@
+package com.dsl.simulator.Events;
+
+import lombok.Data;
+import lombok.Builder;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Published in-process when a satellite's position or operational status changes, so that
+ * read models can stay current without reloading the fleet. Position fields are only set
+ * for POSITION events, status only for STATUS events.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SatelliteStateEvent {
+
+    private String satelliteId;
+    private StateType type;
+    private Double latitude;
+    private Double longitude;
+    private Double altitude; // km
+    private String status;
+    private Instant timestamp;
+
+    public enum StateType {
+        POSITION,
+        STATUS
+    }
+}
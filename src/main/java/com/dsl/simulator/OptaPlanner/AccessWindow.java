@@ -0,0 +1,26 @@
+package com.dsl.simulator.OptaPlanner;
+
+import lombok.*;
+
+/**
+ * A pass: the interval in which a satellite is above a ground station's minimum elevation.
+ * Minutes count from the start of the planning day, the same scale as task start and end
+ * minutes, so constraints compare them directly.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AccessWindow {
+
+    private String satelliteId;
+    private String stationId;
+    private int startMinute;
+    private int endMinute;
+
+    @Override
+    public String toString() {
+        return String.format("%s->%s [%d-%d]", satelliteId, stationId, startMinute, endMinute);
+    }
+}
@@ -0,0 +1,153 @@
+package com.dsl.simulator.OptaPlanner;
+
+import com.dsl.simulator.Product.GroundStation;
+import com.dsl.simulator.Product.Satellite;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.orekit.bodies.OneAxisEllipsoid;
+import org.orekit.frames.Frame;
+import org.orekit.frames.FramesFactory;
+import org.orekit.frames.TopocentricFrame;
+import org.orekit.propagation.SpacecraftState;
+import org.orekit.propagation.analytical.tle.TLE;
+import org.orekit.propagation.analytical.tle.TLEPropagator;
+import org.orekit.propagation.events.ElevationDetector;
+import org.orekit.propagation.events.EventsLogger;
+import org.orekit.propagation.events.handlers.ContinueOnEvent;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.utils.Constants;
+import org.orekit.utils.IERSConventions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Precomputes satellite-to-ground-station access windows for mission planning.
+ *
+ * Each satellite is propagated once over the planning horizon with one elevation detector
+ * per station, on its own freshly built TLE propagator, so satellites are computed in
+ * parallel without sharing propagator state with the live fleet. Satellites without TLE
+ * data are skipped. The result is ordered by satellite; the solver indexes it by satellite
+ * id through the constraint joiners.
+ */
+@Slf4j
+@Service
+public class AccessWindowService {
+
+    private static final double MAX_CHECK_SECONDS = 60.0;
+    private static final double THRESHOLD_SECONDS = 1.0;
+
+    private final ExecutorService executor;
+
+    public AccessWindowService(@Value("${satops.planning.access-windows.threads:0}") int threads) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.executor = Executors.newFixedThreadPool(poolSize, runnable -> {
+            Thread thread = new Thread(runnable, "access-windows");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Access windows of every TLE-backed satellite over every station, from {@code horizonStart}
+     * for {@code horizonHours}. Passes already in progress at the start, or still in progress
+     * at the end, are clipped to the horizon.
+     */
+    public List<AccessWindow> compute(Collection<Satellite> satellites, Collection<GroundStation> stations,
+                                      AbsoluteDate horizonStart, int horizonHours) {
+        long started = System.nanoTime();
+        List<Future<List<AccessWindow>>> futures = new ArrayList<>();
+        for (Satellite satellite : satellites) {
+            if (satellite.getTleLine1() == null || satellite.getTleLine2() == null) continue;
+            futures.add(executor.submit(() -> windowsFor(satellite, stations, horizonStart, horizonHours)));
+        }
+
+        List<AccessWindow> windows = new ArrayList<>();
+        for (Future<List<AccessWindow>> future : futures) {
+            try {
+                windows.addAll(future.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while computing access windows", e);
+            } catch (ExecutionException e) {
+                log.warn("⚠️ Access window computation failed: {}", e.getCause().getMessage());
+            }
+        }
+        windows.sort(Comparator.comparing(AccessWindow::getSatelliteId).thenComparingInt(AccessWindow::getStartMinute));
+
+        log.info("📡 {} access windows for {} satellites x {} stations over {}h in {} ms",
+                windows.size(), futures.size(), stations.size(), horizonHours, (System.nanoTime() - started) / 1_000_000);
+        return windows;
+    }
+
+    private List<AccessWindow> windowsFor(Satellite satellite, Collection<GroundStation> stations,
+                                          AbsoluteDate horizonStart, int horizonHours) {
+        Frame itrf = FramesFactory.getITRF(IERSConventions.IERS_2010, true);
+        OneAxisEllipsoid earth = new OneAxisEllipsoid(Constants.WGS84_EARTH_EQUATORIAL_RADIUS,
+                Constants.WGS84_EARTH_FLATTENING, itrf);
+        TLEPropagator propagator = TLEPropagator.selectExtrapolator(
+                new TLE(satellite.getTleLine1(), satellite.getTleLine2()));
+        SpacecraftState startState = propagator.propagate(horizonStart);
+
+        EventsLogger logger = new EventsLogger();
+        Map<ElevationDetector, GroundStation> stationByDetector = new HashMap<>();
+        Map<GroundStation, Boolean> visibleAtStart = new HashMap<>();
+        for (GroundStation station : stations) {
+            TopocentricFrame topo = new TopocentricFrame(earth, station.getGeodeticPoint(), station.getName());
+            ElevationDetector detector = new ElevationDetector(MAX_CHECK_SECONDS, THRESHOLD_SECONDS, topo)
+                    .withConstantElevation(Math.toRadians(station.minElevationDeg))
+                    .withHandler(new ContinueOnEvent<>());
+            stationByDetector.put(detector, station);
+            visibleAtStart.put(station, detector.g(startState) > 0);
+            propagator.addEventDetector(logger.monitorDetector(detector));
+        }
+
+        AbsoluteDate horizonEnd = horizonStart.shiftedBy(horizonHours * 3600.0);
+        propagator.propagate(horizonStart, horizonEnd);
+
+        String satelliteId = satellite.getId() != null ? satellite.getId() : satellite.getSatelliteName();
+        int horizonMinutes = horizonHours * 60;
+        Map<GroundStation, Integer> openSince = new HashMap<>();
+        visibleAtStart.forEach((station, visible) -> {
+            if (visible) openSince.put(station, 0);
+        });
+
+        List<AccessWindow> windows = new ArrayList<>();
+        for (EventsLogger.LoggedEvent event : logger.getLoggedEvents()) {
+            GroundStation station = stationByDetector.get((ElevationDetector) event.getEventDetector());
+            int minute = (int) Math.round(event.getState().getDate().durationFrom(horizonStart) / 60.0);
+            if (event.isIncreasing()) {
+                openSince.put(station, minute);
+            } else {
+                Integer start = openSince.remove(station);
+                if (start != null) windows.add(window(satelliteId, station, start, minute));
+            }
+        }
+        openSince.forEach((station, start) -> windows.add(window(satelliteId, station, start, horizonMinutes)));
+        return windows;
+    }
+
+    private static AccessWindow window(String satelliteId, GroundStation station, int startMinute, int endMinute) {
+        return AccessWindow.builder()
+                .satelliteId(satelliteId)
+                .stationId(station.getName())
+                .startMinute(startMinute)
+                .endMinute(Math.max(endMinute, startMinute + 1))
+                .build();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
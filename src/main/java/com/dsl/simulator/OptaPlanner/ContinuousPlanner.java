@@ -0,0 +1,164 @@
+package com.dsl.simulator.OptaPlanner;
+
+import com.dsl.simulator.Events.SatelliteLifecycleEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.optaplanner.core.api.solver.SolverFactory;
+import org.optaplanner.core.api.solver.SolverManager;
+import org.optaplanner.core.api.solver.change.ProblemChange;
+import org.optaplanner.core.config.solver.SolverManagerConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Continuous planning: one long-running daemon solver that holds the current schedule and
+ * takes fleet and task changes as {@link ProblemChange}s.
+ *
+ * A change interrupts the solver, is applied to its working solution and solving resumes
+ * from there: only the affected tasks are re-placed by the construction heuristic before
+ * local search polishes the result, so a replan costs milliseconds instead of a fresh
+ * solve. When the profile's terminations are met the daemon idles until the next change.
+ * Every new best schedule is published through the plan's {@link PlanningJob}, the same
+ * handle and event stream as submitted jobs.
+ */
+@Slf4j
+@Service
+public class ContinuousPlanner {
+
+    private final SolverManager<MissionPlanningProblem, Long> solverManager;
+    private final PlanningProfile profile;
+    private final int defaultMaxPower;
+    private final int defaultMaxFuel;
+    private final AtomicLong planIdCounter = new AtomicLong(0);
+    private final LongAdder changesApplied = new LongAdder();
+
+    private volatile PlanningJob plan;
+    private volatile long lastReplanMillis = -1;
+
+    public ContinuousPlanner(OptaPlannerMissionService planningService,
+                             @Value("${satops.planning.continuous.profile:BALANCED}") PlanningProfile profile,
+                             @Value("${satops.planning.continuous.satellite-max-power:1000}") int defaultMaxPower,
+                             @Value("${satops.planning.continuous.satellite-max-fuel:100}") int defaultMaxFuel) {
+        this.profile = profile;
+        this.defaultMaxPower = defaultMaxPower;
+        this.defaultMaxFuel = defaultMaxFuel;
+        SolverFactory<MissionPlanningProblem> solverFactory =
+                SolverFactory.create(planningService.solverConfig(profile).withDaemon(true));
+        this.solverManager = SolverManager.create(solverFactory,
+                new SolverManagerConfig().withParallelSolverCount("1"));
+    }
+
+    /**
+     * Starts planning the given fleet and tasks, replacing any running plan.
+     */
+    public synchronized PlanningJob start(List<MissionTask> tasks, List<SatelliteResource> satellites, List<TimeSlot> slots) {
+        stop();
+
+        long planId = planIdCounter.incrementAndGet();
+        MissionPlanningProblem problem = MissionPlanningProblem.builder()
+                .taskList(tasks)
+                .satelliteList(satellites)
+                .timeSlotList(slots)
+                .build();
+        PlanningJob job = new PlanningJob(planId, profile, problem);
+        log.info("🔁 Continuous plan #{} started with {} tasks, {} satellites", planId, tasks.size(), satellites.size());
+        job.attach(solverManager.solveAndListen(planId, id -> problem,
+                job::bestSolutionChanged,
+                job::finished,
+                (id, e) -> job.failed(e)));
+        plan = job;
+        return job;
+    }
+
+    public synchronized void stop() {
+        PlanningJob current = plan;
+        if (current != null) {
+            current.terminateEarly();
+            plan = null;
+            log.info("⏹️ Continuous plan #{} stopped", current.getJobId());
+        }
+    }
+
+    public Optional<PlanningJob> getPlan() {
+        return Optional.ofNullable(plan);
+    }
+
+    public CompletableFuture<Void> addTasks(List<MissionTask> tasks) {
+        return apply("add " + tasks.size() + " tasks", MissionProblemChanges.addTasks(tasks));
+    }
+
+    public CompletableFuture<Void> deploySatellite(SatelliteResource satellite) {
+        return apply("deploy " + satellite.getSatelliteId(), MissionProblemChanges.deploySatellite(satellite));
+    }
+
+    public CompletableFuture<Void> decommissionSatellite(String satelliteId) {
+        return apply("decommission " + satelliteId, MissionProblemChanges.decommissionSatellite(satelliteId));
+    }
+
+    public CompletableFuture<Void> changePower(String satelliteId, int maxPower) {
+        return apply("power " + satelliteId + " -> " + maxPower + "W", MissionProblemChanges.changePower(satelliteId, maxPower));
+    }
+
+    /**
+     * Hands a change to the running solver. The future completes once a best solution that
+     * includes the change has been published; it fails if no plan is running.
+     */
+    private CompletableFuture<Void> apply(String description, ProblemChange<MissionPlanningProblem> change) {
+        PlanningJob current = plan;
+        if (current == null || current.isDone()) {
+            return CompletableFuture.failedFuture(new IllegalStateException("No continuous plan is running"));
+        }
+        long started = System.nanoTime();
+        return solverManager.addProblemChange(current.getJobId(), change)
+                .whenComplete((ignored, e) -> {
+                    if (e != null) {
+                        log.warn("⚠️ Replan '{}' on plan #{} failed: {}", description, current.getJobId(), e.getMessage());
+                        return;
+                    }
+                    lastReplanMillis = (System.nanoTime() - started) / 1_000_000;
+                    changesApplied.increment();
+                    log.info("🔁 Replanned '{}' on plan #{} in {} ms", description, current.getJobId(), lastReplanMillis);
+                });
+    }
+
+    /** Keeps a running plan in step with satellites deployed or decommissioned through the DSL. */
+    @EventListener
+    public void onSatelliteLifecycle(SatelliteLifecycleEvent event) {
+        if (plan == null) return;
+        switch (event.getType()) {
+            case DEPLOYED -> deploySatellite(SatelliteResource.builder()
+                    .satelliteId(event.getSatelliteId())
+                    .name(event.getSatelliteId())
+                    .maxPower(defaultMaxPower)
+                    .maxFuel(defaultMaxFuel)
+                    .operational(true)
+                    .build());
+            case DECOMMISSIONED -> decommissionSatellite(event.getSatelliteId());
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        PlanningJob current = plan;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("running", current != null && !current.isDone());
+        stats.put("planId", current != null ? current.getJobId() : null);
+        stats.put("profile", profile.name());
+        stats.put("changesApplied", changesApplied.sum());
+        stats.put("lastReplanMillis", lastReplanMillis);
+        return stats;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        solverManager.close();
+    }
+}
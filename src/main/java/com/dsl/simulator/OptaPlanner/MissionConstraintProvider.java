@@ -5,6 +5,7 @@ import org.optaplanner.core.api.score.stream.Constraint;
 import org.optaplanner.core.api.score.stream.ConstraintFactory;
 import org.optaplanner.core.api.score.stream.ConstraintProvider;
 import org.optaplanner.core.api.score.stream.ConstraintCollectors;
+import org.optaplanner.core.api.score.stream.Joiners;
 
 public class MissionConstraintProvider implements ConstraintProvider {
 
@@ -14,32 +15,29 @@ public class MissionConstraintProvider implements ConstraintProvider {
                 satelliteDoubleBooking(constraintFactory),
                 powerOveruse(constraintFactory),
                 fuelOveruse(constraintFactory),
+                groundContactOutsideAccessWindow(constraintFactory),
                 maximizeTaskAssignment(constraintFactory)
         };
     }
 
-    // HARD constraint: Satellite cannot be double-booked at the same time
-    private Constraint satelliteDoubleBooking(ConstraintFactory constraintFactory) {
+    // HARD constraint: Satellite cannot run two tasks at the same time.
+    // Unique pairs indexed on satellite and time interval, so each conflicting pair is matched
+    // once and only candidates sharing a satellite and overlapping in time are ever compared.
+    // Tasks in the same slot always overlap; a task longer than its slot also collides with
+    // tasks in the slots it runs into. Penalized per overlapping minute.
+    Constraint satelliteDoubleBooking(ConstraintFactory constraintFactory) {
         return constraintFactory
-                .forEach(MissionTask.class)
-                .join(MissionTask.class)
-                .filter((task1, task2) ->
-                        !task1.getTaskId().equals(task2.getTaskId()) && // Different tasks
-                                task1.getAssignedSatellite() != null &&
-                                task2.getAssignedSatellite() != null &&
-                                task1.getAssignedSatellite().getSatelliteId().equals(task2.getAssignedSatellite().getSatelliteId()) &&
-                                task1.getAssignedTimeSlot() != null &&
-                                task2.getAssignedTimeSlot() != null &&
-                                task1.getAssignedTimeSlot().getTimeSlotId().equals(task2.getAssignedTimeSlot().getTimeSlotId()))
-                .penalize(HardSoftScore.ONE_HARD)
+                .forEachUniquePair(MissionTask.class,
+                        Joiners.equal(MissionTask::getAssignedSatellite),
+                        Joiners.overlapping(MissionTask::getStartMinute, MissionTask::getEndMinute))
+                .penalize(HardSoftScore.ONE_HARD, MissionTask::overlapMinutes)
                 .asConstraint("Double-booking satellite");
     }
 
     // HARD constraint: Power limit per satellite per time slot
-    private Constraint powerOveruse(ConstraintFactory constraintFactory) {
+    Constraint powerOveruse(ConstraintFactory constraintFactory) {
         return constraintFactory
                 .forEach(MissionTask.class)
-                .filter(task -> task.getAssignedSatellite() != null && task.getAssignedTimeSlot() != null)
                 .groupBy(MissionTask::getAssignedSatellite,
                         MissionTask::getAssignedTimeSlot,
                         ConstraintCollectors.sum(MissionTask::getRequiredPower))
@@ -50,10 +48,9 @@ public class MissionConstraintProvider implements ConstraintProvider {
     }
 
     // HARD constraint: Fuel limit per satellite per time slot
-    private Constraint fuelOveruse(ConstraintFactory constraintFactory) {
+    Constraint fuelOveruse(ConstraintFactory constraintFactory) {
         return constraintFactory
                 .forEach(MissionTask.class)
-                .filter(task -> task.getAssignedSatellite() != null && task.getAssignedTimeSlot() != null)
                 .groupBy(MissionTask::getAssignedSatellite,
                         MissionTask::getAssignedTimeSlot,
                         ConstraintCollectors.sum(MissionTask::getRequiredFuel))
@@ -63,8 +60,24 @@ public class MissionConstraintProvider implements ConstraintProvider {
                 .asConstraint("Fuel over limit");
     }
 
+    // HARD constraint: Relay/communication tasks need a pass over some ground station while they run.
+    // Access windows are joined on satellite id and time interval, so each task is only checked
+    // against its own satellite's passes. Satellites without computed windows are not checked.
+    // Penalized per task minute, on the same scale as double-booking.
+    Constraint groundContactOutsideAccessWindow(ConstraintFactory constraintFactory) {
+        return constraintFactory
+                .forEach(MissionTask.class)
+                .filter(task -> task.requiresGroundContact() && task.getAssignedSatellite().isGroundContactModelled())
+                .ifNotExists(AccessWindow.class,
+                        Joiners.equal(task -> task.getAssignedSatellite().getSatelliteId(), AccessWindow::getSatelliteId),
+                        Joiners.overlapping(MissionTask::getStartMinute, MissionTask::getEndMinute,
+                                AccessWindow::getStartMinute, AccessWindow::getEndMinute))
+                .penalize(HardSoftScore.ONE_HARD, MissionTask::getDurationMinutes)
+                .asConstraint("Ground contact outside access window");
+    }
+
     // SOFT constraint: Maximize assigned tasks
-    private Constraint maximizeTaskAssignment(ConstraintFactory constraintFactory) {
+    Constraint maximizeTaskAssignment(ConstraintFactory constraintFactory) {
         return constraintFactory
                 .forEach(MissionTask.class)
                 .filter(task -> task.getAssignedSatellite() != null)
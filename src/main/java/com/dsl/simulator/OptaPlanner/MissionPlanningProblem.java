@@ -1,5 +1,6 @@
 package com.dsl.simulator.OptaPlanner;
 
+import java.util.ArrayList;
 import java.util.List;
 import org.optaplanner.core.api.domain.solution.PlanningSolution;
 import org.optaplanner.core.api.domain.solution.PlanningEntityCollectionProperty;
@@ -28,6 +29,10 @@ public class MissionPlanningProblem {
     @ValueRangeProvider(id = "timeSlotRange")
     private List<TimeSlot> timeSlotList;
 
+    @ProblemFactCollectionProperty
+    @Builder.Default
+    private List<AccessWindow> accessWindowList = new ArrayList<>();
+
     @PlanningScore
     private HardSoftScore score;
 }
@@ -0,0 +1,76 @@
+package com.dsl.simulator.OptaPlanner;
+
+import org.optaplanner.core.api.solver.change.ProblemChange;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fleet and task changes applied to a running solver's working solution.
+ *
+ * Problem fact lists are shared between solution clones, so they are copied before being
+ * modified. Tasks that lose their satellite are left uninitialized; the construction
+ * heuristic places them again when the solver restarts, leaving every other assignment
+ * where it was.
+ */
+public final class MissionProblemChanges {
+
+    private MissionProblemChanges() {
+    }
+
+    public static ProblemChange<MissionPlanningProblem> addTasks(List<MissionTask> tasks) {
+        return (solution, director) -> {
+            solution.setTaskList(new ArrayList<>(solution.getTaskList()));
+            for (MissionTask task : tasks) {
+                director.addEntity(task, solution.getTaskList()::add);
+            }
+        };
+    }
+
+    /** Adds a satellite, or brings an existing one back into service with the given limits. */
+    public static ProblemChange<MissionPlanningProblem> deploySatellite(SatelliteResource satellite) {
+        return (solution, director) -> {
+            director.lookUpWorkingObject(satellite).ifPresentOrElse(
+                    working -> director.changeProblemProperty(working, s -> {
+                        s.setMaxPower(satellite.getMaxPower());
+                        s.setMaxFuel(satellite.getMaxFuel());
+                        s.setOperational(true);
+                    }),
+                    () -> {
+                        solution.setSatelliteList(new ArrayList<>(solution.getSatelliteList()));
+                        director.addProblemFact(satellite, solution.getSatelliteList()::add);
+                    });
+        };
+    }
+
+    /** Removes a satellite and unassigns its tasks. */
+    public static ProblemChange<MissionPlanningProblem> decommissionSatellite(String satelliteId) {
+        return (solution, director) -> {
+            SatelliteResource key = SatelliteResource.builder().satelliteId(satelliteId).build();
+            director.lookUpWorkingObject(key).ifPresent(working -> {
+                for (MissionTask task : solution.getTaskList()) {
+                    if (task.getAssignedSatellite() == working) {
+                        director.changeVariable(task, "assignedSatellite", t -> t.setAssignedSatellite(null));
+                    }
+                }
+                solution.setSatelliteList(new ArrayList<>(solution.getSatelliteList()));
+                director.removeProblemFact(working, solution.getSatelliteList()::remove);
+            });
+        };
+    }
+
+    /**
+     * New power budget for a satellite, e.g. after losing a solar array. Tasks stay where they
+     * are; the power constraint moves the ones that no longer fit.
+     */
+    public static ProblemChange<MissionPlanningProblem> changePower(String satelliteId, int maxPower) {
+        return (solution, director) -> {
+            SatelliteResource key = SatelliteResource.builder().satelliteId(satelliteId).build();
+            director.lookUpWorkingObject(key).ifPresent(working ->
+                    director.changeProblemProperty(working, s -> {
+                        s.setMaxPower(maxPower);
+                        s.setOperational(maxPower > 0);
+                    }));
+        };
+    }
+}
@@ -27,6 +27,25 @@ public class MissionTask {
     @PlanningVariable(valueRangeProviderRefs = "timeSlotRange")
     private TimeSlot assignedTimeSlot;
 
+    /** Minute of the day the task starts: the start of its assigned slot. */
+    public int getStartMinute() {
+        return assignedTimeSlot != null ? assignedTimeSlot.getStartHour() * 60 : 0;
+    }
+
+    /** Exclusive end minute; a task longer than its slot runs on into the following hours. */
+    public int getEndMinute() {
+        return getStartMinute() + Math.max(1, durationMinutes);
+    }
+
+    /** Relay and communication tasks need a ground station in view while they run. */
+    public boolean requiresGroundContact() {
+        return "DATA_RELAY".equals(taskType) || "COMMUNICATION".equals(taskType);
+    }
+
+    static int overlapMinutes(MissionTask a, MissionTask b) {
+        return Math.min(a.getEndMinute(), b.getEndMinute()) - Math.max(a.getStartMinute(), b.getStartMinute());
+    }
+
     @Override
     public String toString() {
         return String.format("Task[%s: %s @ %s via %s]",
@@ -1,53 +1,141 @@
 package com.dsl.simulator.OptaPlanner;
 
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.stereotype.Service;
-import org.optaplanner.core.api.solver.Solver;
 import org.optaplanner.core.api.solver.SolverFactory;
+import org.optaplanner.core.api.solver.SolverManager;
 import org.optaplanner.core.config.solver.SolverConfig;
+import org.optaplanner.core.config.solver.SolverManagerConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Mission planning on shared {@link SolverFactory} instances: the solver config and
+ * constraint streams are compiled once per {@link PlanningProfile} instead of on every request.
+ *
+ * Problems are submitted as jobs to that profile's {@link SolverManager}, which solves at
+ * most {@code parallel-solvers} of them at a time and queues the rest. Managers are created
+ * the first time a profile is used, so only the default profile costs anything at startup.
+ * Every improved best solution is pushed to the job's subscribers; callers that need the
+ * answer inline (the DSL) wait on the job's result.
+ */
 @Slf4j
 @Service
 public class OptaPlannerMissionService {
 
+    private final SolverConfig baseConfig;
+    private final Map<PlanningProfile, SolverManager<MissionPlanningProblem, Long>> solverManagers = new ConcurrentHashMap<>();
+    private final Duration spentLimit;
+    private final int parallelSolvers;
+    private final PlanningProfile defaultProfile;
+    private final String moveThreadCount;
     private final AtomicLong problemIdCounter = new AtomicLong(0);
+    private final Map<Long, PlanningJob> jobs = new ConcurrentHashMap<>();
+    private final int maxPendingJobs;
+    private final int retainedJobs;
+
+    public OptaPlannerMissionService(@Value("${satops.planning.spent-limit-seconds:3}") long spentLimitSeconds,
+                                     @Value("${satops.planning.parallel-solvers:2}") int parallelSolvers,
+                                     @Value("${satops.planning.max-pending-jobs:32}") int maxPendingJobs,
+                                     @Value("${satops.planning.retained-jobs:100}") int retainedJobs,
+                                     @Value("${satops.planning.profile:BALANCED}") PlanningProfile defaultProfile,
+                                     @Value("${satops.planning.move-thread-count:AUTO}") String moveThreadCount) {
+        this.maxPendingJobs = maxPendingJobs;
+        this.retainedJobs = retainedJobs;
+        this.spentLimit = Duration.ofSeconds(spentLimitSeconds);
+        this.parallelSolvers = parallelSolvers;
+        this.defaultProfile = defaultProfile;
+        this.moveThreadCount = moveThreadCount;
+        this.baseConfig = SolverConfig.createFromXmlResource("solver-config.xml");
+
+        solverManager(defaultProfile);
+        log.info("🧩 Mission planner ready: {} profile, {} parallel solvers, {}s per job",
+                defaultProfile, parallelSolvers, spentLimitSeconds);
+    }
 
-    public MissionPlanningProblem solveMissionPlan(List<MissionTask> tasks,
-                                                   List<SatelliteResource> satellites,
-                                                   List<TimeSlot> slots) {
-
-        Long problemId = problemIdCounter.incrementAndGet();
-        log.info("🚀 Starting OptaPlanner solver #{} with {} tasks, {} satellites, {} time slots",
-                problemId, tasks.size(), satellites.size(), slots.size());
+    /** The solver config a job of the given profile runs with. */
+    public SolverConfig solverConfig(PlanningProfile profile) {
+        return profile.configure(baseConfig, spentLimit, moveThreadCount);
+    }
 
-        try {
-            // Create simple solver configuration
-            SolverConfig solverConfig = new SolverConfig()
-                    .withSolutionClass(MissionPlanningProblem.class)
-                    .withEntityClasses(MissionTask.class)
-                    .withConstraintProviderClass(MissionConstraintProvider.class)
-                    .withTerminationSpentLimit(java.time.Duration.ofSeconds(3));
+    private SolverManager<MissionPlanningProblem, Long> solverManager(PlanningProfile profile) {
+        return solverManagers.computeIfAbsent(profile, p -> {
+            if (p.getUnimprovedSpentLimit() != null && !p.keepsUnimprovedLimit(spentLimit)) {
+                log.warn("⚠️ {} profile's {}s without-improvement limit is not below the {}s spent limit and is ignored; "
+                                + "raise satops.planning.spent-limit-seconds for it to take effect",
+                        p, p.getUnimprovedSpentLimit().toSeconds(), spentLimit.toSeconds());
+            }
+            SolverFactory<MissionPlanningProblem> solverFactory = SolverFactory.create(solverConfig(p));
+            return SolverManager.create(solverFactory,
+                    new SolverManagerConfig().withParallelSolverCount(String.valueOf(parallelSolvers)));
+        });
+    }
 
-            SolverFactory<MissionPlanningProblem> solverFactory = SolverFactory.create(solverConfig);
-            Solver<MissionPlanningProblem> solver = solverFactory.buildSolver();
+    public PlanningJob submit(List<MissionTask> tasks, List<SatelliteResource> satellites, List<TimeSlot> slots) {
+        return submit(defaultProfile, tasks, satellites, slots);
+    }
 
-            MissionPlanningProblem planningProblem = MissionPlanningProblem.builder()
-                    .taskList(tasks)
-                    .satelliteList(satellites)
-                    .timeSlotList(slots)
-                    .build();
+    public PlanningJob submit(PlanningProfile profile, List<MissionTask> tasks,
+                              List<SatelliteResource> satellites, List<TimeSlot> slots) {
+        return submit(profile, MissionPlanningProblem.builder()
+                .taskList(tasks)
+                .satelliteList(satellites)
+                .timeSlotList(slots)
+                .build());
+    }
 
-            // Solve synchronously
-            MissionPlanningProblem solution = solver.solve(planningProblem);
+    /**
+     * Queues a planning problem and returns immediately. Rejected when too many jobs are
+     * already waiting or solving.
+     *
+     * @param profile solver profile for this job; null means {@code satops.planning.profile}
+     */
+    public PlanningJob submit(PlanningProfile profile, MissionPlanningProblem problem) {
+        PlanningProfile effectiveProfile = profile != null ? profile : defaultProfile;
+        long pending = jobs.values().stream().filter(job -> !job.isDone()).count();
+        if (pending >= maxPendingJobs) {
+            throw new RejectedExecutionException("Planning queue full (" + pending + " jobs pending)");
+        }
 
-            log.info("✅ OptaPlanner solver #{} completed with score: {}", problemId, solution.getScore());
-            return solution;
+        long jobId = problemIdCounter.incrementAndGet();
+
+        PlanningJob job = new PlanningJob(jobId, effectiveProfile, problem);
+        jobs.put(jobId, job);
+        evictFinishedJobs();
+
+        log.info("🚀 Submitting {} planning job #{} with {} tasks, {} satellites, {} time slots, {} access windows",
+                effectiveProfile, jobId, problem.getTaskList().size(), problem.getSatelliteList().size(),
+                problem.getTimeSlotList().size(), problem.getAccessWindowList().size());
+        job.attach(solverManager(effectiveProfile).solveAndListen(jobId, id -> problem,
+                job::bestSolutionChanged,
+                solution -> {
+                    job.finished(solution);
+                    log.info("✅ Planning job #{} completed with score: {}", jobId, solution.getScore());
+                },
+                (id, e) -> job.failed(e)));
+        return job;
+    }
 
+    /**
+     * Solves synchronously on the shared solver pool; returns the unsolved problem if solving fails.
+     */
+    public MissionPlanningProblem solveMissionPlan(List<MissionTask> tasks,
+                                                   List<SatelliteResource> satellites,
+                                                   List<TimeSlot> slots) {
+        try {
+            return submit(tasks, satellites, slots).getResult().join();
         } catch (Exception e) {
-            log.error("❌ OptaPlanner solver #{} failed: {}", problemId, e.getMessage());
+            log.error("❌ OptaPlanner solve failed: {}", e.getMessage());
 
             // Return unsolved problem as fallback
             return MissionPlanningProblem.builder()
@@ -58,6 +146,45 @@ public class OptaPlannerMissionService {
         }
     }
 
+    public Optional<PlanningJob> getJob(long jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    public boolean terminate(long jobId) {
+        PlanningJob job = jobs.get(jobId);
+        if (job == null) return false;
+        job.terminateEarly();
+        return true;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("submitted", problemIdCounter.get());
+        stats.put("pending", jobs.values().stream().filter(job -> !job.isDone()).count());
+        stats.put("retained", jobs.size());
+        stats.put("maxPendingJobs", maxPendingJobs);
+        stats.put("defaultProfile", defaultProfile.name());
+        stats.put("activeProfiles", solverManagers.keySet().stream().sorted().map(Enum::name).toList());
+        stats.put("moveThreadCount", moveThreadCount);
+        return stats;
+    }
+
+    /** Keeps the newest {@code retainedJobs} finished jobs for status queries. */
+    private void evictFinishedJobs() {
+        List<PlanningJob> finished = jobs.values().stream()
+                .filter(PlanningJob::isDone)
+                .sorted(Comparator.comparingLong(PlanningJob::getJobId))
+                .toList();
+        for (int i = 0; i < finished.size() - retainedJobs; i++) {
+            jobs.remove(finished.get(i).getJobId());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        solverManagers.values().forEach(SolverManager::close);
+    }
+
     public String formatSolutionResults(MissionPlanningProblem solution) {
         StringBuilder result = new StringBuilder();
         result.append("🎯 === REAL OPTAPLANNER RESULTS ===\n");
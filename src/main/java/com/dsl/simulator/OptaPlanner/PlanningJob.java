@@ -0,0 +1,161 @@
+package com.dsl.simulator.OptaPlanner;
+
+import lombok.extern.slf4j.Slf4j;
+import org.optaplanner.core.api.score.buildin.hardsoft.HardSoftScore;
+import org.optaplanner.core.api.solver.SolverJob;
+import org.optaplanner.core.api.solver.SolverStatus;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * One submitted planning problem: its latest best solution, and the listeners that are told
+ * about every improvement. Callbacks arrive on OptaPlanner's consumer thread, one at a time.
+ */
+@Slf4j
+public class PlanningJob {
+
+    /** Event pushed to listeners; {@code finished} is set on the last one. */
+    public record Update(long jobId, String score, boolean feasible, int assignedTasks, int totalTasks,
+                         int improvements, long elapsedMillis, boolean finished, String error) {
+    }
+
+    private final long jobId;
+    private final PlanningProfile profile;
+    private final Instant submittedAt = Instant.now();
+    private final List<Consumer<Update>> listeners = new CopyOnWriteArrayList<>();
+    private final CompletableFuture<MissionPlanningProblem> result = new CompletableFuture<>();
+
+    private volatile SolverJob<MissionPlanningProblem, Long> solverJob;
+    private volatile MissionPlanningProblem bestSolution;
+    private volatile Update lastUpdate;
+    private volatile int improvements;
+    private volatile String error;
+
+    PlanningJob(long jobId, PlanningProfile profile, MissionPlanningProblem problem) {
+        this.jobId = jobId;
+        this.profile = profile;
+        this.bestSolution = problem;
+        this.lastUpdate = update(false);
+    }
+
+    void attach(SolverJob<MissionPlanningProblem, Long> solverJob) {
+        this.solverJob = solverJob;
+    }
+
+    void bestSolutionChanged(MissionPlanningProblem solution) {
+        bestSolution = solution;
+        improvements++;
+        publish(update(false));
+    }
+
+    void finished(MissionPlanningProblem solution) {
+        bestSolution = solution;
+        publish(update(true));
+        result.complete(solution);
+    }
+
+    void failed(Throwable e) {
+        error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+        log.error("❌ Planning job #{} failed: {}", jobId, error);
+        publish(update(true));
+        result.completeExceptionally(e);
+    }
+
+    /**
+     * Registers a listener and immediately replays the latest state to it, so a subscriber
+     * that arrives after the job finished still gets the final result.
+     */
+    public synchronized void subscribe(Consumer<Update> listener) {
+        listeners.add(listener);
+        listener.accept(lastUpdate);
+    }
+
+    public void unsubscribe(Consumer<Update> listener) {
+        listeners.remove(listener);
+    }
+
+    private synchronized void publish(Update update) {
+        lastUpdate = update;
+        for (Consumer<Update> listener : listeners) {
+            try {
+                listener.accept(update);
+            } catch (Exception e) {
+                // A broken subscriber (e.g. a closed stream) must not stop the solver callbacks
+                listeners.remove(listener);
+            }
+        }
+    }
+
+    /** Task counts come from the solution, which grows when tasks are added to a running plan. */
+    private Update update(boolean finished) {
+        MissionPlanningProblem solution = bestSolution;
+        HardSoftScore score = solution.getScore();
+        int assigned = (int) solution.getTaskList().stream()
+                .filter(task -> task.getAssignedSatellite() != null && task.getAssignedTimeSlot() != null)
+                .count();
+        return new Update(jobId, score != null ? score.toString() : null, score != null && score.isFeasible(),
+                assigned, solution.getTaskList().size(), improvements, Duration.between(submittedAt, Instant.now()).toMillis(),
+                finished, error);
+    }
+
+    public long getJobId() {
+        return jobId;
+    }
+
+    public PlanningProfile getProfile() {
+        return profile;
+    }
+
+    public SolverStatus getStatus() {
+        if (result.isDone()) return SolverStatus.NOT_SOLVING;
+        SolverJob<MissionPlanningProblem, Long> job = solverJob;
+        return job != null ? job.getSolverStatus() : SolverStatus.SOLVING_SCHEDULED;
+    }
+
+    public boolean isDone() {
+        return result.isDone();
+    }
+
+    public MissionPlanningProblem getBestSolution() {
+        return bestSolution;
+    }
+
+    public Update getLastUpdate() {
+        return lastUpdate;
+    }
+
+    /** Completes with the final best solution. */
+    public CompletableFuture<MissionPlanningProblem> getResult() {
+        return result;
+    }
+
+    public void terminateEarly() {
+        SolverJob<MissionPlanningProblem, Long> job = solverJob;
+        if (job != null) job.terminateEarly();
+    }
+
+    public Map<String, Object> toMap() {
+        Update update = lastUpdate;
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("jobId", jobId);
+        map.put("status", getStatus().name());
+        map.put("profile", profile.name());
+        map.put("submittedAt", submittedAt.toString());
+        map.put("score", update.score());
+        map.put("feasible", update.feasible());
+        map.put("assignedTasks", update.assignedTasks());
+        map.put("totalTasks", bestSolution.getTaskList().size());
+        map.put("improvements", update.improvements());
+        map.put("elapsedMillis", update.elapsedMillis());
+        map.put("finished", update.finished());
+        if (error != null) map.put("error", error);
+        return map;
+    }
+}
@@ -0,0 +1,95 @@
+package com.dsl.simulator.OptaPlanner;
+
+import org.optaplanner.core.config.constructionheuristic.ConstructionHeuristicPhaseConfig;
+import org.optaplanner.core.config.constructionheuristic.ConstructionHeuristicType;
+import org.optaplanner.core.config.localsearch.LocalSearchPhaseConfig;
+import org.optaplanner.core.config.localsearch.LocalSearchType;
+import org.optaplanner.core.config.phase.PhaseConfig;
+import org.optaplanner.core.config.solver.SolverConfig;
+import org.optaplanner.core.config.solver.termination.TerminationConfig;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * How hard the solver works on a planning job. Every profile starts from solver-config.xml
+ * (domain classes, constraints, stop-when-feasible) and decides which phases run after
+ * construction and when to give up.
+ *
+ * Each job still ends at {@code satops.planning.spent-limit-seconds}; the unimproved limit
+ * ends it earlier once local search has stalled, which is where most of the time went on
+ * problems that cannot be made feasible. An unimproved limit that is not below the spent
+ * limit could never fire and is dropped, with a warning from the planning service.
+ */
+public enum PlanningProfile {
+
+    /** Construction heuristic only: one greedy pass, milliseconds even for thousands of tasks. */
+    FAST(null, null, false),
+
+    /** Construction, then late acceptance until two seconds pass without a better score. */
+    BALANCED(LocalSearchType.LATE_ACCEPTANCE, Duration.ofSeconds(2), false),
+
+    /**
+     * Construction, then tabu search on {@code satops.planning.move-thread-count} move threads,
+     * allowed ten seconds without improvement. That only takes effect with a
+     * {@code satops.planning.spent-limit-seconds} above ten; with the shipped three seconds,
+     * THOROUGH jobs simply run until the spent limit.
+     */
+    THOROUGH(LocalSearchType.TABU_SEARCH, Duration.ofSeconds(10), true);
+
+    private final LocalSearchType localSearchType;
+    private final Duration unimprovedSpentLimit;
+    private final boolean multithreaded;
+
+    PlanningProfile(LocalSearchType localSearchType, Duration unimprovedSpentLimit, boolean multithreaded) {
+        this.localSearchType = localSearchType;
+        this.unimprovedSpentLimit = unimprovedSpentLimit;
+        this.multithreaded = multithreaded;
+    }
+
+    /**
+     * Builds this profile's solver config on a copy of {@code base}.
+     *
+     * @param moveThreadCount OptaPlanner's {@code moveThreadCount} ("NONE", "AUTO" or a number);
+     *                        only used by multithreaded profiles
+     */
+    public SolverConfig configure(SolverConfig base, Duration spentLimit, String moveThreadCount) {
+        List<PhaseConfig> phases = new ArrayList<>();
+        phases.add(new ConstructionHeuristicPhaseConfig()
+                .withConstructionHeuristicType(ConstructionHeuristicType.FIRST_FIT));
+        if (localSearchType != null) {
+            phases.add(new LocalSearchPhaseConfig().withLocalSearchType(localSearchType));
+        }
+
+        TerminationConfig termination = base.getTerminationConfig() != null
+                ? base.getTerminationConfig().copyConfig()
+                : new TerminationConfig();
+        termination.setSpentLimit(spentLimit);
+        if (keepsUnimprovedLimit(spentLimit)) {
+            termination.setUnimprovedSpentLimit(unimprovedSpentLimit);
+        }
+
+        return base.copyConfig()
+                .withPhaseList(phases)
+                .withTerminationConfig(termination)
+                .withMoveThreadCount(multithreaded ? moveThreadCount : null);
+    }
+
+    /** Whether this profile's unimproved limit can end a job before {@code spentLimit} does. */
+    public boolean keepsUnimprovedLimit(Duration spentLimit) {
+        return unimprovedSpentLimit != null && unimprovedSpentLimit.compareTo(spentLimit) < 0;
+    }
+
+    public LocalSearchType getLocalSearchType() {
+        return localSearchType;
+    }
+
+    public Duration getUnimprovedSpentLimit() {
+        return unimprovedSpentLimit;
+    }
+
+    public boolean isMultithreaded() {
+        return multithreaded;
+    }
+}
@@ -0,0 +1,35 @@
+package com.dsl.simulator.OptaPlanner;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** Body of POST /api/planning/jobs: the problem facts and the tasks to assign. */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlanningRequest {
+
+    @Builder.Default
+    private List<MissionTask> tasks = new ArrayList<>();
+
+    @Builder.Default
+    private List<SatelliteResource> satellites = new ArrayList<>();
+
+    @Builder.Default
+    private List<TimeSlot> timeSlots = new ArrayList<>();
+
+    /** Solver profile; omitted means the configured default. */
+    private PlanningProfile profile;
+
+    /**
+     * Compute access windows from the deployed fleet and ground stations for satellites in
+     * this request, so relay and communication tasks are only placed while a station is in view.
+     */
+    private boolean useAccessWindows;
+}
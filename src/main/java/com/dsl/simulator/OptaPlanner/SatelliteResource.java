@@ -16,6 +16,8 @@ public class SatelliteResource {
     private int maxPower;
     private int maxFuel;
     private boolean operational;
+    /** Set when access windows were computed for this satellite; only then is ground contact checked. */
+    private boolean groundContactModelled;
 
     @Override
     public String toString() {
@@ -0,0 +1,280 @@
+package com.dsl.simulator.Persistence;
+
+import com.dsl.simulator.Events.SatelliteLifecycleEvent;
+import com.dsl.simulator.Events.SatelliteStateEvent;
+import com.dsl.simulator.Product.Satellite;
+import com.dsl.simulator.Repository.SatelliteRepository;
+import com.dsl.simulator.Repository.SatelliteSummary;
+import com.dsl.simulator.Service.MissionControlService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory read model of the fleet behind {@code /api/frontend/satellites}.
+ *
+ * Loaded once from MySQL at startup through a column projection, then kept current from
+ * domain events: deploys and decommissions ({@link SatelliteLifecycleEvent}), sampled
+ * positions and status changes ({@link SatelliteStateEvent}). Every change bumps a fleet
+ * version and stamps the changed entry with it, which gives an ETag for conditional polls
+ * and lets clients ask for only what changed since the version they hold. Versions restart
+ * with the process, so ETags and version tokens carry a boot epoch: a token from an earlier
+ * run never matches, and its holder gets the whole fleet instead of a wrong delta.
+ *
+ * Deploys, decommissions and status changes bump the version at once. Positions arrive every
+ * second from the live publisher; the latest per satellite is held back and folded in with a
+ * single bump at most once per {@code satops.fleet.position-coalesce-seconds}, or with the
+ * next structural change, so conditional polls still get 304s between folds.
+ *
+ * Reads never lock: they share an immutable snapshot that is rebuilt at most once per
+ * version, the first time it is read.
+ */
+@Slf4j
+@Service
+public class FleetReadModel {
+
+    private final SatelliteRepository satelliteRepository;
+    private final MissionControlService missionControlService;
+    private final long positionCoalesceNanos;
+    private final String epoch = UUID.randomUUID().toString().substring(0, 8);
+
+    // Guarded by this; readers go through the snapshot
+    private final Map<String, FleetEntry> entries = new LinkedHashMap<>();
+    private final Map<String, SatelliteStateEvent> pendingPositions = new LinkedHashMap<>();
+    private volatile long version;
+    private volatile long lastPositionFoldNanos = System.nanoTime();
+    private volatile Snapshot snapshot = new Snapshot(epoch, 0, List.of(), List.of());
+
+    private final LongAdder snapshotsBuilt = new LongAdder();
+    private final LongAdder changes = new LongAdder();
+    private final LongAdder positionsCoalesced = new LongAdder();
+
+    public FleetReadModel(SatelliteRepository satelliteRepository, MissionControlService missionControlService,
+                          @Value("${satops.fleet.position-coalesce-seconds:10}") long positionCoalesceSeconds) {
+        this.satelliteRepository = satelliteRepository;
+        this.missionControlService = missionControlService;
+        this.positionCoalesceNanos = TimeUnit.SECONDS.toNanos(positionCoalesceSeconds);
+    }
+
+    /** One row of the fleet view, stamped with the fleet version that last changed it. */
+    public record FleetEntry(String satelliteId, String name, Integer noradId, String tleLine1, String tleLine2,
+                             Double latitude, Double longitude, Double altitude, String status, long version) {
+
+        FleetEntry withPosition(Double latitude, Double longitude, Double altitude, long version) {
+            return new FleetEntry(satelliteId, name, noradId, tleLine1, tleLine2, latitude, longitude, altitude, status, version);
+        }
+
+        FleetEntry withStatus(String status, long version) {
+            return new FleetEntry(satelliteId, name, noradId, tleLine1, tleLine2, latitude, longitude, altitude, status, version);
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("satelliteId", satelliteId);
+            map.put("id", satelliteId);
+            map.put("name", name);
+            map.put("noradId", noradId);
+            map.put("tleLine1", tleLine1);
+            map.put("tleLine2", tleLine2);
+            map.put("latitude", latitude);
+            map.put("longitude", longitude);
+            map.put("altitude", altitude);
+            map.put("status", status);
+            return Collections.unmodifiableMap(map);
+        }
+    }
+
+    /** The whole fleet at one version; {@code satellites} is what the endpoint serializes. */
+    public record Snapshot(String epoch, long version, List<FleetEntry> entries, List<Map<String, Object>> satellites) {
+        public String etag() {
+            return "\"fleet-" + token() + "\"";
+        }
+
+        /** Version as handed to clients: {@code <boot epoch>-<version>}. */
+        public String token() {
+            return epoch + "-" + version;
+        }
+
+        /** True when an If-None-Match header lists this snapshot's ETag (or {@code *}). */
+        public boolean matches(String ifNoneMatch) {
+            if (ifNoneMatch == null) return false;
+            String etag = etag();
+            for (String candidate : ifNoneMatch.split(",")) {
+                String tag = candidate.trim();
+                if (tag.startsWith("W/")) tag = tag.substring(2);
+                if (tag.equals("*") || tag.equals(etag)) return true;
+            }
+            return false;
+        }
+    }
+
+    /** Result of a delta query; {@code reset} means the client's version is unknown and it got the whole fleet. */
+    public record Delta(String version, boolean reset, List<Map<String, Object>> satellites) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        try {
+            List<SatelliteSummary> rows = satelliteRepository.findAllProjectedBy();
+            synchronized (this) {
+                long next = version + 1;
+                int added = 0;
+                for (SatelliteSummary row : rows) {
+                    if (entries.containsKey(row.getSatelliteId())) continue; // live events win over stored rows
+                    entries.put(row.getSatelliteId(), new FleetEntry(row.getSatelliteId(), row.getName(), row.getNoradId(),
+                            row.getTleLine1(), row.getTleLine2(), row.getLatitude(), row.getLongitude(),
+                            row.getAltitude(), row.getStatus(), next));
+                    added++;
+                }
+                if (added > 0) version = next;
+                log.info("🛰️ Fleet read model loaded {} satellites at version {}", added, version);
+            }
+        } catch (Exception e) {
+            log.warn("⚠️ Fleet read model could not load stored satellites: {}", e.getMessage());
+        }
+    }
+
+    @EventListener
+    public void onSatelliteLifecycle(SatelliteLifecycleEvent event) {
+        switch (event.getType()) {
+            case DEPLOYED -> {
+                Satellite satellite = missionControlService.getActiveSatellites().get(event.getSatelliteId());
+                if (satellite == null) return;
+                String name = satellite.getSatelliteName() != null ? satellite.getSatelliteName() : event.getSatelliteId();
+                synchronized (this) {
+                    long next = bump();
+                    entries.put(event.getSatelliteId(), new FleetEntry(event.getSatelliteId(), name, satellite.getNoradId(),
+                            satellite.getTleLine1(), satellite.getTleLine2(), satellite.getLatitude(),
+                            satellite.getLongitude(), satellite.getAltitude(), "OPERATIONAL", next));
+                }
+            }
+            case DECOMMISSIONED -> updateStatus(event.getSatelliteId(), "DECOMMISSIONED");
+        }
+    }
+
+    @EventListener
+    public void onSatelliteState(SatelliteStateEvent event) {
+        switch (event.getType()) {
+            case POSITION -> {
+                synchronized (this) {
+                    if (!entries.containsKey(event.getSatelliteId())) return;
+                    if (pendingPositions.put(event.getSatelliteId(), event) != null) positionsCoalesced.increment();
+                }
+            }
+            case STATUS -> updateStatus(event.getSatelliteId(), event.getStatus());
+        }
+    }
+
+    private synchronized void updateStatus(String satelliteId, String status) {
+        FleetEntry entry = entries.get(satelliteId);
+        if (entry == null || status.equals(entry.status())) return;
+        long next = bump();
+        // Re-read: the bump may have folded a held-back position into this entry
+        entries.put(satelliteId, entries.get(satelliteId).withStatus(status, next));
+    }
+
+    // Callers hold the monitor. Held-back positions ride along with every bump.
+    private long bump() {
+        changes.increment();
+        long next = ++version;
+        foldPositions(next);
+        return next;
+    }
+
+    // Callers hold the monitor
+    private void foldPositions(long atVersion) {
+        lastPositionFoldNanos = System.nanoTime();
+        if (pendingPositions.isEmpty()) return;
+        for (SatelliteStateEvent event : pendingPositions.values()) {
+            FleetEntry entry = entries.get(event.getSatelliteId());
+            if (entry == null) continue;
+            entries.put(entry.satelliteId(), entry.withPosition(
+                    event.getLatitude(), event.getLongitude(), event.getAltitude(), atVersion));
+        }
+        pendingPositions.clear();
+    }
+
+    private boolean positionFoldDue() {
+        return System.nanoTime() - lastPositionFoldNanos >= positionCoalesceNanos;
+    }
+
+    /** Current fleet, rebuilt only when the version has moved since the last read. */
+    public Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current.version() == version && !positionFoldDue()) return current;
+        synchronized (this) {
+            if (!pendingPositions.isEmpty() && positionFoldDue()) {
+                bump();
+            }
+            if (snapshot.version() != version) {
+                List<FleetEntry> copy = List.copyOf(entries.values());
+                List<Map<String, Object>> satellites = new ArrayList<>(copy.size());
+                for (FleetEntry entry : copy) {
+                    satellites.add(entry.toMap());
+                }
+                snapshot = new Snapshot(epoch, version, copy, Collections.unmodifiableList(satellites));
+                snapshotsBuilt.increment();
+            }
+            return snapshot;
+        }
+    }
+
+    /**
+     * Entries changed after the version in {@code sinceToken}. A token from another boot, a
+     * version ahead of ours or anything unparseable gets the whole fleet with {@code reset} set.
+     */
+    public Delta changesSince(String sinceToken) {
+        Snapshot current = snapshot();
+        long sinceVersion = parseToken(sinceToken);
+        if (sinceVersion < 0 || sinceVersion > current.version()) {
+            return new Delta(current.token(), true, current.satellites());
+        }
+        List<Map<String, Object>> changed = new ArrayList<>();
+        for (int i = 0; i < current.entries().size(); i++) {
+            if (current.entries().get(i).version() > sinceVersion) {
+                changed.add(current.satellites().get(i));
+            }
+        }
+        return new Delta(current.token(), false, changed);
+    }
+
+    /** Version of a token minted by this boot, or -1. */
+    private long parseToken(String token) {
+        if (token == null) return -1;
+        int separator = token.lastIndexOf('-');
+        if (separator <= 0 || !token.substring(0, separator).equals(epoch)) return -1;
+        try {
+            return Long.parseLong(token.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    public boolean contains(String satelliteId) {
+        synchronized (this) {
+            return entries.containsKey(satelliteId);
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Snapshot current = snapshot();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("version", current.token());
+        stats.put("satellites", current.entries().size());
+        stats.put("changes", changes.sum());
+        stats.put("positionsCoalesced", positionsCoalesced.sum());
+        stats.put("snapshotsBuilt", snapshotsBuilt.sum());
+        return stats;
+    }
+}
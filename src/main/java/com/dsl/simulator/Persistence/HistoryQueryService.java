@@ -0,0 +1,109 @@
+package com.dsl.simulator.Persistence;
+
+import com.dsl.simulator.Entity.CommandHistory;
+import com.dsl.simulator.Entity.Message;
+import com.dsl.simulator.Repository.CommandHistoryRepository;
+import com.dsl.simulator.Repository.MessageRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cursor-paginated reads of message and command history, newest first.
+ *
+ * Pages are keyset-scrolled on (time, id): the cursor is the last row of the previous page
+ * and the next page is a range scan of an index from that point, so the cost of a page does
+ * not grow with the table or with how far back the client has paged. Cursors are opaque
+ * strings; clients pass back {@code nextCursor} and stop when it is null.
+ */
+@Service
+@RequiredArgsConstructor
+public class HistoryQueryService {
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+
+    private static final Comparator<Message> NEWEST_FIRST = Comparator
+            .comparing(Message::getSentAt, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(Message::getId, Comparator.reverseOrder());
+
+    private final MessageRepository messageRepository;
+    private final CommandHistoryRepository commandHistoryRepository;
+
+    public record HistoryPage<T>(List<T> items, String nextCursor) {
+    }
+
+    public HistoryPage<CommandHistory> commands(String cursor, int limit) {
+        Window<CommandHistory> window = commandHistoryRepository.findByOrderByExecutedAtDescIdDesc(
+                position(cursor, "executedAt"), Limit.of(pageSize(limit)));
+        List<CommandHistory> items = window.getContent();
+        CommandHistory last = items.isEmpty() ? null : items.get(items.size() - 1);
+        return new HistoryPage<>(items, window.hasNext() && last != null ? encode(last.getExecutedAt(), last.getId()) : null);
+    }
+
+    /** Messages between two entities, in the {@code from} to {@code to} direction. */
+    public HistoryPage<Message> conversation(String from, String to, String cursor, int limit) {
+        Window<Message> window = messageRepository.findByFromEntityAndToEntityOrderBySentAtDescIdDesc(
+                from, to, position(cursor, "sentAt"), Limit.of(pageSize(limit)));
+        return messagePage(window.getContent(), window.hasNext());
+    }
+
+    /**
+     * Messages sent or received by {@code entity}. Sent and received are read as two keyset
+     * pages, each on its own index, and merged; an OR across both columns could use neither
+     * index for the ordering.
+     */
+    public HistoryPage<Message> messagesOf(String entity, String cursor, int limit) {
+        int size = pageSize(limit);
+        ScrollPosition position = position(cursor, "sentAt");
+        Window<Message> sent = messageRepository.findByFromEntityOrderBySentAtDescIdDesc(entity, position, Limit.of(size));
+        Window<Message> received = messageRepository.findByToEntityOrderBySentAtDescIdDesc(entity, position, Limit.of(size));
+
+        Map<Long, Message> merged = new LinkedHashMap<>();
+        sent.forEach(message -> merged.put(message.getId(), message));
+        received.forEach(message -> merged.putIfAbsent(message.getId(), message));
+        List<Message> items = new ArrayList<>(merged.values());
+        items.sort(NEWEST_FIRST);
+
+        boolean hasNext = items.size() > size || sent.hasNext() || received.hasNext();
+        return messagePage(items.size() > size ? items.subList(0, size) : items, hasNext);
+    }
+
+    private static HistoryPage<Message> messagePage(List<Message> items, boolean hasNext) {
+        Message last = items.isEmpty() ? null : items.get(items.size() - 1);
+        return new HistoryPage<>(List.copyOf(items), hasNext && last != null ? encode(last.getSentAt(), last.getId()) : null);
+    }
+
+    private static int pageSize(int limit) {
+        return Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    }
+
+    private static ScrollPosition position(String cursor, String timeProperty) {
+        if (cursor == null || cursor.isBlank()) return ScrollPosition.keyset();
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.lastIndexOf('_');
+            LocalDateTime time = LocalDateTime.parse(decoded.substring(0, separator));
+            long id = Long.parseLong(decoded.substring(separator + 1));
+            return ScrollPosition.forward(Map.of(timeProperty, time, "id", id));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+    private static String encode(LocalDateTime time, Long id) {
+        String raw = time + "_" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,109 @@
+package com.dsl.simulator.Persistence;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Drops message and command history older than {@code satops.history.retention-days}.
+ *
+ * Old rows are removed oldest first in chunks of {@code batch-size}: each chunk is one range
+ * scan of the time index and one delete by primary key in its own short statement, so a run
+ * never holds long locks against the writers and its cost follows the rows expired, not the
+ * size of the table.
+ */
+@Slf4j
+@Component
+public class HistoryRetentionJob {
+
+    private static final List<Table> TABLES = List.of(
+            new Table("command_history", "executed_at"),
+            new Table("messages", "sent_at"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int retentionDays;
+    private final int batchSize;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "history-retention");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Map<String, LongAdder> deleted = new LinkedHashMap<>();
+    private final AtomicLong lastRunMillis = new AtomicLong(-1);
+
+    public HistoryRetentionJob(JdbcTemplate jdbcTemplate,
+                               @Value("${satops.history.retention-days:30}") int retentionDays,
+                               @Value("${satops.history.retention.batch-size:5000}") int batchSize,
+                               @Value("${satops.history.retention.interval-minutes:60}") long intervalMinutes) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.retentionDays = retentionDays;
+        this.batchSize = batchSize;
+        TABLES.forEach(table -> deleted.put(table.name(), new LongAdder()));
+        if (retentionDays > 0 && intervalMinutes > 0) {
+            scheduler.scheduleWithFixedDelay(this::run, intervalMinutes, intervalMinutes, TimeUnit.MINUTES);
+        }
+    }
+
+    private void run() {
+        try {
+            purgeBefore(LocalDateTime.now().minusDays(retentionDays));
+        } catch (Exception e) {
+            log.error("❌ History retention failed: {}", e.getMessage());
+        }
+    }
+
+    /** Deletes every history row older than {@code cutoff}; returns the number of rows removed. */
+    long purgeBefore(LocalDateTime cutoff) {
+        long started = System.nanoTime();
+        long total = 0;
+        for (Table table : TABLES) {
+            String select = "SELECT id FROM " + table.name() + " WHERE " + table.timeColumn() + " < ? ORDER BY "
+                    + table.timeColumn() + ", id LIMIT " + batchSize;
+            List<Long> ids;
+            do {
+                ids = jdbcTemplate.queryForList(select, Long.class, Timestamp.valueOf(cutoff));
+                if (ids.isEmpty()) break;
+                String placeholders = String.join(",", Collections.nCopies(ids.size(), "?"));
+                int removed = jdbcTemplate.update("DELETE FROM " + table.name() + " WHERE id IN (" + placeholders + ")",
+                        ids.toArray());
+                deleted.get(table.name()).add(removed);
+                total += removed;
+            } while (ids.size() == batchSize);
+        }
+        lastRunMillis.set((System.nanoTime() - started) / 1_000_000);
+        if (total > 0) {
+            log.info("🧹 History retention removed {} rows older than {} in {} ms", total, cutoff, lastRunMillis.get());
+        }
+        return total;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("retentionDays", retentionDays);
+        deleted.forEach((table, count) -> stats.put(table + "Deleted", count.sum()));
+        stats.put("lastRunMillis", lastRunMillis.get());
+        return stats;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private record Table(String name, String timeColumn) {}
+}
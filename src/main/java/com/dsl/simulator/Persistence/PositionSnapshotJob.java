@@ -0,0 +1,224 @@
+package com.dsl.simulator.Persistence;
+
+import com.dsl.simulator.Events.SatelliteStateEvent;
+import com.dsl.simulator.Product.Satellite;
+import com.dsl.simulator.Service.MissionControlService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.orekit.bodies.GeodeticPoint;
+import org.orekit.bodies.OneAxisEllipsoid;
+import org.orekit.frames.Frame;
+import org.orekit.frames.FramesFactory;
+import org.orekit.frames.Transform;
+import org.orekit.propagation.analytical.tle.TLE;
+import org.orekit.propagation.analytical.tle.TLEPropagator;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScalesFactory;
+import org.orekit.utils.Constants;
+import org.orekit.utils.IERSConventions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Periodically snapshots the position of every active TLE-backed satellite into the
+ * satellites table, so dashboards read fresh positions instead of propagating on request.
+ *
+ * Satellites are propagated in parallel, each on this job's own cached propagator (never the
+ * fleet's, which other samplers use). The inertial-to-Earth-fixed transform is computed once
+ * per snapshot and applied to every position against one shared ellipsoid, and the result
+ * goes to MySQL as a single JDBC batch of updates that touch only the position columns of
+ * existing rows; a satellite without a row is left to the write-behind persistence that owns
+ * inserts. Each position is also published as a {@link SatelliteStateEvent}.
+ */
+@Slf4j
+@Component
+public class PositionSnapshotJob {
+
+    private static final String UPDATE_POSITION =
+            "UPDATE satellites SET latitude = ?, longitude = ?, altitude = ?, updated_at = ? WHERE satellite_id = ?";
+
+    private final MissionControlService missionControlService;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ExecutorService propagationPool;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "position-snapshot");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Propagators are rebuilt only when a satellite's TLE changes
+    private final Map<String, CachedPropagator> propagators = new ConcurrentHashMap<>();
+    private volatile OneAxisEllipsoid earthShape;
+
+    private final LongAdder snapshots = new LongAdder();
+    private final LongAdder positionsWritten = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final AtomicLong lastSnapshotMillis = new AtomicLong(-1);
+    private final AtomicLong lastSatellites = new AtomicLong();
+
+    public PositionSnapshotJob(MissionControlService missionControlService,
+                               JdbcTemplate jdbcTemplate,
+                               ApplicationEventPublisher eventPublisher,
+                               @Value("${satops.persistence.position-snapshot.interval-ms:10000}") long intervalMs,
+                               @Value("${satops.persistence.position-snapshot.threads:0}") int threads) {
+        this.missionControlService = missionControlService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.propagationPool = Executors.newFixedThreadPool(poolSize, runnable -> {
+            Thread thread = new Thread(runnable, "position-propagation");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (intervalMs > 0) {
+            scheduler.scheduleWithFixedDelay(this::run, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void run() {
+        try {
+            Instant now = Instant.now();
+            snapshot(new AbsoluteDate(Date.from(now), TimeScalesFactory.getUTC()), now);
+        } catch (Exception e) {
+            failures.increment();
+            log.error("❌ Position snapshot failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Propagates the fleet to {@code date}, writes the positions and returns how many were
+     * propagated. Satellites that fail to propagate are skipped and counted; positions of
+     * satellites with no row yet are published but not stored.
+     */
+    int snapshot(AbsoluteDate date, Instant timestamp) {
+        long started = System.nanoTime();
+        List<Satellite> fleet = new ArrayList<>();
+        for (Satellite satellite : missionControlService.activeSatelliteView()) {
+            if (satellite.getTleLine1() != null && satellite.getTleLine2() != null) fleet.add(satellite);
+        }
+        propagators.keySet().removeIf(id -> !missionControlService.isSatelliteActive(id));
+        if (fleet.isEmpty()) return 0;
+
+        // Propagation is the expensive part and independent per satellite
+        Frame teme = FramesFactory.getTEME();
+        List<Future<Vector3D>> futures = new ArrayList<>(fleet.size());
+        for (Satellite satellite : fleet) {
+            futures.add(propagationPool.submit(() ->
+                    propagatorFor(satellite).propagate(date).getPVCoordinates(teme).getPosition()));
+        }
+
+        // One frame transform for the whole fleet, then a cheap per-satellite conversion
+        OneAxisEllipsoid earth = earth();
+        Frame bodyFrame = earth.getBodyFrame();
+        Transform temeToBody = teme.getTransformTo(bodyFrame, date);
+        Timestamp at = Timestamp.from(timestamp);
+
+        List<Object[]> rows = new ArrayList<>(fleet.size());
+        List<SatelliteStateEvent> events = new ArrayList<>(fleet.size());
+        for (int i = 0; i < fleet.size(); i++) {
+            Satellite satellite = fleet.get(i);
+            Vector3D position;
+            try {
+                position = futures.get(i).get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while propagating the fleet", e);
+            } catch (ExecutionException e) {
+                failures.increment();
+                log.debug("Position snapshot skipped {}: {}", satellite.getId(), e.getCause().getMessage());
+                continue;
+            }
+            GeodeticPoint gp = earth.transform(temeToBody.transformPosition(position), bodyFrame, date);
+            double latitude = Math.toDegrees(gp.getLatitude());
+            double longitude = Math.toDegrees(gp.getLongitude());
+            double altitude = gp.getAltitude() / 1000.0;
+
+            rows.add(new Object[]{latitude, longitude, altitude, at, satellite.getId()});
+            events.add(SatelliteStateEvent.builder()
+                    .satelliteId(satellite.getId())
+                    .type(SatelliteStateEvent.StateType.POSITION)
+                    .latitude(latitude)
+                    .longitude(longitude)
+                    .altitude(altitude)
+                    .timestamp(timestamp)
+                    .build());
+        }
+
+        int written = 0;
+        if (!rows.isEmpty()) {
+            for (int count : jdbcTemplate.batchUpdate(UPDATE_POSITION, rows)) {
+                if (count > 0 || count == Statement.SUCCESS_NO_INFO) written++;
+            }
+            events.forEach(eventPublisher::publishEvent);
+        }
+
+        snapshots.increment();
+        positionsWritten.add(written);
+        lastSatellites.set(rows.size());
+        lastSnapshotMillis.set((System.nanoTime() - started) / 1_000_000);
+        log.debug("Position snapshot of {} satellites in {} ms", rows.size(), lastSnapshotMillis.get());
+        return rows.size();
+    }
+
+    private TLEPropagator propagatorFor(Satellite satellite) {
+        CachedPropagator cached = propagators.get(satellite.getId());
+        if (cached == null || !cached.line1.equals(satellite.getTleLine1())
+                || !cached.line2.equals(satellite.getTleLine2())) {
+            TLE tle = new TLE(satellite.getTleLine1(), satellite.getTleLine2());
+            cached = new CachedPropagator(satellite.getTleLine1(), satellite.getTleLine2(),
+                    TLEPropagator.selectExtrapolator(tle));
+            propagators.put(satellite.getId(), cached);
+        }
+        return cached.propagator;
+    }
+
+    private OneAxisEllipsoid earth() {
+        if (earthShape == null) {
+            earthShape = new OneAxisEllipsoid(
+                    Constants.WGS84_EARTH_EQUATORIAL_RADIUS,
+                    Constants.WGS84_EARTH_FLATTENING,
+                    FramesFactory.getITRF(IERSConventions.IERS_2010, true));
+        }
+        return earthShape;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("snapshots", snapshots.sum());
+        stats.put("lastSatellites", lastSatellites.get());
+        stats.put("lastSnapshotMillis", lastSnapshotMillis.get());
+        stats.put("positionsWritten", positionsWritten.sum());
+        stats.put("failures", failures.sum());
+        return stats;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+        propagationPool.shutdownNow();
+    }
+
+    private record CachedPropagator(String line1, String line2, TLEPropagator propagator) {}
+}
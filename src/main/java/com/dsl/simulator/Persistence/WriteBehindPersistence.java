@@ -0,0 +1,243 @@
+package com.dsl.simulator.Persistence;
+
+import com.dsl.simulator.Entity.Satellite;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write-behind persistence for command history and satellite state.
+ *
+ * Callers enqueue and return; a single background writer drains the bounded queue and
+ * writes each drained batch with one JDBC batch per table. Going through JdbcTemplate
+ * instead of JPA keeps IDENTITY keys from forcing one round trip per row, and with
+ * {@code rewriteBatchedStatements} the MySQL driver sends each batch as a multi-row insert.
+ *
+ * Each table's batch is written in one transaction. A batch that fails is retried once;
+ * if it fails again its rows are written one at a time, so a single bad row is logged and
+ * counted as failed without taking the rest of the batch with it.
+ *
+ * When the queue stays full for {@code enqueue-timeout-ms} the write is dropped and
+ * counted rather than stalling the request. Queue lag, the age of a write when its batch
+ * is committed, is reported in {@link #getStats()}.
+ */
+@Slf4j
+@Service
+public class WriteBehindPersistence {
+
+    private static final String INSERT_COMMAND =
+            "INSERT INTO command_history (command, result, status, executed_at) VALUES (?, ?, ?, ?)";
+
+    private static final String UPSERT_SATELLITE =
+            "INSERT INTO satellites (satellite_id, name, norad_id, tle_line1, tle_line2, latitude, longitude, altitude, " +
+            "status, deployed_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE name = VALUES(name), norad_id = VALUES(norad_id), tle_line1 = VALUES(tle_line1), " +
+            "tle_line2 = VALUES(tle_line2), latitude = VALUES(latitude), longitude = VALUES(longitude), " +
+            "altitude = VALUES(altitude), status = VALUES(status), updated_at = VALUES(updated_at)";
+
+    private sealed interface PendingWrite permits CommandWrite, SatelliteWrite {
+        long enqueuedNanos();
+    }
+
+    private record CommandWrite(String command, String result, String status, LocalDateTime executedAt,
+                                long enqueuedNanos) implements PendingWrite {
+    }
+
+    private record SatelliteWrite(Satellite satellite, LocalDateTime writtenAt,
+                                  long enqueuedNanos) implements PendingWrite {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactions;
+    private final BlockingQueue<PendingWrite> queue;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final long enqueueTimeoutMs;
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder retriedBatches = new LongAdder();
+    private final LongAdder rowByRowBatches = new LongAdder();
+    private final AtomicLong lastLagMillis = new AtomicLong();
+    private final AtomicLong maxLagMillis = new AtomicLong();
+    private final AtomicLong lastBatchMillis = new AtomicLong();
+
+    public WriteBehindPersistence(JdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${satops.persistence.queue-capacity:10000}") int queueCapacity,
+                                  @Value("${satops.persistence.batch-size:100}") int batchSize,
+                                  @Value("${satops.persistence.flush-interval-ms:200}") long flushIntervalMs,
+                                  @Value("${satops.persistence.enqueue-timeout-ms:50}") long enqueueTimeoutMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactions = new TransactionTemplate(transactionManager);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.enqueueTimeoutMs = enqueueTimeoutMs;
+
+        this.writer = new Thread(this::drainLoop, "write-behind");
+        this.writer.setDaemon(true);
+        this.writer.start();
+        log.info("💾 Write-behind persistence started: queue {}, batches of {}", queueCapacity, batchSize);
+    }
+
+    /** Queues a command history row; returns false if the queue was full and the row was dropped. */
+    public boolean recordCommand(String command, String result, String status) {
+        return enqueue(new CommandWrite(command, result, status, LocalDateTime.now(), System.nanoTime()));
+    }
+
+    /** Queues an insert-or-update of a satellite row, keyed by {@code satelliteId}. */
+    public boolean saveSatellite(Satellite satellite) {
+        return enqueue(new SatelliteWrite(satellite, LocalDateTime.now(), System.nanoTime()));
+    }
+
+    private boolean enqueue(PendingWrite write) {
+        try {
+            if (queue.offer(write, enqueueTimeoutMs, TimeUnit.MILLISECONDS)) {
+                enqueued.increment();
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        dropped.increment();
+        log.warn("⚠️ Write-behind queue full, dropped {}", write.getClass().getSimpleName());
+        return false;
+    }
+
+    private void drainLoop() {
+        List<PendingWrite> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingWrite first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<PendingWrite> batch) {
+        List<Object[]> commands = new ArrayList<>();
+        List<Object[]> satellites = new ArrayList<>();
+        for (PendingWrite write : batch) {
+            if (write instanceof CommandWrite c) {
+                commands.add(new Object[]{c.command(), c.result(), c.status(), Timestamp.valueOf(c.executedAt())});
+            } else if (write instanceof SatelliteWrite s) {
+                Satellite sat = s.satellite();
+                Timestamp at = Timestamp.valueOf(s.writtenAt());
+                satellites.add(new Object[]{sat.getSatelliteId(), sat.getName(), sat.getNoradId(), sat.getTleLine1(),
+                        sat.getTleLine2(), sat.getLatitude(), sat.getLongitude(), sat.getAltitude(), sat.getStatus(), at, at});
+            }
+        }
+
+        long started = System.nanoTime();
+        int failedRows = write("satellites", UPSERT_SATELLITE, satellites)
+                + write("command_history", INSERT_COMMAND, commands);
+        written.add(batch.size() - failedRows);
+        failed.add(failedRows);
+        batches.increment();
+
+        long now = System.nanoTime();
+        long lag = (now - batch.get(0).enqueuedNanos()) / 1_000_000;
+        lastLagMillis.set(lag);
+        maxLagMillis.accumulateAndGet(lag, Math::max);
+        lastBatchMillis.set((now - started) / 1_000_000);
+    }
+
+    /**
+     * Writes one table's rows as a transactional batch, retried once; after a second failure
+     * falls back to one statement per row. Returns the number of rows that could not be written.
+     */
+    private int write(String table, String sql, List<Object[]> rows) {
+        if (rows.isEmpty()) return 0;
+        for (int attempt = 1; attempt <= 2; attempt++) {
+            try {
+                transactions.executeWithoutResult(status -> jdbcTemplate.batchUpdate(sql, rows));
+                return 0;
+            } catch (RuntimeException e) {
+                if (attempt == 1) {
+                    retriedBatches.increment();
+                    log.warn("⚠️ Write-behind {} batch of {} failed, retrying: {}", table, rows.size(), e.getMessage());
+                }
+            }
+        }
+
+        rowByRowBatches.increment();
+        int failedRows = 0;
+        for (Object[] row : rows) {
+            try {
+                jdbcTemplate.update(sql, row);
+            } catch (RuntimeException e) {
+                failedRows++;
+                log.error("❌ Write-behind dropped {} row {}: {}", table, Arrays.toString(row), e.getMessage());
+            }
+        }
+        return failedRows;
+    }
+
+    /** Waits until everything queued so far has been written or failed. */
+    public boolean awaitDrained(long timeoutMs) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        while (enqueued.sum() > written.sum() + failed.sum()) {
+            if (System.currentTimeMillis() > deadline) return false;
+            Thread.sleep(5);
+        }
+        return true;
+    }
+
+    public Map<String, Object> getStats() {
+        PendingWrite oldest = queue.peek();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("queued", queue.size());
+        stats.put("oldestQueuedMillis", oldest != null ? (System.nanoTime() - oldest.enqueuedNanos()) / 1_000_000 : 0);
+        stats.put("enqueued", enqueued.sum());
+        stats.put("written", written.sum());
+        stats.put("batches", batches.sum());
+        stats.put("dropped", dropped.sum());
+        stats.put("failed", failed.sum());
+        stats.put("retriedBatches", retriedBatches.sum());
+        stats.put("rowByRowBatches", rowByRowBatches.sum());
+        stats.put("lastLagMillis", lastLagMillis.get());
+        stats.put("maxLagMillis", maxLagMillis.get());
+        stats.put("lastBatchMillis", lastBatchMillis.get());
+        return stats;
+    }
+
+    /** Stops accepting new work once the queue is drained; the writer wakes at least every flush interval. */
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        running = false;
+        writer.join(10_000);
+        log.info("💾 Write-behind persistence stopped: {} written, {} dropped, {} failed",
+                written.sum(), dropped.sum(), failed.sum());
+    }
+}
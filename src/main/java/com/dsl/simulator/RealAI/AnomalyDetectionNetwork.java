@@ -9,6 +9,7 @@ import org.deeplearning4j.nn.conf.layers.OutputLayer;
 import org.deeplearning4j.nn.multilayer.MultiLayerNetwork;
 import org.deeplearning4j.nn.weights.WeightInit;
 import org.nd4j.linalg.activations.Activation;
+import org.nd4j.linalg.api.memory.MemoryWorkspace;
 import org.nd4j.linalg.api.ndarray.INDArray;
 import org.nd4j.linalg.dataset.DataSet;
 import org.nd4j.linalg.factory.Nd4j;
@@ -18,17 +19,30 @@ import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
 
 @Slf4j
 @Component
-public class AnomalyDetectionNetwork {
-
-    private MultiLayerNetwork autoencoderModel;
-    private boolean isModelTrained = false;
-    private double anomalyThreshold = 0.1;
+public class AnomalyDetectionNetwork implements EvaluatedModel {
+
+    static final double DEFAULT_THRESHOLD = 0.1;
+    private static final long TRAINING_SEED = 789;
+    private static final long HOLDOUT_SEED = 999;
+    private static final String FLEET_WORKSPACE = "anomaly-fleet";
+
+    private final ManagedModel model;
+    private final InferenceBatcher inference;
+    private final InferenceRuntime runtime;
+
+    public AnomalyDetectionNetwork(ModelRegistry modelRegistry, InferenceService inferenceService,
+                                   InferenceRuntime runtime) {
+        this.model = modelRegistry.register("anomaly-detector", 8, 8, this::trainAnomalyDetector);
+        this.inference = inferenceService.batcher(model);
+        this.runtime = runtime;
+    }
 
-    public void trainAnomalyDetector() {
+    public ManagedModel.TrainingResult trainAnomalyDetector() {
         log.info("🚨 Training anomaly detection autoencoder...");
 
         // Autoencoder configuration: 8 → 4 → 2 → 4 → 8 (compression and reconstruction)
@@ -60,11 +74,11 @@ public class AnomalyDetectionNetwork {
                         .build())
                 .build();
 
-        autoencoderModel = new MultiLayerNetwork(conf);
+        MultiLayerNetwork autoencoderModel = new MultiLayerNetwork(conf);
         autoencoderModel.init();
 
         // Generate normal operational data for training
-        DataSet trainingData = generateNormalOperationalData();
+        DataSet trainingData = generateNormalOperationalData(800, TRAINING_SEED);
 
         log.info("🎯 Training autoencoder on {} normal operation patterns", trainingData.numExamples());
 
@@ -78,27 +92,30 @@ public class AnomalyDetectionNetwork {
             }
         }
 
-        // Calculate anomaly threshold from training data
-        calculateAnomalyThreshold(trainingData);
+        // Calculate anomaly threshold from training data; persisted with the weights
+        double anomalyThreshold = calculateAnomalyThreshold(autoencoderModel, trainingData);
 
-        isModelTrained = true;
-        log.info("✅ Anomaly detection model training completed! Threshold: {:.4f}", anomalyThreshold);
+        log.info("✅ Anomaly detection model training completed! Threshold: {}", anomalyThreshold);
+        return new ManagedModel.TrainingResult(autoencoderModel,
+                Map.of("anomalyThreshold", String.valueOf(anomalyThreshold)));
     }
 
     public List<String> detectAnomalies(String satelliteId, double[] sensorData) {
-        if (!isModelTrained) {
-            trainAnomalyDetector();
-        }
-
         List<String> anomalies = new ArrayList<>();
 
-        // Pass data through autoencoder
-        INDArray input = Nd4j.create(new double[][]{sensorData});
-        INDArray reconstructed = autoencoderModel.output(input);
+        // Pass data through autoencoder (batched with concurrent requests); the threshold
+        // belongs to the version that actually ran, which may be newer than the one at entry
+        InferenceBatcher.Inference result = inference.inferVersioned(sensorData);
+        double[] reconstructed = result.output();
+        double anomalyThreshold = result.handle().metadataDouble("anomalyThreshold", DEFAULT_THRESHOLD);
 
         // Calculate reconstruction error
-        INDArray error = input.sub(reconstructed);
-        double reconstructionError = error.norm2Number().doubleValue() / sensorData.length;
+        double squared = 0;
+        for (int i = 0; i < sensorData.length; i++) {
+            double diff = sensorData[i] - reconstructed[i];
+            squared += diff * diff;
+        }
+        double reconstructionError = Math.sqrt(squared) / sensorData.length;
 
         log.info("🔍 Anomaly detection for {}: Reconstruction error = {:.6f}, Threshold = {:.6f}",
                 satelliteId, reconstructionError, anomalyThreshold);
@@ -110,10 +127,10 @@ public class AnomalyDetectionNetwork {
                     "Radiation", "Magnetic", "Solar", "Battery"};
 
             for (int i = 0; i < sensorData.length; i++) {
-                double sensorError = Math.abs(sensorData[i] - reconstructed.getDouble(0, i));
+                double sensorError = Math.abs(sensorData[i] - reconstructed[i]);
                 if (sensorError > anomalyThreshold / 2) {
                     anomalies.add(String.format("ANOMALY_%s: %.3f deviation (expected: %.3f, actual: %.3f)",
-                            sensorNames[i].toUpperCase(), sensorError, reconstructed.getDouble(0, i), sensorData[i]));
+                            sensorNames[i].toUpperCase(), sensorError, reconstructed[i], sensorData[i]));
                 }
             }
 
@@ -125,10 +142,33 @@ public class AnomalyDetectionNetwork {
         return anomalies;
     }
 
-    private DataSet generateNormalOperationalData() {
-        int numSamples = 800;
+    /**
+     * Reconstruction error per row for a whole fleet in one forward pass (rows = satellites).
+     * The reconstruction and error intermediates live in a workspace; only the scores escape.
+     * Fleet passes run on whichever request thread asks, so the workspace is destroyed after
+     * the pass rather than kept per thread.
+     */
+    public ReconstructionScores reconstructionErrors(INDArray sensorRows) {
+        try (ManagedModel.Lease replica = model.acquire();
+             MemoryWorkspace workspace = runtime.openWorkspace(FLEET_WORKSPACE)) {
+            MultiLayerNetwork network = replica.network();
+            INDArray reconstructed = workspace != null
+                    ? network.output(sensorRows, false, workspace) : network.output(sensorRows, false);
+            double[] errors = reconstructed.rsubi(sensorRows).norm2(1).divi(sensorRows.columns()).toDoubleVector();
+            return new ReconstructionScores(errors,
+                    replica.handle().metadataDouble("anomalyThreshold", DEFAULT_THRESHOLD));
+        } finally {
+            runtime.destroyWorkspace(FLEET_WORKSPACE);
+        }
+    }
+
+    /** Errors plus the threshold of the model version that produced them. */
+    public record ReconstructionScores(double[] errors, double threshold) {
+    }
+
+    private DataSet generateNormalOperationalData(int numSamples, long seed) {
         INDArray features = Nd4j.zeros(numSamples, 8);
-        Random random = new Random(789);
+        Random random = new Random(seed);
 
         for (int i = 0; i < numSamples; i++) {
             // Generate realistic "normal" sensor patterns for ISS-like satellite
@@ -156,58 +196,56 @@ public class AnomalyDetectionNetwork {
         return new DataSet(features, features);
     }
 
-    private void calculateAnomalyThreshold(DataSet normalData) {
+    private double calculateAnomalyThreshold(MultiLayerNetwork autoencoderModel, DataSet normalData) {
         // Calculate 95th percentile of reconstruction errors on normal data
-        double[] errors = new double[normalData.numExamples()];
-
-        for (int i = 0; i < normalData.numExamples(); i++) {
-            INDArray sample = normalData.getFeatures().getRow(i);
-            INDArray reconstructed = autoencoderModel.output(sample);
-            INDArray error = sample.sub(reconstructed);
-            errors[i] = error.norm2Number().doubleValue() / 8; // Normalize by feature count
-        }
+        // One forward pass over all samples; row-wise error normalized by feature count
+        INDArray features = normalData.getFeatures();
+        double[] errors = features.sub(autoencoderModel.output(features)).norm2(1).divi(8).toDoubleVector();
 
         // Sort errors and take 95th percentile
         java.util.Arrays.sort(errors);
-        anomalyThreshold = errors[(int)(errors.length * 0.95)];
+        return errors[(int)(errors.length * 0.95)];
+    }
+
+    public ManagedModel getManagedModel() {
+        return model;
     }
 
     public double getDetectionAccuracy() {
-        if (!isModelTrained) return 0.0;
-
-        // Test on known normal and anomalous patterns
-        int correctDetections = 0;
-        int totalTests = 100;
-        Random random = new Random(999);
-
-        for (int i = 0; i < totalTests; i++) {
-            // Half normal, half anomalous test cases
-            boolean isAnomaly = i >= totalTests / 2;
-            double[] testData = new double[8];
-
-            if (isAnomaly) {
-                // Generate anomalous data
-                for (int j = 0; j < 8; j++) {
-                    testData[j] = random.nextDouble() * (random.nextBoolean() ? 0.3 : 1.7); // Outside normal range
-                }
-            } else {
-                // Generate normal data
-                testData[0] = 0.85 + random.nextGaussian() * 0.05;
-                testData[1] = (20 + random.nextGaussian() * 5 + 50) / 100;
-                // ... (similar for other sensors)
-                for (int j = 2; j < 8; j++) {
-                    testData[j] = 0.5 + random.nextGaussian() * 0.1;
-                }
+        return model.getEvaluation().map(ModelEvaluation::getAccuracy).orElse(0.0);
+    }
+
+    /**
+     * Held-out check: unseen normal patterns must pass, out-of-envelope patterns must be flagged.
+     * Scored in one batched forward pass against the version's own threshold.
+     */
+    @Override
+    public ModelEvaluation.ModelEvaluationBuilder evaluate(ModelRegistry.ModelHandle handle) {
+        int perClass = 200;
+        double threshold = handle.metadataDouble("anomalyThreshold", DEFAULT_THRESHOLD);
+
+        INDArray normal = generateNormalOperationalData(perClass, HOLDOUT_SEED).getFeatures();
+        INDArray anomalous = Nd4j.zeros(perClass, 8);
+        Random random = new Random(HOLDOUT_SEED + 1);
+        for (int i = 0; i < perClass; i++) {
+            for (int j = 0; j < 8; j++) {
+                // Outside the normal operating envelope
+                anomalous.putScalar(i, j, random.nextDouble() * (random.nextBoolean() ? 0.3 : 1.7));
             }
+        }
 
-            List<String> detectedAnomalies = detectAnomalies("TEST", testData);
-            boolean detected = !detectedAnomalies.isEmpty();
+        INDArray input = Nd4j.vstack(normal, anomalous);
+        INDArray errors = input.sub(handle.network().output(input)).norm2(1).divi(8);
 
-            if (detected == isAnomaly) {
-                correctDetections++;
-            }
+        EvaluationMetrics.Binary counts = new EvaluationMetrics.Binary();
+        for (int i = 0; i < 2 * perClass; i++) {
+            counts.add(errors.getDouble(i) > threshold, i >= perClass);
         }
 
-        return (double) correctDetections / totalTests;
+        return ModelEvaluation.builder()
+                .samples(2 * perClass)
+                .accuracy(counts.accuracy())
+                .precision(counts.precision())
+                .recall(counts.recall());
     }
 }
@@ -22,13 +22,22 @@ import java.util.Random;
 
 @Slf4j
 @Component
-public class CollisionRiskClassifier {
+public class CollisionRiskClassifier implements EvaluatedModel {
 
-    private MultiLayerNetwork riskModel;
-    private boolean isModelTrained = false;
-    private final String[] riskLevels = {"LOW", "MODERATE", "HIGH", "CRITICAL"};
+    private static final long TRAINING_SEED = 654;
+    private static final long HOLDOUT_SEED = 6540;
+    private static final int HIGH_RISK_CLASS = 2;
 
-    public void trainCollisionRiskModel() {
+    private final ManagedModel model;
+    private final InferenceBatcher inference;
+    public static final String[] RISK_LEVELS = {"LOW", "MODERATE", "HIGH", "CRITICAL"};
+
+    public CollisionRiskClassifier(ModelRegistry modelRegistry, InferenceService inferenceService) {
+        this.model = modelRegistry.register("collision-risk", 7, RISK_LEVELS.length, this::trainCollisionRiskModel);
+        this.inference = inferenceService.batcher(model);
+    }
+
+    public ManagedModel.TrainingResult trainCollisionRiskModel() {
         log.info("⚠️ Training collision risk classification network...");
 
         // Neural network for orbital collision risk assessment
@@ -60,11 +69,11 @@ public class CollisionRiskClassifier {
                         .build())
                 .build();
 
-        riskModel = new MultiLayerNetwork(conf);
+        MultiLayerNetwork riskModel = new MultiLayerNetwork(conf);
         riskModel.init();
 
         // Generate realistic collision risk training data
-        DataSet trainingData = generateCollisionRiskData();
+        DataSet trainingData = generateCollisionRiskData(TRAINING_SEED);
 
         log.info("🎯 Training collision classifier on {} orbital scenarios", trainingData.numExamples());
 
@@ -78,25 +87,23 @@ public class CollisionRiskClassifier {
             }
         }
 
-        isModelTrained = true;
         log.info("✅ Collision risk classifier training completed!");
+        return ManagedModel.TrainingResult.of(riskModel);
     }
 
     public Map<String, Object> assessCollisionRisk(String satelliteId, double[] orbitalParameters) {
-        if (!isModelTrained) {
-            trainCollisionRiskModel();
-        }
-
         Map<String, Object> riskAssessment = new HashMap<>();
 
-        // Neural network classification
-        INDArray input = Nd4j.create(new double[][]{orbitalParameters});
-        INDArray output = riskModel.output(input);
+        // Neural network classification (batched with concurrent requests)
+        double[] output = inference.infer(orbitalParameters);
 
         // Find highest probability risk level
-        int predictedClass = output.argMax(1).getInt(0);
-        String riskLevel = riskLevels[predictedClass];
-        double confidence = output.getDouble(0, predictedClass);
+        int predictedClass = 0;
+        for (int i = 1; i < output.length; i++) {
+            if (output[i] > output[predictedClass]) predictedClass = i;
+        }
+        String riskLevel = RISK_LEVELS[predictedClass];
+        double confidence = output[predictedClass];
 
         // Calculate specific risk probabilities
         double collisionProbability = calculateCollisionProbability(orbitalParameters);
@@ -116,11 +123,18 @@ public class CollisionRiskClassifier {
         return riskAssessment;
     }
 
-    private DataSet generateCollisionRiskData() {
+    /** Class probabilities for many satellites in one forward pass (columns as RISK_LEVELS). */
+    public INDArray classifyBatch(INDArray orbitalRows) {
+        try (ManagedModel.Lease replica = model.acquire()) {
+            return replica.network().output(orbitalRows);
+        }
+    }
+
+    private DataSet generateCollisionRiskData(long seed) {
         int numSamples = 1200;
         INDArray features = Nd4j.zeros(numSamples, 7);
         INDArray labels = Nd4j.zeros(numSamples, 4);
-        Random random = new Random(654);
+        Random random = new Random(seed);
 
         for (int i = 0; i < numSamples; i++) {
             // Generate realistic orbital parameters
@@ -211,26 +225,46 @@ public class CollisionRiskClassifier {
         }
     }
 
+    public ManagedModel getManagedModel() {
+        return model;
+    }
+
     public double getClassificationAccuracy() {
-        if (!isModelTrained) return 0.0;
+        return model.getEvaluation().map(ModelEvaluation::getAccuracy).orElse(0.0);
+    }
 
-        // Generate test data and evaluate
-        DataSet testData = generateCollisionRiskData();
-        INDArray predictions = riskModel.output(testData.getFeatures());
-        INDArray actualLabels = testData.getLabels();
+    /**
+     * Precision/recall are for the HIGH+CRITICAL band (the classes that trigger maneuvers);
+     * calibration compares top-class confidence with how often that class is right.
+     */
+    @Override
+    public ModelEvaluation.ModelEvaluationBuilder evaluate(ModelRegistry.ModelHandle handle) {
+        DataSet testData = generateCollisionRiskData(HOLDOUT_SEED);
+        INDArray predictions = handle.network().output(testData.getFeatures());
+        INDArray predictedClasses = predictions.argMax(1);
+        INDArray actualClasses = testData.getLabels().argMax(1);
 
         int correct = 0;
         int total = testData.numExamples();
+        EvaluationMetrics.Binary highRisk = new EvaluationMetrics.Binary();
+        EvaluationMetrics.Calibration calibration = new EvaluationMetrics.Calibration();
 
         for (int i = 0; i < total; i++) {
-            int predicted = predictions.getRow(i).argMax().getInt(0);
-            int actual = actualLabels.getRow(i).argMax().getInt(0);
+            int predicted = predictedClasses.getInt(i);
+            int actual = actualClasses.getInt(i);
 
             if (predicted == actual) {
                 correct++;
             }
+            highRisk.add(predicted >= HIGH_RISK_CLASS, actual >= HIGH_RISK_CLASS);
+            calibration.add(predictions.getDouble(i, predicted), predicted == actual ? 1.0 : 0.0);
         }
 
-        return (double) correct / total;
+        return ModelEvaluation.builder()
+                .samples(total)
+                .accuracy((double) correct / total)
+                .precision(highRisk.precision())
+                .recall(highRisk.recall())
+                .calibrationError(calibration.expectedError());
     }
 }
@@ -0,0 +1,13 @@
+package com.dsl.simulator.RealAI;
+
+/**
+ * A RealAI component that can score one of its model versions on a held-out set.
+ * Implementations must use the given handle only (never {@link ManagedModel#get()}),
+ * since evaluation runs while the version is being published.
+ */
+public interface EvaluatedModel {
+
+    ManagedModel getManagedModel();
+
+    ModelEvaluation.ModelEvaluationBuilder evaluate(ModelRegistry.ModelHandle handle);
+}
@@ -0,0 +1,64 @@
+package com.dsl.simulator.RealAI;
+
+/**
+ * Small accumulators shared by the held-out evaluations.
+ */
+final class EvaluationMetrics {
+
+    private EvaluationMetrics() {
+    }
+
+    /** Confusion counts for a single positive class. */
+    static final class Binary {
+        private int tp, fp, tn, fn;
+
+        void add(boolean predicted, boolean actual) {
+            if (predicted && actual) tp++;
+            else if (predicted) fp++;
+            else if (actual) fn++;
+            else tn++;
+        }
+
+        double accuracy() {
+            int total = tp + fp + tn + fn;
+            return total == 0 ? 0.0 : (double) (tp + tn) / total;
+        }
+
+        double precision() {
+            return tp + fp == 0 ? 0.0 : (double) tp / (tp + fp);
+        }
+
+        double recall() {
+            return tp + fn == 0 ? 0.0 : (double) tp / (tp + fn);
+        }
+    }
+
+    /**
+     * Reliability bins: |mean confidence - observed frequency| weighted by bin size.
+     */
+    static final class Calibration {
+        private static final int BINS = 10;
+        private final double[] confidence = new double[BINS];
+        private final double[] observed = new double[BINS];
+        private final int[] counts = new int[BINS];
+        private int total;
+
+        void add(double predicted, double actual) {
+            int bin = Math.min(BINS - 1, Math.max(0, (int) (predicted * BINS)));
+            confidence[bin] += predicted;
+            observed[bin] += actual;
+            counts[bin]++;
+            total++;
+        }
+
+        double expectedError() {
+            if (total == 0) return 0.0;
+            double ece = 0;
+            for (int i = 0; i < BINS; i++) {
+                if (counts[i] == 0) continue;
+                ece += Math.abs(confidence[i] - observed[i]) / total;
+            }
+            return ece;
+        }
+    }
+}
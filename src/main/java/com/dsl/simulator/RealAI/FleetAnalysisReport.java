@@ -0,0 +1,26 @@
+package com.dsl.simulator.RealAI;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FleetAnalysisReport {
+
+    private Instant generatedAt;
+    private int satelliteCount;
+    private int anomalousCount;
+    // Stage name -> milliseconds, in execution order
+    private Map<String, Double> stageTimingsMs;
+    private double totalMs;
+    // Highest risk first
+    private List<SatelliteRiskProfile> satellites;
+}
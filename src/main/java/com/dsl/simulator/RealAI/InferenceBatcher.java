@@ -0,0 +1,211 @@
+package com.dsl.simulator.RealAI;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Coalesces single-row inference requests for one model into batched forward passes.
+ *
+ * A request waits at most {@code maxWait} for others to join its batch; under load batches
+ * fill up to {@code maxBatch} immediately, so throughput grows with concurrency while an
+ * idle caller pays at most the wait deadline.
+ *
+ * Several workers drain the same queue; each batch runs on a replica leased from the model's
+ * pool, so batches for one model execute in parallel without sharing mutable layer state. Each worker also
+ * owns an {@link InferenceSession}, so its forward passes reuse one input buffer and workspace.
+ * Sessions have one fixed example shape, so the off-heap memory of a batcher is bounded by
+ * its worker count; a session is released and rebuilt when a new model version goes live,
+ * and released for good on shutdown.
+ */
+@Slf4j
+public class InferenceBatcher {
+
+    private final ManagedModel model;
+    private final InferenceRuntime runtime;
+    private final int maxBatch;
+    private final long[] exampleShape;
+    private final long maxWaitNanos;
+    private final BlockingQueue<Request> queue;
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running = true;
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private volatile int largestBatch;
+
+    /**
+     * {@code exampleShape} is the shape of one input example without the batch dimension,
+     * e.g. {@code {features, steps}} for a recurrent model; when empty, an example is one row
+     * as wide as the model's first layer.
+     */
+    InferenceBatcher(ManagedModel model, InferenceRuntime runtime, int workerCount, int maxBatch,
+                     long maxWaitMicros, int queueCapacity, long... exampleShape) {
+        this.model = model;
+        this.runtime = runtime;
+        this.maxBatch = maxBatch;
+        this.exampleShape = exampleShape.clone();
+        this.maxWaitNanos = TimeUnit.MICROSECONDS.toNanos(maxWaitMicros);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        for (int i = 0; i < workerCount; i++) {
+            Thread worker = new Thread(this::run, "inference-" + model.getName() + "-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+    }
+
+    /** Queues one feature row; completes with the matching output row. */
+    public CompletableFuture<double[]> submit(double[] features) {
+        return submitVersioned(features).thenApply(Inference::output);
+    }
+
+    /** Like {@link #submit}, but also reports the model version that produced the output. */
+    public CompletableFuture<Inference> submitVersioned(double[] features) {
+        Request request = new Request(features, System.nanoTime());
+        if (!queue.offer(request)) {
+            rejected.incrementAndGet();
+            return CompletableFuture.failedFuture(
+                    new RejectedExecutionException("Inference queue full for model " + model.getName()));
+        }
+        requests.incrementAndGet();
+        return request.result;
+    }
+
+    /** Blocking convenience for callers that are not async themselves. */
+    public double[] infer(double[] features) {
+        return submit(features).join();
+    }
+
+    /** Blocking form of {@link #submitVersioned}. */
+    public Inference inferVersioned(double[] features) {
+        return submitVersioned(features).join();
+    }
+
+    private void run() {
+        List<Request> batch = new ArrayList<>(maxBatch);
+        double[][] rows = new double[maxBatch][];
+        InferenceSession session = null;
+        while (running) {
+            try {
+                Request first = queue.take();
+                batch.add(first);
+
+                long deadline = first.enqueuedNanos + maxWaitNanos;
+                while (batch.size() < maxBatch) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        queue.drainTo(batch, maxBatch - batch.size());
+                        break;
+                    }
+                    Request next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                }
+
+                session = execute(batch, rows, session);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } finally {
+                batch.clear();
+            }
+        }
+        if (session != null) session.release();
+        // Fail anything still queued so callers do not hang on shutdown
+        Request pending;
+        while ((pending = queue.poll()) != null) {
+            pending.result.completeExceptionally(new RejectedExecutionException("Inference shut down"));
+        }
+    }
+
+    /** Runs one batch; returns the worker's session, created or replaced to fit the live model. */
+    private InferenceSession execute(List<Request> batch, double[][] rows, InferenceSession session) {
+        try {
+            ModelRegistry.ModelHandle live = model.get();
+            if (session != null && session.handle() != live) {
+                // Workspace and buffers were sized for the previous version
+                session.release();
+                session = null;
+            }
+            if (session == null) {
+                long[] shape = exampleShape.length > 0 ? exampleShape : new long[]{live.network().layerInputSize(0)};
+                session = runtime.session(model, live, maxBatch, shape);
+            }
+
+            // A malformed row fails alone instead of poisoning the whole batch
+            int width = session.exampleSize();
+            batch.removeIf(request -> {
+                if (request.features.length == width) return false;
+                request.result.completeExceptionally(new IllegalArgumentException(
+                        "Expected " + width + " features for " + model.getName() + ", got " + request.features.length));
+                return true;
+            });
+            if (batch.isEmpty()) return session;
+
+            int count = batch.size();
+            for (int i = 0; i < count; i++) {
+                rows[i] = batch.get(i).features;
+            }
+            // Fresh output arrays: each one is handed to its caller
+            double[][] outputs = session.infer(rows, count, new double[count][]);
+            Arrays.fill(rows, 0, count, null);
+
+            ModelRegistry.ModelHandle handle = session.handle();
+            for (int i = 0; i < count; i++) {
+                batch.get(i).result.complete(new Inference(outputs[i], handle));
+            }
+            batches.incrementAndGet();
+            if (count > largestBatch) largestBatch = count;
+        } catch (Exception e) {
+            log.error("❌ Batched inference failed for {} ({} requests): {}",
+                    model.getName(), batch.size(), e.getMessage());
+            batch.forEach(request -> request.result.completeExceptionally(e));
+        }
+        return session;
+    }
+
+    public Map<String, Object> getStats() {
+        long batchCount = batches.get();
+        return Map.of(
+                "requests", requests.get(),
+                "batches", batchCount,
+                "avgBatchSize", batchCount == 0 ? 0.0 : (double) requests.get() / batchCount,
+                "largestBatch", largestBatch,
+                "queued", queue.size(),
+                "rejected", rejected.get(),
+                "workers", workers.size(),
+                "replicasCreated", model.getReplicasCreated()
+        );
+    }
+
+    void shutdown() {
+        running = false;
+        workers.forEach(Thread::interrupt);
+    }
+
+    /** One output row and the model version that computed it, e.g. to read that version's thresholds. */
+    public record Inference(double[] output, ModelRegistry.ModelHandle handle) {
+    }
+
+    private static final class Request {
+        final double[] features;
+        final long enqueuedNanos;
+        final CompletableFuture<Inference> result = new CompletableFuture<>();
+
+        Request(double[] features, long enqueuedNanos) {
+            this.features = features;
+            this.enqueuedNanos = enqueuedNanos;
+        }
+    }
+}
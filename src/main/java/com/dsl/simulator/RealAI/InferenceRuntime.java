@@ -0,0 +1,115 @@
+package com.dsl.simulator.RealAI;
+
+import lombok.extern.slf4j.Slf4j;
+import org.nd4j.linalg.api.memory.MemoryWorkspace;
+import org.nd4j.linalg.api.memory.conf.WorkspaceConfiguration;
+import org.nd4j.linalg.api.memory.enums.AllocationPolicy;
+import org.nd4j.linalg.api.memory.enums.LearningPolicy;
+import org.nd4j.linalg.api.memory.enums.ResetPolicy;
+import org.nd4j.linalg.api.memory.enums.SpillPolicy;
+import org.nd4j.linalg.factory.Nd4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Process-wide ND4J settings for inference, and the factory for {@link InferenceSession}s.
+ *
+ * The backend (CPU or CUDA) is whichever nd4j backend is on the classpath; see the
+ * {@code cuda} Maven profile. Native thread counts are applied once at startup.
+ *
+ * With workspaces enabled, every forward pass runs inside a per-thread memory workspace
+ * that is sized on the first pass and then reused, so steady-state inference does not
+ * allocate off-heap memory. Sessions are owned by the {@link InferenceBatcher} workers, one
+ * per worker and fixed example shape, so the number of workspaces is bounded by the workers.
+ * Passes on other threads destroy their workspace with {@link #destroyWorkspace} when done.
+ */
+@Slf4j
+@Component
+public class InferenceRuntime {
+
+    private final boolean workspacesEnabled;
+    private final WorkspaceConfiguration workspaceConfig;
+    private final AtomicInteger sessionIds = new AtomicInteger();
+
+    final LongAdder passes = new LongAdder();
+    final LongAdder rows = new LongAdder();
+    final LongAdder bufferAllocations = new LongAdder();
+
+    public InferenceRuntime(@Value("${satops.nd4j.threads:0}") int threads,
+                            @Value("${satops.nd4j.workspaces-enabled:true}") boolean workspacesEnabled,
+                            @Value("${satops.nd4j.workspace-initial-mb:4}") int workspaceInitialMb,
+                            @Value("${satops.nd4j.periodic-gc:false}") boolean periodicGc) {
+        this.workspacesEnabled = workspacesEnabled;
+        this.workspaceConfig = WorkspaceConfiguration.builder()
+                .initialSize(workspaceInitialMb * 1024L * 1024L)
+                .policyAllocation(AllocationPolicy.STRICT)
+                .policyLearning(LearningPolicy.FIRST_LOOP)
+                .policyReset(ResetPolicy.BLOCK_LEFT)
+                .policySpill(SpillPolicy.REALLOCATE)
+                .build();
+
+        if (threads > 0) {
+            Nd4j.getEnvironment().setMaxThreads(threads);
+            Nd4j.getEnvironment().setMaxMasterThreads(threads);
+        }
+        // Workspace memory is released deterministically; periodic System.gc() only adds pauses
+        Nd4j.getMemoryManager().togglePeriodicGc(periodicGc);
+
+        log.info("🧮 ND4J backend {} ({} threads), inference workspaces {}",
+                Nd4j.getBackend().getClass().getSimpleName(), Nd4j.getEnvironment().maxThreads(),
+                workspacesEnabled ? "enabled (" + workspaceInitialMb + " MB initial)" : "disabled");
+    }
+
+    /**
+     * A new session for the calling thread on the live model version. {@code exampleShape} is
+     * the shape of one input example without the batch dimension, e.g. {@code {6}} or
+     * {@code {features, steps}}.
+     */
+    public InferenceSession session(ManagedModel model, int maxRows, long... exampleShape) {
+        return session(model, model.get(), maxRows, exampleShape);
+    }
+
+    /** A new session for the calling thread on a specific model version. */
+    public InferenceSession session(ManagedModel model, ModelRegistry.ModelHandle handle, int maxRows, long... exampleShape) {
+        return new InferenceSession(this, model, handle, maxRows, exampleShape,
+                "inference-" + model.getName() + "-" + sessionIds.incrementAndGet());
+    }
+
+    /**
+     * Opens this thread's workspace with the given id, or returns null when workspaces are
+     * disabled; both work as a try-with-resources resource. Arrays created inside are only
+     * valid until it is closed.
+     */
+    MemoryWorkspace openWorkspace(String id) {
+        return workspacesEnabled ? Nd4j.getWorkspaceManager().getAndActivateWorkspace(workspaceConfig, id) : null;
+    }
+
+    /** Frees this thread's workspace with the given id, if it has one. Must not be open. */
+    void destroyWorkspace(String id) {
+        // getWorkspaceForCurrentThread would create the workspace just to destroy it
+        if (Nd4j.getWorkspaceManager().checkIfWorkspaceExists(id)) {
+            Nd4j.getWorkspaceManager().destroyWorkspace(Nd4j.getWorkspaceManager().getWorkspaceForCurrentThread(id));
+        }
+    }
+
+    public boolean isWorkspacesEnabled() {
+        return workspacesEnabled;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("backend", Nd4j.getBackend().getClass().getSimpleName());
+        stats.put("threads", Nd4j.getEnvironment().maxThreads());
+        stats.put("workspaces", workspacesEnabled);
+        stats.put("sessions", sessionIds.get());
+        stats.put("passes", passes.sum());
+        stats.put("rows", rows.sum());
+        stats.put("bufferAllocations", bufferAllocations.sum());
+        return stats;
+    }
+}
@@ -0,0 +1,59 @@
+package com.dsl.simulator.RealAI;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Owns one {@link InferenceBatcher} per model so concurrent DSL and REST requests
+ * share forward passes instead of each running a 1-row output().
+ */
+@Slf4j
+@Service
+public class InferenceService {
+
+    private final InferenceRuntime runtime;
+    private final int workersPerModel;
+    private final int maxBatch;
+    private final long maxWaitMicros;
+    private final int queueCapacity;
+    private final Map<String, InferenceBatcher> batchers = new ConcurrentHashMap<>();
+
+    public InferenceService(InferenceRuntime runtime,
+                            @Value("${satops.inference.workers-per-model:2}") int workersPerModel,
+                            @Value("${satops.inference.max-batch:64}") int maxBatch,
+                            @Value("${satops.inference.max-wait-micros:2000}") long maxWaitMicros,
+                            @Value("${satops.inference.queue-capacity:4096}") int queueCapacity) {
+        this.runtime = runtime;
+        this.workersPerModel = workersPerModel;
+        this.maxBatch = maxBatch;
+        this.maxWaitMicros = maxWaitMicros;
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * The model's batcher, created on first use. {@code exampleShape} fixes the shape of one
+     * input example (see {@link InferenceBatcher}); callers pad or trim their input to it.
+     */
+    public InferenceBatcher batcher(ManagedModel model, long... exampleShape) {
+        return batchers.computeIfAbsent(model.getName(),
+                name -> new InferenceBatcher(model, runtime, workersPerModel, maxBatch, maxWaitMicros, queueCapacity, exampleShape));
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        batchers.forEach((name, batcher) -> stats.put(name, batcher.getStats()));
+        stats.put("runtime", runtime.getStats());
+        return stats;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        batchers.values().forEach(InferenceBatcher::shutdown);
+    }
+}
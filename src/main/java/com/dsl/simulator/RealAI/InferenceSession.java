@@ -0,0 +1,146 @@
+package com.dsl.simulator.RealAI;
+
+import org.deeplearning4j.nn.multilayer.MultiLayerNetwork;
+import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.api.buffer.DataType;
+import org.nd4j.linalg.api.memory.MemoryWorkspace;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.linalg.indexing.INDArrayIndex;
+import org.nd4j.linalg.indexing.NDArrayIndex;
+
+/**
+ * Allocation-free forward passes for one model version on one thread.
+ *
+ * Feature rows are copied into an input buffer that is allocated once and reused. The
+ * forward pass and its output live in the session's workspace, and results are copied into
+ * caller-owned arrays before the workspace is closed. In steady state a pass creates no
+ * new off-heap memory and, with reused output arrays, no heap garbage beyond a few views.
+ *
+ * Not thread-safe: ND4J workspaces belong to the thread that opened them. Each pass borrows
+ * a replica of the session's version with {@link ManagedModel#acquire(ModelRegistry.ModelHandle)}.
+ * Owners replace the session when a new version goes live.
+ */
+public final class InferenceSession {
+
+    private final InferenceRuntime runtime;
+    private final ManagedModel model;
+    private final ModelRegistry.ModelHandle handle;
+    private final long[] exampleShape;
+    private final int exampleSize;
+    private final String workspaceId;
+
+    private INDArray input;
+    private int capacity;
+
+    InferenceSession(InferenceRuntime runtime, ManagedModel model, ModelRegistry.ModelHandle handle,
+                     int maxRows, long[] exampleShape, String workspaceId) {
+        this.runtime = runtime;
+        this.model = model;
+        this.handle = handle;
+        this.exampleShape = exampleShape.clone();
+        this.workspaceId = workspaceId;
+        this.capacity = Math.max(1, maxRows);
+
+        long size = 1;
+        for (long dim : exampleShape) size *= dim;
+        this.exampleSize = (int) size;
+    }
+
+    /** The model version this session runs. */
+    public ModelRegistry.ModelHandle handle() {
+        return handle;
+    }
+
+    /** Values per input example, i.e. the expected length of each row passed to {@link #infer}. */
+    public int exampleSize() {
+        return exampleSize;
+    }
+
+    /**
+     * Runs {@code rows[0..count)} (each one example flattened in row-major order) through the
+     * session's model version. Output example {@code i} is written to {@code outputs[i]}, which is reused
+     * when it already has the right length and allocated otherwise. Returns {@code outputs}.
+     */
+    public double[][] infer(double[][] rows, int count, double[][] outputs) {
+        try (ManagedModel.Lease replica = model.acquire(handle)) {
+            MultiLayerNetwork network = replica.network();
+            INDArray batch = fill(rows, count, network.params().dataType());
+
+            try (MemoryWorkspace workspace = runtime.openWorkspace(workspaceId)) {
+                INDArray out = workspace != null ? network.output(batch, false, workspace) : network.output(batch, false);
+                if (out.ordering() != 'c' || out.isView()) {
+                    out = out.dup('c');
+                }
+
+                int outputSize = (int) (out.length() / count);
+                DataBuffer data = out.data();
+                long offset = out.offset();
+                for (int i = 0; i < count; i++) {
+                    double[] row = outputs[i];
+                    if (row == null || row.length != outputSize) {
+                        row = new double[outputSize];
+                        outputs[i] = row;
+                    }
+                    long base = offset + (long) i * outputSize;
+                    for (int j = 0; j < outputSize; j++) {
+                        row[j] = data.getDouble(base + j);
+                    }
+                }
+            }
+        }
+
+        runtime.passes.increment();
+        runtime.rows.add(count);
+        return outputs;
+    }
+
+    /** Single-example convenience; {@code output} is reused when it has the right length. */
+    public double[] infer(double[] features, double[] output) {
+        double[][] outputs = {output};
+        infer(new double[][]{features}, 1, outputs);
+        return outputs[0];
+    }
+
+    /** Frees the input buffer and this session's workspace. Call from the owning thread. */
+    public void release() {
+        if (input != null) {
+            input.close();
+            input = null;
+        }
+        runtime.destroyWorkspace(workspaceId);
+    }
+
+    private INDArray fill(double[][] rows, int count, DataType dataType) {
+        if (input == null || count > capacity || input.dataType() != dataType) {
+            if (input != null) input.close();
+            capacity = Math.max(capacity, count);
+            long[] shape = new long[exampleShape.length + 1];
+            shape[0] = capacity;
+            System.arraycopy(exampleShape, 0, shape, 1, exampleShape.length);
+            try (MemoryWorkspace ignored = Nd4j.getWorkspaceManager().scopeOutOfWorkspaces()) {
+                input = Nd4j.create(dataType, shape);
+            }
+            runtime.bufferAllocations.increment();
+        }
+
+        DataBuffer data = input.data();
+        for (int i = 0; i < count; i++) {
+            double[] row = rows[i];
+            if (row.length != exampleSize) {
+                throw new IllegalArgumentException("Expected " + exampleSize + " values for "
+                        + model.getName() + ", got " + row.length);
+            }
+            long base = (long) i * exampleSize;
+            for (int j = 0; j < exampleSize; j++) {
+                data.put(base + j, row[j]);
+            }
+        }
+
+        if (count == capacity) return input;
+        INDArrayIndex[] indices = new INDArrayIndex[exampleShape.length + 1];
+        indices[0] = NDArrayIndex.interval(0, count);
+        for (int d = 1; d < indices.length; d++) indices[d] = NDArrayIndex.all();
+        return input.get(indices);
+    }
+}
@@ -0,0 +1,300 @@
+package com.dsl.simulator.RealAI;
+
+import lombok.extern.slf4j.Slf4j;
+import org.deeplearning4j.nn.multilayer.MultiLayerNetwork;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Holder for one network's live version.
+ *
+ * The current version is published through a volatile field, so inference never sees a
+ * half-trained network: training always happens on a separate instance and is swapped in
+ * atomically when finished. Until the first version exists, callers wait on {@link #ready}.
+ *
+ * A version on disk is only used if its input and output sizes match what the owner
+ * registered; an unreadable or mismatched file is replaced by a fresh training run. If that
+ * fails too, waiting callers get the error, calls during the backoff fail fast, and loading
+ * is retried after {@code satops.models.retry-backoff-ms}, doubling up to five minutes.
+ *
+ * MultiLayerNetwork is not safe for concurrent output() calls, so inference borrows a clone
+ * with {@link #acquire()} and returns it when the lease is closed. Clones come from a pool
+ * of at most {@code satops.models.replicas-per-model} per version: callers beyond that wait
+ * for a lease to be returned instead of cloning more. Each new version gets a fresh pool,
+ * and the previous one is dropped with its last lease. The published network itself is only
+ * read by evaluation and as the clone source.
+ */
+@Slf4j
+public class ManagedModel {
+
+    private static final long MAX_RETRY_BACKOFF_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
+    private final String name;
+    private final ModelRegistry registry;
+    private final int inputs;
+    private final int outputs;
+    private final Supplier<TrainingResult> trainer;
+
+    private volatile CompletableFuture<ModelRegistry.ModelHandle> ready = new CompletableFuture<>();
+    private final AtomicBoolean loading = new AtomicBoolean();
+    private final AtomicInteger failures = new AtomicInteger();
+    private final AtomicBoolean training = new AtomicBoolean();
+    private final List<Consumer<ModelRegistry.ModelHandle>> listeners = new CopyOnWriteArrayList<>();
+    private volatile ModelRegistry.ModelHandle current;
+    private volatile ModelEvaluation evaluation;
+
+    private volatile ReplicaPool replicas;
+    private final AtomicInteger replicasCreated = new AtomicInteger();
+
+    /** {@code inputs}/{@code outputs} of 0 accept whatever sizes the stored network has. */
+    ManagedModel(String name, ModelRegistry registry, int inputs, int outputs, Supplier<TrainingResult> trainer) {
+        this.name = name;
+        this.registry = registry;
+        this.inputs = inputs;
+        this.outputs = outputs;
+        this.trainer = trainer;
+    }
+
+    /**
+     * Current model; on first use loads it from disk, or waits for background training.
+     */
+    public ModelRegistry.ModelHandle get() {
+        ModelRegistry.ModelHandle handle = current;
+        if (handle != null) return handle;
+        startLoading();
+        return ready.join();
+    }
+
+    /**
+     * Borrows a replica of the live version; close the lease to return it. Blocks while every
+     * replica of the version is leased.
+     */
+    public Lease acquire() {
+        return acquire(get());
+    }
+
+    /**
+     * Borrows a replica of a specific version, for callers that also read that version's
+     * metadata. A version that is no longer live gets a one-off clone that is discarded on close.
+     */
+    public Lease acquire(ModelRegistry.ModelHandle handle) {
+        ReplicaPool pool = replicas;
+        return pool != null && pool.source == handle ? pool.lease() : new Lease(handle, cloneOf(handle), null);
+    }
+
+    private MultiLayerNetwork cloneOf(ModelRegistry.ModelHandle handle) {
+        MultiLayerNetwork copy;
+        synchronized (handle) {
+            copy = handle.network().clone();
+        }
+        replicasCreated.incrementAndGet();
+        return copy;
+    }
+
+    public int getReplicasCreated() {
+        return replicasCreated.get();
+    }
+
+    public boolean isReady() {
+        return current != null;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getVersion() {
+        ModelRegistry.ModelHandle handle = current;
+        return handle != null ? handle.version() : 0;
+    }
+
+    /** Held-out metrics for the live version, if it has been evaluated yet. */
+    public Optional<ModelEvaluation> getEvaluation() {
+        ModelEvaluation eval = evaluation;
+        return eval != null && eval.getVersion() == getVersion() ? Optional.of(eval) : Optional.empty();
+    }
+
+    void attachEvaluation(ModelEvaluation evaluation) {
+        this.evaluation = evaluation;
+    }
+
+    /** Called with every version that goes live, including one already live at registration. */
+    public void onPublish(Consumer<ModelRegistry.ModelHandle> listener) {
+        listeners.add(listener);
+        ModelRegistry.ModelHandle handle = current;
+        if (handle != null) listener.accept(handle);
+    }
+
+    /** Loads the latest version from disk, or trains one if there is none. Idempotent. */
+    void startLoading() {
+        if (!loading.compareAndSet(false, true)) return;
+
+        registry.trainingPool().execute(() -> {
+            try {
+                registry.loadLatest(name).filter(this::matchesConfiguration).ifPresentOrElse(this::publish, this::trainNow);
+            } catch (Exception e) {
+                loadFailed(e);
+            }
+        });
+    }
+
+    private boolean matchesConfiguration(ModelRegistry.ModelHandle handle) {
+        MultiLayerNetwork network = handle.network();
+        long in = network.layerInputSize(0);
+        long out = network.layerSize(network.getnLayers() - 1);
+        if ((inputs == 0 || in == inputs) && (outputs == 0 || out == outputs)) return true;
+        log.warn("⚠️ Model {} v{} is {} -> {} but {} -> {} is configured; retraining",
+                name, handle.version(), in, out, inputs, outputs);
+        return false;
+    }
+
+    /** Fails current waiters, then lets the next attempt start once the backoff has passed. */
+    private void loadFailed(Exception e) {
+        int attempt = failures.incrementAndGet();
+        long delay = Math.min(MAX_RETRY_BACKOFF_MILLIS, registry.retryBackoffMillis() << Math.min(attempt - 1, 16));
+        log.error("❌ Model {} unavailable (attempt {}), retrying in {} ms: {}", name, attempt, delay, e.getMessage());
+        ready.completeExceptionally(e);
+
+        CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS).execute(() -> {
+            if (current != null) return;
+            ready = new CompletableFuture<>();
+            loading.set(false);
+            try {
+                startLoading();
+            } catch (RejectedExecutionException shutDown) {
+                log.debug("Model {} retry dropped: registry shut down", name);
+            }
+        });
+    }
+
+    /**
+     * Trains a fresh version in the background and swaps it in when done.
+     * Returns immediately if a training run is already in progress.
+     */
+    public CompletableFuture<ModelRegistry.ModelHandle> retrainAsync() {
+        return CompletableFuture.supplyAsync(() -> {
+            trainNow();
+            return current;
+        }, registry.trainingPool());
+    }
+
+    /** Persists an externally trained network as a new version and makes it live. */
+    public ModelRegistry.ModelHandle promote(MultiLayerNetwork network, Map<String, String> metadata) {
+        ModelRegistry.ModelHandle handle = registry.save(name, network, metadata);
+        publish(handle);
+        return handle;
+    }
+
+    private void trainNow() {
+        if (!training.compareAndSet(false, true)) return;
+        try {
+            long start = System.currentTimeMillis();
+            TrainingResult result = trainer.get();
+            ModelRegistry.ModelHandle handle = registry.save(name, result.network(), result.metadata());
+            publish(handle);
+            log.info("✅ Model {} v{} trained in {} ms", name, handle.version(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("❌ Training failed for model {}: {}", name, e.getMessage());
+            if (current == null) loadFailed(e);
+        } finally {
+            training.set(false);
+        }
+    }
+
+    private void publish(ModelRegistry.ModelHandle handle) {
+        synchronized (this) {
+            replicas = new ReplicaPool(handle, registry.replicasPerModel());
+            current = handle;
+        }
+        failures.set(0);
+        ready.complete(handle);
+        listeners.forEach(listener -> listener.accept(handle));
+    }
+
+    /** A borrowed replica of one version; closing it hands the network back to its pool. */
+    public static final class Lease implements AutoCloseable {
+        private final ModelRegistry.ModelHandle handle;
+        private final MultiLayerNetwork network;
+        private final ReplicaPool pool;
+        private boolean closed;
+
+        private Lease(ModelRegistry.ModelHandle handle, MultiLayerNetwork network, ReplicaPool pool) {
+            this.handle = handle;
+            this.network = network;
+            this.pool = pool;
+        }
+
+        /** The version this replica was cloned from. */
+        public ModelRegistry.ModelHandle handle() {
+            return handle;
+        }
+
+        public MultiLayerNetwork network() {
+            return network;
+        }
+
+        @Override
+        public void close() {
+            if (closed) return;
+            closed = true;
+            if (pool != null) pool.idle.offer(network);
+        }
+    }
+
+    /** Replicas of one version: cloned on demand up to {@code capacity}, then shared by waiting. */
+    private final class ReplicaPool {
+        final ModelRegistry.ModelHandle source;
+        final BlockingQueue<MultiLayerNetwork> idle;
+        final AtomicInteger created = new AtomicInteger();
+        final int capacity;
+
+        ReplicaPool(ModelRegistry.ModelHandle source, int capacity) {
+            this.source = source;
+            this.capacity = Math.max(1, capacity);
+            this.idle = new ArrayBlockingQueue<>(this.capacity);
+        }
+
+        Lease lease() {
+            MultiLayerNetwork network = idle.poll();
+            if (network == null) {
+                if (created.incrementAndGet() <= capacity) {
+                    try {
+                        network = cloneOf(source);
+                    } catch (RuntimeException | Error e) {
+                        // Give the slot back, or the pool would wait forever for a replica that never existed
+                        created.decrementAndGet();
+                        throw e;
+                    }
+                } else {
+                    created.decrementAndGet();
+                    try {
+                        network = idle.take();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IllegalStateException("Interrupted waiting for a replica of " + name, e);
+                    }
+                }
+            }
+            return new Lease(source, network, this);
+        }
+    }
+
+    /** Output of a training run: the network plus metadata persisted alongside it. */
+    public record TrainingResult(MultiLayerNetwork network, Map<String, String> metadata) {
+        public static TrainingResult of(MultiLayerNetwork network) {
+            return new TrainingResult(network, Map.of());
+        }
+    }
+}
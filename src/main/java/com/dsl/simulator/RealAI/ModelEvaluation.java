@@ -0,0 +1,68 @@
+package com.dsl.simulator.RealAI;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Held-out evaluation of one model version.
+ *
+ * precision / recall / calibrationError are null when they do not apply to the model
+ * (e.g. the LSTM is a sequence regressor with no positive class).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ModelEvaluation {
+
+    private String model;
+    private int version;
+    private int samples;
+
+    private double accuracy;
+    private Double precision;
+    private Double recall;
+    // Expected calibration error over 10 confidence bins
+    private Double calibrationError;
+
+    private Instant evaluatedAt;
+    private long evaluationMs;
+
+    Map<String, String> toProperties() {
+        Map<String, String> props = new HashMap<>();
+        props.put("model", model);
+        props.put("version", String.valueOf(version));
+        props.put("samples", String.valueOf(samples));
+        props.put("accuracy", String.valueOf(accuracy));
+        if (precision != null) props.put("precision", String.valueOf(precision));
+        if (recall != null) props.put("recall", String.valueOf(recall));
+        if (calibrationError != null) props.put("calibrationError", String.valueOf(calibrationError));
+        props.put("evaluatedAt", evaluatedAt.toString());
+        props.put("evaluationMs", String.valueOf(evaluationMs));
+        return props;
+    }
+
+    static ModelEvaluation fromProperties(Map<String, String> props) {
+        return ModelEvaluation.builder()
+                .model(props.get("model"))
+                .version(Integer.parseInt(props.get("version")))
+                .samples(Integer.parseInt(props.get("samples")))
+                .accuracy(Double.parseDouble(props.get("accuracy")))
+                .precision(optionalDouble(props.get("precision")))
+                .recall(optionalDouble(props.get("recall")))
+                .calibrationError(optionalDouble(props.get("calibrationError")))
+                .evaluatedAt(Instant.parse(props.get("evaluatedAt")))
+                .evaluationMs(Long.parseLong(props.get("evaluationMs")))
+                .build();
+    }
+
+    private static Double optionalDouble(String value) {
+        return value != null ? Double.parseDouble(value) : null;
+    }
+}
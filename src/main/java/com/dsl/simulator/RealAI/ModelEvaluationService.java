@@ -0,0 +1,124 @@
+package com.dsl.simulator.RealAI;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Scores every model version once on a fixed held-out set and keeps the result.
+ *
+ * Evaluation is triggered when a version goes live and runs off the request path;
+ * the accuracy getters on the RealAI components only read the cached result.
+ * Results are persisted next to the weights, so a restart that loads v<N> from disk
+ * does not evaluate it again.
+ */
+@Slf4j
+@Service
+public class ModelEvaluationService {
+
+    private final ModelRegistry registry;
+    private final List<EvaluatedModel> models;
+    private final ExecutorService evaluationPool = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "model-evaluation");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public ModelEvaluationService(ModelRegistry registry, List<EvaluatedModel> models) {
+        this.registry = registry;
+        this.models = models;
+    }
+
+    @PostConstruct
+    void subscribe() {
+        for (EvaluatedModel model : models) {
+            model.getManagedModel().onPublish(handle -> evaluationPool.execute(() -> evaluate(model, handle, false)));
+        }
+    }
+
+    /** Forces a fresh evaluation of the live version, ignoring any stored result. */
+    public CompletableFuture<ModelEvaluation> reevaluate(String name) {
+        EvaluatedModel model = find(name)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown model: " + name));
+        ModelRegistry.ModelHandle handle = model.getManagedModel().get();
+        return CompletableFuture.supplyAsync(() -> evaluate(model, handle, true), evaluationPool);
+    }
+
+    public Optional<ModelEvaluation> getEvaluation(String name) {
+        return find(name).flatMap(model -> model.getManagedModel().getEvaluation());
+    }
+
+    public Map<String, Object> getSummary() {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        for (EvaluatedModel model : models) {
+            ManagedModel managed = model.getManagedModel();
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("ready", managed.isReady());
+            entry.put("version", managed.getVersion());
+            entry.put("storedVersions", registry.versions(managed.getName()));
+            managed.getEvaluation().ifPresent(eval -> entry.put("evaluation", eval));
+            summary.put(managed.getName(), entry);
+        }
+        return summary;
+    }
+
+    private ModelEvaluation evaluate(EvaluatedModel model, ModelRegistry.ModelHandle handle, boolean force) {
+        ManagedModel managed = model.getManagedModel();
+        String name = managed.getName();
+
+        if (!force) {
+            Optional<ModelEvaluation> stored = registry.loadEvaluation(name, handle.version())
+                    .map(ModelEvaluation::fromProperties);
+            if (stored.isPresent()) {
+                managed.attachEvaluation(stored.get());
+                return stored.get();
+            }
+        }
+
+        try {
+            long start = System.currentTimeMillis();
+            ModelEvaluation.ModelEvaluationBuilder result;
+            // The published network is the clone source: ManagedModel#acquire() clones it (cloneOf) under this same lock
+            synchronized (handle) {
+                result = model.evaluate(handle);
+            }
+            ModelEvaluation evaluation = result
+                    .model(name)
+                    .version(handle.version())
+                    .evaluatedAt(Instant.now())
+                    .evaluationMs(System.currentTimeMillis() - start)
+                    .build();
+
+            registry.saveEvaluation(name, handle.version(), evaluation.toProperties());
+            managed.attachEvaluation(evaluation);
+            log.info("📊 Evaluated {} v{}: accuracy {} on {} held-out samples ({} ms)",
+                    name, handle.version(), String.format("%.3f", evaluation.getAccuracy()),
+                    evaluation.getSamples(), evaluation.getEvaluationMs());
+            return evaluation;
+        } catch (Exception e) {
+            log.error("❌ Evaluation failed for {} v{}: {}", name, handle.version(), e.getMessage());
+            throw e;
+        }
+    }
+
+    private Optional<EvaluatedModel> find(String name) {
+        return models.stream()
+                .filter(model -> model.getManagedModel().getName().equals(name))
+                .findFirst();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        evaluationPool.shutdownNow();
+    }
+}
@@ -0,0 +1,254 @@
+package com.dsl.simulator.RealAI;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.deeplearning4j.nn.multilayer.MultiLayerNetwork;
+import org.deeplearning4j.util.ModelSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Versioned on-disk store for the RealAI networks.
+ *
+ * Layout: {@code <models-dir>/<model>/v<N>.zip} (DL4J ModelSerializer, without updater state)
+ * plus {@code v<N>.properties} with training metadata such as thresholds.
+ * Also owns the background training pool used by {@link ManagedModel}.
+ */
+@Slf4j
+@Component
+public class ModelRegistry {
+
+    private static final Pattern VERSION_FILE = Pattern.compile("v(\\d+)\\.zip");
+
+    private final Path modelsDir;
+    private final int keepVersions;
+    private final boolean preload;
+    private final int replicasPerModel;
+    private final long retryBackoffMillis;
+    private final ExecutorService trainingPool;
+    private final Map<String, ManagedModel> models = new ConcurrentHashMap<>();
+
+    public ModelRegistry(@Value("${satops.models.dir:./models}") String modelsDir,
+                         @Value("${satops.models.keep-versions:3}") int keepVersions,
+                         @Value("${satops.models.preload:true}") boolean preload,
+                         @Value("${satops.models.training-threads:1}") int trainingThreads,
+                         @Value("${satops.models.replicas-per-model:4}") int replicasPerModel,
+                         @Value("${satops.models.retry-backoff-ms:5000}") long retryBackoffMillis) {
+        this.modelsDir = Paths.get(modelsDir);
+        this.keepVersions = keepVersions;
+        this.preload = preload;
+        this.replicasPerModel = replicasPerModel;
+        this.retryBackoffMillis = Math.max(1, retryBackoffMillis);
+        this.trainingPool = Executors.newFixedThreadPool(trainingThreads, r -> {
+            Thread t = new Thread(r, "model-training");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Registers a model whose weights are loaded from disk, or trained in the background when absent.
+     */
+    public ManagedModel register(String name, Supplier<ManagedModel.TrainingResult> trainer) {
+        return register(name, 0, 0, trainer);
+    }
+
+    /**
+     * As {@link #register(String, Supplier)}, but a stored version whose first layer does not take
+     * {@code inputs} values or whose last layer does not produce {@code outputs} is retrained instead.
+     */
+    public ManagedModel register(String name, int inputs, int outputs, Supplier<ManagedModel.TrainingResult> trainer) {
+        return models.computeIfAbsent(name, n -> new ManagedModel(n, this, inputs, outputs, trainer));
+    }
+
+    /** Warm every registered model once the application is up, so no request pays for it. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void preloadModels() {
+        if (!preload) return;
+        log.info("🧠 Preloading {} models from {}", models.size(), modelsDir.toAbsolutePath());
+        models.values().forEach(ManagedModel::startLoading);
+    }
+
+    // ---- Persistence ----
+
+    public Optional<ModelHandle> loadLatest(String name) {
+        List<Integer> versions = versions(name);
+        if (versions.isEmpty()) return Optional.empty();
+
+        int version = versions.get(versions.size() - 1);
+        Path dir = modelsDir.resolve(name);
+        try {
+            MultiLayerNetwork network = ModelSerializer.restoreMultiLayerNetwork(
+                    dir.resolve("v" + version + ".zip").toFile(), false);
+            Properties metadata = new Properties();
+            Path meta = dir.resolve("v" + version + ".properties");
+            if (Files.exists(meta)) {
+                try (InputStream in = Files.newInputStream(meta)) {
+                    metadata.load(in);
+                }
+            }
+            log.info("📦 Loaded model {} v{} from disk", name, version);
+            return Optional.of(new ModelHandle(network, version, toMap(metadata)));
+        } catch (Exception e) {
+            log.warn("⚠️ Could not load model {} v{}: {}", name, version, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Writes a new version (temp file + atomic move) and prunes old ones.
+     */
+    public synchronized ModelHandle save(String name, MultiLayerNetwork network, Map<String, String> metadata) {
+        List<Integer> versions = versions(name);
+        int version = versions.isEmpty() ? 1 : versions.get(versions.size() - 1) + 1;
+        Path dir = modelsDir.resolve(name);
+
+        try {
+            Files.createDirectories(dir);
+
+            Properties props = new Properties();
+            props.putAll(metadata);
+            props.setProperty("version", String.valueOf(version));
+            props.setProperty("savedAt", Instant.now().toString());
+            Path metaTmp = dir.resolve("v" + version + ".properties.tmp");
+            try (OutputStream out = Files.newOutputStream(metaTmp)) {
+                props.store(out, name + " model metadata");
+            }
+
+            Path modelTmp = dir.resolve("v" + version + ".zip.tmp");
+            ModelSerializer.writeModel(network, modelTmp.toFile(), false);
+
+            Files.move(metaTmp, dir.resolve("v" + version + ".properties"),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            Files.move(modelTmp, dir.resolve("v" + version + ".zip"),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            prune(name);
+            log.info("💾 Saved model {} v{}", name, version);
+            return new ModelHandle(network, version, toMap(props));
+        } catch (IOException e) {
+            // Still usable in memory; it will just be retrained after a restart
+            log.error("❌ Failed to persist model {}: {}", name, e.getMessage());
+            return new ModelHandle(network, version, Map.copyOf(metadata));
+        }
+    }
+
+    /** Evaluation results are kept next to the weights as {@code v<N>.eval.properties}. */
+    public void saveEvaluation(String name, int version, Map<String, String> values) {
+        Path dir = modelsDir.resolve(name);
+        Path target = dir.resolve("v" + version + ".eval.properties");
+        try {
+            Files.createDirectories(dir);
+            Properties props = new Properties();
+            props.putAll(values);
+            Path tmp = dir.resolve("v" + version + ".eval.properties.tmp");
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                props.store(out, name + " evaluation");
+            }
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("⚠️ Could not persist evaluation for {} v{}: {}", name, version, e.getMessage());
+        }
+    }
+
+    public Optional<Map<String, String>> loadEvaluation(String name, int version) {
+        Path file = modelsDir.resolve(name).resolve("v" + version + ".eval.properties");
+        if (!Files.exists(file)) return Optional.empty();
+        Properties props = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            props.load(in);
+            return Optional.of(toMap(props));
+        } catch (IOException e) {
+            log.warn("⚠️ Could not read evaluation for {} v{}: {}", name, version, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    public List<Integer> versions(String name) {
+        Path dir = modelsDir.resolve(name);
+        if (!Files.isDirectory(dir)) return List.of();
+
+        List<Integer> versions = new ArrayList<>();
+        try (Stream<Path> files = Files.list(dir)) {
+            files.forEach(file -> {
+                Matcher m = VERSION_FILE.matcher(file.getFileName().toString());
+                if (m.matches()) versions.add(Integer.parseInt(m.group(1)));
+            });
+        } catch (IOException e) {
+            log.warn("⚠️ Could not list model versions for {}: {}", name, e.getMessage());
+        }
+        Collections.sort(versions);
+        return versions;
+    }
+
+    private void prune(String name) throws IOException {
+        List<Integer> versions = versions(name);
+        Path dir = modelsDir.resolve(name);
+        for (int i = 0; i < versions.size() - keepVersions; i++) {
+            Files.deleteIfExists(dir.resolve("v" + versions.get(i) + ".zip"));
+            Files.deleteIfExists(dir.resolve("v" + versions.get(i) + ".properties"));
+            Files.deleteIfExists(dir.resolve("v" + versions.get(i) + ".eval.properties"));
+        }
+    }
+
+    ExecutorService trainingPool() {
+        return trainingPool;
+    }
+
+    /** Upper bound on the concurrent inference replicas of one model version. */
+    int replicasPerModel() {
+        return replicasPerModel;
+    }
+
+    /** Delay before a model whose load and training both failed is tried again; doubles per failure. */
+    long retryBackoffMillis() {
+        return retryBackoffMillis;
+    }
+
+    public Map<String, ManagedModel> getModels() {
+        return Collections.unmodifiableMap(models);
+    }
+
+    private static Map<String, String> toMap(Properties props) {
+        Map<String, String> map = new ConcurrentHashMap<>();
+        props.stringPropertyNames().forEach(key -> map.put(key, props.getProperty(key)));
+        return Map.copyOf(map);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        trainingPool.shutdownNow();
+    }
+
+    /** An immutable, ready-to-use model version. */
+    public record ModelHandle(MultiLayerNetwork network, int version, Map<String, String> metadata) {
+        public double metadataDouble(String key, double fallback) {
+            String value = metadata.get(key);
+            return value != null ? Double.parseDouble(value) : fallback;
+        }
+    }
+}
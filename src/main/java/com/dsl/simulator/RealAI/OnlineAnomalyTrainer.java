@@ -0,0 +1,233 @@
+package com.dsl.simulator.RealAI;
+
+import com.dsl.simulator.Streaming.TelemetryData;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.deeplearning4j.nn.multilayer.MultiLayerNetwork;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.dataset.DataSet;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.linalg.indexing.NDArrayIndex;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the anomaly autoencoder current with real telemetry.
+ *
+ * Live frames land in a fixed primitive ring buffer. Only frames the {@link AnomalyPrefilter}
+ * passed as nominal are offered, and each round also drops frames the live version already
+ * scores above its threshold, so the autoencoder is never taught to reconstruct the anomalies
+ * it should flag. A shadow copy of the live network is then fine-tuned on the remaining frames
+ * in mini-batches, the threshold is re-estimated as the exact 95th percentile of the shadow's
+ * held-out errors, and the shadow is promoted only if it reconstructs those held-out recent
+ * frames better than the live version. Inference keeps using the live version throughout;
+ * promotion is a single reference swap.
+ */
+@Slf4j
+@Component
+public class OnlineAnomalyTrainer {
+
+    private static final int CHANNELS = TelemetryFeatures.SENSOR_CHANNELS;
+    private static final double THRESHOLD_QUANTILE = 0.95;
+
+    private final ManagedModel model;
+    private final boolean enabled;
+    private final int capacity;
+    private final int minNewSamples;
+    private final int batchSize;
+    private final int epochs;
+    private final double validationFraction;
+    private final double minImprovement;
+
+    // Ring buffer: capacity rows of CHANNELS doubles, written under the monitor
+    private final double[] buffer;
+    private long written;
+    private long lastRoundAt;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "online-learning");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final AtomicLong rounds = new AtomicLong();
+    private final AtomicLong promotions = new AtomicLong();
+    private final AtomicLong excluded = new AtomicLong();
+    private volatile Map<String, Object> lastRound = Map.of();
+
+    public OnlineAnomalyTrainer(AnomalyDetectionNetwork anomalyDetector,
+                                @Value("${satops.online-learning.enabled:true}") boolean enabled,
+                                @Value("${satops.online-learning.buffer-size:4096}") int capacity,
+                                @Value("${satops.online-learning.min-new-samples:256}") int minNewSamples,
+                                @Value("${satops.online-learning.interval-seconds:60}") long intervalSeconds,
+                                @Value("${satops.online-learning.batch-size:64}") int batchSize,
+                                @Value("${satops.online-learning.epochs:5}") int epochs,
+                                @Value("${satops.online-learning.validation-fraction:0.2}") double validationFraction,
+                                @Value("${satops.online-learning.min-improvement:0.02}") double minImprovement) {
+        this.model = anomalyDetector.getManagedModel();
+        this.enabled = enabled;
+        this.capacity = capacity;
+        this.minNewSamples = minNewSamples;
+        this.batchSize = batchSize;
+        this.epochs = epochs;
+        this.validationFraction = validationFraction;
+        this.minImprovement = minImprovement;
+        this.buffer = new double[capacity * CHANNELS];
+
+        if (enabled) {
+            scheduler.scheduleWithFixedDelay(this::runRound, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    /** Buffers a frame for the next round; called by the prefilter for frames it did not flag. */
+    public void offer(TelemetryData telemetry) {
+        if (!enabled) return;
+        synchronized (this) {
+            int slot = (int) (written % capacity);
+            TelemetryFeatures.fill(telemetry, buffer, slot * CHANNELS);
+            written++;
+        }
+    }
+
+    /** One fine-tune / validate / maybe-promote cycle. Runs on the online-learning thread. */
+    void runRound() {
+        try {
+            if (!model.isReady()) return;
+
+            double[][] buffered = snapshot();
+            if (buffered == null) return;
+
+            ModelRegistry.ModelHandle live = model.get();
+            MultiLayerNetwork shadow;
+            synchronized (live) {
+                shadow = live.network().clone();
+            }
+
+            // Frames the live version already calls anomalous must not be learned as normal
+            double liveThreshold = live.metadataDouble("anomalyThreshold", AnomalyDetectionNetwork.DEFAULT_THRESHOLD);
+            double[] liveErrors = rowErrors(shadow, Nd4j.create(buffered));
+            double[][] samples = new double[buffered.length][];
+            int kept = 0;
+            for (int i = 0; i < buffered.length; i++) {
+                if (liveErrors[i] <= liveThreshold) samples[kept++] = buffered[i];
+            }
+            samples = Arrays.copyOf(samples, kept);
+            excluded.addAndGet(buffered.length - kept);
+
+            int validationSize = Math.max(1, (int) (samples.length * validationFraction));
+            int trainSize = samples.length - validationSize;
+            if (trainSize < batchSize) return;
+
+            // Newest frames are held out: they are the ones the model must generalize to
+            INDArray train = Nd4j.create(Arrays.copyOfRange(samples, 0, trainSize));
+            INDArray validation = Nd4j.create(Arrays.copyOfRange(samples, trainSize, samples.length));
+            double liveError = meanError(shadow, validation);
+
+            long start = System.currentTimeMillis();
+            for (int epoch = 0; epoch < epochs; epoch++) {
+                for (int from = 0; from < trainSize; from += batchSize) {
+                    int to = Math.min(trainSize, from + batchSize);
+                    INDArray batch = train.get(NDArrayIndex.interval(from, to), NDArrayIndex.all());
+                    shadow.fit(new DataSet(batch, batch));
+                }
+            }
+            double[] validationErrors = rowErrors(shadow, validation);
+            double shadowError = mean(validationErrors);
+
+            // Same percentile as the offline threshold, over frames the shadow was not fitted on
+            Arrays.sort(validationErrors);
+            double threshold = validationErrors[Math.min(validationErrors.length - 1,
+                    (int) (validationErrors.length * THRESHOLD_QUANTILE))];
+
+            boolean promote = shadowError < liveError * (1 - minImprovement);
+            rounds.incrementAndGet();
+
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("at", Instant.now().toString());
+            report.put("buffered", buffered.length);
+            report.put("excludedAboveThreshold", buffered.length - kept);
+            report.put("samples", samples.length);
+            report.put("liveVersion", live.version());
+            report.put("liveValidationError", liveError);
+            report.put("shadowValidationError", shadowError);
+            report.put("threshold", threshold);
+            report.put("trainingMs", System.currentTimeMillis() - start);
+            report.put("promoted", promote);
+
+            if (promote) {
+                ModelRegistry.ModelHandle promoted = model.promote(shadow, Map.of(
+                        "anomalyThreshold", String.valueOf(threshold),
+                        "source", "online",
+                        "parentVersion", String.valueOf(live.version()),
+                        "onlineSamples", String.valueOf(samples.length)));
+                promotions.incrementAndGet();
+                report.put("promotedVersion", promoted.version());
+                log.info("🧠 Online learning promoted anomaly-detector v{} (validation error {} → {}, threshold {})",
+                        promoted.version(), String.format("%.5f", liveError), String.format("%.5f", shadowError),
+                        String.format("%.5f", threshold));
+            } else {
+                log.debug("Online learning kept v{}: shadow {} vs live {}", live.version(), shadowError, liveError);
+            }
+            lastRound = report;
+        } catch (Exception e) {
+            log.error("❌ Online learning round failed: {}", e.getMessage());
+        }
+    }
+
+    /** Copies the buffered rows (oldest first) if enough new frames arrived since the last round. */
+    private synchronized double[][] snapshot() {
+        if (written - lastRoundAt < minNewSamples) return null;
+        lastRoundAt = written;
+
+        int size = (int) Math.min(written, capacity);
+        int oldest = (int) (written <= capacity ? 0 : written % capacity);
+        double[][] rows = new double[size][CHANNELS];
+        for (int i = 0; i < size; i++) {
+            System.arraycopy(buffer, ((oldest + i) % capacity) * CHANNELS, rows[i], 0, CHANNELS);
+        }
+        return rows;
+    }
+
+    private static double meanError(MultiLayerNetwork network, INDArray rows) {
+        return mean(rowErrors(network, rows));
+    }
+
+    private static double mean(double[] errors) {
+        double sum = 0;
+        for (double error : errors) sum += error;
+        return sum / errors.length;
+    }
+
+    private static double[] rowErrors(MultiLayerNetwork network, INDArray rows) {
+        return rows.sub(network.output(rows)).norm2(1).divi(CHANNELS).toDoubleVector();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        synchronized (this) {
+            stats.put("framesSeen", written);
+            stats.put("buffered", Math.min(written, capacity));
+            stats.put("newSinceLastRound", written - lastRoundAt);
+        }
+        stats.put("rounds", rounds.get());
+        stats.put("promotions", promotions.get());
+        stats.put("excludedAboveThreshold", excluded.get());
+        stats.put("lastRound", lastRound);
+        return stats;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+}
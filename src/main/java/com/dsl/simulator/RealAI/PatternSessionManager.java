@@ -0,0 +1,326 @@
+package com.dsl.simulator.RealAI;
+
+import com.dsl.simulator.Streaming.TelemetryData;
+import com.dsl.simulator.Streaming.TelemetrySink;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.deeplearning4j.nn.api.layers.RecurrentLayer;
+import org.deeplearning4j.nn.multilayer.MultiLayerNetwork;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.Nd4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Incremental pattern monitoring: one LSTM timestep per telemetry sample instead of
+ * re-running a full 24-step window.
+ *
+ * Each satellite has a session holding a detached copy of the LSTM hidden/cell state.
+ * Samples are queued on the session; a stepping thread advances every session with pending
+ * samples, stacking their states so one rnnTimeStep call moves many satellites forward,
+ * and copies the new state back into each session. Sessions are kept in an LRU map capped
+ * at max-sessions and dropped after sitting idle; a new model version resets them.
+ */
+@Slf4j
+@Component
+public class PatternSessionManager implements TelemetrySink {
+
+    private static final int FEATURES = TelemetryFeatures.PATTERN_FEATURES;
+    private static final double ACCURACY_ALPHA = 0.05;
+
+    private final ManagedModel model;
+    private final boolean enabled;
+    private final int maxSessions;
+    private final int pendingCapacity;
+    private final int maxBatch;
+    private final long idleTimeoutMs;
+
+    // Access-ordered: iteration starts at the least recently used session
+    private final LinkedHashMap<String, Session> sessions;
+
+    private final ScheduledExecutorService stepper = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "pattern-sessions");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final AtomicLong steps = new AtomicLong();
+    private final AtomicLong forwardPasses = new AtomicLong();
+    private final AtomicLong droppedSamples = new AtomicLong();
+    private final AtomicLong evicted = new AtomicLong();
+
+    public PatternSessionManager(PatternRecognitionLSTM patternAnalyzer,
+                                 @Value("${satops.pattern-sessions.enabled:true}") boolean enabled,
+                                 @Value("${satops.pattern-sessions.max-sessions:2000}") int maxSessions,
+                                 @Value("${satops.pattern-sessions.pending-capacity:32}") int pendingCapacity,
+                                 @Value("${satops.pattern-sessions.max-batch:256}") int maxBatch,
+                                 @Value("${satops.pattern-sessions.step-interval-ms:50}") long stepIntervalMs,
+                                 @Value("${satops.pattern-sessions.idle-timeout-minutes:30}") long idleTimeoutMinutes) {
+        this.model = patternAnalyzer.getManagedModel();
+        this.enabled = enabled;
+        this.maxSessions = maxSessions;
+        this.pendingCapacity = pendingCapacity;
+        this.maxBatch = maxBatch;
+        this.idleTimeoutMs = TimeUnit.MINUTES.toMillis(idleTimeoutMinutes);
+        this.sessions = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Session> eldest) {
+                if (size() <= PatternSessionManager.this.maxSessions) return false;
+                evicted.incrementAndGet();
+                return true;
+            }
+        };
+
+        if (enabled) {
+            stepper.scheduleWithFixedDelay(this::stepPending, stepIntervalMs, stepIntervalMs, TimeUnit.MILLISECONDS);
+            stepper.scheduleWithFixedDelay(this::evictIdle, 1, 1, TimeUnit.MINUTES);
+        }
+    }
+
+    @Override
+    public void accept(TelemetryData telemetry) {
+        if (!enabled) return;
+        Session session;
+        synchronized (sessions) {
+            session = sessions.computeIfAbsent(telemetry.getSatelliteId(), id -> new Session(id, pendingCapacity));
+        }
+        synchronized (session) {
+            if (!session.offer(telemetry)) droppedSamples.incrementAndGet();
+        }
+    }
+
+    @Override
+    public String stageName() {
+        return "pattern-sessions";
+    }
+
+    /** Advances every session with queued samples; runs on the stepping thread. */
+    void stepPending() {
+        if (!model.isReady()) return;
+        try (ManagedModel.Lease replica = model.acquire()) {
+            ModelRegistry.ModelHandle handle = replica.handle();
+            MultiLayerNetwork network = replica.network();
+
+            List<Session> ready = new ArrayList<>();
+            synchronized (sessions) {
+                for (Session session : sessions.values()) {
+                    if (session.hasPending()) ready.add(session);
+                }
+            }
+
+            // Sessions with several queued samples go through several rounds, one step each
+            while (!ready.isEmpty()) {
+                List<Session> fresh = new ArrayList<>();
+                List<Session> continuing = new ArrayList<>();
+                for (Session session : ready) {
+                    if (session.version != handle.version()) session.reset(handle.version());
+                    (session.state == null ? fresh : continuing).add(session);
+                }
+                for (int from = 0; from < fresh.size(); from += maxBatch) {
+                    step(network, fresh.subList(from, Math.min(fresh.size(), from + maxBatch)));
+                }
+                for (int from = 0; from < continuing.size(); from += maxBatch) {
+                    step(network, continuing.subList(from, Math.min(continuing.size(), from + maxBatch)));
+                }
+                ready.removeIf(session -> !session.hasPending());
+            }
+        } catch (Exception e) {
+            log.error("❌ Pattern session step failed: {}", e.getMessage());
+        }
+    }
+
+    /** One timestep for a group of sessions that either all have state or all start fresh. */
+    private void step(MultiLayerNetwork network, List<Session> group) {
+        int n = group.size();
+        double[][] input = new double[n][FEATURES];
+        for (int i = 0; i < n; i++) {
+            Session session = group.get(i);
+            synchronized (session) {
+                session.poll(input[i]);
+            }
+        }
+
+        network.rnnClearPreviousState();
+        if (group.get(0).state != null) {
+            for (int layer : recurrentLayers(network)) {
+                Map<String, INDArray> stacked = new HashMap<>();
+                for (String key : group.get(0).state.get(layer).keySet()) {
+                    INDArray[] rows = new INDArray[n];
+                    for (int i = 0; i < n; i++) rows[i] = group.get(i).state.get(layer).get(key);
+                    stacked.put(key, Nd4j.vstack(rows));
+                }
+                network.rnnSetPreviousState(layer, stacked);
+            }
+        }
+
+        // 2d input [n, features] is treated as a single timestep
+        double[] predicted = network.rnnTimeStep(Nd4j.create(input)).dup('c').data().asDouble();
+        forwardPasses.incrementAndGet();
+        steps.addAndGet(n);
+
+        // Detach each row of the new state so sessions never alias the network's buffers
+        List<Integer> layers = recurrentLayers(network);
+        for (int i = 0; i < n; i++) {
+            Map<Integer, Map<String, INDArray>> state = new HashMap<>();
+            for (int layer : layers) {
+                Map<String, INDArray> layerState = new HashMap<>();
+                for (Map.Entry<String, INDArray> entry : network.rnnGetPreviousState(layer).entrySet()) {
+                    layerState.put(entry.getKey(), entry.getValue().getRow(i, true).dup());
+                }
+                state.put(layer, layerState);
+            }
+            group.get(i).advance(state, input[i], predicted, i * FEATURES);
+        }
+        network.rnnClearPreviousState();
+    }
+
+    private static List<Integer> recurrentLayers(MultiLayerNetwork network) {
+        List<Integer> layers = new ArrayList<>();
+        for (int i = 0; i < network.getnLayers(); i++) {
+            if (network.getLayer(i) instanceof RecurrentLayer) layers.add(i);
+        }
+        return layers;
+    }
+
+    void evictIdle() {
+        long cutoff = System.currentTimeMillis() - idleTimeoutMs;
+        synchronized (sessions) {
+            Iterator<Session> it = sessions.values().iterator();
+            while (it.hasNext()) {
+                Session session = it.next();
+                // LRU order: once one session is recent, the rest are too
+                if (session.lastSeenMs >= cutoff) break;
+                it.remove();
+                evicted.incrementAndGet();
+            }
+        }
+    }
+
+    public Optional<Map<String, Object>> getSession(String satelliteId) {
+        Session session;
+        synchronized (sessions) {
+            session = sessions.get(satelliteId);
+        }
+        return Optional.ofNullable(session).map(Session::toMap);
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        synchronized (sessions) {
+            stats.put("sessions", sessions.size());
+        }
+        stats.put("maxSessions", maxSessions);
+        stats.put("steps", steps.get());
+        stats.put("forwardPasses", forwardPasses.get());
+        stats.put("droppedSamples", droppedSamples.get());
+        stats.put("evicted", evicted.get());
+        return stats;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        stepper.shutdownNow();
+    }
+
+    /** Per-satellite LSTM state plus a small queue of samples not yet stepped. */
+    private static final class Session {
+        final String satelliteId;
+        final double[] pending;
+        final int capacity;
+        int head;
+        int count;
+        volatile long lastSeenMs;
+
+        // Touched only by the stepping thread
+        Map<Integer, Map<String, INDArray>> state;
+        int version = -1;
+        long steps;
+        double[] lastPrediction;
+        double accuracy = Double.NaN;
+
+        Session(String satelliteId, int capacity) {
+            this.satelliteId = satelliteId;
+            this.capacity = capacity;
+            this.pending = new double[capacity * FEATURES];
+        }
+
+        boolean offer(TelemetryData telemetry) {
+            lastSeenMs = System.currentTimeMillis();
+            if (count == capacity) return false;
+            TelemetryFeatures.fillPattern(telemetry, pending, ((head + count) % capacity) * FEATURES);
+            count++;
+            return true;
+        }
+
+        void poll(double[] target) {
+            System.arraycopy(pending, head * FEATURES, target, 0, FEATURES);
+            head = (head + 1) % capacity;
+            count--;
+        }
+
+        synchronized boolean hasPending() {
+            return count > 0;
+        }
+
+        synchronized void reset(int newVersion) {
+            state = null;
+            version = newVersion;
+            lastPrediction = null;
+        }
+
+        /** Scores the previous step's prediction against this sample, then stores the new state. */
+        synchronized void advance(Map<Integer, Map<String, INDArray>> newState, double[] sample, double[] predicted, int offset) {
+            if (lastPrediction != null) {
+                double error = 0;
+                int terms = 0;
+                for (int f = 0; f < FEATURES; f++) {
+                    if (sample[f] != 0) {
+                        error += Math.abs((sample[f] - lastPrediction[f]) / sample[f]);
+                        terms++;
+                    }
+                }
+                if (terms > 0) {
+                    double stepAccuracy = Math.max(0, 1 - error / terms);
+                    accuracy = Double.isNaN(accuracy) ? stepAccuracy
+                            : accuracy + ACCURACY_ALPHA * (stepAccuracy - accuracy);
+                }
+            }
+            state = newState;
+            lastPrediction = new double[FEATURES];
+            System.arraycopy(predicted, offset, lastPrediction, 0, FEATURES);
+            steps++;
+        }
+
+        synchronized Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("satelliteId", satelliteId);
+            map.put("modelVersion", version);
+            map.put("steps", steps);
+            map.put("pendingSamples", count);
+            map.put("predictionAccuracy", Double.isNaN(accuracy) ? null : accuracy);
+            if (lastPrediction != null) {
+                map.put("nextStepPrediction", Map.of(
+                        "power", lastPrediction[0],
+                        "temperature", lastPrediction[1],
+                        "communication", lastPrediction[2],
+                        "orbitalPhase", lastPrediction[3]));
+            }
+            map.put("lastSeen", Instant.ofEpochMilli(lastSeenMs).toString());
+            return map;
+        }
+    }
+}
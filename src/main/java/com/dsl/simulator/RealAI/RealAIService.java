@@ -29,7 +29,7 @@ public class RealAIService {
 
         try {
             // 1. Health Prediction with Neural Network
-            double[] telemetryData = generateRealisticTelemetry(satelliteId);
+            double[] telemetryData = SyntheticFeatures.telemetry(satelliteId);
             Map<String, Double> healthScores = healthPredictor.predictSatelliteHealth(satelliteId, telemetryData);
 
             analysis.append("🔮 NEURAL NETWORK HEALTH PREDICTION:\n");
@@ -43,7 +43,7 @@ public class RealAIService {
             analysis.append("\n");
 
             // 2. Anomaly Detection with Autoencoder
-            double[] sensorData = generateRealisticSensorData(satelliteId);
+            double[] sensorData = SyntheticFeatures.sensors(satelliteId);
             List<String> anomalies = anomalyDetector.detectAnomalies(satelliteId, sensorData);
 
             analysis.append("🚨 AUTOENCODER ANOMALY DETECTION:\n");
@@ -57,7 +57,7 @@ public class RealAIService {
             analysis.append("\n");
 
             // 3. Pattern Recognition with LSTM
-            double[][] timeSeriesData = generateTimeSeriesData(satelliteId);
+            double[][] timeSeriesData = SyntheticFeatures.timeSeries(satelliteId);
             Map<String, Object> patterns = patternAnalyzer.analyzePatterns(satelliteId, timeSeriesData);
 
             analysis.append("📊 LSTM PATTERN ANALYSIS:\n");
@@ -74,7 +74,7 @@ public class RealAIService {
             analysis.append("\n");
 
             // 4. Collision Risk Classification
-            double[] orbitalParams = generateOrbitalParameters(satelliteId);
+            double[] orbitalParams = SyntheticFeatures.orbital(satelliteId);
             Map<String, Object> riskAssessment = collisionClassifier.assessCollisionRisk(satelliteId, orbitalParams);
 
             analysis.append("⚠️ COLLISION RISK NEURAL CLASSIFIER:\n");
@@ -163,53 +163,4 @@ public class RealAIService {
 
         return report.toString();
     }
-
-    // Helper methods to generate realistic data
-    private double[] generateRealisticTelemetry(String satelliteId) {
-        Random random = new Random(satelliteId.hashCode());
-        return new double[]{
-                0.85 + random.nextGaussian() * 0.05,  // Power
-                20 + random.nextGaussian() * 5,       // Temperature
-                0.9 + random.nextGaussian() * 0.05,   // Fuel
-                408 + random.nextGaussian() * 2,      // Altitude
-                random.nextDouble() * 360,            // Solar angle
-                0.88 + random.nextGaussian() * 0.03   // Battery
-        };
-    }
-
-    private double[] generateRealisticSensorData(String satelliteId) {
-        Random random = new Random(satelliteId.hashCode() + 1);
-        double[] data = new double[8];
-        for (int i = 0; i < 8; i++) {
-            data[i] = 0.5 + random.nextGaussian() * 0.1;
-        }
-        return data;
-    }
-
-    private double[][] generateTimeSeriesData(String satelliteId) {
-        Random random = new Random(satelliteId.hashCode() + 2);
-        double[][] data = new double[4][24];
-
-        for (int hour = 0; hour < 24; hour++) {
-            data[0][hour] = 0.8 + Math.sin(hour * Math.PI / 12) * 0.2 + random.nextGaussian() * 0.05; // Power
-            data[1][hour] = 0.5 + Math.cos(hour * Math.PI / 12) * 0.3 + random.nextGaussian() * 0.05; // Temperature
-            data[2][hour] = hour % 6 < 2 ? 0.9 + random.nextGaussian() * 0.05 : 0.4 + random.nextGaussian() * 0.1; // Communication
-            data[3][hour] = (hour * 15.0) / 360.0; // Position
-        }
-
-        return data;
-    }
-
-    private double[] generateOrbitalParameters(String satelliteId) {
-        Random random = new Random(satelliteId.hashCode() + 3);
-        return new double[]{
-                (408 + random.nextGaussian() * 10) / 1200,    // Altitude (normalized)
-                7.8 / 10,                                      // Velocity (normalized)
-                (51.6 + random.nextGaussian() * 5) / 180,     // Inclination (normalized)
-                (15 + random.nextGaussian() * 5) / 30,        // Debris count (normalized)
-                random.nextDouble(),                           // Solar activity
-                random.nextGaussian() * 0.001 * 100,          // Position uncertainty
-                random.nextDouble()                            // Time to approach
-        };
-    }
 }
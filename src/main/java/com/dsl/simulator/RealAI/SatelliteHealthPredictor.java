@@ -18,15 +18,27 @@ import org.springframework.stereotype.Component;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Random;
 
 @Slf4j
 @Component
-public class SatelliteHealthPredictor {
+public class SatelliteHealthPredictor implements EvaluatedModel {
 
-    private MultiLayerNetwork healthModel;
-    private boolean isModelTrained = false;
+    private static final long HOLDOUT_SEED = 4242;
+    private static final double DEGRADED_BELOW = 0.8;
 
-    public void trainHealthModel() {
+    public static final String[] SUBSYSTEMS = {
+            "Power System", "Thermal Management", "Propulsion", "Attitude Control", "Communication"};
+
+    private final ManagedModel model;
+    private final InferenceBatcher inference;
+
+    public SatelliteHealthPredictor(ModelRegistry modelRegistry, InferenceService inferenceService) {
+        this.model = modelRegistry.register("health-predictor", 6, SUBSYSTEMS.length, this::trainHealthModel);
+        this.inference = inferenceService.batcher(model);
+    }
+
+    public ManagedModel.TrainingResult trainHealthModel() {
         log.info("🧠 Training satellite health prediction neural network...");
 
         // Network configuration - 6 input features → 3 hidden layers → 5 outputs (subsystem health)
@@ -58,11 +70,11 @@ public class SatelliteHealthPredictor {
                         .build())
                 .build();
 
-        healthModel = new MultiLayerNetwork(conf);
+        MultiLayerNetwork healthModel = new MultiLayerNetwork(conf);
         healthModel.init();
 
         // Generate realistic training data based on ISS parameters
-        DataSet trainingData = generateRealisticTrainingData();
+        DataSet trainingData = generateRealisticTrainingData(new Random());
 
         log.info("🎯 Training on {} data points with realistic satellite parameters", trainingData.numExamples());
 
@@ -76,26 +88,19 @@ public class SatelliteHealthPredictor {
             }
         }
 
-        isModelTrained = true;
         log.info("✅ Health prediction model training completed!");
+        return ManagedModel.TrainingResult.of(healthModel);
     }
 
     public Map<String, Double> predictSatelliteHealth(String satelliteId, double[] telemetryData) {
-        if (!isModelTrained) {
-            trainHealthModel();
-        }
-
-        // Convert telemetry to neural network input
-        INDArray input = Nd4j.create(new double[][]{telemetryData});
-        INDArray output = healthModel.output(input);
+        // Batched with concurrent requests
+        double[] output = inference.infer(telemetryData);
 
         // Map outputs to subsystem health scores
         Map<String, Double> healthScores = new HashMap<>();
-        healthScores.put("Power System", output.getDouble(0));
-        healthScores.put("Thermal Management", output.getDouble(1));
-        healthScores.put("Propulsion", output.getDouble(2));
-        healthScores.put("Attitude Control", output.getDouble(3));
-        healthScores.put("Communication", output.getDouble(4));
+        for (int i = 0; i < SUBSYSTEMS.length; i++) {
+            healthScores.put(SUBSYSTEMS[i], output[i]);
+        }
 
         log.info("🔮 Neural network health prediction for {}: Power={:.1f}%, Thermal={:.1f}%, Propulsion={:.1f}%",
                 satelliteId,
@@ -106,19 +111,26 @@ public class SatelliteHealthPredictor {
         return healthScores;
     }
 
-    private DataSet generateRealisticTrainingData() {
+    /** Subsystem scores for many satellites in one forward pass: rows in, rows out (order as SUBSYSTEMS). */
+    public INDArray predictHealthBatch(INDArray telemetryRows) {
+        try (ManagedModel.Lease replica = model.acquire()) {
+            return replica.network().output(telemetryRows);
+        }
+    }
+
+    private DataSet generateRealisticTrainingData(Random random) {
         int numSamples = 1000;
         INDArray features = Nd4j.zeros(numSamples, 6);
         INDArray labels = Nd4j.zeros(numSamples, 5);
 
         for (int i = 0; i < numSamples; i++) {
             // Generate realistic satellite telemetry based on ISS patterns
-            double power = 0.7 + Math.random() * 0.3;           // Power: 70-100%
-            double thermal = -20 + Math.random() * 80;          // Temperature: -20°C to 60°C
-            double fuel = 0.5 + Math.random() * 0.5;            // Fuel: 50-100%
-            double altitude = 408 + Math.random() * 10;         // ISS altitude ±10km
-            double solarAngle = Math.random() * 360;            // Solar panel angle
-            double battery = 0.8 + Math.random() * 0.2;         // Battery: 80-100%
+            double power = 0.7 + random.nextDouble() * 0.3;           // Power: 70-100%
+            double thermal = -20 + random.nextDouble() * 80;          // Temperature: -20°C to 60°C
+            double fuel = 0.5 + random.nextDouble() * 0.5;            // Fuel: 50-100%
+            double altitude = 408 + random.nextDouble() * 10;         // ISS altitude ±10km
+            double solarAngle = random.nextDouble() * 360;            // Solar panel angle
+            double battery = 0.8 + random.nextDouble() * 0.2;         // Battery: 80-100%
 
             // Set features
             features.putScalar(new int[]{i, 0}, power);
@@ -131,9 +143,9 @@ public class SatelliteHealthPredictor {
             // Generate realistic health labels based on physics
             double powerHealth = Math.min(1.0, power + (solarAngle < 180 ? 0.1 : -0.1));
             double thermalHealth = 1.0 - Math.abs(thermal - 20) / 100;  // Optimal at 20°C
-            double propulsionHealth = fuel * 0.9 + Math.random() * 0.1;
-            double attitudeHealth = 0.85 + Math.random() * 0.15;
-            double commHealth = Math.max(0.7, powerHealth - Math.random() * 0.1);
+            double propulsionHealth = fuel * 0.9 + random.nextDouble() * 0.1;
+            double attitudeHealth = 0.85 + random.nextDouble() * 0.15;
+            double commHealth = Math.max(0.7, powerHealth - random.nextDouble() * 0.1);
 
             labels.putScalar(new int[]{i, 0}, Math.max(0.5, powerHealth));
             labels.putScalar(new int[]{i, 1}, Math.max(0.5, thermalHealth));
@@ -145,28 +157,46 @@ public class SatelliteHealthPredictor {
         return new DataSet(features, labels);
     }
 
+    public ManagedModel getManagedModel() {
+        return model;
+    }
+
     public double getModelAccuracy() {
-        if (!isModelTrained) return 0.0;
+        return model.getEvaluation().map(ModelEvaluation::getAccuracy).orElse(0.0);
+    }
 
-        // Generate test data and evaluate
-        DataSet testData = generateRealisticTrainingData();
-        INDArray predictions = healthModel.output(testData.getFeatures());
+    /**
+     * Accuracy is the share of subsystem scores within 0.1 of the label; precision/recall are
+     * for flagging a degraded subsystem (score below 0.8), as shown in the analysis reports.
+     */
+    @Override
+    public ModelEvaluation.ModelEvaluationBuilder evaluate(ModelRegistry.ModelHandle handle) {
+        DataSet testData = generateRealisticTrainingData(new Random(HOLDOUT_SEED));
+        INDArray predictions = handle.network().output(testData.getFeatures());
+        INDArray labels = testData.getLabels();
 
-        // Calculate simple accuracy metric (within 10% tolerance)
-        double accuracy = 0.0;
         int correct = 0;
         int total = testData.numExamples() * 5; // 5 outputs per example
+        EvaluationMetrics.Binary degraded = new EvaluationMetrics.Binary();
+        EvaluationMetrics.Calibration calibration = new EvaluationMetrics.Calibration();
 
         for (int i = 0; i < testData.numExamples(); i++) {
             for (int j = 0; j < 5; j++) {
                 double predicted = predictions.getDouble(i, j);
-                double actual = testData.getLabels().getDouble(i, j);
+                double actual = labels.getDouble(i, j);
                 if (Math.abs(predicted - actual) < 0.1) {
                     correct++;
                 }
+                degraded.add(predicted < DEGRADED_BELOW, actual < DEGRADED_BELOW);
+                calibration.add(predicted, actual);
             }
         }
 
-        return (double) correct / total;
+        return ModelEvaluation.builder()
+                .samples(testData.numExamples())
+                .accuracy((double) correct / total)
+                .precision(degraded.precision())
+                .recall(degraded.recall())
+                .calibrationError(calibration.expectedError());
     }
 }
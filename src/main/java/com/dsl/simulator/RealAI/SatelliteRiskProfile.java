@@ -0,0 +1,32 @@
+package com.dsl.simulator.RealAI;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One satellite's row in a fleet analysis; riskScore (0-1) blends all four models.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SatelliteRiskProfile {
+
+    private String satelliteId;
+    private double riskScore;
+
+    private double overallHealth;
+    private String weakestSubsystem;
+    private double weakestSubsystemHealth;
+
+    private double reconstructionError;
+    private boolean anomalous;
+
+    private double patternStability;
+    private double predictionAccuracy;
+
+    private String collisionRiskLevel;
+    private double collisionConfidence;
+}
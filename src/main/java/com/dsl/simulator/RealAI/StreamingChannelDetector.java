@@ -0,0 +1,182 @@
+package com.dsl.simulator.RealAI;
+
+/**
+ * Allocation-free statistical anomaly screen for one satellite's telemetry channels.
+ *
+ * Per channel it keeps an EWMA mean/variance, a ring buffer for a robust (median/MAD)
+ * z-score and a two-sided CUSUM on the EWMA-standardized value. All state lives in
+ * primitive arrays sized at construction; {@link #update} does no allocation.
+ * Median and MAD are refreshed every {@code refreshEvery} samples rather than per sample,
+ * which keeps the per-frame cost at a few dozen arithmetic operations per channel.
+ *
+ * Not thread-safe: callers serialize updates per satellite.
+ */
+final class StreamingChannelDetector {
+
+    static final int EWMA = 1;
+    static final int ROBUST = 2;
+    static final int CUSUM = 4;
+    static final int BITS_PER_CHANNEL = 3;
+
+    // MAD → standard deviation for normally distributed data
+    private static final double MAD_SCALE = 1.4826;
+
+    private final int channels;
+    private final double alpha;
+    private final int window;
+    private final int refreshEvery;
+    private final int warmup;
+    private final double zLimit;
+    private final double robustLimit;
+    private final double cusumSlack;
+    private final double cusumLimit;
+
+    private final double[] mean;
+    private final double[] variance;
+    private final double[] cusumHigh;
+    private final double[] cusumLow;
+    private final double[] ring;
+    private final double[] median;
+    private final double[] mad;
+    private final double[] scratch;
+    private int ringPos;
+    private int ringCount;
+    private long samples;
+
+    StreamingChannelDetector(int channels, double alpha, int window, int refreshEvery, int warmup,
+                             double zLimit, double robustLimit, double cusumSlack, double cusumLimit) {
+        if (channels * BITS_PER_CHANNEL > 31) throw new IllegalArgumentException("Too many channels: " + channels);
+        this.channels = channels;
+        this.alpha = alpha;
+        this.window = window;
+        this.refreshEvery = refreshEvery;
+        this.warmup = warmup;
+        this.zLimit = zLimit;
+        this.robustLimit = robustLimit;
+        this.cusumSlack = cusumSlack;
+        this.cusumLimit = cusumLimit;
+
+        this.mean = new double[channels];
+        this.variance = new double[channels];
+        this.cusumHigh = new double[channels];
+        this.cusumLow = new double[channels];
+        this.ring = new double[channels * window];
+        this.median = new double[channels];
+        this.mad = new double[channels];
+        this.scratch = new double[window];
+    }
+
+    /**
+     * Scores the frame against the current baseline, then folds it in.
+     *
+     * @return bit mask of triggered tests, {@link #BITS_PER_CHANNEL} bits per channel; 0 = nominal
+     */
+    int update(double[] values) {
+        int flags = 0;
+        boolean armed = samples >= warmup;
+
+        for (int c = 0; c < channels; c++) {
+            double x = values[c];
+
+            if (samples == 0) {
+                mean[c] = x;
+                variance[c] = 0;
+            }
+
+            double sd = Math.sqrt(variance[c]);
+            double z = sd > 1e-9 ? (x - mean[c]) / sd : 0.0;
+
+            if (armed) {
+                int channelFlags = 0;
+                if (Math.abs(z) > zLimit) channelFlags |= EWMA;
+
+                double robustSd = MAD_SCALE * mad[c];
+                if (robustSd > 1e-9 && Math.abs(x - median[c]) / robustSd > robustLimit) channelFlags |= ROBUST;
+
+                // Two-sided CUSUM catches slow drifts that never cross the z limit
+                cusumHigh[c] = Math.max(0, cusumHigh[c] + z - cusumSlack);
+                cusumLow[c] = Math.max(0, cusumLow[c] - z - cusumSlack);
+                if (cusumHigh[c] > cusumLimit || cusumLow[c] > cusumLimit) {
+                    channelFlags |= CUSUM;
+                    cusumHigh[c] = 0;
+                    cusumLow[c] = 0;
+                }
+
+                flags |= channelFlags << (c * BITS_PER_CHANNEL);
+            }
+
+            // EWMA mean/variance (West's incremental form)
+            double diff = x - mean[c];
+            double increment = alpha * diff;
+            mean[c] += increment;
+            variance[c] = (1 - alpha) * (variance[c] + diff * increment);
+
+            ring[c * window + ringPos] = x;
+        }
+
+        ringPos = (ringPos + 1) % window;
+        if (ringCount < window) ringCount++;
+        samples++;
+
+        if (samples % refreshEvery == 0 || samples == warmup) {
+            refreshRobust();
+        }
+        return flags;
+    }
+
+    long samples() {
+        return samples;
+    }
+
+    /** Human-readable list of triggered tests, e.g. "temperature:EWMA+CUSUM". Allocates; call only when flagged. */
+    static String describe(int flags, String[] channelNames) {
+        StringBuilder sb = new StringBuilder();
+        for (int c = 0; c < channelNames.length; c++) {
+            int bits = (flags >>> (c * BITS_PER_CHANNEL)) & 0b111;
+            if (bits == 0) continue;
+            if (sb.length() > 0) sb.append(", ");
+            sb.append(channelNames[c]).append(':');
+            boolean first = true;
+            if ((bits & EWMA) != 0) { sb.append("EWMA"); first = false; }
+            if ((bits & ROBUST) != 0) { sb.append(first ? "" : "+").append("MAD"); first = false; }
+            if ((bits & CUSUM) != 0) { sb.append(first ? "" : "+").append("CUSUM"); }
+        }
+        return sb.toString();
+    }
+
+    private void refreshRobust() {
+        for (int c = 0; c < channels; c++) {
+            System.arraycopy(ring, c * window, scratch, 0, ringCount);
+            double m = select(scratch, ringCount, ringCount / 2);
+            for (int i = 0; i < ringCount; i++) {
+                scratch[i] = Math.abs(ring[c * window + i] - m);
+            }
+            median[c] = m;
+            mad[c] = select(scratch, ringCount, ringCount / 2);
+        }
+    }
+
+    /** In-place quickselect of the k-th smallest of a[0..n). */
+    private static double select(double[] a, int n, int k) {
+        int left = 0, right = n - 1;
+        while (left < right) {
+            double pivot = a[(left + right) >>> 1];
+            int i = left, j = right;
+            while (i <= j) {
+                while (a[i] < pivot) i++;
+                while (a[j] > pivot) j--;
+                if (i <= j) {
+                    double t = a[i];
+                    a[i] = a[j];
+                    a[j] = t;
+                    i++;
+                    j--;
+                }
+            }
+            if (k <= j) right = j;
+            else if (k >= i) left = i;
+            else break;
+        }
+        return a[k];
+    }
+}
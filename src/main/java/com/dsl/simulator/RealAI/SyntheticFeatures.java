@@ -0,0 +1,61 @@
+package com.dsl.simulator.RealAI;
+
+import java.util.Random;
+
+/**
+ * Deterministic per-satellite model inputs (seeded by satellite id), shared by the
+ * single-satellite analysis and the fleet-wide batch analysis so both see the same values.
+ */
+final class SyntheticFeatures {
+
+    private SyntheticFeatures() {
+    }
+
+    static double[] telemetry(String satelliteId) {
+        Random random = new Random(satelliteId.hashCode());
+        return new double[]{
+                0.85 + random.nextGaussian() * 0.05,  // Power
+                20 + random.nextGaussian() * 5,       // Temperature
+                0.9 + random.nextGaussian() * 0.05,   // Fuel
+                408 + random.nextGaussian() * 2,      // Altitude
+                random.nextDouble() * 360,            // Solar angle
+                0.88 + random.nextGaussian() * 0.03   // Battery
+        };
+    }
+
+    static double[] sensors(String satelliteId) {
+        Random random = new Random(satelliteId.hashCode() + 1);
+        double[] data = new double[8];
+        for (int i = 0; i < 8; i++) {
+            data[i] = 0.5 + random.nextGaussian() * 0.1;
+        }
+        return data;
+    }
+
+    static double[][] timeSeries(String satelliteId) {
+        Random random = new Random(satelliteId.hashCode() + 2);
+        double[][] data = new double[4][24];
+
+        for (int hour = 0; hour < 24; hour++) {
+            data[0][hour] = 0.8 + Math.sin(hour * Math.PI / 12) * 0.2 + random.nextGaussian() * 0.05; // Power
+            data[1][hour] = 0.5 + Math.cos(hour * Math.PI / 12) * 0.3 + random.nextGaussian() * 0.05; // Temperature
+            data[2][hour] = hour % 6 < 2 ? 0.9 + random.nextGaussian() * 0.05 : 0.4 + random.nextGaussian() * 0.1; // Communication
+            data[3][hour] = (hour * 15.0) / 360.0; // Position
+        }
+
+        return data;
+    }
+
+    static double[] orbital(String satelliteId) {
+        Random random = new Random(satelliteId.hashCode() + 3);
+        return new double[]{
+                (408 + random.nextGaussian() * 10) / 1200,    // Altitude (normalized)
+                7.8 / 10,                                      // Velocity (normalized)
+                (51.6 + random.nextGaussian() * 5) / 180,     // Inclination (normalized)
+                (15 + random.nextGaussian() * 5) / 30,        // Debris count (normalized)
+                random.nextDouble(),                           // Solar activity
+                random.nextGaussian() * 0.001 * 100,          // Position uncertainty
+                random.nextDouble()                            // Time to approach
+        };
+    }
+}
@@ -0,0 +1,62 @@
+package com.dsl.simulator.RealAI;
+
+import com.dsl.simulator.Streaming.TelemetryData;
+
+import java.time.Instant;
+
+/**
+ * Maps live telemetry frames onto the anomaly autoencoder's 8 normalized sensor channels,
+ * and onto the pattern LSTM's 4 per-hour features.
+ *
+ * Channels the telemetry stream does not carry (pressure, vibration, radiation, magnetic)
+ * are held at their nominal training value, so they never contribute reconstruction error.
+ */
+public final class TelemetryFeatures {
+
+    public static final int SENSOR_CHANNELS = 8;
+    public static final int PATTERN_FEATURES = 4;
+
+    private static final double MAX_POWER_WATTS = 350;
+    private static final double NOMINAL_PRESSURE = 1013.0 / 1100;
+    private static final double NOMINAL_VIBRATION = 0.02 * 20;
+    private static final double NOMINAL_RADIATION = 0.1 * 5;
+    private static final double NOMINAL_MAGNETIC = 0.5;
+
+    private TelemetryFeatures() {
+    }
+
+    public static double[] toSensorVector(TelemetryData telemetry) {
+        double[] row = new double[SENSOR_CHANNELS];
+        fill(telemetry, row, 0);
+        return row;
+    }
+
+    /** Writes one frame into {@code target[offset .. offset+8)} without allocating. */
+    public static void fill(TelemetryData telemetry, double[] target, int offset) {
+        double power = clamp(telemetry.getPowerGeneration() / MAX_POWER_WATTS);
+        target[offset] = power;                                          // Power
+        target[offset + 1] = clamp((telemetry.getTemperature() + 50) / 100); // -50 to 50°C → 0-1
+        target[offset + 2] = NOMINAL_PRESSURE;                           // Pressure
+        target[offset + 3] = NOMINAL_VIBRATION;                          // Vibration
+        target[offset + 4] = NOMINAL_RADIATION;                          // Radiation
+        target[offset + 5] = NOMINAL_MAGNETIC;                           // Magnetic
+        target[offset + 6] = power;                                      // Solar (array output)
+        target[offset + 7] = clamp(telemetry.getBatteryLevel() / 100);   // Battery
+    }
+
+    /**
+     * Power, temperature, communication quality and orbital phase, as in the LSTM's training
+     * sequences. Phase is the time of day (the training data advances 1/24 per hour step).
+     */
+    public static void fillPattern(TelemetryData telemetry, double[] target, int offset) {
+        Instant timestamp = telemetry.getTimestamp() != null ? telemetry.getTimestamp() : Instant.now();
+        target[offset] = clamp(telemetry.getPowerGeneration() / MAX_POWER_WATTS);
+        target[offset + 1] = clamp((telemetry.getTemperature() + 50) / 100);
+        target[offset + 2] = clamp((telemetry.getSignalStrength() + 120) / 80); // -120 to -40 dBm → 0-1
+        target[offset + 3] = Math.floorMod(timestamp.getEpochSecond(), 86_400L) / 86_400.0;
+    }
+
+    private static double clamp(double value) {
+        return Math.max(0, Math.min(1, value));
+    }
+}
@@ -1,6 +1,9 @@
 package com.dsl.simulator.Repository;
 
 import com.dsl.simulator.Entity.CommandHistory;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 import java.util.List;
@@ -8,4 +11,7 @@ import java.util.List;
 @Repository
 public interface CommandHistoryRepository extends JpaRepository<CommandHistory, Long> {
     List<CommandHistory> findTop20ByOrderByExecutedAtDesc();
+
+    // Newest first, keyset-scrolled on the (executed_at, id) index
+    Window<CommandHistory> findByOrderByExecutedAtDescIdDesc(ScrollPosition position, Limit limit);
 }
@@ -1,13 +1,20 @@
 package com.dsl.simulator.Repository;
 
 import com.dsl.simulator.Entity.Message;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
-import java.util.List;
 
+/**
+ * History finders are keyset-scrolled, newest first on (sentAt, id), and each one is backed
+ * by its own index (see db/migration/V2__history_indexes.sql).
+ */
 @Repository
 public interface MessageRepository extends JpaRepository<Message, Long> {
-    List<Message> findByFromEntity(String fromEntity);
-    List<Message> findByToEntity(String toEntity);
-    List<Message> findByFromEntityOrToEntity(String fromEntity, String toEntity);
+    Window<Message> findByFromEntityOrderBySentAtDescIdDesc(String fromEntity, ScrollPosition position, Limit limit);
+    Window<Message> findByToEntityOrderBySentAtDescIdDesc(String toEntity, ScrollPosition position, Limit limit);
+    Window<Message> findByFromEntityAndToEntityOrderBySentAtDescIdDesc(String fromEntity, String toEntity,
+                                                                        ScrollPosition position, Limit limit);
 }
@@ -13,4 +13,5 @@ public interface SatelliteRepository extends JpaRepository<Satellite, Long> {
     List<Satellite> findByStatus(String status);
     boolean existsBySatelliteId(String satelliteId);
     boolean existsByNoradId(Integer noradId);
+    List<SatelliteSummary> findAllProjectedBy();
 }
@@ -0,0 +1,17 @@
+package com.dsl.simulator.Repository;
+
+/**
+ * Closed projection of the satellites table with just the columns the fleet view shows,
+ * so listing the fleet selects these columns instead of hydrating managed entities.
+ */
+public interface SatelliteSummary {
+    String getSatelliteId();
+    String getName();
+    Integer getNoradId();
+    String getTleLine1();
+    String getTleLine2();
+    Double getLatitude();
+    Double getLongitude();
+    Double getAltitude();
+    String getStatus();
+}
@@ -1,7 +1,9 @@
 package com.dsl.simulator.Runner;
 
+import com.dsl.simulator.AI.AIMissionController;
+import com.dsl.simulator.OptaPlanner.OptaPlannerMissionService;
 import com.dsl.simulator.RealAI.*;
-import com.dsl.simulator.Repository.SatelliteRepository;
+import com.dsl.simulator.Persistence.WriteBehindPersistence;
 import com.dsl.simulator.SatOpsLexer;
 import com.dsl.simulator.SatOpsParser;
 import com.dsl.simulator.Service.ConstellationOptimizer;
@@ -27,7 +29,10 @@ public class SatOpsRunner {
     private final AnomalyDetectionNetwork anomalyDetector;
     private final PatternRecognitionLSTM patternAnalyzer;
     private final CollisionRiskClassifier collisionClassifier;
-    private final SatelliteRepository satelliteRepository;
+    private final FleetAnalysisService fleetAnalysisService;
+    private final AIMissionController aiMissionController;
+    private final OptaPlannerMissionService optaPlannerService;
+    private final WriteBehindPersistence persistence;
 
     @Autowired
     public SatOpsRunner(
@@ -39,7 +44,10 @@ public class SatOpsRunner {
             AnomalyDetectionNetwork anomalyDetector,
             PatternRecognitionLSTM patternAnalyzer,
             CollisionRiskClassifier collisionClassifier,
-            SatelliteRepository satelliteRepository
+            FleetAnalysisService fleetAnalysisService,
+            AIMissionController aiMissionController,
+            OptaPlannerMissionService optaPlannerService,
+            WriteBehindPersistence persistence
     ) {
         this.missionControlService = missionControlService;
         this.telemetryStreamer = telemetryStreamer;
@@ -49,7 +57,10 @@ public class SatOpsRunner {
         this.anomalyDetector = anomalyDetector;
         this.patternAnalyzer = patternAnalyzer;
         this.collisionClassifier = collisionClassifier;
-        this.satelliteRepository = satelliteRepository;
+        this.fleetAnalysisService = fleetAnalysisService;
+        this.aiMissionController = aiMissionController;
+        this.optaPlannerService = optaPlannerService;
+        this.persistence = persistence;
     }
 
     public String runFromResource(String filename) {
@@ -73,7 +84,10 @@ public class SatOpsRunner {
                     anomalyDetector,
                     patternAnalyzer,
                     collisionClassifier,
-                    satelliteRepository
+                    fleetAnalysisService,
+                    aiMissionController,
+                    optaPlannerService,
+                    persistence
             );
             visitor.visit(tree);
 
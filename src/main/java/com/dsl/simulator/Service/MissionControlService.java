@@ -1,5 +1,7 @@
 package com.dsl.simulator.Service;
 
+import com.dsl.simulator.Events.SatelliteLifecycleEvent;
+import com.dsl.simulator.Events.SatelliteStateEvent;
 import com.dsl.simulator.Orekit.VisibilityUtil;
 import com.dsl.simulator.Predictor.PassPredictor;
 import com.dsl.simulator.Product.GroundStation;
@@ -53,6 +55,7 @@ import org.orekit.time.TimeScalesFactory;
 import org.orekit.utils.Constants;
 import org.orekit.utils.IERSConventions;
 import org.orekit.utils.PVCoordinates;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.http.ResponseEntity;
@@ -63,6 +66,7 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import org.orekit.bodies.OneAxisEllipsoid;
 import org.orekit.frames.FramesFactory;
 import org.orekit.utils.Constants;
@@ -73,11 +77,13 @@ public class MissionControlService {
 
     private final CelestrakService celestrakService;
     private final RealTimeDataService realTimeDataService;
-    private final Map<String, Satellite> activeSatellites = new HashMap<>();
-    private final Map<String, GroundStation> activeGroundStations = new HashMap<>();
+    private final ApplicationEventPublisher eventPublisher;
+    // Concurrent: read by the live position sampler while DSL commands mutate the fleet
+    private final Map<String, Satellite> activeSatellites = new ConcurrentHashMap<>();
+    private final Map<String, GroundStation> activeGroundStations = new ConcurrentHashMap<>();
     private final List<QueuedMessage> messageQueue = new ArrayList<>();
     // Professional satellite subsystem status tracking
-    private final Map<String, SatelliteSubsystems> subsystemStatus = new HashMap<>();
+    private final Map<String, SatelliteSubsystems> subsystemStatus = new ConcurrentHashMap<>();
 
     // REST Template for API calls
     private final RestTemplate restTemplate = new RestTemplate();
@@ -86,9 +92,11 @@ public class MissionControlService {
     private final OneAxisEllipsoid earthShape;
 
 
-    public MissionControlService(CelestrakService celestrakService, RealTimeDataService realTimeDataService) {
+    public MissionControlService(CelestrakService celestrakService, RealTimeDataService realTimeDataService,
+                                 ApplicationEventPublisher eventPublisher) {
         this.celestrakService = celestrakService;
         this.realTimeDataService = realTimeDataService;
+        this.eventPublisher = eventPublisher;
 
         try {
             // Initialize Earth shape for TLE calculations
@@ -194,9 +202,27 @@ public class MissionControlService {
         satellite.setLongitude(Math.toDegrees(gp.getLongitude()));
         satellite.setAltitude(gp.getAltitude() / 1000.0); // meters to km
         activeSatellites.put(satelliteId, satellite);
+        publishLifecycle(satelliteId, SatelliteLifecycleEvent.LifecycleType.DEPLOYED);
         return satellite;
     }
 
+    private void publishLifecycle(String satelliteId, SatelliteLifecycleEvent.LifecycleType type) {
+        eventPublisher.publishEvent(SatelliteLifecycleEvent.builder()
+                .satelliteId(satelliteId)
+                .type(type)
+                .timestamp(Instant.now())
+                .build());
+    }
+
+    private void publishStatus(String satelliteId, String status) {
+        eventPublisher.publishEvent(SatelliteStateEvent.builder()
+                .satelliteId(satelliteId)
+                .type(SatelliteStateEvent.StateType.STATUS)
+                .status(status)
+                .timestamp(Instant.now())
+                .build());
+    }
+
 
     public GroundStation deployGroundStation(String gsId, double lat, double lon) {
         GroundStation gs = new GroundStation(gsId, lat, lon);
@@ -658,6 +684,7 @@ public class MissionControlService {
 
         subsys.separated = true;
         subsys.operationalMode = "SEPARATED";
+        publishStatus(satId, subsys.operationalMode);
         return "SUCCESS: " + satId + " separated from launcher. Autonomous mode initiated.";
     }
 
@@ -972,6 +999,7 @@ public class MissionControlService {
         if (subsys == null) return "Error: Satellite " + satId + " not found.";
 
         subsys.operationalMode = recoveryMode.toUpperCase();
+        publishStatus(satId, subsys.operationalMode);
 
         switch (recoveryMode.toLowerCase()) {
             case "safe_mode":
@@ -998,6 +1026,7 @@ public class MissionControlService {
 
         subsys.decommissioned = true;
         subsys.operationalMode = "DECOMMISSIONED";
+        publishLifecycle(satId, SatelliteLifecycleEvent.LifecycleType.DECOMMISSIONED);
         return "SUCCESS: " + satId + " decommissioned. End-of-life procedures initiated.";
     }
 
@@ -1012,6 +1041,7 @@ public class MissionControlService {
         }
 
         subsys.operationalMode = "GRAVEYARD_ORBIT";
+        publishStatus(satId, subsys.operationalMode);
         return "SUCCESS: " + satId + " moved to graveyard orbit. Disposal maneuver completed.";
     }
 
@@ -1027,6 +1057,7 @@ public class MissionControlService {
         subsys.sensors.replaceAll((k, v) -> false);
         subsys.heaters.replaceAll((k, v) -> "off");
         subsys.operationalMode = "SHUTDOWN";
+        publishStatus(satId, subsys.operationalMode);
 
         return "SUCCESS: All systems shutdown on " + satId + ". Satellite is now inactive.";
     }
@@ -1356,6 +1387,13 @@ public class MissionControlService {
         return new HashMap<>(activeSatellites);
     }
 
+    /**
+     * Live read-only view of the fleet, no copy. Intended for periodic samplers.
+     */
+    public Collection<Satellite> activeSatelliteView() {
+        return Collections.unmodifiableCollection(activeSatellites.values());
+    }
+
     public Map<String, GroundStation> getActiveGroundStations() {
         return new HashMap<>(activeGroundStations);
     }
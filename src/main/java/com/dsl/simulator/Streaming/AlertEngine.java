@@ -0,0 +1,330 @@
+package com.dsl.simulator.Streaming;
+
+import com.dsl.simulator.Events.SatelliteLifecycleEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Stateful alert gate in front of satellite-alerts.
+ *
+ * - Threshold rules use hysteresis: a condition raises once when crossed and clears only
+ *   after recovering past a separate level, so values hovering at the limit do not flap.
+ * - Repeats of the same (satellite, category, level) are deduplicated and re-notified at most
+ *   once per re-notify interval.
+ * - Each satellite has a token bucket; alerts over budget are held back.
+ * - Everything deduplicated or throttled is summarized in a periodic digest per satellite.
+ *
+ * All per-satellite state is dropped when the satellite is decommissioned. Replayed frames
+ * run through the same rules in a replay-scoped copy of this state; what they would have
+ * raised is counted on the replay instead of being published.
+ */
+@Slf4j
+@Component
+public class AlertEngine implements TelemetrySink {
+
+    private static final String ALERTS_TOPIC = "satellite-alerts";
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final TelemetryFanoutService fanoutService;
+
+    private final long renotifyIntervalMs;
+    private final double bucketCapacity;
+    private final double refillPerMs;
+
+    private final double batteryRaise;
+    private final double batteryClear;
+    private final double temperatureHigh;
+    private final double temperatureLow;
+    private final double temperatureMargin;
+
+    private final AlertScope live = new AlertScope(this::publish);
+    private final ScheduledExecutorService digestScheduler = Executors.newSingleThreadScheduledExecutor();
+
+    public AlertEngine(ObjectProvider<KafkaTemplate<String, Object>> kafkaTemplate,
+                       TelemetryFanoutService fanoutService,
+                       @Value("${satops.alerts.renotify-interval-seconds:300}") long renotifySeconds,
+                       @Value("${satops.alerts.bucket-capacity:5}") double bucketCapacity,
+                       @Value("${satops.alerts.refill-per-minute:6}") double refillPerMinute,
+                       @Value("${satops.alerts.digest-interval-seconds:60}") long digestSeconds,
+                       @Value("${satops.alerts.battery.raise-below:20}") double batteryRaise,
+                       @Value("${satops.alerts.battery.clear-above:25}") double batteryClear,
+                       @Value("${satops.alerts.temperature.high:60}") double temperatureHigh,
+                       @Value("${satops.alerts.temperature.low:-20}") double temperatureLow,
+                       @Value("${satops.alerts.temperature.clear-margin:5}") double temperatureMargin) {
+        this.kafkaTemplate = kafkaTemplate.getIfAvailable();
+        this.fanoutService = fanoutService;
+        this.renotifyIntervalMs = TimeUnit.SECONDS.toMillis(renotifySeconds);
+        this.bucketCapacity = bucketCapacity;
+        this.refillPerMs = refillPerMinute / 60_000.0;
+        this.batteryRaise = batteryRaise;
+        this.batteryClear = batteryClear;
+        this.temperatureHigh = temperatureHigh;
+        this.temperatureLow = temperatureLow;
+        this.temperatureMargin = temperatureMargin;
+        digestScheduler.scheduleAtFixedRate(this::flushDigests, digestSeconds, digestSeconds, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public void accept(TelemetryData telemetry) {
+        evaluate(telemetry);
+    }
+
+    @Override
+    public String stageName() {
+        return "alerts";
+    }
+
+    @Override
+    public boolean acceptsReplay() {
+        return true;
+    }
+
+    @Override
+    public void replay(TelemetryData telemetry, ReplayContext context) {
+        AlertScope scope = context.scoped(this,
+                () -> new AlertScope(alert -> context.count("alerts." + alert.getAlertLevel())));
+        evaluate(scope, telemetry);
+    }
+
+    // ---- Threshold rules with hysteresis ----
+
+    public void evaluate(TelemetryData telemetry) {
+        evaluate(live, telemetry);
+    }
+
+    private void evaluate(AlertScope scope, TelemetryData telemetry) {
+        String satelliteId = telemetry.getSatelliteId();
+
+        double battery = telemetry.getBatteryLevel();
+        condition(scope, satelliteId, "POWER", SatelliteAlert.AlertLevel.CRITICAL,
+                battery < batteryRaise, battery >= batteryClear,
+                "Battery level critically low: " + String.format("%.1f%%", battery),
+                Map.of("batteryLevel", battery));
+
+        double temperature = telemetry.getTemperature();
+        condition(scope, satelliteId, "THERMAL", SatelliteAlert.AlertLevel.WARNING,
+                temperature > temperatureHigh || temperature < temperatureLow,
+                temperature <= temperatureHigh - temperatureMargin && temperature >= temperatureLow + temperatureMargin,
+                "Temperature out of normal range: " + String.format("%.1f°C", temperature),
+                Map.of("temperature", temperature));
+    }
+
+    /**
+     * Edge-triggered condition: raises when {@code raise} first holds, stays latched until
+     * {@code clear} holds, then emits a single INFO resolution.
+     */
+    public void condition(String satelliteId, String category, SatelliteAlert.AlertLevel level,
+                          boolean raise, boolean clear, String message, Map<String, Object> metadata) {
+        condition(live, satelliteId, category, level, raise, clear, message, metadata);
+    }
+
+    private void condition(AlertScope scope, String satelliteId, String category, SatelliteAlert.AlertLevel level,
+                           boolean raise, boolean clear, String message, Map<String, Object> metadata) {
+        String key = key(satelliteId, category, level);
+        AlertState state = scope.states.computeIfAbsent(key, k -> new AlertState());
+
+        synchronized (state) {
+            if (!state.active && raise) {
+                state.active = true;
+                state.lastNotifiedMs = 0;
+            } else if (state.active && clear) {
+                state.active = false;
+                emit(scope, satelliteId, SatelliteAlert.AlertLevel.INFO, category,
+                        "Resolved: " + category.toLowerCase() + " back within limits", metadata);
+                return;
+            } else if (!state.active) {
+                return;
+            }
+        }
+
+        raise(scope, satelliteId, level, category, message, metadata);
+    }
+
+    // ---- Dedup + throttling ----
+
+    /**
+     * Raises an alert subject to dedup and the satellite's token bucket.
+     */
+    public void raise(String satelliteId, SatelliteAlert.AlertLevel level, String category,
+                      String message, Map<String, Object> metadata) {
+        raise(live, satelliteId, level, category, message, metadata);
+    }
+
+    private void raise(AlertScope scope, String satelliteId, SatelliteAlert.AlertLevel level, String category,
+                       String message, Map<String, Object> metadata) {
+        long now = System.currentTimeMillis();
+        String key = key(satelliteId, category, level);
+        AlertState state = scope.states.computeIfAbsent(key, k -> new AlertState());
+
+        synchronized (state) {
+            if (state.lastNotifiedMs > 0 && now - state.lastNotifiedMs < renotifyIntervalMs) {
+                scope.deduplicated.incrementAndGet();
+                scope.suppress(satelliteId, key, message);
+                return;
+            }
+
+            // Critical alerts are never throttled, only deduplicated
+            boolean urgent = level == SatelliteAlert.AlertLevel.CRITICAL || level == SatelliteAlert.AlertLevel.EMERGENCY;
+            if (!urgent && !scope.buckets.computeIfAbsent(satelliteId, k -> new TokenBucket()).tryAcquire(now)) {
+                scope.throttled.incrementAndGet();
+                scope.suppress(satelliteId, key, message);
+                return;
+            }
+
+            state.lastNotifiedMs = now;
+        }
+
+        emit(scope, satelliteId, level, category, message, metadata);
+    }
+
+    @EventListener
+    public void onSatelliteLifecycle(SatelliteLifecycleEvent event) {
+        if (event.getType() != SatelliteLifecycleEvent.LifecycleType.DECOMMISSIONED) return;
+        String prefix = event.getSatelliteId() + '|';
+        live.states.keySet().removeIf(key -> key.startsWith(prefix));
+        live.buckets.remove(event.getSatelliteId());
+        live.digests.remove(event.getSatelliteId());
+    }
+
+    void flushDigests() {
+        try {
+            for (String satelliteId : live.digests.keySet()) {
+                Digest digest = live.digests.remove(satelliteId);
+                if (digest == null || digest.counts.isEmpty()) continue;
+
+                Map<String, Object> metadata = new LinkedHashMap<>(digest.counts);
+                long total = digest.counts.values().stream().mapToLong(Long::longValue).sum();
+
+                emit(live, satelliteId, SatelliteAlert.AlertLevel.INFO, "DIGEST",
+                        total + " repeated alerts suppressed since " + digest.since
+                                + " (last: " + digest.lastMessage + ")",
+                        metadata);
+            }
+        } catch (Exception e) {
+            log.error("❌ Alert digest failed: {}", e.getMessage());
+        }
+    }
+
+    private void emit(AlertScope scope, String satelliteId, SatelliteAlert.AlertLevel level, String category,
+                      String message, Map<String, Object> metadata) {
+        SatelliteAlert alert = SatelliteAlert.builder()
+                .alertId("ALERT-" + UUID.randomUUID())
+                .satelliteId(satelliteId)
+                .alertLevel(level)
+                .message(message)
+                .timestamp(Instant.now())
+                .metadata(metadata)
+                .acknowledged(false)
+                .category(category)
+                .subsystem("MONITORING")
+                .build();
+
+        scope.published.incrementAndGet();
+        scope.target.accept(alert);
+    }
+
+    private void publish(SatelliteAlert alert) {
+        if (kafkaTemplate != null) {
+            kafkaTemplate.send(ALERTS_TOPIC, alert.getSatelliteId(), alert);
+        }
+        fanoutService.publish(alert.getSatelliteId(), "alert", alert);
+        log.info("🚨 {} alert for {}: {}", alert.getAlertLevel(), alert.getSatelliteId(), alert.getMessage());
+    }
+
+    private static String key(String satelliteId, String category, SatelliteAlert.AlertLevel level) {
+        return satelliteId + '|' + category + '|' + level;
+    }
+
+    public Map<String, Object> getStats() {
+        return Map.of(
+                "published", live.published.get(),
+                "deduplicated", live.deduplicated.get(),
+                "throttled", live.throttled.get(),
+                "activeConditions", live.states.values().stream().filter(s -> s.active).count()
+        );
+    }
+
+    @PreDestroy
+    void shutdown() {
+        digestScheduler.shutdownNow();
+    }
+
+    // ---- State ----
+
+    /** Conditions, budgets and pending digests of one alert stream: the live one or a replay's. */
+    private final class AlertScope {
+        final Map<String, AlertState> states = new ConcurrentHashMap<>();
+        final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+        final Map<String, Digest> digests = new ConcurrentHashMap<>();
+        final AtomicLong published = new AtomicLong();
+        final AtomicLong deduplicated = new AtomicLong();
+        final AtomicLong throttled = new AtomicLong();
+        final Consumer<SatelliteAlert> target;
+
+        AlertScope(Consumer<SatelliteAlert> target) {
+            this.target = target;
+        }
+
+        /**
+         * Counts a suppressed alert in the satellite's open digest. Recording happens inside the
+         * map's atomic compute, so it either lands in the digest a concurrent flush takes or in
+         * the fresh one after it, never in a digest that has already been sent.
+         */
+        void suppress(String satelliteId, String key, String message) {
+            digests.compute(satelliteId, (id, digest) -> {
+                Digest open = digest != null ? digest : new Digest();
+                open.record(key, message);
+                return open;
+            });
+        }
+    }
+
+    private static final class AlertState {
+        boolean active;
+        long lastNotifiedMs;
+    }
+
+    private final class TokenBucket {
+        private double tokens = bucketCapacity;
+        private long lastRefillMs = System.currentTimeMillis();
+
+        synchronized boolean tryAcquire(long now) {
+            tokens = Math.min(bucketCapacity, tokens + (now - lastRefillMs) * refillPerMs);
+            lastRefillMs = now;
+            if (tokens >= 1.0) {
+                tokens -= 1.0;
+                return true;
+            }
+            return false;
+        }
+    }
+
+    /** Only mutated inside {@code digests.compute}, and only read once removed from the map. */
+    private static final class Digest {
+        final Instant since = Instant.now();
+        final Map<String, Long> counts = new HashMap<>();
+        String lastMessage;
+
+        void record(String key, String message) {
+            counts.merge(key, 1L, Long::sum);
+            lastMessage = message;
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.dsl.simulator.Streaming;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Executes incoming satellite commands on per-satellite ordered lanes.
+ *
+ * A satellite always maps to the same single-threaded lane, so its commands run in arrival
+ * order while different satellites run in parallel. In-flight work is bounded by a semaphore:
+ * when the lanes are saturated the listener thread blocks, which stops polling and pushes the
+ * backpressure back to the broker. Results of a batch are published together once it completes.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "spring.kafka.enabled", havingValue = "true", matchIfMissing = false)
+public class CommandPipeline {
+
+    private static final String RESULTS_TOPIC = "command-results";
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final ExecutorService[] lanes;
+    private final Semaphore inFlight;
+    private final int maxInFlight;
+    private final Map<String, CommandResult> processed;
+
+    private final AtomicLong executed = new AtomicLong();
+    private final AtomicLong duplicates = new AtomicLong();
+    private final AtomicLong timedOut = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    public CommandPipeline(ObjectProvider<KafkaTemplate<String, Object>> kafkaTemplate,
+                           @Value("${satops.commands.lanes:8}") int laneCount,
+                           @Value("${satops.commands.max-in-flight:1000}") int maxInFlight,
+                           @Value("${satops.commands.idempotency-cache-size:10000}") int idempotencyCacheSize) {
+        this.kafkaTemplate = kafkaTemplate.getIfAvailable();
+        this.maxInFlight = maxInFlight;
+        this.lanes = new ExecutorService[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            this.lanes[i] = Executors.newSingleThreadExecutor();
+        }
+        this.inFlight = new Semaphore(maxInFlight);
+        // Access-ordered LRU of recently executed command IDs
+        this.processed = Collections.synchronizedMap(new LinkedHashMap<>(idempotencyCacheSize, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CommandResult> eldest) {
+                return size() > idempotencyCacheSize;
+            }
+        });
+    }
+
+    /**
+     * Runs a batch of commands and publishes their results. Completes when every command
+     * in the batch has finished, so the caller can commit offsets afterwards.
+     */
+    public CompletableFuture<List<CommandResult>> submitBatch(List<SatelliteCommand> commands) {
+        List<CompletableFuture<CommandResult>> futures = new ArrayList<>(commands.size());
+
+        for (SatelliteCommand command : commands) {
+            if (command == null || command.getSatelliteId() == null) continue;
+
+            String commandId = command.getCommandId();
+            if (commandId != null && processed.putIfAbsent(commandId, pendingResult(command)) != null) {
+                duplicates.incrementAndGet();
+                log.debug("🔁 Skipping duplicate command {}", commandId);
+                continue;
+            }
+
+            try {
+                inFlight.acquire();
+            } catch (InterruptedException e) {
+                if (commandId != null) processed.remove(commandId);
+                Thread.currentThread().interrupt();
+                break;
+            }
+
+            Instant receivedAt = Instant.now();
+            CompletableFuture<CommandResult> future;
+            try {
+                future = CompletableFuture.supplyAsync(() -> execute(command, receivedAt),
+                        laneFor(command.getSatelliteId()));
+            } catch (RejectedExecutionException e) {
+                // Lanes are shutting down: free the slot and fail the batch so the offsets are not committed
+                inFlight.release();
+                if (commandId != null) processed.remove(commandId);
+                rejected.incrementAndGet();
+                futures.add(CompletableFuture.failedFuture(e));
+                continue;
+            }
+            futures.add(future.whenComplete((result, failure) -> {
+                inFlight.release();
+                if (commandId == null) return;
+                if (result != null) {
+                    processed.put(commandId, result);
+                } else {
+                    // Let a redelivery retry it
+                    processed.remove(commandId);
+                }
+            }));
+        }
+
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                .thenApply(ignored -> {
+                    List<CommandResult> results = futures.stream().map(CompletableFuture::join).toList();
+                    publish(results);
+                    return results;
+                });
+    }
+
+    private ExecutorService laneFor(String satelliteId) {
+        return lanes[Math.floorMod(satelliteId.hashCode(), lanes.length)];
+    }
+
+    private CommandResult execute(SatelliteCommand command, Instant receivedAt) {
+        Instant start = Instant.now();
+
+        // Commands that waited in the lane beyond their timeout are not executed
+        if (command.getTimeoutMs() > 0
+                && Duration.between(receivedAt, start).toMillis() > command.getTimeoutMs()) {
+            timedOut.incrementAndGet();
+            return CommandResult.builder()
+                    .commandId(command.getCommandId())
+                    .satelliteId(command.getSatelliteId())
+                    .status(CommandResult.CommandStatus.TIMEOUT)
+                    .errorMessage("Command expired after " + command.getTimeoutMs() + "ms in queue")
+                    .startTime(start)
+                    .endTime(start)
+                    .build();
+        }
+
+        boolean success = perform(command);
+        Instant end = Instant.now();
+        executed.incrementAndGet();
+
+        return CommandResult.builder()
+                .commandId(command.getCommandId())
+                .satelliteId(command.getSatelliteId())
+                .status(success ? CommandResult.CommandStatus.COMPLETED : CommandResult.CommandStatus.FAILED)
+                .result(success ? "Command executed successfully" : "Command execution failed")
+                .executionTime(Duration.between(start, end).toMillis())
+                .startTime(start)
+                .endTime(end)
+                .successProbability(success ? 1.0 : 0.0)
+                .build();
+    }
+
+    /** Simulated uplink: 5% of commands fail on the spacecraft. */
+    boolean perform(SatelliteCommand command) {
+        return Math.random() > 0.05;
+    }
+
+    private void publish(List<CommandResult> results) {
+        if (kafkaTemplate == null || results.isEmpty()) return;
+
+        for (CommandResult result : results) {
+            kafkaTemplate.send(RESULTS_TOPIC, result.getSatelliteId(), result);
+        }
+        // One flush per batch instead of waiting on every send
+        kafkaTemplate.flush();
+        log.info("⚡ Published {} command results", results.size());
+    }
+
+    private CommandResult pendingResult(SatelliteCommand command) {
+        return CommandResult.builder()
+                .commandId(command.getCommandId())
+                .satelliteId(command.getSatelliteId())
+                .status(CommandResult.CommandStatus.QUEUED)
+                .build();
+    }
+
+    public Map<String, Object> getStats() {
+        return Map.of(
+                "lanes", lanes.length,
+                "inFlight", maxInFlight - inFlight.availablePermits(),
+                "executed", executed.get(),
+                "duplicatesSkipped", duplicates.get(),
+                "timedOut", timedOut.get(),
+                "rejected", rejected.get()
+        );
+    }
+
+    @PreDestroy
+    void shutdown() {
+        for (ExecutorService lane : lanes) {
+            lane.shutdown();
+        }
+    }
+}
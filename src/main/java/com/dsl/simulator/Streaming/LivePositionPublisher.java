@@ -0,0 +1,134 @@
+package com.dsl.simulator.Streaming;
+
+import com.dsl.simulator.Events.SatelliteStateEvent;
+import com.dsl.simulator.Product.Satellite;
+import com.dsl.simulator.Service.MissionControlService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.orekit.bodies.GeodeticPoint;
+import org.orekit.bodies.OneAxisEllipsoid;
+import org.orekit.frames.FramesFactory;
+import org.orekit.propagation.SpacecraftState;
+import org.orekit.propagation.analytical.tle.TLE;
+import org.orekit.propagation.analytical.tle.TLEPropagator;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScalesFactory;
+import org.orekit.utils.Constants;
+import org.orekit.utils.IERSConventions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Samples positions of the active fleet from the in-memory TLE propagators and
+ * pushes them to the live fan-out. Only runs work while someone is subscribed.
+ * Each sample is also published as a {@link SatelliteStateEvent} for the fleet read model.
+ */
+@Slf4j
+@Component
+public class LivePositionPublisher {
+
+    private final MissionControlService missionControlService;
+    private final TelemetryFanoutService fanoutService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+    // Propagators are rebuilt only when a satellite's TLE changes
+    private final Map<String, CachedPropagator> propagators = new ConcurrentHashMap<>();
+    private volatile OneAxisEllipsoid earthShape;
+
+    public LivePositionPublisher(MissionControlService missionControlService,
+                                 TelemetryFanoutService fanoutService,
+                                 ApplicationEventPublisher eventPublisher,
+                                 @Value("${satops.live.position-interval-ms:1000}") long intervalMs) {
+        this.missionControlService = missionControlService;
+        this.fanoutService = fanoutService;
+        this.eventPublisher = eventPublisher;
+        scheduler.scheduleAtFixedRate(this::sample, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    private void sample() {
+        if (!fanoutService.hasSubscribers()) return;
+
+        try {
+            Instant now = Instant.now();
+            AbsoluteDate date = new AbsoluteDate(Date.from(now), TimeScalesFactory.getUTC());
+            OneAxisEllipsoid earth = earth();
+
+            for (Satellite satellite : missionControlService.activeSatelliteView()) {
+                if (satellite.getTleLine1() == null || satellite.getTleLine2() == null) continue;
+
+                try {
+                    TLEPropagator propagator = propagatorFor(satellite);
+                    SpacecraftState state = propagator.propagate(date);
+                    GeodeticPoint gp = earth.transform(
+                            state.getPVCoordinates().getPosition(), state.getFrame(), state.getDate());
+
+                    double latitude = Math.toDegrees(gp.getLatitude());
+                    double longitude = Math.toDegrees(gp.getLongitude());
+                    double altitude = gp.getAltitude() / 1000.0;
+
+                    fanoutService.publishPosition(SatellitePosition.builder()
+                            .satelliteId(satellite.getId())
+                            .noradId(satellite.getNoradId())
+                            .latitude(latitude)
+                            .longitude(longitude)
+                            .altitude(altitude)
+                            .timestamp(now)
+                            .build());
+                    eventPublisher.publishEvent(SatelliteStateEvent.builder()
+                            .satelliteId(satellite.getId())
+                            .type(SatelliteStateEvent.StateType.POSITION)
+                            .latitude(latitude)
+                            .longitude(longitude)
+                            .altitude(altitude)
+                            .timestamp(now)
+                            .build());
+                } catch (Exception e) {
+                    log.debug("Position sample failed for {}: {}", satellite.getId(), e.getMessage());
+                }
+            }
+
+            propagators.keySet().removeIf(id -> !missionControlService.isSatelliteActive(id));
+        } catch (Exception e) {
+            log.error("❌ Live position sampling failed: {}", e.getMessage());
+        }
+    }
+
+    private TLEPropagator propagatorFor(Satellite satellite) {
+        CachedPropagator cached = propagators.get(satellite.getId());
+        if (cached == null || !cached.line1.equals(satellite.getTleLine1())
+                || !cached.line2.equals(satellite.getTleLine2())) {
+            TLE tle = new TLE(satellite.getTleLine1(), satellite.getTleLine2());
+            cached = new CachedPropagator(satellite.getTleLine1(), satellite.getTleLine2(),
+                    TLEPropagator.selectExtrapolator(tle));
+            propagators.put(satellite.getId(), cached);
+        }
+        return cached.propagator;
+    }
+
+    private OneAxisEllipsoid earth() {
+        if (earthShape == null) {
+            earthShape = new OneAxisEllipsoid(
+                    Constants.WGS84_EARTH_EQUATORIAL_RADIUS,
+                    Constants.WGS84_EARTH_FLATTENING,
+                    FramesFactory.getITRF(IERSConventions.IERS_2010, true));
+        }
+        return earthShape;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private record CachedPropagator(String line1, String line2, TLEPropagator propagator) {}
+}
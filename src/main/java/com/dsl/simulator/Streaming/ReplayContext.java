@@ -0,0 +1,60 @@
+package com.dsl.simulator.Streaming;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * One replay run as seen by the sinks.
+ *
+ * A sink that accepts replayed frames runs its real processing, but against state it keeps
+ * here ({@link #scoped}) instead of its live fields, and records what it would have done
+ * (alerts raised, frames flagged, ...) as outcomes instead of doing it. The dispatcher keeps
+ * the run's per-stage latency here too, apart from the live stage counters. The context is
+ * discarded with the run.
+ */
+public final class ReplayContext {
+
+    private final String name;
+    private final Map<Object, Object> scoped = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+    private final Map<String, TelemetryDispatcher.StageMetrics> stages = new LinkedHashMap<>();
+
+    public ReplayContext(String name) {
+        this.name = name;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    /** The replay-scoped state {@code owner} keeps for this run, created on first use. */
+    @SuppressWarnings("unchecked")
+    public <T> T scoped(Object owner, Supplier<T> factory) {
+        return (T) scoped.computeIfAbsent(owner, key -> factory.get());
+    }
+
+    /** Counts something a sink would have done live, e.g. "alerts.CRITICAL". */
+    public void count(String outcome) {
+        outcomes.computeIfAbsent(outcome, key -> new LongAdder()).increment();
+    }
+
+    public Map<String, Long> outcomes() {
+        Map<String, Long> counts = new TreeMap<>();
+        outcomes.forEach((outcome, count) -> counts.put(outcome, count.sum()));
+        return counts;
+    }
+
+    synchronized TelemetryDispatcher.StageMetrics stage(String stageName) {
+        return stages.computeIfAbsent(stageName, key -> new TelemetryDispatcher.StageMetrics());
+    }
+
+    public synchronized Map<String, TelemetryDispatcher.StageMetrics.Snapshot> snapshotStages() {
+        Map<String, TelemetryDispatcher.StageMetrics.Snapshot> snapshot = new LinkedHashMap<>();
+        stages.forEach((stage, metrics) -> snapshot.put(stage, metrics.snapshot()));
+        return snapshot;
+    }
+}
@@ -0,0 +1,21 @@
+package com.dsl.simulator.Streaming;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SatellitePosition {
+    private String satelliteId;
+    private Integer noradId;
+    private Double latitude;
+    private Double longitude;
+    private Double altitude; // km
+    private Instant timestamp;
+}
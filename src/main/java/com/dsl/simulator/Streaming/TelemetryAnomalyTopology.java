@@ -0,0 +1,213 @@
+package com.dsl.simulator.Streaming;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.common.utils.Bytes;
+import org.apache.kafka.streams.KeyValue;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.kstream.Consumed;
+import org.apache.kafka.streams.kstream.Grouped;
+import org.apache.kafka.streams.kstream.KStream;
+import org.apache.kafka.streams.kstream.Materialized;
+import org.apache.kafka.streams.kstream.Produced;
+import org.apache.kafka.streams.kstream.Suppressed;
+import org.apache.kafka.streams.kstream.TimeWindows;
+import org.apache.kafka.streams.processor.TimestampExtractor;
+import org.apache.kafka.streams.processor.api.FixedKeyProcessor;
+import org.apache.kafka.streams.processor.api.FixedKeyProcessorContext;
+import org.apache.kafka.streams.processor.api.FixedKeyRecord;
+import org.apache.kafka.streams.state.KeyValueStore;
+import org.apache.kafka.streams.state.Stores;
+import org.apache.kafka.streams.state.WindowStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.support.serializer.JsonSerde;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Kafka Streams anomaly pipeline: satellite-telemetry -> satellite-alerts.
+ *
+ * Two branches share the telemetry stream:
+ *  - a rolling per-satellite baseline (exponentially weighted stats in a key-value store, so it
+ *    follows drift) flags samples whose z-score exceeds the threshold;
+ *  - tumbling windows aggregate each satellite's telemetry and publish one summary per closed
+ *    window to satellite-telemetry-windows.
+ *
+ * Fixed battery and temperature limits are not checked here: {@link AlertEngine} owns those,
+ * with hysteresis and rate limiting, so each crossing reaches satellite-alerts once.
+ *
+ * Records must be keyed by satellite ID (as TelemetryStreamer does), so all state is
+ * partition-local and the topology scales out by adding instances with the same application.id.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "spring.kafka.enabled", havingValue = "true", matchIfMissing = false)
+public class TelemetryAnomalyTopology {
+
+    public static final String TELEMETRY_TOPIC = "satellite-telemetry";
+    public static final String ALERTS_TOPIC = "satellite-alerts";
+    public static final String WINDOWS_TOPIC = "satellite-telemetry-windows";
+    public static final String BASELINE_STORE = "telemetry-baseline-store";
+    public static final String WINDOW_STORE = "telemetry-window-store";
+
+    private final Duration windowSize;
+    private final Duration windowGrace;
+    private final double zScoreThreshold;
+    private final long minBaselineSamples;
+    private final double baselineAlpha;
+
+    public TelemetryAnomalyTopology(
+            @Value("${satops.streams.window-seconds:60}") long windowSeconds,
+            @Value("${satops.streams.grace-seconds:10}") long graceSeconds,
+            @Value("${satops.streams.z-score-threshold:3.0}") double zScoreThreshold,
+            @Value("${satops.streams.min-baseline-samples:30}") long minBaselineSamples,
+            @Value("${satops.streams.baseline-half-life-samples:500}") double baselineHalfLifeSamples) {
+        this.windowSize = Duration.ofSeconds(windowSeconds);
+        this.windowGrace = Duration.ofSeconds(graceSeconds);
+        this.zScoreThreshold = zScoreThreshold;
+        this.minBaselineSamples = minBaselineSamples;
+        this.baselineAlpha = TelemetryBaseline.alphaForHalfLife(baselineHalfLifeSamples);
+    }
+
+    /**
+     * Registers the pipeline on the shared StreamsBuilder (called by spring-kafka, or directly in tests).
+     */
+    @Autowired
+    public void buildPipeline(StreamsBuilder builder) {
+        Serde<String> keySerde = Serdes.String();
+        Serde<TelemetryData> telemetrySerde = jsonSerde(TelemetryData.class);
+        Serde<TelemetryStatistics> statsSerde = jsonSerde(TelemetryStatistics.class);
+        Serde<TelemetryBaseline> baselineSerde = jsonSerde(TelemetryBaseline.class);
+        Serde<SatelliteAlert> alertSerde = jsonSerde(SatelliteAlert.class);
+
+        KStream<String, TelemetryData> telemetry = builder
+                .stream(TELEMETRY_TOPIC, Consumed.with(keySerde, telemetrySerde)
+                        .withTimestampExtractor(new TelemetryTimestampExtractor()))
+                .filter((satelliteId, data) -> satelliteId != null && data != null);
+
+        // Branch 1: rolling baseline deviation
+        builder.addStateStore(Stores.keyValueStoreBuilder(
+                Stores.persistentKeyValueStore(BASELINE_STORE), keySerde, baselineSerde));
+
+        telemetry.processValues(BaselineDeviationProcessor::new, BASELINE_STORE)
+                .to(ALERTS_TOPIC, Produced.with(keySerde, alertSerde));
+
+        // Branch 2: windowed aggregates, one summary per closed window
+        telemetry
+                .groupByKey(Grouped.with(keySerde, telemetrySerde))
+                .windowedBy(TimeWindows.ofSizeAndGrace(windowSize, windowGrace))
+                .aggregate(TelemetryStatistics::new,
+                        (satelliteId, data, stats) -> stats.add(data),
+                        Materialized.<String, TelemetryStatistics, WindowStore<Bytes, byte[]>>as(WINDOW_STORE)
+                                .withKeySerde(keySerde)
+                                .withValueSerde(statsSerde))
+                .suppress(Suppressed.untilWindowCloses(Suppressed.BufferConfig.unbounded()))
+                .toStream()
+                .map((window, stats) -> KeyValue.pair(window.key(), stats.closedAs(window.window())))
+                .to(WINDOWS_TOPIC, Produced.with(keySerde, statsSerde));
+
+        log.info("🌊 Telemetry anomaly topology registered ({}s windows, z>{})",
+                windowSize.toSeconds(), zScoreThreshold);
+    }
+
+    private SatelliteAlert alert(String satelliteId, SatelliteAlert.AlertLevel level, String message,
+                                 String subsystem, Instant timestamp, Map<String, Object> metadata) {
+        return SatelliteAlert.builder()
+                .alertId("ALERT-" + UUID.randomUUID())
+                .satelliteId(satelliteId)
+                .alertLevel(level)
+                .message(message)
+                .timestamp(timestamp)
+                .metadata(metadata)
+                .acknowledged(false)
+                .category("STREAM_ANALYTICS")
+                .subsystem(subsystem)
+                .build();
+    }
+
+    private static <T> Serde<T> jsonSerde(Class<T> type) {
+        JsonSerde<T> serde = new JsonSerde<>(type);
+        // Producers may add type headers; always bind to the expected class
+        serde.ignoreTypeHeaders().noTypeInfo();
+        return serde;
+    }
+
+    /** Flags samples that deviate from the satellite's own rolling baseline. */
+    private class BaselineDeviationProcessor implements FixedKeyProcessor<String, TelemetryData, SatelliteAlert> {
+
+        private FixedKeyProcessorContext<String, SatelliteAlert> context;
+        private KeyValueStore<String, TelemetryBaseline> store;
+
+        @Override
+        public void init(FixedKeyProcessorContext<String, SatelliteAlert> context) {
+            this.context = context;
+            this.store = context.getStateStore(BASELINE_STORE);
+        }
+
+        @Override
+        public void process(FixedKeyRecord<String, TelemetryData> record) {
+            String satelliteId = record.key();
+            TelemetryData data = record.value();
+
+            TelemetryBaseline baseline = store.get(satelliteId);
+            if (baseline == null) {
+                baseline = new TelemetryBaseline();
+            }
+
+            // Score against the baseline before the sample is folded in
+            if (baseline.getCount() >= minBaselineSamples) {
+                Map<String, Object> deviations = new LinkedHashMap<>();
+                double worst = 0;
+                worst = check(deviations, "batteryLevel", baseline.getBattery(), data.getBatteryLevel(), worst);
+                worst = check(deviations, "temperature", baseline.getTemperature(), data.getTemperature(), worst);
+                worst = check(deviations, "powerGeneration", baseline.getPowerGeneration(), data.getPowerGeneration(), worst);
+                worst = check(deviations, "signalStrength", baseline.getSignalStrength(), data.getSignalStrength(), worst);
+
+                if (!deviations.isEmpty()) {
+                    SatelliteAlert.AlertLevel level = worst > 2 * zScoreThreshold
+                            ? SatelliteAlert.AlertLevel.ERROR
+                            : SatelliteAlert.AlertLevel.WARNING;
+                    deviations.put("baselineSamples", baseline.getCount());
+                    Instant timestamp = data.getTimestamp() != null
+                            ? data.getTimestamp()
+                            : Instant.ofEpochMilli(record.timestamp());
+                    context.forward(record.withValue(alert(satelliteId, level,
+                            String.format("Telemetry deviates from baseline (max |z|=%.1f): %s",
+                                    worst, deviations.keySet()),
+                            "MONITORING", timestamp, deviations)));
+                }
+            }
+
+            store.put(satelliteId, baseline.add(data, baselineAlpha));
+        }
+
+        private double check(Map<String, Object> deviations, String channel,
+                             TelemetryBaseline.Ewma stat, double value, double worst) {
+            double z = Math.abs(stat.zScore(value));
+            if (z > zScoreThreshold) {
+                deviations.put(channel, Map.of("value", value, "mean", stat.getMean(), "zScore", z));
+            }
+            return Math.max(worst, z);
+        }
+    }
+
+    /** Event time comes from the telemetry sample; falls back to the record timestamp. */
+    static class TelemetryTimestampExtractor implements TimestampExtractor {
+        @Override
+        public long extract(ConsumerRecord<Object, Object> record, long partitionTime) {
+            if (record.value() instanceof TelemetryData data && data.getTimestamp() != null) {
+                return data.getTimestamp().toEpochMilli();
+            }
+            return record.timestamp() >= 0 ? record.timestamp() : partitionTime;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.dsl.simulator.Streaming;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Per-satellite rolling baseline kept in the Kafka Streams baseline store.
+ *
+ * Each channel is an exponentially weighted mean and variance, so the baseline follows
+ * seasonal and slow drift (battery ageing, orbit-average temperature) instead of averaging
+ * the whole mission. Until a channel has seen {@code 1/alpha} samples it weights them equally,
+ * which makes the early baseline the plain sample mean rather than the first reading.
+ */
+@Data
+@NoArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class TelemetryBaseline {
+
+    private long count;
+    private Instant lastTimestamp;
+    private Ewma battery = new Ewma();
+    private Ewma temperature = new Ewma();
+    private Ewma powerGeneration = new Ewma();
+    private Ewma signalStrength = new Ewma();
+
+    /** Folds a sample in; {@code alpha} is the weight of a new sample once warmed up. */
+    public TelemetryBaseline add(TelemetryData telemetry, double alpha) {
+        count++;
+        double weight = Math.max(alpha, 1.0 / count);
+        lastTimestamp = telemetry.getTimestamp();
+        battery.add(telemetry.getBatteryLevel(), weight);
+        temperature.add(telemetry.getTemperature(), weight);
+        powerGeneration.add(telemetry.getPowerGeneration(), weight);
+        signalStrength.add(telemetry.getSignalStrength(), weight);
+        return this;
+    }
+
+    /** Weight per sample for a baseline that forgets half of its history every {@code halfLife} samples. */
+    public static double alphaForHalfLife(double halfLife) {
+        return 1 - Math.pow(0.5, 1 / Math.max(1, halfLife));
+    }
+
+    @Data
+    @NoArgsConstructor
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Ewma {
+        private double mean;
+        private double variance;
+
+        public void add(double value, double weight) {
+            double delta = value - mean;
+            double increment = weight * delta;
+            mean += increment;
+            variance = (1 - weight) * (variance + delta * increment);
+        }
+
+        @JsonIgnore
+        public double getStdDev() {
+            return Math.sqrt(variance);
+        }
+
+        /** Standard score of a value against this baseline; 0 until the baseline has spread. */
+        public double zScore(double value) {
+            double sd = getStdDev();
+            return sd > 1e-9 ? (value - mean) / sd : 0.0;
+        }
+    }
+}
@@ -1,11 +1,15 @@
 package com.dsl.simulator.Streaming;
 
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import java.time.Instant;
 
 @Data
 @Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class TelemetryData {
     private String satelliteId;
     private Instant timestamp;
@@ -23,24 +27,32 @@ public class TelemetryData {
 
 @Data
 @Builder
+@NoArgsConstructor
+@AllArgsConstructor
 class PositionData {
     private double x, y, z; // km
 }
 
 @Data
 @Builder
+@NoArgsConstructor
+@AllArgsConstructor
 class VelocityData {
     private double vx, vy, vz; // km/s
 }
 
 @Data
 @Builder
+@NoArgsConstructor
+@AllArgsConstructor
 class AttitudeData {
     private double roll, pitch, yaw; // degrees
 }
 
 @Data
 @Builder
+@NoArgsConstructor
+@AllArgsConstructor
 class SystemStatus {
     private boolean communicationSystem;
     private boolean powerSystem;
@@ -0,0 +1,115 @@
+package com.dsl.simulator.Streaming;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Delivers each telemetry frame to every {@link TelemetrySink} and keeps per-stage
+ * latency/throughput counters. Live streaming and replay share this path; replayed frames go
+ * to the sinks that accept them, and their timings are kept on the replay's
+ * {@link ReplayContext} rather than in the live counters.
+ */
+@Slf4j
+@Component
+public class TelemetryDispatcher {
+
+    private final List<TelemetrySink> sinks;
+    private final Map<String, StageMetrics> stages = new LinkedHashMap<>();
+    private final StageMetrics endToEnd = new StageMetrics();
+
+    public TelemetryDispatcher(List<TelemetrySink> sinks) {
+        this.sinks = List.copyOf(sinks);
+        for (TelemetrySink sink : this.sinks) {
+            stages.put(sink.stageName(), new StageMetrics());
+        }
+        log.info("📡 Telemetry dispatcher wired with {} sinks: {}", sinks.size(), stages.keySet());
+    }
+
+    public void dispatch(TelemetryData telemetry) {
+        dispatch(telemetry, null);
+    }
+
+    /**
+     * @param replay the replay run this frame belongs to, or null for a live frame
+     * @return total time spent in all sinks, in nanoseconds
+     */
+    public long dispatch(TelemetryData telemetry, ReplayContext replay) {
+        long start = System.nanoTime();
+
+        for (TelemetrySink sink : sinks) {
+            if (replay != null && !sink.acceptsReplay()) continue;
+
+            long stageStart = System.nanoTime();
+            try {
+                if (replay == null) {
+                    sink.accept(telemetry);
+                } else {
+                    sink.replay(telemetry, replay);
+                }
+            } catch (Exception e) {
+                log.error("❌ Telemetry sink {} failed for {}: {}",
+                        sink.stageName(), telemetry.getSatelliteId(), e.getMessage());
+            }
+            long stageNanos = System.nanoTime() - stageStart;
+            (replay == null ? stages.get(sink.stageName()) : replay.stage(sink.stageName())).record(stageNanos);
+        }
+
+        long elapsed = System.nanoTime() - start;
+        (replay == null ? endToEnd : replay.stage("endToEnd")).record(elapsed);
+        return elapsed;
+    }
+
+    public Map<String, Object> getStageStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        snapshotStages().forEach((name, snapshot) -> stats.put(name, snapshot.toMap()));
+        return stats;
+    }
+
+    public Map<String, StageMetrics.Snapshot> snapshotStages() {
+        Map<String, StageMetrics.Snapshot> snapshot = new LinkedHashMap<>();
+        stages.forEach((name, metrics) -> snapshot.put(name, metrics.snapshot()));
+        snapshot.put("endToEnd", endToEnd.snapshot());
+        return snapshot;
+    }
+
+    /** Lock-free latency counters for one stage. */
+    public static final class StageMetrics {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        void record(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        public Snapshot snapshot() {
+            return new Snapshot(count.sum(), totalNanos.sum(), maxNanos.get());
+        }
+
+        public record Snapshot(long count, long totalNanos, long maxNanos) {
+            public double meanMicros() {
+                return count == 0 ? 0.0 : totalNanos / 1000.0 / count;
+            }
+
+            public double maxMicros() {
+                return maxNanos / 1000.0;
+            }
+
+            public Map<String, Object> toMap() {
+                return Map.of(
+                        "frames", count,
+                        "meanMicros", meanMicros(),
+                        "maxMicros", maxMicros()
+                );
+            }
+        }
+    }
+}
@@ -0,0 +1,394 @@
+package com.dsl.simulator.Streaming;
+
+import com.dsl.simulator.Events.SatelliteLifecycleEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fan-out of live satellite updates to WebSocket dashboards.
+ *
+ * Every update is serialized once and the same frame is handed to all subscribers.
+ * Each client keeps only the latest frame per (satellite, type) until its next flush,
+ * so slow or rate-limited consumers see fresh values instead of a growing backlog.
+ * A flush is always one JSON array of update envelopes, even when it holds a single update.
+ * A client whose send has been blocked for longer than the send time limit is closed and
+ * dropped rather than left holding a send thread. Replayed frames are serialized as they
+ * would be live and counted on the replay, but never reach a client.
+ */
+@Slf4j
+@Service
+public class TelemetryFanoutService implements TelemetrySink {
+
+    public static final String WILDCARD = "*";
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private final Map<String, ClientSession> clients = new ConcurrentHashMap<>();
+    private final Map<String, Set<ClientSession>> subscribersBySatellite = new ConcurrentHashMap<>();
+    private final Set<ClientSession> wildcardSubscribers = ConcurrentHashMap.newKeySet();
+    // Last frame per (satellite, type) so new subscribers get an immediate snapshot
+    private final Map<String, SharedFrame> lastFrames = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService flushScheduler = Executors.newSingleThreadScheduledExecutor();
+    private final ExecutorService sendPool = Executors.newFixedThreadPool(4);
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong framesPublished = new AtomicLong();
+    private final AtomicLong framesSent = new AtomicLong();
+    private final AtomicLong framesConflated = new AtomicLong();
+    private final AtomicLong clientsDropped = new AtomicLong();
+
+    private final double defaultMaxUpdatesPerSecond;
+    private final int sendTimeLimitMs;
+    private final long sendTimeLimitNanos;
+    private final int bufferSizeLimitBytes;
+
+    public TelemetryFanoutService(
+            @Value("${satops.live.flush-interval-ms:50}") long flushIntervalMs,
+            @Value("${satops.live.default-max-updates-per-second:2}") double defaultMaxUpdatesPerSecond,
+            @Value("${satops.live.send-time-limit-ms:5000}") int sendTimeLimitMs,
+            @Value("${satops.live.buffer-size-limit-bytes:524288}") int bufferSizeLimitBytes) {
+        this.defaultMaxUpdatesPerSecond = defaultMaxUpdatesPerSecond;
+        this.sendTimeLimitMs = sendTimeLimitMs;
+        this.sendTimeLimitNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeLimitMs);
+        this.bufferSizeLimitBytes = bufferSizeLimitBytes;
+        flushScheduler.scheduleAtFixedRate(this::flushAll, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    // ---- Publishing ----
+
+    public void publishPosition(SatellitePosition position) {
+        publish(position.getSatelliteId(), "position", position);
+    }
+
+    public void publishTelemetry(TelemetryData telemetry) {
+        publish(telemetry.getSatelliteId(), "telemetry", telemetry);
+    }
+
+    @Override
+    public void accept(TelemetryData telemetry) {
+        publishTelemetry(telemetry);
+    }
+
+    @Override
+    public String stageName() {
+        return "websocket";
+    }
+
+    @Override
+    public boolean acceptsReplay() {
+        return true;
+    }
+
+    @Override
+    public void replay(TelemetryData telemetry, ReplayContext context) {
+        try {
+            envelope(telemetry.getSatelliteId(), "telemetry", 0, telemetry);
+            context.count("websocket.frames");
+        } catch (IOException e) {
+            context.count("websocket.serializationFailures");
+        }
+    }
+
+    /**
+     * Serialize once and hand the frame to every interested client.
+     */
+    public void publish(String satelliteId, String type, Object payload) {
+        Set<ClientSession> direct = subscribersBySatellite.get(satelliteId);
+        boolean hasDirect = direct != null && !direct.isEmpty();
+
+        String key = satelliteId + '|' + type;
+        SharedFrame frame;
+        try {
+            frame = new SharedFrame(key, envelope(satelliteId, type, sequence.incrementAndGet(), payload));
+        } catch (IOException e) {
+            log.error("❌ Failed to serialize {} frame for {}: {}", type, satelliteId, e.getMessage());
+            return;
+        }
+
+        lastFrames.put(key, frame);
+        framesPublished.incrementAndGet();
+
+        if (hasDirect) {
+            for (ClientSession client : direct) {
+                client.offer(frame);
+            }
+        }
+        for (ClientSession client : wildcardSubscribers) {
+            client.offer(frame);
+        }
+    }
+
+    private String envelope(String satelliteId, String type, long seq, Object payload) throws IOException {
+        Map<String, Object> envelope = new LinkedHashMap<>();
+        envelope.put("type", type);
+        envelope.put("satelliteId", satelliteId);
+        envelope.put("seq", seq);
+        envelope.put("data", payload);
+        return objectMapper.writeValueAsString(envelope);
+    }
+
+    /** Forgets a decommissioned satellite's last frames so new subscribers are not seeded with them. */
+    @EventListener
+    public void onSatelliteLifecycle(SatelliteLifecycleEvent event) {
+        if (event.getType() != SatelliteLifecycleEvent.LifecycleType.DECOMMISSIONED) return;
+        String prefix = event.getSatelliteId() + '|';
+        lastFrames.keySet().removeIf(key -> key.startsWith(prefix));
+        for (ClientSession client : clients.values()) {
+            client.pending.keySet().removeIf(key -> key.startsWith(prefix));
+        }
+    }
+
+    /**
+     * Cheap check so producers can skip sampling when nobody is watching.
+     */
+    public boolean hasSubscribers() {
+        return !wildcardSubscribers.isEmpty() || !subscribersBySatellite.isEmpty();
+    }
+
+    // ---- Client lifecycle ----
+
+    void register(WebSocketSession session) {
+        WebSocketSession concurrent = new ConcurrentWebSocketSessionDecorator(
+                session, sendTimeLimitMs, bufferSizeLimitBytes,
+                ConcurrentWebSocketSessionDecorator.OverflowStrategy.DROP);
+        clients.put(session.getId(), new ClientSession(concurrent, defaultMaxUpdatesPerSecond));
+        log.info("🔌 Live telemetry client connected: {} ({} total)", session.getId(), clients.size());
+    }
+
+    void unregister(String sessionId) {
+        ClientSession client = clients.remove(sessionId);
+        if (client == null) return;
+        unsubscribeAll(client);
+        log.info("🔌 Live telemetry client disconnected: {} ({} total)", sessionId, clients.size());
+    }
+
+    void subscribe(String sessionId, Collection<String> satelliteIds) {
+        ClientSession client = clients.get(sessionId);
+        if (client == null) return;
+
+        for (String satelliteId : satelliteIds) {
+            if (WILDCARD.equals(satelliteId)) {
+                wildcardSubscribers.add(client);
+            } else {
+                client.satellites.add(satelliteId);
+                subscribersBySatellite.computeIfAbsent(satelliteId, k -> ConcurrentHashMap.newKeySet()).add(client);
+            }
+        }
+
+        // Seed the new subscription with the latest known values
+        boolean all = satelliteIds.contains(WILDCARD);
+        for (SharedFrame frame : lastFrames.values()) {
+            String satelliteId = frame.key.substring(0, frame.key.indexOf('|'));
+            if (all || satelliteIds.contains(satelliteId)) {
+                client.offer(frame);
+            }
+        }
+    }
+
+    void unsubscribe(String sessionId, Collection<String> satelliteIds) {
+        ClientSession client = clients.get(sessionId);
+        if (client == null) return;
+
+        for (String satelliteId : satelliteIds) {
+            if (WILDCARD.equals(satelliteId)) {
+                wildcardSubscribers.remove(client);
+            } else {
+                client.satellites.remove(satelliteId);
+                removeFromIndex(satelliteId, client);
+            }
+        }
+    }
+
+    void setRateLimit(String sessionId, double maxUpdatesPerSecond) {
+        ClientSession client = clients.get(sessionId);
+        if (client != null) {
+            client.setMaxUpdatesPerSecond(maxUpdatesPerSecond);
+        }
+    }
+
+    void sendDirect(String sessionId, String json) {
+        ClientSession client = clients.get(sessionId);
+        if (client == null) return;
+        try {
+            client.session.sendMessage(new TextMessage(json));
+        } catch (IOException e) {
+            log.debug("Failed to reply to {}: {}", sessionId, e.getMessage());
+        }
+    }
+
+    private void unsubscribeAll(ClientSession client) {
+        wildcardSubscribers.remove(client);
+        for (String satelliteId : client.satellites) {
+            removeFromIndex(satelliteId, client);
+        }
+        client.satellites.clear();
+        client.pending.clear();
+    }
+
+    private void removeFromIndex(String satelliteId, ClientSession client) {
+        subscribersBySatellite.computeIfPresent(satelliteId, (k, set) -> {
+            set.remove(client);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    // ---- Flushing ----
+
+    void flushAll() {
+        long now = System.nanoTime();
+        for (ClientSession client : clients.values()) {
+            long sendStarted = client.sendStartedNanos;
+            if (sendStarted != 0 && now - sendStarted > sendTimeLimitNanos) {
+                drop(client, "send blocked for more than " + sendTimeLimitMs + " ms");
+            } else if (client.isDue(now) && client.flushing.compareAndSet(false, true)) {
+                sendPool.execute(() -> flush(client));
+            }
+        }
+    }
+
+    private void flush(ClientSession client) {
+        try {
+            if (!client.session.isOpen()) {
+                unregister(client.session.getId());
+                return;
+            }
+
+            client.lastFlushNanos = System.nanoTime();
+            StringBuilder batch = null;
+            int count = 0;
+
+            Iterator<String> keys = client.pending.keySet().iterator();
+            while (keys.hasNext()) {
+                SharedFrame frame = client.pending.remove(keys.next());
+                if (frame == null) continue;
+                if (batch == null) {
+                    batch = new StringBuilder(frame.json.length() * 4).append('[');
+                } else {
+                    batch.append(',');
+                }
+                batch.append(frame.json);
+                count++;
+            }
+
+            if (count == 0) return;
+
+            // One array message per flush, whatever the count, so clients parse a single shape
+            TextMessage message = new TextMessage(batch.append(']').toString());
+            client.sendStartedNanos = System.nanoTime();
+            try {
+                client.session.sendMessage(message);
+            } finally {
+                client.sendStartedNanos = 0;
+            }
+            framesSent.addAndGet(count);
+        } catch (IOException | RuntimeException e) {
+            drop(client, e.getMessage());
+        } finally {
+            client.flushing.set(false);
+        }
+    }
+
+    private void drop(ClientSession client, String reason) {
+        if (clients.remove(client.session.getId(), client)) {
+            unsubscribeAll(client);
+            clientsDropped.incrementAndGet();
+            log.warn("⚠️ Dropping live telemetry client {}: {}", client.session.getId(), reason);
+        }
+        try {
+            client.session.close(CloseStatus.SESSION_NOT_RELIABLE);
+        } catch (IOException | RuntimeException e) {
+            log.debug("Failed to close live telemetry client {}: {}", client.session.getId(), e.getMessage());
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        return Map.of(
+                "clients", clients.size(),
+                "watchedSatellites", subscribersBySatellite.size(),
+                "wildcardClients", wildcardSubscribers.size(),
+                "framesPublished", framesPublished.get(),
+                "framesSent", framesSent.get(),
+                "framesConflated", framesConflated.get(),
+                "clientsDropped", clientsDropped.get()
+        );
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flushScheduler.shutdownNow();
+        sendPool.shutdownNow();
+    }
+
+    // ---- Internals ----
+
+    /** One serialized update, shared by every subscriber. */
+    private static final class SharedFrame {
+        final String key;
+        final String json;
+
+        SharedFrame(String key, String json) {
+            this.key = key;
+            this.json = json;
+        }
+    }
+
+    private final class ClientSession {
+        final WebSocketSession session;
+        final Set<String> satellites = ConcurrentHashMap.newKeySet();
+        // Last value per (satellite, type): newer frames overwrite unsent ones
+        final Map<String, SharedFrame> pending = new ConcurrentHashMap<>();
+        final AtomicBoolean flushing = new AtomicBoolean();
+        volatile long minIntervalNanos;
+        volatile long lastFlushNanos;
+        // Non-zero while a send is in progress
+        volatile long sendStartedNanos;
+
+        ClientSession(WebSocketSession session, double maxUpdatesPerSecond) {
+            this.session = session;
+            setMaxUpdatesPerSecond(maxUpdatesPerSecond);
+        }
+
+        void setMaxUpdatesPerSecond(double maxUpdatesPerSecond) {
+            this.minIntervalNanos = maxUpdatesPerSecond <= 0
+                    ? 0
+                    : (long) (TimeUnit.SECONDS.toNanos(1) / maxUpdatesPerSecond);
+        }
+
+        void offer(SharedFrame frame) {
+            if (pending.put(frame.key, frame) != null) {
+                framesConflated.incrementAndGet();
+            }
+        }
+
+        boolean isDue(long now) {
+            return !pending.isEmpty() && now - lastFlushNanos >= minIntervalNanos;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.dsl.simulator.Streaming;
+
+import com.dsl.simulator.Events.SatelliteLifecycleEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Recent telemetry per satellite, column-wise in primitive ring buffers.
+ *
+ * Analytics read a {@link TelemetrySeries} snapshot (oldest sample first) and work on
+ * plain double arrays; nothing here boxes or keeps TelemetryData objects. Replayed frames
+ * are stored in a history of their own that lives as long as the replay, so a replay never
+ * mixes old samples into the live trends. A satellite's ring is dropped when it is
+ * decommissioned.
+ */
+@Component
+public class TelemetryHistory implements TelemetrySink {
+
+    public static final int BATTERY = 0;
+    public static final int TEMPERATURE = 1;
+    public static final int POWER = 2;
+    public static final int FUEL = 3;
+    public static final int SIGNAL = 4;
+    public static final int DATA_RATE = 5;
+    public static final int CHANNELS = 6;
+
+    private final int capacity;
+    private final Map<String, Ring> rings = new ConcurrentHashMap<>();
+
+    public TelemetryHistory(@Value("${satops.history.samples-per-satellite:2048}") int capacity) {
+        this.capacity = capacity;
+    }
+
+    @Override
+    public void accept(TelemetryData telemetry) {
+        Ring ring = rings.computeIfAbsent(telemetry.getSatelliteId(), id -> new Ring(capacity));
+        synchronized (ring) {
+            ring.add(telemetry);
+        }
+    }
+
+    @Override
+    public String stageName() {
+        return "history";
+    }
+
+    @Override
+    public boolean acceptsReplay() {
+        return true;
+    }
+
+    @Override
+    public void replay(TelemetryData telemetry, ReplayContext context) {
+        context.scoped(this, () -> new TelemetryHistory(capacity)).accept(telemetry);
+    }
+
+    @EventListener
+    public void onSatelliteLifecycle(SatelliteLifecycleEvent event) {
+        if (event.getType() == SatelliteLifecycleEvent.LifecycleType.DECOMMISSIONED) {
+            rings.remove(event.getSatelliteId());
+        }
+    }
+
+    public Optional<TelemetrySeries> series(String satelliteId) {
+        Ring ring = rings.get(satelliteId);
+        if (ring == null) return Optional.empty();
+        synchronized (ring) {
+            return ring.count == 0 ? Optional.empty() : Optional.of(ring.snapshot(satelliteId));
+        }
+    }
+
+    /** Snapshots for several satellites; satellites without telemetry are left out. */
+    public Map<String, TelemetrySeries> series(Collection<String> satelliteIds) {
+        Map<String, TelemetrySeries> result = new LinkedHashMap<>();
+        for (String satelliteId : satelliteIds) {
+            series(satelliteId).ifPresent(series -> result.put(satelliteId, series));
+        }
+        return result;
+    }
+
+    public Set<String> satellites() {
+        return rings.keySet();
+    }
+
+    private static final class Ring {
+        final double[] time;
+        final double[][] channels = new double[CHANNELS][];
+        int head;
+        int count;
+
+        Ring(int capacity) {
+            time = new double[capacity];
+            for (int c = 0; c < CHANNELS; c++) channels[c] = new double[capacity];
+        }
+
+        void add(TelemetryData telemetry) {
+            int capacity = time.length;
+            int slot = (head + count) % capacity;
+            if (count == capacity) head = (head + 1) % capacity;
+            else count++;
+
+            time[slot] = telemetry.getTimestamp() != null
+                    ? telemetry.getTimestamp().toEpochMilli() / 1000.0
+                    : System.currentTimeMillis() / 1000.0;
+            channels[BATTERY][slot] = telemetry.getBatteryLevel();
+            channels[TEMPERATURE][slot] = telemetry.getTemperature();
+            channels[POWER][slot] = telemetry.getPowerGeneration();
+            channels[FUEL][slot] = telemetry.getFuelLevel();
+            channels[SIGNAL][slot] = telemetry.getSignalStrength();
+            channels[DATA_RATE][slot] = telemetry.getDataRate();
+        }
+
+        TelemetrySeries snapshot(String satelliteId) {
+            double[] t = unroll(time);
+            double[][] values = new double[CHANNELS][];
+            for (int c = 0; c < CHANNELS; c++) values[c] = unroll(channels[c]);
+            return new TelemetrySeries(satelliteId, t, values);
+        }
+
+        private double[] unroll(double[] ring) {
+            double[] out = new double[count];
+            int firstPart = Math.min(count, ring.length - head);
+            System.arraycopy(ring, head, out, 0, firstPart);
+            System.arraycopy(ring, 0, out, firstPart, count - firstPart);
+            return out;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.dsl.simulator.Streaming;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+
+/**
+ * Sequential reader for capture logs written by {@link TelemetryLogWriter}.
+ * {@link #seek(Instant)} uses the sparse index to jump close to a timestamp.
+ */
+public class TelemetryLogReader implements Closeable {
+
+    private final FileChannel channel;
+    private final long[] indexTimestamps;
+    private final long[] indexOffsets;
+    private DataInputStream in;
+    private long position;
+
+    public TelemetryLogReader(Path logFile) throws IOException {
+        this.channel = FileChannel.open(logFile, StandardOpenOption.READ);
+        this.in = streamAt(0);
+
+        int magic = in.readInt();
+        short version = in.readShort();
+        position = TelemetryLogWriter.HEADER_BYTES;
+        if (magic != TelemetryLogWriter.MAGIC || version != TelemetryLogWriter.VERSION) {
+            channel.close();
+            throw new IOException("Not a telemetry capture (v" + TelemetryLogWriter.VERSION + "): " + logFile);
+        }
+
+        Path indexFile = TelemetryLogWriter.indexFileFor(logFile);
+        if (Files.exists(indexFile)) {
+            byte[] raw = Files.readAllBytes(indexFile);
+            int entries = raw.length / (3 * Long.BYTES);
+            indexTimestamps = new long[entries];
+            indexOffsets = new long[entries];
+            DataInputStream idx = new DataInputStream(new ByteArrayInputStream(raw));
+            for (int i = 0; i < entries; i++) {
+                indexTimestamps[i] = idx.readLong();
+                indexOffsets[i] = idx.readLong();
+                idx.readLong(); // record number
+            }
+        } else {
+            indexTimestamps = new long[0];
+            indexOffsets = new long[0];
+        }
+    }
+
+    /**
+     * Positions the reader at the last indexed record at or before {@code from}.
+     * Frames before {@code from} may still be returned; callers skip them by timestamp.
+     */
+    public void seek(Instant from) throws IOException {
+        long target = from.toEpochMilli();
+        int lo = 0, hi = indexTimestamps.length - 1, best = -1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (indexTimestamps[mid] <= target) {
+                best = mid;
+                lo = mid + 1;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        in = streamAt(best >= 0 ? indexOffsets[best] : TelemetryLogWriter.HEADER_BYTES);
+    }
+
+    /**
+     * @return the next frame, or null at end of log. A truncated or corrupt tail record (a
+     * length prefix outside the record bounds or past the end of the file) is treated as end.
+     */
+    public TelemetryData next() throws IOException {
+        int length;
+        try {
+            length = in.readInt();
+        } catch (EOFException e) {
+            return null;
+        }
+        position += Integer.BYTES;
+
+        if (length < TelemetryLogWriter.MIN_RECORD_BYTES || length > TelemetryLogWriter.MAX_RECORD_BYTES
+                || length > channel.size() - position) {
+            return null;
+        }
+
+        byte[] body = new byte[length];
+        try {
+            in.readFully(body);
+        } catch (EOFException e) {
+            return null;
+        }
+        position += length;
+        return decode(new DataInputStream(new ByteArrayInputStream(body)));
+    }
+
+    private TelemetryData decode(DataInputStream data) throws IOException {
+        long timestamp = data.readLong();
+        String satelliteId = data.readUTF();
+        int presence = data.readByte();
+
+        TelemetryData.TelemetryDataBuilder frame = TelemetryData.builder()
+                .timestamp(Instant.ofEpochMilli(timestamp))
+                .satelliteId(satelliteId)
+                .batteryLevel(data.readDouble())
+                .powerGeneration(data.readDouble())
+                .fuelLevel(data.readDouble())
+                .temperature(data.readDouble())
+                .dataRate(data.readDouble())
+                .signalStrength(data.readDouble());
+
+        if ((presence & TelemetryLogWriter.HAS_POSITION) != 0) {
+            frame.position(new PositionData(data.readDouble(), data.readDouble(), data.readDouble()));
+        }
+        if ((presence & TelemetryLogWriter.HAS_VELOCITY) != 0) {
+            frame.velocity(new VelocityData(data.readDouble(), data.readDouble(), data.readDouble()));
+        }
+        if ((presence & TelemetryLogWriter.HAS_ATTITUDE) != 0) {
+            frame.attitude(new AttitudeData(data.readDouble(), data.readDouble(), data.readDouble()));
+        }
+        if ((presence & TelemetryLogWriter.HAS_STATUS) != 0) {
+            int bits = data.readByte();
+            frame.systemStatus(new SystemStatus(
+                    (bits & 1) != 0, (bits & 1 << 1) != 0, (bits & 1 << 2) != 0,
+                    (bits & 1 << 3) != 0, (bits & 1 << 4) != 0));
+        }
+        return frame.build();
+    }
+
+    private DataInputStream streamAt(long position) throws IOException {
+        this.position = position;
+        channel.position(position);
+        InputStream raw = Channels.newInputStream(channel);
+        return new DataInputStream(new BufferedInputStream(raw, 64 * 1024));
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,146 @@
+package com.dsl.simulator.Streaming;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Append-only binary capture of {@link TelemetryData} frames.
+ *
+ * Log file (.tlog):
+ *   header  = MAGIC(int) VERSION(short)
+ *   record  = length(int) timestampMillis(long) satelliteId(UTF) presence(byte)
+ *             battery power fuel temperature dataRate signal (6 doubles)
+ *             [position 3 doubles] [velocity 3 doubles] [attitude 3 doubles] [status bits byte]
+ *
+ * Sparse index (.tidx): every {@link #INDEX_INTERVAL} records, (timestampMillis, offset, recordNumber)
+ * as three longs, so a reader can seek to a point in time without scanning the whole log.
+ */
+public class TelemetryLogWriter implements Closeable {
+
+    public static final int MAGIC = 0x53544C4D; // "STLM"
+    public static final short VERSION = 1;
+    public static final int HEADER_BYTES = Integer.BYTES + Short.BYTES;
+    public static final int INDEX_INTERVAL = 256;
+
+    /** Record body bounds: no optional blocks and an empty ID, up to every block and the longest UTF ID. */
+    static final int MIN_RECORD_BYTES = Long.BYTES + Short.BYTES + 1 + 6 * Double.BYTES;
+    static final int MAX_RECORD_BYTES = MIN_RECORD_BYTES + 0xFFFF + 9 * Double.BYTES + 1;
+
+    static final int HAS_POSITION = 1;
+    static final int HAS_VELOCITY = 1 << 1;
+    static final int HAS_ATTITUDE = 1 << 2;
+    static final int HAS_STATUS = 1 << 3;
+
+    private final DataOutputStream log;
+    private final DataOutputStream index;
+    private final byte[] scratch = new byte[512];
+    private long offset;
+    private long records;
+
+    public TelemetryLogWriter(Path logFile) throws IOException {
+        Files.createDirectories(logFile.toAbsolutePath().getParent());
+        this.log = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(logFile), 64 * 1024));
+        this.index = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(indexFileFor(logFile))));
+        log.writeInt(MAGIC);
+        log.writeShort(VERSION);
+        offset = HEADER_BYTES;
+    }
+
+    public static Path indexFileFor(Path logFile) {
+        String name = logFile.getFileName().toString();
+        String base = name.endsWith(".tlog") ? name.substring(0, name.length() - 5) : name;
+        return logFile.resolveSibling(base + ".tidx");
+    }
+
+    public synchronized void append(TelemetryData frame) throws IOException {
+        long timestamp = frame.getTimestamp() != null ? frame.getTimestamp().toEpochMilli() : System.currentTimeMillis();
+
+        if (records % INDEX_INTERVAL == 0) {
+            index.writeLong(timestamp);
+            index.writeLong(offset);
+            index.writeLong(records);
+        }
+
+        byte[] body = encode(frame, timestamp);
+        log.writeInt(body.length);
+        log.write(body);
+        offset += Integer.BYTES + body.length;
+        records++;
+    }
+
+    private byte[] encode(TelemetryData frame, long timestamp) throws IOException {
+        ScratchBuffer buffer = new ScratchBuffer(scratch);
+        DataOutputStream out = new DataOutputStream(buffer);
+
+        int presence = (frame.getPosition() != null ? HAS_POSITION : 0)
+                | (frame.getVelocity() != null ? HAS_VELOCITY : 0)
+                | (frame.getAttitude() != null ? HAS_ATTITUDE : 0)
+                | (frame.getSystemStatus() != null ? HAS_STATUS : 0);
+
+        out.writeLong(timestamp);
+        out.writeUTF(frame.getSatelliteId() != null ? frame.getSatelliteId() : "");
+        out.writeByte(presence);
+        out.writeDouble(frame.getBatteryLevel());
+        out.writeDouble(frame.getPowerGeneration());
+        out.writeDouble(frame.getFuelLevel());
+        out.writeDouble(frame.getTemperature());
+        out.writeDouble(frame.getDataRate());
+        out.writeDouble(frame.getSignalStrength());
+
+        if (frame.getPosition() != null) {
+            out.writeDouble(frame.getPosition().getX());
+            out.writeDouble(frame.getPosition().getY());
+            out.writeDouble(frame.getPosition().getZ());
+        }
+        if (frame.getVelocity() != null) {
+            out.writeDouble(frame.getVelocity().getVx());
+            out.writeDouble(frame.getVelocity().getVy());
+            out.writeDouble(frame.getVelocity().getVz());
+        }
+        if (frame.getAttitude() != null) {
+            out.writeDouble(frame.getAttitude().getRoll());
+            out.writeDouble(frame.getAttitude().getPitch());
+            out.writeDouble(frame.getAttitude().getYaw());
+        }
+        if (frame.getSystemStatus() != null) {
+            SystemStatus status = frame.getSystemStatus();
+            out.writeByte((status.isCommunicationSystem() ? 1 : 0)
+                    | (status.isPowerSystem() ? 1 << 1 : 0)
+                    | (status.isPropulsionSystem() ? 1 << 2 : 0)
+                    | (status.isPayloadSystem() ? 1 << 3 : 0)
+                    | (status.isAttitudeControlSystem() ? 1 << 4 : 0));
+        }
+        return buffer.toByteArray();
+    }
+
+    public synchronized long getRecordCount() {
+        return records;
+    }
+
+    public synchronized void flush() throws IOException {
+        log.flush();
+        index.flush();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            log.close();
+        } finally {
+            index.close();
+        }
+    }
+
+    /** Reuses one byte array for encoding; grows only for unusually long satellite IDs. */
+    private static final class ScratchBuffer extends ByteArrayOutputStream {
+        ScratchBuffer(byte[] initial) {
+            super(0);
+            this.buf = initial;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.dsl.simulator.Streaming;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Captures live telemetry into {@code <capture-dir>/<name>.tlog} while a recording is active.
+ */
+@Slf4j
+@Component
+public class TelemetryRecorder implements TelemetrySink {
+
+    private final Path captureDir;
+    private volatile TelemetryLogWriter writer;
+    private volatile String activeCapture;
+
+    public TelemetryRecorder(@Value("${satops.capture.dir:./captures}") String captureDir) {
+        this.captureDir = Paths.get(captureDir);
+    }
+
+    @Override
+    public void accept(TelemetryData telemetry) {
+        TelemetryLogWriter current = writer;
+        if (current == null) return;
+        try {
+            current.append(telemetry);
+        } catch (IOException e) {
+            log.error("❌ Capture {} write failed, stopping: {}", activeCapture, e.getMessage());
+            stop();
+        }
+    }
+
+    @Override
+    public String stageName() {
+        return "capture";
+    }
+
+    public synchronized String start(String name) throws IOException {
+        if (writer != null) {
+            throw new IllegalStateException("Capture already running: " + activeCapture);
+        }
+        Path file = resolve(name);
+        if (Files.exists(file)) {
+            throw new IllegalArgumentException("Capture already exists: " + name);
+        }
+        writer = new TelemetryLogWriter(file);
+        activeCapture = name;
+        log.info("⏺️ Telemetry capture started: {}", file);
+        return name;
+    }
+
+    public synchronized long stop() {
+        TelemetryLogWriter current = writer;
+        if (current == null) return 0;
+
+        writer = null;
+        long records = current.getRecordCount();
+        try {
+            current.close();
+        } catch (IOException e) {
+            log.error("❌ Failed to close capture {}: {}", activeCapture, e.getMessage());
+        }
+        log.info("⏹️ Telemetry capture {} stopped after {} frames", activeCapture, records);
+        activeCapture = null;
+        return records;
+    }
+
+    public String getActiveCapture() {
+        return activeCapture;
+    }
+
+    public List<String> listCaptures() throws IOException {
+        if (!Files.isDirectory(captureDir)) return List.of();
+        try (Stream<Path> files = Files.list(captureDir)) {
+            return files.map(p -> p.getFileName().toString())
+                    .filter(n -> n.endsWith(".tlog"))
+                    .map(n -> n.substring(0, n.length() - 5))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    public Path resolve(String name) {
+        if (!name.matches("[A-Za-z0-9_.-]+")) {
+            throw new IllegalArgumentException("Invalid capture name: " + name);
+        }
+        return captureDir.resolve(name + ".tlog");
+    }
+
+    @PreDestroy
+    void shutdown() {
+        stop();
+    }
+}
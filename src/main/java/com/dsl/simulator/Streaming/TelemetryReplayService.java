@@ -0,0 +1,179 @@
+package com.dsl.simulator.Streaming;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Replays captured telemetry through the dispatcher. Each run has its own
+ * {@link ReplayContext}: the sinks that opt in with {@link TelemetrySink#acceptsReplay()}
+ * process every frame against run-scoped state and record what they would have done, so a
+ * replay exercises alerting, AI screening, storage and serialization while raising no alerts,
+ * pushing nothing to clients and leaving live model and anomaly state alone.
+ *
+ * speed = 1 replays in real time, N replays N× faster, 0 replays as fast as the sinks allow.
+ * Each run reports throughput, schedule lag, per-stage latency and the sinks' outcomes.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TelemetryReplayService {
+
+    private final TelemetryRecorder recorder;
+    private final TelemetryDispatcher dispatcher;
+
+    private final ExecutorService replayPool = Executors.newFixedThreadPool(2);
+    private final Map<Long, ReplayJob> jobs = new ConcurrentHashMap<>();
+    private final AtomicLong jobIds = new AtomicLong();
+
+    public long startReplay(String captureName, double speed, Instant from) {
+        Path file = recorder.resolve(captureName);
+        if (!Files.exists(file)) {
+            throw new IllegalArgumentException("Unknown capture: " + captureName);
+        }
+        if (speed < 0) {
+            throw new IllegalArgumentException("Speed must be >= 0 (0 = max speed)");
+        }
+
+        ReplayJob job = new ReplayJob(jobIds.incrementAndGet(), captureName, speed);
+        jobs.put(job.id, job);
+        replayPool.execute(() -> run(job, file, from));
+        return job.id;
+    }
+
+    public void cancel(long jobId) {
+        ReplayJob job = jobs.get(jobId);
+        if (job != null) job.cancelled = true;
+    }
+
+    public Map<String, Object> getStatus(long jobId) {
+        ReplayJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new IllegalArgumentException("Unknown replay job: " + jobId);
+        }
+        return job.report();
+    }
+
+    private void run(ReplayJob job, Path file, Instant from) {
+        ReplayContext context = new ReplayContext(job.captureName);
+        job.state = "RUNNING";
+        log.info("⏯️ Replaying {} at {}", job.captureName, job.speed == 0 ? "max speed" : job.speed + "x");
+
+        try (TelemetryLogReader reader = new TelemetryLogReader(file)) {
+            if (from != null) reader.seek(from);
+
+            long wallStart = System.nanoTime();
+            long firstFrameMillis = Long.MIN_VALUE;
+            TelemetryData frame;
+
+            while (!job.cancelled && (frame = reader.next()) != null) {
+                long frameMillis = frame.getTimestamp().toEpochMilli();
+                if (from != null && frameMillis < from.toEpochMilli()) continue;
+                if (firstFrameMillis == Long.MIN_VALUE) firstFrameMillis = frameMillis;
+
+                long dueNanos = 0;
+                if (job.speed > 0) {
+                    dueNanos = wallStart + (long) (TimeUnit.MILLISECONDS.toNanos(frameMillis - firstFrameMillis) / job.speed);
+                    long wait = dueNanos - System.nanoTime();
+                    if (wait > 0) {
+                        TimeUnit.NANOSECONDS.sleep(wait);
+                    }
+                }
+
+                // Re-stamp so downstream consumers see the frame as current
+                frame.setTimestamp(Instant.now());
+                long readyNanos = System.nanoTime();
+                dispatcher.dispatch(frame, context);
+                long doneNanos = System.nanoTime();
+
+                job.frames++;
+                job.totalLatencyNanos += doneNanos - readyNanos;
+                job.maxLatencyNanos = Math.max(job.maxLatencyNanos, doneNanos - readyNanos);
+                if (job.speed > 0) {
+                    job.maxLagNanos = Math.max(job.maxLagNanos, readyNanos - dueNanos);
+                }
+            }
+
+            job.elapsedNanos = System.nanoTime() - wallStart;
+            job.state = job.cancelled ? "CANCELLED" : "COMPLETED";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.state = "CANCELLED";
+        } catch (IOException | RuntimeException e) {
+            job.state = "FAILED";
+            job.error = e.getMessage();
+            log.error("❌ Replay of {} failed: {}", job.captureName, e.getMessage());
+        }
+
+        Map<String, Object> stages = new LinkedHashMap<>();
+        context.snapshotStages().forEach((stage, snapshot) -> stages.put(stage, snapshot.toMap()));
+        job.stages = stages;
+        job.outcomes = context.outcomes();
+
+        log.info("✅ Replay {} {}: {} frames, {}", job.id, job.state.toLowerCase(), job.frames,
+                String.format("%.0f frames/s", job.throughput()));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        jobs.values().forEach(job -> job.cancelled = true);
+        replayPool.shutdownNow();
+    }
+
+    private static final class ReplayJob {
+        final long id;
+        final String captureName;
+        final double speed;
+        volatile Map<String, Object> stages = Map.of();
+        volatile Map<String, Long> outcomes = Map.of();
+        volatile String state = "QUEUED";
+        volatile boolean cancelled;
+        volatile String error;
+        volatile long frames;
+        volatile long elapsedNanos;
+        volatile long totalLatencyNanos;
+        volatile long maxLatencyNanos;
+        volatile long maxLagNanos;
+
+        ReplayJob(long id, String captureName, double speed) {
+            this.id = id;
+            this.captureName = captureName;
+            this.speed = speed;
+        }
+
+        double throughput() {
+            return elapsedNanos > 0 ? frames * 1e9 / elapsedNanos : 0.0;
+        }
+
+        Map<String, Object> report() {
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("jobId", id);
+            report.put("capture", captureName);
+            report.put("speed", speed == 0 ? "max" : speed + "x");
+            report.put("state", state);
+            report.put("frames", frames);
+            report.put("elapsedMs", elapsedNanos / 1_000_000);
+            report.put("framesPerSecond", throughput());
+            report.put("meanEndToEndMicros", frames > 0 ? totalLatencyNanos / 1000.0 / frames : 0.0);
+            report.put("maxEndToEndMicros", maxLatencyNanos / 1000.0);
+            report.put("maxScheduleLagMicros", maxLagNanos / 1000.0);
+            report.put("stages", stages);
+            report.put("outcomes", outcomes);
+            if (error != null) report.put("error", error);
+            return report;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.dsl.simulator.Streaming;
+
+/**
+ * Column snapshot of a satellite's recent telemetry, oldest first.
+ * {@code time} is epoch seconds; {@code channels} is indexed by the TelemetryHistory channel constants.
+ */
+public record TelemetrySeries(String satelliteId, double[] time, double[][] channels) {
+
+    public int size() {
+        return time.length;
+    }
+
+    public double[] channel(int channel) {
+        return channels[channel];
+    }
+
+    public double latest(int channel) {
+        return channels[channel][time.length - 1];
+    }
+
+    public double latestTime() {
+        return time[time.length - 1];
+    }
+
+    public double spanSeconds() {
+        return time.length < 2 ? 0 : time[time.length - 1] - time[0];
+    }
+}
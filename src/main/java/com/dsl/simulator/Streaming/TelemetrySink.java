@@ -0,0 +1,31 @@
+package com.dsl.simulator.Streaming;
+
+/**
+ * A consumer of telemetry frames (alerts, WebSocket, AI, persistence, capture).
+ * Every sink registered as a bean receives live frames through {@link TelemetryDispatcher}.
+ */
+public interface TelemetrySink {
+
+    void accept(TelemetryData telemetry);
+
+    /** Stage name used in dispatch metrics. */
+    default String stageName() {
+        return getClass().getSimpleName();
+    }
+
+    /**
+     * Whether replayed frames are delivered to {@link #replay} as well. A sink that opts in
+     * must keep its replay work out of live state: a replay must not raise alerts, reach
+     * clients, train models or advance live state.
+     */
+    default boolean acceptsReplay() {
+        return false;
+    }
+
+    /**
+     * Processes a replayed frame against state scoped to {@code context}, recording what it
+     * would have done live as outcomes on the context. Only called when {@link #acceptsReplay}.
+     */
+    default void replay(TelemetryData telemetry, ReplayContext context) {
+    }
+}
@@ -0,0 +1,73 @@
+package com.dsl.simulator.Streaming;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.apache.kafka.streams.kstream.Window;
+
+import java.time.Instant;
+
+/**
+ * Per-satellite statistics of one telemetry window, kept in the Kafka Streams window store
+ * and published when the window closes.
+ * Uses Welford's update so mean/variance stay numerically stable without storing samples.
+ */
+@Data
+@NoArgsConstructor
+public class TelemetryStatistics {
+
+    private String satelliteId;
+    private Instant lastTimestamp;
+    private Instant windowStart;
+    private Instant windowEnd;
+    private RunningStat battery = new RunningStat();
+    private RunningStat temperature = new RunningStat();
+    private RunningStat powerGeneration = new RunningStat();
+    private RunningStat signalStrength = new RunningStat();
+
+    public TelemetryStatistics add(TelemetryData telemetry) {
+        satelliteId = telemetry.getSatelliteId();
+        lastTimestamp = telemetry.getTimestamp();
+        battery.add(telemetry.getBatteryLevel());
+        temperature.add(telemetry.getTemperature());
+        powerGeneration.add(telemetry.getPowerGeneration());
+        signalStrength.add(telemetry.getSignalStrength());
+        return this;
+    }
+
+    /** Stamps the bounds of the closed window this aggregate covers. */
+    public TelemetryStatistics closedAs(Window window) {
+        windowStart = window.startTime();
+        windowEnd = window.endTime();
+        return this;
+    }
+
+    @JsonIgnore
+    public long getCount() {
+        return battery.getCount();
+    }
+
+    @Data
+    @NoArgsConstructor
+    public static class RunningStat {
+        private long count;
+        private double mean;
+        private double m2;
+        private double min;
+        private double max;
+
+        public void add(double value) {
+            count++;
+            double delta = value - mean;
+            mean += delta / count;
+            m2 += delta * (value - mean);
+            min = count == 1 ? value : Math.min(min, value);
+            max = count == 1 ? value : Math.max(max, value);
+        }
+
+        @JsonIgnore
+        public double getStdDev() {
+            return count > 1 ? Math.sqrt(m2 / (count - 1)) : 0.0;
+        }
+    }
+}
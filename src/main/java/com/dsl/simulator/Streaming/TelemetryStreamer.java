@@ -8,6 +8,7 @@ import org.springframework.stereotype.Service;
 import lombok.extern.slf4j.Slf4j;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
@@ -20,19 +21,27 @@ import java.util.concurrent.TimeUnit;
 public class TelemetryStreamer {
 
     private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final TelemetryDispatcher dispatcher;
+    private final CommandPipeline commandPipeline;
+    private final AlertEngine alertEngine;
     private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(5);
     private final Map<String, Boolean> activeStreams = new ConcurrentHashMap<>();
 
     // Kafka Topics
     private static final String TELEMETRY_TOPIC = "satellite-telemetry";
-    private static final String ALERTS_TOPIC = "satellite-alerts";
     private static final String COMMANDS_TOPIC = "satellite-commands";
     private static final String MISSION_UPDATES_TOPIC = "mission-updates";
 
     // Manual constructor with optional KafkaTemplate
     @Autowired(required = false)
-    public TelemetryStreamer(KafkaTemplate<String, Object> kafkaTemplate) {
+    public TelemetryStreamer(KafkaTemplate<String, Object> kafkaTemplate,
+                             TelemetryDispatcher dispatcher,
+                             CommandPipeline commandPipeline,
+                             AlertEngine alertEngine) {
         this.kafkaTemplate = kafkaTemplate;
+        this.dispatcher = dispatcher;
+        this.commandPipeline = commandPipeline;
+        this.alertEngine = alertEngine;
     }
 
     /**
@@ -80,7 +89,7 @@ public class TelemetryStreamer {
                         }
                     });
 
-            checkAndStreamAlerts(satelliteId, telemetry);
+            dispatcher.dispatch(telemetry);
 
         } catch (Exception e) {
             log.error("❌ Error streaming telemetry for {}: {}", satelliteId, e.getMessage());
@@ -104,39 +113,11 @@ public class TelemetryStreamer {
                 .build();
     }
 
-    private void checkAndStreamAlerts(String satelliteId, TelemetryData telemetry) {
-        if (kafkaTemplate == null) return;
-
-        if (telemetry.getBatteryLevel() < 20) {
-            streamAlert(satelliteId, SatelliteAlert.AlertLevel.CRITICAL,
-                    "Battery level critically low: " + String.format("%.1f%%", telemetry.getBatteryLevel()),
-                    Map.of("batteryLevel", telemetry.getBatteryLevel()));
-        }
-
-        if (telemetry.getTemperature() > 60 || telemetry.getTemperature() < -20) {
-            streamAlert(satelliteId, SatelliteAlert.AlertLevel.WARNING,
-                    "Temperature out of normal range: " + String.format("%.1f°C", telemetry.getTemperature()),
-                    Map.of("temperature", telemetry.getTemperature()));
-        }
-    }
-
+    /**
+     * Alerts go through the alert engine, which handles hysteresis, dedup and throttling.
+     */
     public void streamAlert(String satelliteId, SatelliteAlert.AlertLevel level, String message, Map<String, Object> metadata) {
-        if (kafkaTemplate == null) return;
-
-        SatelliteAlert alert = SatelliteAlert.builder()
-                .alertId("ALERT-" + System.currentTimeMillis())
-                .satelliteId(satelliteId)
-                .alertLevel(level)
-                .message(message)
-                .timestamp(Instant.now())
-                .metadata(metadata)
-                .acknowledged(false)
-                .category("TELEMETRY")
-                .subsystem("MONITORING")
-                .build();
-
-        kafkaTemplate.send(ALERTS_TOPIC, satelliteId, alert);
-        log.info("🚨 {} alert streamed for {}: {}", level, satelliteId, message);
+        alertEngine.raise(satelliteId, level, "TELEMETRY", message, metadata);
     }
 
     public void streamMissionUpdate(String missionId, MissionUpdate.MissionStatus status,
@@ -157,13 +138,17 @@ public class TelemetryStreamer {
         log.info("📋 Mission update streamed for {}: {}% complete", missionId, completionPercentage);
     }
 
-    @KafkaListener(topics = COMMANDS_TOPIC, groupId = "mission-control")
-    public void handleIncomingCommand(SatelliteCommand command) {
-        if (kafkaTemplate == null) return;
+    /**
+     * Batch listener: the batch is handed to the ordered lanes of the command pipeline and
+     * offsets are committed only once every command in it has finished.
+     */
+    @KafkaListener(topics = COMMANDS_TOPIC, groupId = "mission-control", batch = "true",
+            concurrency = "${satops.commands.listener-concurrency:3}")
+    public void handleIncomingCommands(List<SatelliteCommand> commands) {
+        if (kafkaTemplate == null || commands.isEmpty()) return;
 
-        log.info("⚡ Received command for {}: {}", command.getSatelliteId(), command.getCommandType());
-        CommandResult result = processCommand(command);
-        kafkaTemplate.send("command-results", command.getSatelliteId(), result);
+        log.info("⚡ Received {} commands", commands.size());
+        commandPipeline.submitBatch(commands).join();
     }
 
     private PositionData generateOrbitPosition() {
@@ -200,18 +185,4 @@ public class TelemetryStreamer {
                 .build();
     }
 
-    private CommandResult processCommand(SatelliteCommand command) {
-        boolean success = Math.random() > 0.05;
-
-        return CommandResult.builder()
-                .commandId(command.getCommandId())
-                .satelliteId(command.getSatelliteId())
-                .status(success ? CommandResult.CommandStatus.COMPLETED : CommandResult.CommandStatus.FAILED)
-                .result(success ? "Command executed successfully" : "Command execution failed")
-                .executionTime(System.currentTimeMillis())
-                .startTime(Instant.now().minusSeconds(2))
-                .endTime(Instant.now())
-                .successProbability(success ? 1.0 : 0.0)
-                .build();
-    }
 }
@@ -0,0 +1,79 @@
+package com.dsl.simulator.Streaming;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Control channel for /ws/telemetry.
+ *
+ * Client messages:
+ *   {"action":"subscribe","satellites":["ISS","HUBBLE"]}   ("*" = all satellites)
+ *   {"action":"unsubscribe","satellites":["HUBBLE"]}
+ *   {"action":"rate","maxUpdatesPerSecond":5}
+ *
+ * Server messages: acks and errors as single objects, updates as a JSON array of
+ *   {"type":"telemetry","satelliteId":"ISS","seq":42,"data":{...}} per flush.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TelemetryWebSocketHandler extends TextWebSocketHandler {
+
+    private final TelemetryFanoutService fanoutService;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) {
+        fanoutService.register(session);
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) {
+        try {
+            JsonNode request = objectMapper.readTree(message.getPayload());
+            String action = request.path("action").asText("");
+
+            switch (action) {
+                case "subscribe" -> fanoutService.subscribe(session.getId(), satellites(request));
+                case "unsubscribe" -> fanoutService.unsubscribe(session.getId(), satellites(request));
+                case "rate" -> fanoutService.setRateLimit(session.getId(),
+                        request.path("maxUpdatesPerSecond").asDouble(0));
+                default -> {
+                    fanoutService.sendDirect(session.getId(),
+                            "{\"type\":\"error\",\"message\":\"Unknown action: " + action.replace("\"", "") + "\"}");
+                    return;
+                }
+            }
+            fanoutService.sendDirect(session.getId(), "{\"type\":\"ack\",\"action\":\"" + action + "\"}");
+        } catch (Exception e) {
+            log.debug("Bad control message from {}: {}", session.getId(), e.getMessage());
+            fanoutService.sendDirect(session.getId(), "{\"type\":\"error\",\"message\":\"Malformed request\"}");
+        }
+    }
+
+    @Override
+    public void handleTransportError(WebSocketSession session, Throwable exception) {
+        fanoutService.unregister(session.getId());
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        fanoutService.unregister(session.getId());
+    }
+
+    private List<String> satellites(JsonNode request) {
+        List<String> ids = new ArrayList<>();
+        request.path("satellites").forEach(node -> ids.add(node.asText()));
+        return ids;
+    }
+}
@@ -0,0 +1,22 @@
+package com.dsl.simulator.config;
+
+import com.dsl.simulator.Streaming.TelemetryWebSocketHandler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+@Configuration
+@EnableWebSocket
+@RequiredArgsConstructor
+public class WebSocketConfig implements WebSocketConfigurer {
+
+    private final TelemetryWebSocketHandler telemetryWebSocketHandler;
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        registry.addHandler(telemetryWebSocketHandler, "/ws/telemetry")
+                .setAllowedOrigins("*");
+    }
+}
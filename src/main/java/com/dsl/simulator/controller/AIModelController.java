@@ -0,0 +1,98 @@
+package com.dsl.simulator.controller;
+
+import com.dsl.simulator.RealAI.AnomalyPrefilter;
+import com.dsl.simulator.RealAI.FleetAnalysisReport;
+import com.dsl.simulator.RealAI.FleetAnalysisService;
+import com.dsl.simulator.RealAI.InferenceService;
+import com.dsl.simulator.RealAI.ModelEvaluation;
+import com.dsl.simulator.RealAI.ModelEvaluationService;
+import com.dsl.simulator.RealAI.OnlineAnomalyTrainer;
+import com.dsl.simulator.RealAI.PatternSessionManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/ai")
+@CrossOrigin(origins = "*")
+@RequiredArgsConstructor
+public class AIModelController {
+
+    private final ModelEvaluationService evaluationService;
+    private final InferenceService inferenceService;
+    private final FleetAnalysisService fleetAnalysisService;
+    private final OnlineAnomalyTrainer onlineTrainer;
+    private final AnomalyPrefilter anomalyPrefilter;
+    private final PatternSessionManager patternSessions;
+
+    @GetMapping("/models")
+    public ResponseEntity<Map<String, Object>> models() {
+        return ResponseEntity.ok(evaluationService.getSummary());
+    }
+
+    /**
+     * All four models over every active satellite, ranked by risk (highest first).
+     */
+    @GetMapping("/fleet-analysis")
+    public ResponseEntity<Map<String, Object>> fleetAnalysis(@RequestParam(defaultValue = "50") int limit) {
+        try {
+            FleetAnalysisReport report = fleetAnalysisService.analyzeFleet();
+            if (report.getSatellites().size() > limit) {
+                report.setSatellites(report.getSatellites().subList(0, limit));
+            }
+            return ResponseEntity.ok(Map.of("success", true, "report", report));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", String.valueOf(e.getMessage())));
+        }
+    }
+
+    @GetMapping("/online-learning")
+    public ResponseEntity<Map<String, Object>> onlineLearning() {
+        return ResponseEntity.ok(onlineTrainer.getStats());
+    }
+
+    /**
+     * How many frames the statistical screen passed on to the autoencoder.
+     */
+    @GetMapping("/prefilter")
+    public ResponseEntity<Map<String, Object>> prefilter() {
+        return ResponseEntity.ok(anomalyPrefilter.getStats());
+    }
+
+    @GetMapping("/pattern-sessions")
+    public ResponseEntity<Map<String, Object>> patternSessions() {
+        return ResponseEntity.ok(patternSessions.getStats());
+    }
+
+    /**
+     * Live LSTM session for one satellite: next-step prediction and running accuracy.
+     */
+    @GetMapping("/pattern-sessions/{satelliteId}")
+    public ResponseEntity<Map<String, Object>> patternSession(@PathVariable String satelliteId) {
+        return patternSessions.getSession(satelliteId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/inference/stats")
+    public ResponseEntity<Map<String, Object>> inferenceStats() {
+        return ResponseEntity.ok(inferenceService.getStats());
+    }
+
+    /**
+     * Re-scores the live version on the held-out set (blocks until done).
+     */
+    @PostMapping("/models/{name}/evaluate")
+    public ResponseEntity<Map<String, Object>> evaluate(@PathVariable String name) {
+        try {
+            ModelEvaluation evaluation = evaluationService.reevaluate(name).join();
+            return ResponseEntity.ok(Map.of("success", true, "evaluation", evaluation));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", String.valueOf(e.getMessage())));
+        }
+    }
+}
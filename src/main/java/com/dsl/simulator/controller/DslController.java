@@ -1,7 +1,9 @@
 package com.dsl.simulator.controller;
 
+import com.dsl.simulator.AI.AIMissionController;
+import com.dsl.simulator.OptaPlanner.OptaPlannerMissionService;
 import com.dsl.simulator.RealAI.*;
-import com.dsl.simulator.Repository.SatelliteRepository;
+import com.dsl.simulator.Persistence.WriteBehindPersistence;
 import com.dsl.simulator.Runner.SatOpsRunner;
 import com.dsl.simulator.SatOpsLexer;
 import com.dsl.simulator.SatOpsParser;
@@ -33,7 +35,10 @@ public class DslController {
     private final AnomalyDetectionNetwork anomalyDetector;
     private final PatternRecognitionLSTM patternAnalyzer;
     private final CollisionRiskClassifier collisionClassifier;
-    private final SatelliteRepository satelliteRepository;
+    private final FleetAnalysisService fleetAnalysisService;
+    private final AIMissionController aiMissionController;
+    private final OptaPlannerMissionService optaPlannerService;
+    private final WriteBehindPersistence persistence;
 
     @Autowired
     public DslController(
@@ -46,7 +51,10 @@ public class DslController {
             AnomalyDetectionNetwork anomalyDetector,
             PatternRecognitionLSTM patternAnalyzer,
             CollisionRiskClassifier collisionClassifier,
-            SatelliteRepository satelliteRepository
+            FleetAnalysisService fleetAnalysisService,
+            AIMissionController aiMissionController,
+            OptaPlannerMissionService optaPlannerService,
+            WriteBehindPersistence persistence
     ) {
         this.missionControlService = missionControlService;
         this.telemetryStreamer = telemetryStreamer;
@@ -57,7 +65,10 @@ public class DslController {
         this.anomalyDetector = anomalyDetector;
         this.patternAnalyzer = patternAnalyzer;
         this.collisionClassifier = collisionClassifier;
-        this.satelliteRepository = satelliteRepository;
+        this.fleetAnalysisService = fleetAnalysisService;
+        this.aiMissionController = aiMissionController;
+        this.optaPlannerService = optaPlannerService;
+        this.persistence = persistence;
     }
 
     @PostMapping("/run")
@@ -92,7 +103,10 @@ public class DslController {
                     anomalyDetector,
                     patternAnalyzer,
                     collisionClassifier,
-                    satelliteRepository
+                    fleetAnalysisService,
+                    aiMissionController,
+                    optaPlannerService,
+                    persistence
             );
 
             visitor.visit(tree);
@@ -1,18 +1,25 @@
 package com.dsl.simulator.controller;
 
 import com.dsl.simulator.Entity.*;
+import com.dsl.simulator.Persistence.FleetReadModel;
+import com.dsl.simulator.Persistence.HistoryQueryService;
+import com.dsl.simulator.Persistence.HistoryRetentionJob;
+import com.dsl.simulator.Persistence.PositionSnapshotJob;
+import com.dsl.simulator.Persistence.WriteBehindPersistence;
 import com.dsl.simulator.Repository.*;
 import com.dsl.simulator.Service.MissionControlService;
 import com.dsl.simulator.Service.N2YOService;
+import com.dsl.simulator.Streaming.TelemetryFanoutService;
 import com.dsl.simulator.dto.SatelliteInfoDTO;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Slf4j
 @RestController
@@ -26,30 +33,52 @@ public class FrontendApiController {
     private final MessageRepository messageRepository;
     private final CommandHistoryRepository commandHistoryRepository;
     private final MissionControlService missionControlService;
-
+    private final TelemetryFanoutService telemetryFanoutService;
+    private final WriteBehindPersistence persistence;
+    private final FleetReadModel fleetReadModel;
+    private final PositionSnapshotJob positionSnapshotJob;
+    private final HistoryQueryService historyQueryService;
+    private final HistoryRetentionJob historyRetentionJob;
+
+    private static final String FLEET_VERSION_HEADER = "X-Fleet-Version";
+
+    /**
+     * Fleet view from the in-memory read model; MySQL is not touched. Pollers sending the
+     * last ETag back in If-None-Match get a 304 until the fleet changes.
+     */
     @GetMapping("/satellites")
-    public ResponseEntity<List<Map<String, Object>>> getAllSatellites() {
-        List<Satellite> satellites = satelliteRepository.findAll();
-
-        List<Map<String, Object>> response = satellites.stream().map(sat -> {
-            Map<String, Object> satMap = new HashMap<>();
-
-            // ✅ IMPORTANT: Use the EXACT field names frontend expects
-            satMap.put("satelliteId", sat.getSatelliteId());  // ✅ Frontend uses this
-            satMap.put("id", sat.getSatelliteId());           // ✅ Backup
-            satMap.put("name", sat.getName());
-            satMap.put("noradId", sat.getNoradId());
-            satMap.put("tleLine1", sat.getTleLine1());
-            satMap.put("tleLine2", sat.getTleLine2());
-            satMap.put("latitude", sat.getLatitude());
-            satMap.put("longitude", sat.getLongitude());
-            satMap.put("altitude", sat.getAltitude());
-            satMap.put("status", sat.getStatus());
-
-            return satMap;
-        }).collect(Collectors.toList());
-
-        return ResponseEntity.ok(response);
+    public ResponseEntity<List<Map<String, Object>>> getAllSatellites(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        FleetReadModel.Snapshot snapshot = fleetReadModel.snapshot();
+        if (snapshot.matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(snapshot.etag()).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(snapshot.etag())
+                .header(FLEET_VERSION_HEADER, snapshot.token())
+                .body(snapshot.satellites());
+    }
+
+    /**
+     * Satellites changed after {@code since}, the opaque version token from an earlier
+     * response. When {@code reset} is true the token was unknown (e.g. from before a restart)
+     * and the whole fleet is returned.
+     */
+    @GetMapping("/satellites/changes")
+    public ResponseEntity<Map<String, Object>> getSatelliteChanges(@RequestParam String since) {
+        FleetReadModel.Delta delta = fleetReadModel.changesSince(since);
+        return ResponseEntity.ok()
+                .header(FLEET_VERSION_HEADER, delta.version())
+                .body(Map.of(
+                        "version", delta.version(),
+                        "reset", delta.reset(),
+                        "satellites", delta.satellites()
+                ));
+    }
+
+    @GetMapping("/satellites/stats")
+    public ResponseEntity<Map<String, Object>> getFleetStats() {
+        return ResponseEntity.ok(fleetReadModel.getStats());
     }
 
     @PostMapping("/deploy-satellite")
@@ -63,7 +92,8 @@ public class FrontendApiController {
                         .body(Map.of("error", "Missing: satelliteId and noradId"));
             }
 
-            if (satelliteRepository.existsBySatelliteId(satelliteId)) {
+            // The fleet map first: a deploy still waiting in the write-behind queue is not in the table yet
+            if (missionControlService.isSatelliteActive(satelliteId) || satelliteRepository.existsBySatelliteId(satelliteId)) {
                 return ResponseEntity.badRequest()
                         .body(Map.of("error", "Satellite already deployed"));
             }
@@ -75,18 +105,16 @@ public class FrontendApiController {
                     .satelliteId(satelliteId)
                     .name(deployedSat.getSatelliteName())
                     .noradId(noradId)
-                    .tleLine1("CELESTRAK_DATA")
-                    .tleLine2("CELESTRAK_DATA")
+                    .tleLine1(deployedSat.getTleLine1())
+                    .tleLine2(deployedSat.getTleLine2())
+                    .latitude(deployedSat.getLatitude())
+                    .longitude(deployedSat.getLongitude())
+                    .altitude(deployedSat.getAltitude())
                     .status("OPERATIONAL")
                     .build();
 
-            satelliteRepository.save(dbSatellite);
-
-            commandHistoryRepository.save(CommandHistory.builder()
-                    .command("deploy " + satelliteId + " with id " + noradId)
-                    .result("Success")
-                    .status("SUCCESS")
-                    .build());
+            persistence.saveSatellite(dbSatellite);
+            persistence.recordCommand("deploy " + satelliteId + " with id " + noradId, "Success", "SUCCESS");
 
             return ResponseEntity.ok(Map.of(
                     "success", true,
@@ -144,13 +172,71 @@ public class FrontendApiController {
         return ResponseEntity.ok(commandHistoryRepository.findTop20ByOrderByExecutedAtDesc());
     }
 
+    /** Command history, newest first; pass {@code nextCursor} back as {@code cursor} for the next page. */
+    @GetMapping("/command-history/page")
+    public ResponseEntity<Map<String, Object>> getCommandHistoryPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + HistoryQueryService.DEFAULT_PAGE_SIZE) int limit) {
+        try {
+            return ResponseEntity.ok(pageBody(historyQueryService.commands(cursor, limit)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Message history, newest first: everything sent or received by {@code entity}, or the
+     * {@code from} to {@code to} conversation. Cursor-paginated like the command history.
+     */
+    @GetMapping("/messages")
+    public ResponseEntity<Map<String, Object>> getMessages(
+            @RequestParam(required = false) String entity,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + HistoryQueryService.DEFAULT_PAGE_SIZE) int limit) {
+        try {
+            if (from != null && to != null) {
+                return ResponseEntity.ok(pageBody(historyQueryService.conversation(from, to, cursor, limit)));
+            }
+            if (entity != null) {
+                return ResponseEntity.ok(pageBody(historyQueryService.messagesOf(entity, cursor, limit)));
+            }
+            return ResponseEntity.badRequest().body(Map.of("error", "Missing: entity, or from and to"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    private static Map<String, Object> pageBody(HistoryQueryService.HistoryPage<?> page) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("items", page.items());
+        body.put("nextCursor", page.nextCursor());
+        return body;
+    }
+
     @GetMapping("/health")
     public ResponseEntity<Map<String, Object>> healthCheck() {
         return ResponseEntity.ok(Map.of(
                 "status", "UP",
-                "satellites", satelliteRepository.count()
+                "satellites", fleetReadModel.snapshot().entries().size()
         ));
     }
+
+    @GetMapping("/live/stats")
+    public ResponseEntity<Map<String, Object>> getLiveStats() {
+        return ResponseEntity.ok(telemetryFanoutService.getStats());
+    }
+
+    /** Write-behind queue depth, lag and throughput, plus the position snapshot and retention jobs. */
+    @GetMapping("/persistence/stats")
+    public ResponseEntity<Map<String, Object>> getPersistenceStats() {
+        Map<String, Object> stats = new LinkedHashMap<>(persistence.getStats());
+        stats.put("positionSnapshots", positionSnapshotJob.getStats());
+        stats.put("historyRetention", historyRetentionJob.getStats());
+        return ResponseEntity.ok(stats);
+    }
+
     @Autowired
     private N2YOService n2yoService;
 
@@ -0,0 +1,235 @@
+package com.dsl.simulator.controller;
+
+import com.dsl.simulator.OptaPlanner.AccessWindow;
+import com.dsl.simulator.OptaPlanner.AccessWindowService;
+import com.dsl.simulator.OptaPlanner.ContinuousPlanner;
+import com.dsl.simulator.OptaPlanner.MissionPlanningProblem;
+import com.dsl.simulator.OptaPlanner.MissionTask;
+import com.dsl.simulator.OptaPlanner.OptaPlannerMissionService;
+import com.dsl.simulator.OptaPlanner.PlanningJob;
+import com.dsl.simulator.OptaPlanner.PlanningRequest;
+import com.dsl.simulator.OptaPlanner.SatelliteResource;
+import com.dsl.simulator.OptaPlanner.TimeSlot;
+import com.dsl.simulator.Product.Satellite;
+import com.dsl.simulator.Service.MissionControlService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScalesFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+
+/**
+ * Asynchronous mission planning: submit a problem, then poll it or stream its improving
+ * best solutions as server-sent events. Under /continuous, one long-running plan takes
+ * fleet and task changes and republishes its schedule after each.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/planning")
+@CrossOrigin(origins = "*")
+@RequiredArgsConstructor
+public class PlanningController {
+
+    private static final long STREAM_TIMEOUT_MS = 10 * 60 * 1000L;
+
+    private final OptaPlannerMissionService planningService;
+    private final ContinuousPlanner continuousPlanner;
+    private final AccessWindowService accessWindowService;
+    private final MissionControlService missionControlService;
+
+    @PostMapping("/jobs")
+    public ResponseEntity<Map<String, Object>> submit(@RequestBody PlanningRequest request) {
+        if (request.getTasks().isEmpty() || request.getSatellites().isEmpty() || request.getTimeSlots().isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Missing: tasks, satellites and timeSlots"));
+        }
+        try {
+            MissionPlanningProblem problem = MissionPlanningProblem.builder()
+                    .taskList(request.getTasks())
+                    .satelliteList(request.getSatellites())
+                    .timeSlotList(request.getTimeSlots())
+                    .accessWindowList(request.isUseAccessWindows() ? accessWindows(request) : new ArrayList<>())
+                    .build();
+            PlanningJob job = planningService.submit(request.getProfile(), problem);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(job.toMap());
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Job status plus the current best assignment of every task.
+     */
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<Map<String, Object>> job(@PathVariable long jobId) {
+        return planningService.getJob(jobId)
+                .map(job -> {
+                    Map<String, Object> body = job.toMap();
+                    body.put("assignments", assignments(job.getBestSolution().getTaskList()));
+                    return ResponseEntity.ok(body);
+                })
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Server-sent events: one "best-solution" event per improvement, then "finished".
+     * The latest state is sent on connect, so late subscribers still get the result.
+     */
+    @GetMapping(value = "/jobs/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> events(@PathVariable long jobId) {
+        return planningService.getJob(jobId)
+                .map(job -> ResponseEntity.ok(stream(job)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @DeleteMapping("/jobs/{jobId}")
+    public ResponseEntity<Map<String, Object>> terminate(@PathVariable long jobId) {
+        if (!planningService.terminate(jobId)) return ResponseEntity.notFound().build();
+        return ResponseEntity.ok(Map.of("success", true, "jobId", jobId));
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Object>> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>(planningService.getStats());
+        stats.put("continuous", continuousPlanner.getStats());
+        return ResponseEntity.ok(stats);
+    }
+
+    // ===== CONTINUOUS PLANNING =====
+
+    @PostMapping("/continuous")
+    public ResponseEntity<Map<String, Object>> startContinuous(@RequestBody PlanningRequest request) {
+        if (request.getSatellites().isEmpty() || request.getTimeSlots().isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Missing: satellites and timeSlots"));
+        }
+        PlanningJob plan = continuousPlanner.start(request.getTasks(), request.getSatellites(), request.getTimeSlots());
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(plan.toMap());
+    }
+
+    @GetMapping("/continuous")
+    public ResponseEntity<Map<String, Object>> continuousPlan() {
+        return continuousPlanner.getPlan()
+                .map(plan -> {
+                    Map<String, Object> body = plan.toMap();
+                    body.put("assignments", assignments(plan.getBestSolution().getTaskList()));
+                    return ResponseEntity.ok(body);
+                })
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /** Same event stream as a job; stays open across replans until the plan is stopped. */
+    @GetMapping(value = "/continuous/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> continuousEvents() {
+        return continuousPlanner.getPlan()
+                .map(plan -> ResponseEntity.ok(stream(plan)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @DeleteMapping("/continuous")
+    public ResponseEntity<Map<String, Object>> stopContinuous() {
+        continuousPlanner.stop();
+        return ResponseEntity.ok(Map.of("success", true));
+    }
+
+    @PostMapping("/continuous/tasks")
+    public ResponseEntity<Map<String, Object>> addTasks(@RequestBody List<MissionTask> tasks) {
+        if (tasks.isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "No tasks given"));
+        }
+        return change(continuousPlanner.addTasks(tasks));
+    }
+
+    @PostMapping("/continuous/satellites")
+    public ResponseEntity<Map<String, Object>> deploySatellite(@RequestBody SatelliteResource satellite) {
+        if (satellite.getSatelliteId() == null) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Missing: satelliteId"));
+        }
+        return change(continuousPlanner.deploySatellite(satellite));
+    }
+
+    @DeleteMapping("/continuous/satellites/{satelliteId}")
+    public ResponseEntity<Map<String, Object>> decommissionSatellite(@PathVariable String satelliteId) {
+        return change(continuousPlanner.decommissionSatellite(satelliteId));
+    }
+
+    @PutMapping("/continuous/satellites/{satelliteId}/power")
+    public ResponseEntity<Map<String, Object>> changePower(@PathVariable String satelliteId, @RequestParam int maxPower) {
+        return change(continuousPlanner.changePower(satelliteId, maxPower));
+    }
+
+    /** Changes are queued on the solver; the new schedule follows on the event stream. */
+    private ResponseEntity<Map<String, Object>> change(CompletableFuture<Void> applied) {
+        if (applied.isCompletedExceptionally()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", "No continuous plan is running"));
+        }
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(Map.of("success", true, "queued", true));
+    }
+
+    /**
+     * Passes of the requested satellites that are deployed with TLE data over every deployed
+     * ground station, for today (UTC) up to the last time slot. Those satellites are marked so
+     * the solver checks ground contact for them.
+     */
+    private List<AccessWindow> accessWindows(PlanningRequest request) {
+        Map<String, Satellite> fleet = missionControlService.getActiveSatellites();
+        List<Satellite> tracked = new ArrayList<>();
+        for (SatelliteResource resource : request.getSatellites()) {
+            Satellite satellite = fleet.get(resource.getSatelliteId());
+            if (satellite != null && satellite.getTleLine1() != null) {
+                tracked.add(satellite);
+                resource.setGroundContactModelled(true);
+            }
+        }
+        int horizonHours = request.getTimeSlots().stream().mapToInt(TimeSlot::getEndHour).max().orElse(24);
+        AbsoluteDate dayStart = new AbsoluteDate(Date.from(Instant.now().truncatedTo(ChronoUnit.DAYS)),
+                TimeScalesFactory.getUTC());
+        return new ArrayList<>(accessWindowService.compute(tracked,
+                missionControlService.getActiveGroundStations().values(), dayStart, horizonHours));
+    }
+
+    /** Forwards a job's updates to an SSE stream until the job finishes or the client leaves. */
+    private static SseEmitter stream(PlanningJob job) {
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT_MS);
+        Consumer<PlanningJob.Update> listener = update -> {
+            try {
+                emitter.send(SseEmitter.event()
+                        .name(update.finished() ? "finished" : "best-solution")
+                        .data(update));
+                if (update.finished()) emitter.complete();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+        emitter.onCompletion(() -> job.unsubscribe(listener));
+        emitter.onTimeout(() -> job.unsubscribe(listener));
+        emitter.onError(e -> job.unsubscribe(listener));
+        job.subscribe(listener);
+        return emitter;
+    }
+
+    private static List<Map<String, Object>> assignments(List<MissionTask> tasks) {
+        return tasks.stream().map(task -> {
+            Map<String, Object> assignment = new LinkedHashMap<>();
+            assignment.put("taskId", task.getTaskId());
+            assignment.put("satelliteId", task.getAssignedSatellite() != null ? task.getAssignedSatellite().getSatelliteId() : null);
+            assignment.put("timeSlot", task.getAssignedTimeSlot() != null ? task.getAssignedTimeSlot().toString() : null);
+            return assignment;
+        }).toList();
+    }
+}
@@ -0,0 +1,87 @@
+package com.dsl.simulator.controller;
+
+import com.dsl.simulator.Streaming.TelemetryDispatcher;
+import com.dsl.simulator.Streaming.TelemetryRecorder;
+import com.dsl.simulator.Streaming.TelemetryReplayService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Instant;
+import java.util.Map;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/telemetry")
+@CrossOrigin(origins = "*")
+@RequiredArgsConstructor
+public class TelemetryCaptureController {
+
+    private final TelemetryRecorder recorder;
+    private final TelemetryReplayService replayService;
+    private final TelemetryDispatcher dispatcher;
+
+    @PostMapping("/capture/start")
+    public ResponseEntity<Map<String, Object>> startCapture(@RequestParam String name) {
+        try {
+            return ResponseEntity.ok(Map.of("success", true, "capture", recorder.start(name)));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @PostMapping("/capture/stop")
+    public ResponseEntity<Map<String, Object>> stopCapture() {
+        String name = recorder.getActiveCapture();
+        long frames = recorder.stop();
+        return ResponseEntity.ok(Map.of("success", true, "capture", String.valueOf(name), "frames", frames));
+    }
+
+    @GetMapping("/captures")
+    public ResponseEntity<Map<String, Object>> listCaptures() {
+        try {
+            return ResponseEntity.ok(Map.of(
+                    "captures", recorder.listCaptures(),
+                    "recording", String.valueOf(recorder.getActiveCapture())
+            ));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * speed: 1 = real time, N = N× faster, 0 = as fast as possible.
+     */
+    @PostMapping("/replay")
+    public ResponseEntity<Map<String, Object>> startReplay(@RequestParam String name,
+                                                           @RequestParam(defaultValue = "1") double speed,
+                                                           @RequestParam(required = false) Instant from) {
+        try {
+            long jobId = replayService.startReplay(name, speed, from);
+            return ResponseEntity.ok(Map.of("success", true, "jobId", jobId));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/replay/{jobId}")
+    public ResponseEntity<Map<String, Object>> replayStatus(@PathVariable long jobId) {
+        try {
+            return ResponseEntity.ok(replayService.getStatus(jobId));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @PostMapping("/replay/{jobId}/cancel")
+    public ResponseEntity<Map<String, Object>> cancelReplay(@PathVariable long jobId) {
+        replayService.cancel(jobId);
+        return ResponseEntity.ok(Map.of("success", true));
+    }
+
+    @GetMapping("/stages")
+    public ResponseEntity<Map<String, Object>> stageStats() {
+        return ResponseEntity.ok(dispatcher.getStageStats());
+    }
+}
@@ -0,0 +1,50 @@
+-- Schema as previously generated by Hibernate (ddl-auto=update) from the JPA entities.
+-- Written in MySQL syntax; H2 runs it in MODE=MySQL for the embedded profile.
+
+CREATE TABLE satellites (
+    id           BIGINT       NOT NULL AUTO_INCREMENT,
+    satellite_id VARCHAR(255) NOT NULL,
+    name         VARCHAR(255) NOT NULL,
+    norad_id     INT          NOT NULL,
+    tle_line1    TEXT,
+    tle_line2    TEXT,
+    latitude     DOUBLE,
+    longitude    DOUBLE,
+    altitude     DOUBLE,
+    status       VARCHAR(50),
+    deployed_at  DATETIME(6),
+    updated_at   DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_satellites_satellite_id UNIQUE (satellite_id)
+);
+
+CREATE TABLE ground_stations (
+    id          BIGINT       NOT NULL AUTO_INCREMENT,
+    station_id  VARCHAR(255) NOT NULL,
+    name        VARCHAR(255) NOT NULL,
+    latitude    DOUBLE       NOT NULL,
+    longitude   DOUBLE       NOT NULL,
+    elevation   DOUBLE,
+    status      VARCHAR(50),
+    deployed_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_ground_stations_station_id UNIQUE (station_id)
+);
+
+CREATE TABLE command_history (
+    id          BIGINT      NOT NULL AUTO_INCREMENT,
+    command     TEXT        NOT NULL,
+    result      TEXT,
+    status      VARCHAR(50),
+    executed_at DATETIME(6),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE messages (
+    id           BIGINT      NOT NULL AUTO_INCREMENT,
+    from_entity  VARCHAR(50) NOT NULL,
+    to_entity    VARCHAR(50) NOT NULL,
+    message_text TEXT        NOT NULL,
+    sent_at      DATETIME(6),
+    PRIMARY KEY (id)
+);
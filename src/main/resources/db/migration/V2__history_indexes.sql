@@ -0,0 +1,10 @@
+-- Keyset pagination over message and command history, newest first on (time, id).
+-- Each history query is a bounded range scan of one of these indexes instead of a
+-- filesort of the whole table; the retention job deletes along the same indexes.
+
+CREATE INDEX idx_messages_from_sent ON messages (from_entity, sent_at, id);
+CREATE INDEX idx_messages_to_sent ON messages (to_entity, sent_at, id);
+CREATE INDEX idx_messages_conversation ON messages (from_entity, to_entity, sent_at, id);
+CREATE INDEX idx_messages_sent ON messages (sent_at, id);
+
+CREATE INDEX idx_command_history_executed ON command_history (executed_at, id);
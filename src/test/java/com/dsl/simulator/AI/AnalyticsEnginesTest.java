@@ -0,0 +1,157 @@
+package com.dsl.simulator.AI;
+
+import com.dsl.simulator.Events.SatelliteLifecycleEvent;
+import com.dsl.simulator.Product.Satellite;
+import com.dsl.simulator.Service.MissionControlService;
+import com.dsl.simulator.Streaming.ReplayContext;
+import com.dsl.simulator.Streaming.TelemetryData;
+import com.dsl.simulator.Streaming.TelemetryHistory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.orekit.data.DataContext;
+import org.orekit.data.DataProvidersManager;
+import org.orekit.data.DirectoryCrawler;
+import org.orekit.propagation.analytical.KeplerianPropagator;
+import org.orekit.propagation.analytical.tle.TLE;
+import org.orekit.propagation.analytical.tle.TLEPropagator;
+
+import java.io.File;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AnalyticsEnginesTest {
+
+    private static final Instant START = Instant.parse("2026-03-01T00:00:00Z");
+    private static final String ISS_LINE_1 = "1 25544U 98067A   24001.50000000  .00016717  00000-0  30074-3 0  9991";
+    private static final String ISS_LINE_2 = "2 25544  51.6416 247.4627 0006703 130.5360 325.0288 15.72125391563537";
+
+    private TelemetryHistory history;
+    private MissionControlService missionControl;
+
+    @BeforeAll
+    static void loadOrekitData() {
+        DataProvidersManager manager = DataContext.getDefault().getDataProvidersManager();
+        if (manager.getProviders().isEmpty()) {
+            manager.addProvider(new DirectoryCrawler(new File("src/main/resources/orekit-data-main")));
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        history = new TelemetryHistory(2048);
+        missionControl = mock(MissionControlService.class);
+    }
+
+    @Test
+    void drainingBatteryPredictsFailureReproducibly() {
+        // Battery loses 2% per day, sampled every 10 minutes for 5 days
+        Random random = new Random(3);
+        for (int i = 0; i < 720; i++) {
+            double days = i / 144.0;
+            history.accept(frame("SAT-1", START.plusSeconds(i * 600L), 80 - 2 * days + random.nextGaussian() * 0.2, 20));
+        }
+
+        PredictiveAnalyticsService predictive = new PredictiveAnalyticsService(history, missionControl);
+        HealthPrediction first = predictive.predictSatelliteHealth("SAT-1");
+        HealthPrediction second = predictive.predictSatelliteHealth("SAT-1");
+        assertEquals(first, second);
+
+        PredictedFailure battery = first.getPredictedFailures().stream()
+                .filter(f -> f.getComponent().equals("Battery"))
+                .findFirst().orElseThrow();
+        // ~70% now, reaches 20% about 25 days out
+        assertEquals(25, battery.getDaysUntilFailure(), 2);
+        assertTrue(battery.getConfidence() > 0.9);
+
+        Map<String, HealthPrediction> fleet = predictive.predictFleetHealth(List.of("SAT-1", "SAT-UNKNOWN"));
+        assertEquals(first, fleet.get("SAT-1"));
+        HealthPrediction unknown = fleet.get("SAT-UNKNOWN");
+        assertEquals(0.5, unknown.getPredictionConfidence());
+        assertTrue(unknown.getOverallHealth() > 0.9, "nominal baseline without telemetry");
+        assertTrue(unknown.getPredictedFailures().isEmpty());
+    }
+
+    @Test
+    void historyKeepsReplaysApartAndForgetsDecommissionedSatellites() {
+        ReplayContext replay = new ReplayContext("capture");
+        history.replay(frame("SAT-3", START, 85, 20), replay);
+        assertTrue(history.series("SAT-3").isEmpty());
+        assertTrue(replay.scoped(history, () -> (TelemetryHistory) null).series("SAT-3").isPresent());
+
+        history.accept(frame("SAT-3", START, 85, 20));
+        assertTrue(history.series("SAT-3").isPresent());
+
+        history.onSatelliteLifecycle(SatelliteLifecycleEvent.builder()
+                .satelliteId("SAT-3")
+                .type(SatelliteLifecycleEvent.LifecycleType.DECOMMISSIONED)
+                .build());
+        assertTrue(history.series("SAT-3").isEmpty());
+        assertFalse(history.satellites().contains("SAT-3"));
+
+        PatternRecognitionService patterns = new PatternRecognitionService(history, missionControl);
+        assertEquals(3, patterns.predictOptimalWindows("SAT-3").getOptimalWindows().size());
+        assertEquals(0.5, patterns.analyzePatterns("SAT-3").getAnalysisConfidence());
+    }
+
+    @Test
+    void temperatureSpikeIsDetectedAgainstOwnBaseline() {
+        Random random = new Random(4);
+        for (int i = 0; i < 200; i++) {
+            history.accept(frame("SAT-2", START.plusSeconds(i * 60L), 85 + random.nextGaussian(), 20 + random.nextGaussian()));
+        }
+        AnomalyDetectionService anomalies = new AnomalyDetectionService(history, missionControl);
+        assertTrue(anomalies.detectAnomalies("SAT-2").isEmpty());
+
+        history.accept(frame("SAT-2", START.plusSeconds(200 * 60L), 85, 45));
+        List<Anomaly> detected = anomalies.detectAnomalies("SAT-2");
+        assertEquals(1, detected.size());
+        assertEquals("THERMAL_ANOMALY", detected.get(0).getType());
+        assertEquals("CRITICAL", detected.get(0).getSeverity());
+        assertTrue(anomalies.detectRealTimeAnomalies("SAT-2").isEmpty());
+
+        history.accept(frame("SAT-2", START.plusSeconds(201 * 60L), 10, 20));
+        assertEquals("CRITICAL_POWER_FAILURE", anomalies.detectRealTimeAnomalies("SAT-2").get(0).getType());
+    }
+
+    @Test
+    void decayFallsBackToTheAtmosphereModelWhenThePropagatorHasNoDrag() {
+        TLE tle = new TLE(ISS_LINE_1, ISS_LINE_2);
+        TLEPropagator sgp4 = TLEPropagator.selectExtrapolator(tle);
+        Satellite withDrag = new Satellite("ISS", sgp4, tle.getDate());
+        // What a maneuver leaves behind: the same orbit, now drag-free
+        Satellite keplerian = new Satellite("ISS_BURNED",
+                new KeplerianPropagator(sgp4.getInitialState().getOrbit()), tle.getDate());
+        when(missionControl.getActiveSatellites()).thenReturn(Map.of("ISS", withDrag, "ISS_BURNED", keplerian));
+
+        PredictiveAnalyticsService predictive = new PredictiveAnalyticsService(history, missionControl);
+
+        OrbitalDecayPrediction burned = predictive.predictOrbitalDecay("ISS_BURNED", 420);
+        assertEquals(PredictiveAnalyticsService.atmosphericDecayKmPerMonth(420), burned.getDecayRate(), 1e-12);
+        assertEquals(0.6, burned.getPredictionAccuracy());
+        assertTrue(burned.getDaysUntilReboost() < Integer.MAX_VALUE);
+
+        OrbitalDecayPrediction propagated = predictive.predictOrbitalDecay("ISS", 420);
+        assertEquals(0.9, propagated.getPredictionAccuracy());
+        assertTrue(propagated.getDecayRate() > 0);
+    }
+
+    private static TelemetryData frame(String satelliteId, Instant timestamp, double battery, double temperature) {
+        return TelemetryData.builder()
+                .satelliteId(satelliteId)
+                .timestamp(timestamp)
+                .batteryLevel(battery)
+                .temperature(temperature)
+                .powerGeneration(250)
+                .fuelLevel(60)
+                .signalStrength(-75)
+                .dataRate(100)
+                .build();
+    }
+}
@@ -0,0 +1,60 @@
+package com.dsl.simulator.AI;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeSeriesMathTest {
+
+    @Test
+    void trendSurvivesEpochSecondTimestamps() {
+        int n = 1000;
+        double[] t = new double[n];
+        double[] y = new double[n];
+        for (int i = 0; i < n; i++) {
+            t[i] = 1.8e9 + i * 60;
+            y[i] = 90 - 0.001 * (t[i] - 1.8e9);
+        }
+
+        TimeSeriesMath.Trend trend = TimeSeriesMath.linearTrend(t, y);
+        assertEquals(-0.001, trend.slope(), 1e-9);
+        assertEquals(1.0, trend.r2(), 1e-9);
+
+        // 90 - 0.001·s reaches 20 at s = 70 000
+        assertEquals(70_000 - (t[n - 1] - 1.8e9), TimeSeriesMath.secondsUntil(trend, t[n - 1], 20), 1e-3);
+        assertEquals(Double.POSITIVE_INFINITY, TimeSeriesMath.secondsUntil(trend, t[n - 1], 95));
+    }
+
+    @Test
+    void seasonalProfileRecoversOrbitalCycle() {
+        Random random = new Random(9);
+        double period = 5400;
+        int n = 2000;
+        double[] t = new double[n];
+        double[] y = new double[n];
+        for (int i = 0; i < n; i++) {
+            t[i] = i * 30.0;
+            double phase = (t[i] % period) / period;
+            y[i] = 200 + 0.0001 * t[i] + (phase < 0.6 ? 100 : -100) + random.nextGaussian() * 5;
+        }
+
+        TimeSeriesMath.Trend trend = TimeSeriesMath.linearTrend(t, y);
+        TimeSeriesMath.Seasonal seasonal = TimeSeriesMath.decompose(t, y, trend, period, 10);
+
+        assertTrue(seasonal.strength() > 0.95, "strength " + seasonal.strength());
+        assertEquals(100, seasonal.amplitude(), 10);
+        assertTrue(seasonal.peakBin() < 6);
+        assertEquals(5, seasonal.residualStd(), 1);
+    }
+
+    @Test
+    void robustStatisticsIgnoreOutliers() {
+        double[] values = {10, 11, 9, 10, 10, 11, 9, 10, 1000};
+        double median = TimeSeriesMath.median(values);
+        assertEquals(10, median);
+        assertEquals(1.4826, TimeSeriesMath.robustStd(values, median), 1e-9);
+        assertEquals(0.9973, TimeSeriesMath.confidence(3), 1e-4);
+    }
+}
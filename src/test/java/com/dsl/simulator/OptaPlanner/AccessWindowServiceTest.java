@@ -0,0 +1,73 @@
+package com.dsl.simulator.OptaPlanner;
+
+import com.dsl.simulator.Product.GroundStation;
+import com.dsl.simulator.Product.Satellite;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.orekit.data.DataContext;
+import org.orekit.data.DataProvidersManager;
+import org.orekit.data.DirectoryCrawler;
+import org.orekit.propagation.analytical.tle.TLE;
+
+import java.io.File;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccessWindowServiceTest {
+
+    private static final String ISS_LINE_1 = "1 25544U 98067A   08264.51782528 -.00002182  00000-0 -11606-4 0  2927";
+    private static final String ISS_LINE_2 = "2 25544  51.6416 247.4627 0006703 130.5360 325.0288 15.72125391563537";
+
+    private final AccessWindowService service = new AccessWindowService(2);
+
+    @BeforeAll
+    static void loadOrekitData() {
+        DataProvidersManager manager = DataContext.getDefault().getDataProvidersManager();
+        if (manager.getProviders().isEmpty()) {
+            manager.addProvider(new DirectoryCrawler(new File("src/main/resources/orekit-data-main")));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void computesPassesPerSatelliteInParallelAndSkipsSatellitesWithoutTle() {
+        TLE tle = new TLE(ISS_LINE_1, ISS_LINE_2);
+        List<GroundStation> stations = List.of(
+                new GroundStation("GS_PUNE", 18.52, 73.86),
+                new GroundStation("GS_SVALBARD", 78.23, 15.39));
+
+        List<AccessWindow> windows = service.compute(
+                List.of(satellite("ISS_A"), satellite("ISS_B"), new Satellite("NO_TLE", 0, 0)),
+                stations, tle.getDate(), 24);
+
+        List<AccessWindow> a = windows.stream().filter(w -> w.getSatelliteId().equals("ISS_A")).toList();
+        List<AccessWindow> b = windows.stream().filter(w -> w.getSatelliteId().equals("ISS_B")).toList();
+        assertFalse(a.isEmpty());
+        assertEquals(a.size() * 2, windows.size(), "same orbit, same passes; the TLE-less satellite has none");
+        for (int i = 0; i < a.size(); i++) {
+            assertEquals(a.get(i).getStartMinute(), b.get(i).getStartMinute());
+            assertEquals(a.get(i).getEndMinute(), b.get(i).getEndMinute());
+        }
+        for (AccessWindow window : windows) {
+            assertTrue(window.getStartMinute() >= 0 && window.getEndMinute() <= 24 * 60, window.toString());
+            // A low-orbit pass above 10 degrees lasts minutes, not hours
+            assertTrue(window.getEndMinute() - window.getStartMinute() <= 15, window.toString());
+        }
+        // The ISS (51.6 deg inclination) never rises 10 degrees above Svalbard
+        assertTrue(windows.stream().allMatch(w -> w.getStationId().equals("GS_PUNE")));
+    }
+
+    private static Satellite satellite(String id) {
+        Satellite satellite = new Satellite();
+        satellite.setId(id);
+        satellite.setTleLine1(ISS_LINE_1);
+        satellite.setTleLine2(ISS_LINE_2);
+        return satellite;
+    }
+}
@@ -0,0 +1,107 @@
+package com.dsl.simulator.OptaPlanner;
+
+import com.dsl.simulator.Events.SatelliteLifecycleEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContinuousPlannerTest {
+
+    private OptaPlannerMissionService planningService;
+    private ContinuousPlanner planner;
+
+    @BeforeEach
+    void setUp() {
+        planningService = new OptaPlannerMissionService(30, 1, 8, 10, PlanningProfile.BALANCED, "NONE");
+        planner = new ContinuousPlanner(planningService, PlanningProfile.BALANCED, 1000, 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        planner.stop();
+        planner.shutdown();
+        planningService.shutdown();
+    }
+
+    @Test
+    void replansFromCurrentScheduleAfterFleetAndTaskChanges() throws Exception {
+        PlanningJob plan = planner.start(tasks("T", 4), satellites("SAT_1", "SAT_2"), slots());
+        awaitFeasible(plan, 4);
+
+        // Losing a satellite: its tasks move to the remaining fleet
+        planner.decommissionSatellite("SAT_1").get(10, TimeUnit.SECONDS);
+        awaitFeasible(plan, 4);
+        assertTrue(plan.getBestSolution().getTaskList().stream()
+                .noneMatch(task -> "SAT_1".equals(task.getAssignedSatellite().getSatelliteId())));
+        assertFalse(plan.isDone(), "daemon keeps running between changes");
+
+        // Deployed through the DSL: the lifecycle event adds it to the running plan
+        planner.onSatelliteLifecycle(SatelliteLifecycleEvent.builder()
+                .satelliteId("SAT_3").type(SatelliteLifecycleEvent.LifecycleType.DEPLOYED).build());
+        planner.addTasks(tasks("NEW", 2)).get(10, TimeUnit.SECONDS);
+        awaitFeasible(plan, 6);
+        assertEquals(6, plan.toMap().get("totalTasks"), "added tasks count towards the total");
+
+        // No power left on SAT_2: everything ends up on SAT_3
+        planner.changePower("SAT_2", 0).get(10, TimeUnit.SECONDS);
+        awaitFeasible(plan, 6);
+        assertTrue(plan.getBestSolution().getTaskList().stream()
+                .allMatch(task -> "SAT_3".equals(task.getAssignedSatellite().getSatelliteId())));
+
+        assertEquals(4L, planner.getStats().get("changesApplied"));
+        assertTrue((long) planner.getStats().get("lastReplanMillis") >= 0);
+    }
+
+    @Test
+    void changesWithoutRunningPlanFail() {
+        assertTrue(planner.addTasks(tasks("T", 1)).isCompletedExceptionally());
+    }
+
+    private static void awaitFeasible(PlanningJob plan, int tasks) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 20_000;
+        while (System.currentTimeMillis() < deadline) {
+            PlanningJob.Update update = plan.getLastUpdate();
+            if (update.feasible() && update.totalTasks() == tasks && update.assignedTasks() == tasks) {
+                return;
+            }
+            Thread.sleep(20);
+        }
+        fail("Plan did not become feasible: " + plan.getLastUpdate());
+    }
+
+    private static List<MissionTask> tasks(String prefix, int count) {
+        List<MissionTask> tasks = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            tasks.add(MissionTask.builder()
+                    .taskId(prefix + "_" + i)
+                    .taskType("EARTH_OBSERVATION")
+                    .durationMinutes(60)
+                    .requiredPower(300)
+                    .requiredFuel(10)
+                    .build());
+        }
+        return tasks;
+    }
+
+    private static List<SatelliteResource> satellites(String... ids) {
+        List<SatelliteResource> satellites = new ArrayList<>();
+        for (String id : ids) {
+            satellites.add(SatelliteResource.builder().satelliteId(id).name(id).maxPower(1000).maxFuel(100).operational(true).build());
+        }
+        return satellites;
+    }
+
+    private static List<TimeSlot> slots() {
+        List<TimeSlot> slots = new ArrayList<>();
+        for (int hour = 0; hour < 24; hour += 2) {
+            slots.add(TimeSlot.builder().startHour(hour).endHour(hour + 2).build());
+        }
+        return slots;
+    }
+}
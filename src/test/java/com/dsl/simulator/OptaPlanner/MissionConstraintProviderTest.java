@@ -0,0 +1,90 @@
+package com.dsl.simulator.OptaPlanner;
+
+import org.junit.jupiter.api.Test;
+import org.optaplanner.test.api.score.stream.ConstraintVerifier;
+
+class MissionConstraintProviderTest {
+
+    private static final SatelliteResource SAT_1 = SatelliteResource.builder()
+            .satelliteId("SAT_1").name("Sat 1").maxPower(500).maxFuel(50).operational(true).build();
+    private static final SatelliteResource SAT_2 = SatelliteResource.builder()
+            .satelliteId("SAT_2").name("Sat 2").maxPower(500).maxFuel(50).operational(true).build();
+    private static final TimeSlot MORNING = TimeSlot.builder().startHour(8).endHour(10).build();
+    private static final TimeSlot LATE_MORNING = TimeSlot.builder().startHour(10).endHour(12).build();
+    private static final TimeSlot AFTERNOON = TimeSlot.builder().startHour(14).endHour(16).build();
+
+    private final ConstraintVerifier<MissionConstraintProvider, MissionPlanningProblem> verifier =
+            ConstraintVerifier.build(new MissionConstraintProvider(), MissionPlanningProblem.class, MissionTask.class);
+
+    @Test
+    void sameSlotPairIsPenalizedOnceByOverlap() {
+        verifier.verifyThat(MissionConstraintProvider::satelliteDoubleBooking)
+                .given(task("A", SAT_1, MORNING, 60), task("B", SAT_1, MORNING, 90))
+                .penalizesBy(60);
+    }
+
+    @Test
+    void taskRunningPastItsSlotCollidesWithTheNextSlot() {
+        verifier.verifyThat(MissionConstraintProvider::satelliteDoubleBooking)
+                .given(task("LONG", SAT_1, MORNING, 150), task("NEXT", SAT_1, LATE_MORNING, 60),
+                        task("LATER", SAT_1, AFTERNOON, 60))
+                .penalizesBy(30);
+    }
+
+    @Test
+    void differentSatellitesOrDisjointWindowsDoNotConflict() {
+        verifier.verifyThat(MissionConstraintProvider::satelliteDoubleBooking)
+                .given(task("A", SAT_1, MORNING, 60), task("B", SAT_2, MORNING, 60),
+                        task("C", SAT_1, AFTERNOON, 60), task("UNASSIGNED", null, null, 60))
+                .penalizesBy(0);
+    }
+
+    @Test
+    void powerAndFuelArePenalizedByExcessPerSatelliteAndSlot() {
+        MissionTask a = task("A", SAT_1, MORNING, 30);
+        a.setRequiredPower(400);
+        a.setRequiredFuel(30);
+        MissionTask b = task("B", SAT_1, MORNING, 30);
+        b.setRequiredPower(300);
+        b.setRequiredFuel(30);
+        MissionTask c = task("C", SAT_1, AFTERNOON, 30);
+        c.setRequiredPower(450);
+
+        verifier.verifyThat(MissionConstraintProvider::powerOveruse).given(a, b, c).penalizesBy(200);
+        verifier.verifyThat(MissionConstraintProvider::fuelOveruse).given(a, b, c).penalizesBy(10);
+    }
+
+    @Test
+    void relayTasksNeedAnOverlappingPassOfTheirOwnSatellite() {
+        SatelliteResource tracked = SatelliteResource.builder()
+                .satelliteId("TRACKED").name("Tracked").maxPower(500).maxFuel(50).operational(true)
+                .groundContactModelled(true).build();
+        AccessWindow morningPass = AccessWindow.builder()
+                .satelliteId("TRACKED").stationId("GS").startMinute(8 * 60 + 20).endMinute(8 * 60 + 30).build();
+        AccessWindow otherSatellitePass = AccessWindow.builder()
+                .satelliteId("SAT_1").stationId("GS").startMinute(14 * 60).endMinute(14 * 60 + 10).build();
+
+        MissionTask inPass = task("IN_PASS", tracked, MORNING, 60);
+        inPass.setTaskType("DATA_RELAY");
+        MissionTask noPass = task("NO_PASS", tracked, AFTERNOON, 45);
+        noPass.setTaskType("COMMUNICATION");
+        MissionTask observation = task("OBSERVATION", tracked, AFTERNOON, 30);
+        // Satellites without computed windows are not checked
+        MissionTask untracked = task("UNTRACKED", SAT_1, AFTERNOON, 30);
+        untracked.setTaskType("DATA_RELAY");
+
+        verifier.verifyThat(MissionConstraintProvider::groundContactOutsideAccessWindow)
+                .given(inPass, noPass, observation, untracked, morningPass, otherSatellitePass)
+                .penalizesBy(45);
+    }
+
+    private static MissionTask task(String id, SatelliteResource satellite, TimeSlot slot, int minutes) {
+        return MissionTask.builder()
+                .taskId(id)
+                .taskType("EARTH_OBSERVATION")
+                .durationMinutes(minutes)
+                .assignedSatellite(satellite)
+                .assignedTimeSlot(slot)
+                .build();
+    }
+}
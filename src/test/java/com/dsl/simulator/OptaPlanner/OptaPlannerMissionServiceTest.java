@@ -0,0 +1,129 @@
+package com.dsl.simulator.OptaPlanner;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.optaplanner.core.config.localsearch.LocalSearchPhaseConfig;
+import org.optaplanner.core.config.localsearch.LocalSearchType;
+import org.optaplanner.core.config.solver.SolverConfig;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OptaPlannerMissionServiceTest {
+
+    private OptaPlannerMissionService service;
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) service.shutdown();
+    }
+
+    @Test
+    void concurrentJobsSolveOnSharedFactoryAndStreamImprovements() throws Exception {
+        service = new OptaPlannerMissionService(2, 2, 8, 10, PlanningProfile.BALANCED, "NONE");
+
+        List<PlanningJob> jobs = new ArrayList<>();
+        List<List<PlanningJob.Update>> streams = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            PlanningJob job = service.submit(tasks(4), satellites(), slots());
+            List<PlanningJob.Update> updates = new CopyOnWriteArrayList<>();
+            job.subscribe(updates::add);
+            jobs.add(job);
+            streams.add(updates);
+        }
+
+        for (int i = 0; i < jobs.size(); i++) {
+            MissionPlanningProblem solution = jobs.get(i).getResult().get(30, TimeUnit.SECONDS);
+            assertTrue(solution.getScore().isFeasible(), "job " + i + " score " + solution.getScore());
+            assertEquals(4, jobs.get(i).getLastUpdate().assignedTasks());
+
+            List<PlanningJob.Update> updates = streams.get(i);
+            assertTrue(updates.get(updates.size() - 1).finished(), "last event closes the stream");
+            assertEquals(1, updates.stream().filter(PlanningJob.Update::finished).count());
+        }
+        assertEquals(3, jobs.stream().map(PlanningJob::getJobId).distinct().count());
+    }
+
+    @Test
+    void rejectsSubmissionsBeyondPendingLimitAndReplaysFinalStateToLateSubscribers() throws Exception {
+        service = new OptaPlannerMissionService(2, 1, 1, 10, PlanningProfile.BALANCED, "NONE");
+
+        PlanningJob first = service.submit(tasks(4), satellites(), slots());
+        assertThrows(RejectedExecutionException.class, () -> service.submit(tasks(4), satellites(), slots()));
+
+        first.getResult().get(30, TimeUnit.SECONDS);
+        List<PlanningJob.Update> late = new ArrayList<>();
+        first.subscribe(late::add);
+        assertEquals(1, late.size());
+        assertTrue(late.get(0).finished());
+
+        // Slot freed once the first job finished
+        assertNotNull(service.submit(tasks(2), satellites(), slots()));
+    }
+
+    @Test
+    void profilesSelectPhasesTerminationAndMoveThreads() throws Exception {
+        service = new OptaPlannerMissionService(30, 1, 8, 10, PlanningProfile.FAST, "2");
+
+        SolverConfig fast = service.solverConfig(PlanningProfile.FAST);
+        assertEquals(1, fast.getPhaseConfigList().size());
+        assertNull(fast.getTerminationConfig().getUnimprovedSpentLimit());
+        assertNull(fast.getMoveThreadCount());
+
+        SolverConfig balanced = service.solverConfig(PlanningProfile.BALANCED);
+        assertEquals(LocalSearchType.LATE_ACCEPTANCE,
+                ((LocalSearchPhaseConfig) balanced.getPhaseConfigList().get(1)).getLocalSearchType());
+        assertEquals(Duration.ofSeconds(2), balanced.getTerminationConfig().getUnimprovedSpentLimit());
+        assertEquals(Duration.ofSeconds(30), balanced.getTerminationConfig().getSpentLimit());
+        assertEquals("0hard/0soft", balanced.getTerminationConfig().getBestScoreLimit());
+
+        SolverConfig thorough = service.solverConfig(PlanningProfile.THOROUGH);
+        assertEquals(LocalSearchType.TABU_SEARCH,
+                ((LocalSearchPhaseConfig) thorough.getPhaseConfigList().get(1)).getLocalSearchType());
+        assertEquals("2", thorough.getMoveThreadCount());
+        assertEquals(Duration.ofSeconds(10), thorough.getTerminationConfig().getUnimprovedSpentLimit());
+        // With the shipped 3s spent limit the 10s stall limit could never fire and is dropped
+        assertFalse(PlanningProfile.THOROUGH.keepsUnimprovedLimit(Duration.ofSeconds(3)));
+        assertNull(PlanningProfile.THOROUGH.configure(new SolverConfig(), Duration.ofSeconds(3), "2")
+                .getTerminationConfig().getUnimprovedSpentLimit());
+
+        // Each profile gets its own solver pool; the job remembers which one it ran on
+        PlanningJob job = service.submit(PlanningProfile.THOROUGH, tasks(4), satellites(), slots());
+        assertTrue(job.getResult().get(30, TimeUnit.SECONDS).getScore().isFeasible());
+        assertEquals("THOROUGH", job.toMap().get("profile"));
+        assertEquals(PlanningProfile.FAST, service.submit(tasks(2), satellites(), slots()).getProfile());
+        assertEquals(List.of("FAST", "THOROUGH"), service.getStats().get("activeProfiles"));
+    }
+
+    private static List<MissionTask> tasks(int count) {
+        List<MissionTask> tasks = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            tasks.add(MissionTask.builder()
+                    .taskId("TASK_" + i)
+                    .taskType("EARTH_OBSERVATION")
+                    .durationMinutes(60)
+                    .requiredPower(300)
+                    .requiredFuel(10)
+                    .build());
+        }
+        return tasks;
+    }
+
+    private static List<SatelliteResource> satellites() {
+        return List.of(
+                SatelliteResource.builder().satelliteId("SAT_1").name("Sat 1").maxPower(500).maxFuel(100).operational(true).build(),
+                SatelliteResource.builder().satelliteId("SAT_2").name("Sat 2").maxPower(500).maxFuel(100).operational(true).build());
+    }
+
+    private static List<TimeSlot> slots() {
+        return List.of(
+                TimeSlot.builder().startHour(8).endHour(10).build(),
+                TimeSlot.builder().startHour(14).endHour(16).build());
+    }
+}
@@ -0,0 +1,160 @@
+package com.dsl.simulator.Persistence;
+
+import com.dsl.simulator.Events.SatelliteLifecycleEvent;
+import com.dsl.simulator.Events.SatelliteStateEvent;
+import com.dsl.simulator.Product.Satellite;
+import com.dsl.simulator.Repository.SatelliteRepository;
+import com.dsl.simulator.Repository.SatelliteSummary;
+import com.dsl.simulator.Service.MissionControlService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class FleetReadModelTest {
+
+    private SatelliteRepository repository;
+    private MissionControlService missionControl;
+    private FleetReadModel readModel;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(SatelliteRepository.class);
+        missionControl = mock(MissionControlService.class);
+        readModel = new FleetReadModel(repository, missionControl, 0);
+    }
+
+    @Test
+    void servesStoredFleetFromOneProjectionQuery() {
+        SatelliteSummary stored = mock(SatelliteSummary.class);
+        when(stored.getSatelliteId()).thenReturn("SAT_1");
+        when(stored.getName()).thenReturn("Sat one");
+        when(stored.getStatus()).thenReturn("OPERATIONAL");
+        when(repository.findAllProjectedBy()).thenReturn(List.of(stored));
+
+        readModel.load();
+        FleetReadModel.Snapshot first = readModel.snapshot();
+        FleetReadModel.Snapshot second = readModel.snapshot();
+
+        assertEquals(1, first.satellites().size());
+        assertEquals("SAT_1", first.satellites().get(0).get("id"));
+        assertSame(first, second, "unchanged fleet reuses the snapshot");
+        assertEquals(first.etag(), second.etag());
+        verify(repository, times(1)).findAllProjectedBy();
+        verifyNoMoreInteractions(repository);
+    }
+
+    @Test
+    void domainEventsBumpVersionAndDeltaReturnsOnlyChangedSatellites() {
+        deploy("SAT_1");
+        deploy("SAT_2");
+        String afterDeploy = readModel.snapshot().token();
+        String etag = readModel.snapshot().etag();
+
+        readModel.onSatelliteState(SatelliteStateEvent.builder()
+                .satelliteId("SAT_2").type(SatelliteStateEvent.StateType.POSITION)
+                .latitude(10.0).longitude(20.0).altitude(400.0).build());
+
+        FleetReadModel.Snapshot moved = readModel.snapshot();
+        assertNotEquals(etag, moved.etag());
+
+        FleetReadModel.Delta delta = readModel.changesSince(afterDeploy);
+        assertFalse(delta.reset());
+        assertEquals(moved.token(), delta.version());
+        assertEquals(1, delta.satellites().size());
+        assertEquals(10.0, delta.satellites().get(0).get("latitude"));
+
+        readModel.onSatelliteLifecycle(SatelliteLifecycleEvent.builder()
+                .satelliteId("SAT_1").type(SatelliteLifecycleEvent.LifecycleType.DECOMMISSIONED).build());
+        List<Map<String, Object>> changed = readModel.changesSince(moved.token()).satellites();
+        assertEquals(1, changed.size());
+        assertEquals("DECOMMISSIONED", changed.get(0).get("status"));
+
+        assertTrue(readModel.changesSince(readModel.snapshot().token()).satellites().isEmpty());
+    }
+
+    @Test
+    void unknownVersionGetsWholeFleet() {
+        deploy("SAT_1");
+        String token = readModel.snapshot().token();
+        String epoch = token.substring(0, token.lastIndexOf('-'));
+        for (String unknown : new String[]{epoch + "-1000", "1", "garbage", null}) {
+            FleetReadModel.Delta delta = readModel.changesSince(unknown);
+            assertTrue(delta.reset(), unknown);
+            assertEquals(1, delta.satellites().size());
+        }
+    }
+
+    @Test
+    void tokensAndEtagsFromAnotherBootNeverMatch() {
+        deploy("SAT_1");
+        FleetReadModel earlierBoot = new FleetReadModel(repository, missionControl, 0);
+        earlierBoot.onSatelliteLifecycle(SatelliteLifecycleEvent.builder()
+                .satelliteId("SAT_1").type(SatelliteLifecycleEvent.LifecycleType.DEPLOYED).build());
+
+        FleetReadModel.Snapshot stale = earlierBoot.snapshot();
+        assertEquals(stale.version(), readModel.snapshot().version());
+        assertFalse(readModel.snapshot().matches(stale.etag()));
+        assertTrue(readModel.changesSince(stale.token()).reset());
+    }
+
+    @Test
+    void ifNoneMatchComparesWholeTags() {
+        deploy("SAT_1");
+        FleetReadModel.Snapshot snapshot = readModel.snapshot();
+        String etag = snapshot.etag();
+        assertTrue(snapshot.matches(etag));
+        assertTrue(snapshot.matches("\"other\", W/" + etag));
+        assertTrue(snapshot.matches("*"));
+        assertFalse(snapshot.matches(null));
+        assertFalse(snapshot.matches("\"x" + etag + "\""), "a tag merely containing ours");
+        assertFalse(snapshot.matches("\"fleet-" + snapshot.token() + "0\""));
+    }
+
+    @Test
+    void positionsAreCoalescedUntilTheIntervalOrTheNextStructuralChange() {
+        readModel = new FleetReadModel(repository, missionControl, 3600);
+        deploy("SAT_1");
+        deploy("SAT_2");
+        FleetReadModel.Snapshot before = readModel.snapshot();
+
+        for (int second = 0; second < 30; second++) {
+            readModel.onSatelliteState(SatelliteStateEvent.builder()
+                    .satelliteId("SAT_1").type(SatelliteStateEvent.StateType.POSITION)
+                    .latitude((double) second).longitude(0.0).altitude(400.0).build());
+        }
+        assertSame(before, readModel.snapshot(), "positions alone wait for the coalescing interval");
+
+        readModel.onSatelliteState(SatelliteStateEvent.builder()
+                .satelliteId("SAT_2").type(SatelliteStateEvent.StateType.STATUS).status("SAFE_MODE").build());
+        FleetReadModel.Snapshot after = readModel.snapshot();
+        assertEquals(before.version() + 1, after.version(), "one bump for the status and the held-back positions");
+        List<Map<String, Object>> changed = readModel.changesSince(before.token()).satellites();
+        assertEquals(2, changed.size());
+        assertEquals(29.0, changed.get(0).get("latitude"));
+        assertEquals("SAFE_MODE", changed.get(1).get("status"));
+        assertEquals(29L, readModel.getStats().get("positionsCoalesced"));
+    }
+
+    @Test
+    void repeatedStatusDoesNotChangeVersion() {
+        deploy("SAT_1");
+        long version = readModel.snapshot().version();
+        readModel.onSatelliteState(SatelliteStateEvent.builder()
+                .satelliteId("SAT_1").type(SatelliteStateEvent.StateType.STATUS).status("OPERATIONAL").build());
+        assertEquals(version, readModel.snapshot().version());
+    }
+
+    private void deploy(String id) {
+        Satellite satellite = mock(Satellite.class);
+        when(satellite.getSatelliteName()).thenReturn(id);
+        when(satellite.getNoradId()).thenReturn(25544);
+        when(missionControl.getActiveSatellites()).thenReturn(Map.of(id, satellite));
+        readModel.onSatelliteLifecycle(SatelliteLifecycleEvent.builder()
+                .satelliteId(id).type(SatelliteLifecycleEvent.LifecycleType.DEPLOYED).build());
+    }
+}
@@ -0,0 +1,118 @@
+package com.dsl.simulator.Persistence;
+
+import com.dsl.simulator.Entity.CommandHistory;
+import com.dsl.simulator.Entity.Message;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles({"embedded", "test"})
+@Import(HistoryQueryService.class)
+class HistoryQueryServiceTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+    @Autowired
+    private HistoryQueryService history;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void commandPagesWalkTheWholeHistoryNewestFirstWithoutGapsOrRepeats() {
+        // Pairs of rows share a timestamp, so the id tie-break decides page boundaries
+        for (int i = 0; i < 50; i++) {
+            insertCommand("cmd " + i, T0.plusSeconds(i / 2));
+        }
+
+        List<CommandHistory> all = collect(cursor -> history.commands(cursor, 7));
+
+        assertEquals(50, all.size());
+        assertEquals(50, all.stream().map(CommandHistory::getId).distinct().count());
+        for (int i = 1; i < all.size(); i++) {
+            CommandHistory newer = all.get(i - 1), older = all.get(i);
+            assertTrue(newer.getExecutedAt().isAfter(older.getExecutedAt())
+                    || (newer.getExecutedAt().equals(older.getExecutedAt()) && newer.getId() > older.getId()));
+        }
+        assertEquals("cmd 49", all.get(0).getCommand());
+    }
+
+    @Test
+    void entityMessagesMergeSentAndReceivedAndConversationFollowsOneDirection() {
+        for (int i = 0; i < 30; i++) {
+            insertMessage(i % 2 == 0 ? "SAT_1" : "GS_1", i % 2 == 0 ? "GS_1" : "SAT_1", "m" + i, T0.plusMinutes(i));
+        }
+        insertMessage("SAT_2", "GS_1", "other", T0.plusMinutes(100));
+        insertMessage("SAT_1", "SAT_1", "loopback", T0.plusMinutes(200));
+
+        List<Message> sat1 = collect(cursor -> history.messagesOf("SAT_1", cursor, 4));
+        assertEquals(31, sat1.size(), "sent, received and the loopback once");
+        assertEquals("loopback", sat1.get(0).getMessageText());
+        assertEquals("m0", sat1.get(sat1.size() - 1).getMessageText());
+
+        List<Message> uplink = collect(cursor -> history.conversation("GS_1", "SAT_1", cursor, 4));
+        assertEquals(15, uplink.size());
+        assertTrue(uplink.stream().allMatch(m -> m.getFromEntity().equals("GS_1") && m.getToEntity().equals("SAT_1")));
+    }
+
+    @Test
+    void lastPageHasNoCursorAndBadCursorsAreRejected() {
+        insertCommand("only", T0);
+        assertNull(history.commands(null, 10).nextCursor());
+        assertThrows(IllegalArgumentException.class, () -> history.commands("not-a-cursor", 10));
+    }
+
+    @Test
+    void retentionDeletesOnlyExpiredRowsInChunks() {
+        for (int i = 0; i < 10; i++) {
+            insertCommand("old " + i, T0.minusDays(40).plusMinutes(i));
+            insertMessage("SAT_1", "GS_1", "old " + i, T0.minusDays(40).plusMinutes(i));
+        }
+        insertCommand("recent", T0);
+        insertMessage("SAT_1", "GS_1", "recent", T0);
+
+        HistoryRetentionJob retention = new HistoryRetentionJob(jdbcTemplate, 30, 3, 0);
+        try {
+            assertEquals(20, retention.purgeBefore(T0.minusDays(30)));
+            assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM command_history", Integer.class));
+            assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM messages", Integer.class));
+            assertEquals(10L, retention.getStats().get("command_historyDeleted"));
+        } finally {
+            retention.shutdown();
+        }
+    }
+
+    private static <T> List<T> collect(Function<String, HistoryQueryService.HistoryPage<T>> pageFn) {
+        List<T> all = new ArrayList<>();
+        String cursor = null;
+        do {
+            HistoryQueryService.HistoryPage<T> page = pageFn.apply(cursor);
+            all.addAll(page.items());
+            cursor = page.nextCursor();
+        } while (cursor != null);
+        return all;
+    }
+
+    private void insertCommand(String command, LocalDateTime at) {
+        jdbcTemplate.update("INSERT INTO command_history (command, result, status, executed_at) VALUES (?, 'ok', 'SUCCESS', ?)",
+                command, Timestamp.valueOf(at));
+    }
+
+    private void insertMessage(String from, String to, String text, LocalDateTime at) {
+        jdbcTemplate.update("INSERT INTO messages (from_entity, to_entity, message_text, sent_at) VALUES (?, ?, ?, ?)",
+                from, to, text, Timestamp.valueOf(at));
+    }
+}
@@ -0,0 +1,102 @@
+package com.dsl.simulator.Persistence;
+
+import com.dsl.simulator.Events.SatelliteStateEvent;
+import com.dsl.simulator.Product.Satellite;
+import com.dsl.simulator.Service.MissionControlService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.orekit.data.DataContext;
+import org.orekit.data.DataProvidersManager;
+import org.orekit.data.DirectoryCrawler;
+import org.orekit.propagation.analytical.tle.TLE;
+import org.orekit.propagation.analytical.tle.TLEPropagator;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.File;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class PositionSnapshotJobTest {
+
+    private static final String ISS_LINE_1 = "1 25544U 98067A   08264.51782528 -.00002182  00000-0 -11606-4 0  2927";
+    private static final String ISS_LINE_2 = "2 25544  51.6416 247.4627 0006703 130.5360 325.0288 15.72125391563537";
+
+    private final MissionControlService missionControl = mock(MissionControlService.class);
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final PositionSnapshotJob job = new PositionSnapshotJob(missionControl, jdbcTemplate, eventPublisher, 0, 2);
+
+    @BeforeAll
+    static void loadOrekitData() {
+        DataProvidersManager manager = DataContext.getDefault().getDataProvidersManager();
+        if (manager.getProviders().isEmpty()) {
+            manager.addProvider(new DirectoryCrawler(new File("src/main/resources/orekit-data-main")));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        job.shutdown();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void writesOneBatchWithGeodeticPositionsOfTheWholeFleet() {
+        TLE tle = new TLE(ISS_LINE_1, ISS_LINE_2);
+        when(missionControl.activeSatelliteView()).thenReturn(List.of(
+                satellite("ISS_A", ISS_LINE_1), satellite("ISS_B", ISS_LINE_1), new Satellite("NO_TLE", 0, 0)));
+        when(missionControl.isSatelliteActive(anyString())).thenReturn(true);
+
+        // ISS_B has no row yet: updated nothing, and nothing is inserted for it
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[]{1, 0});
+
+        assertEquals(2, job.snapshot(tle.getDate().shiftedBy(600), Instant.now()));
+
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(1)).batchUpdate(
+                eq("UPDATE satellites SET latitude = ?, longitude = ?, altitude = ?, updated_at = ? WHERE satellite_id = ?"),
+                rows.capture());
+        assertEquals(2, rows.getValue().size());
+        for (Object[] row : rows.getValue()) {
+            double latitude = (double) row[0];
+            double altitude = (double) row[2];
+            // ISS orbit: |latitude| bounded by the 51.6 degree inclination, altitude in low Earth orbit
+            assertTrue(Math.abs(latitude) <= 52.0, "latitude " + latitude);
+            assertTrue(altitude > 300 && altitude < 450, "altitude " + altitude);
+        }
+        assertArrayEquals(Arrays.copyOfRange(rows.getValue().get(0), 0, 3),
+                Arrays.copyOfRange(rows.getValue().get(1), 0, 3), "same TLE, same position");
+        verify(eventPublisher, times(2)).publishEvent(any(SatelliteStateEvent.class));
+        assertEquals(1L, job.getStats().get("positionsWritten"));
+    }
+
+    @Test
+    void badTleIsSkippedAndCounted() {
+        TLE tle = new TLE(ISS_LINE_1, ISS_LINE_2);
+        when(missionControl.activeSatelliteView()).thenReturn(List.of(
+                satellite("ISS_A", ISS_LINE_1), satellite("BROKEN", ISS_LINE_1.replace("25544U", "2554XU"))));
+        when(missionControl.isSatelliteActive(anyString())).thenReturn(true);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[]{1});
+
+        assertEquals(1, job.snapshot(tle.getDate(), Instant.now()));
+        assertEquals(1L, job.getStats().get("failures"));
+    }
+
+    private static Satellite satellite(String id, String line1) {
+        Satellite satellite = new Satellite(id, TLEPropagator.selectExtrapolator(new TLE(ISS_LINE_1, ISS_LINE_2)), null);
+        satellite.setId(id);
+        satellite.setNoradId(25544);
+        satellite.setTleLine1(line1);
+        satellite.setTleLine2(ISS_LINE_2);
+        return satellite;
+    }
+}
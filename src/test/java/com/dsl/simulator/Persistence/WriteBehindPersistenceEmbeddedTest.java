@@ -0,0 +1,93 @@
+package com.dsl.simulator.Persistence;
+
+import com.dsl.simulator.Entity.Satellite;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The write-behind SQL against the embedded database. Runs outside a test transaction: the
+ * writer thread commits on its own connection, and the test reads what it committed.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles({"embedded", "test"})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class WriteBehindPersistenceEmbeddedTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private WriteBehindPersistence persistence;
+
+    @BeforeEach
+    void setUp() {
+        // One drain takes everything queued below as a single batch per table
+        persistence = new WriteBehindPersistence(jdbcTemplate, transactionManager, 1000, 100, 200, 50);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        persistence.shutdown();
+        jdbcTemplate.update("DELETE FROM command_history");
+        jdbcTemplate.update("DELETE FROM satellites");
+    }
+
+    @Test
+    void satelliteUpsertInsertsThenUpdatesByBusinessKey() throws Exception {
+        persistence.saveSatellite(satellite("SAT_1", "OPERATIONAL"));
+        assertTrue(persistence.awaitDrained(5000));
+        persistence.saveSatellite(satellite("SAT_1", "SAFE_MODE"));
+        assertTrue(persistence.awaitDrained(5000));
+
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM satellites", Integer.class));
+        assertEquals("SAFE_MODE", jdbcTemplate.queryForObject(
+                "SELECT status FROM satellites WHERE satellite_id = 'SAT_1'", String.class));
+    }
+
+    @Test
+    void oneBadRowFailsAloneAndTheRestOfItsBatchIsWritten() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            // command is NOT NULL: row 4 is rejected by the database
+            persistence.recordCommand(i == 4 ? null : "status SAT_" + i, "ok", "SUCCESS");
+        }
+        persistence.saveSatellite(satellite("SAT_1", "OPERATIONAL"));
+        persistence.saveSatellite(Satellite.builder().satelliteId("SAT_2").noradId(2).build()); // name is NOT NULL
+        assertTrue(persistence.awaitDrained(5000));
+
+        List<String> commands = jdbcTemplate.queryForList("SELECT command FROM command_history ORDER BY id", String.class);
+        assertEquals(9, commands.size());
+        assertFalse(commands.contains(null));
+        assertEquals(List.of("SAT_1"), jdbcTemplate.queryForList("SELECT satellite_id FROM satellites", String.class));
+
+        assertEquals(2L, persistence.getStats().get("failed"));
+        assertEquals(10L, persistence.getStats().get("written"));
+        assertEquals(2L, persistence.getStats().get("rowByRowBatches"));
+    }
+
+    private static Satellite satellite(String id, String status) {
+        return Satellite.builder()
+                .satelliteId(id)
+                .name(id)
+                .noradId(25544)
+                .latitude(10.0)
+                .longitude(20.0)
+                .altitude(400.0)
+                .status(status)
+                .build();
+    }
+}
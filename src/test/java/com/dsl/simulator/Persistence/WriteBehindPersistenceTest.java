@@ -0,0 +1,118 @@
+package com.dsl.simulator.Persistence;
+
+import com.dsl.simulator.Entity.Satellite;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class WriteBehindPersistenceTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private WriteBehindPersistence persistence;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        persistence.shutdown();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void writesQueuedRowsInBoundedBatchesPerTable() throws Exception {
+        List<Integer> batchSizes = new ArrayList<>();
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            List<Object[]> rows = invocation.getArgument(1);
+            synchronized (batchSizes) {
+                batchSizes.add(rows.size());
+            }
+            return new int[rows.size()];
+        });
+        persistence = new WriteBehindPersistence(jdbcTemplate, transactionManager, 1000, 25, 50, 50);
+
+        for (int i = 0; i < 200; i++) {
+            assertTrue(persistence.recordCommand("status SAT_" + i, "ok", "SUCCESS"));
+        }
+        assertTrue(persistence.saveSatellite(Satellite.builder().satelliteId("SAT_1").name("SAT_1").status("OPERATIONAL").build()));
+        assertTrue(persistence.awaitDrained(5000));
+
+        synchronized (batchSizes) {
+            assertEquals(201, batchSizes.stream().mapToInt(Integer::intValue).sum());
+            assertTrue(batchSizes.stream().allMatch(size -> size <= 25), "batches capped at batch-size: " + batchSizes);
+        }
+        verify(jdbcTemplate, atLeastOnce()).batchUpdate(contains("INSERT INTO command_history"), anyList());
+        verify(jdbcTemplate).batchUpdate(contains("ON DUPLICATE KEY UPDATE"), anyList());
+
+        assertEquals(201L, persistence.getStats().get("written"));
+        assertEquals(0L, persistence.getStats().get("dropped"));
+        assertEquals(0, persistence.getStats().get("queued"));
+    }
+
+    @Test
+    void dropsWritesWhenQueueStaysFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return new int[0];
+        });
+        persistence = new WriteBehindPersistence(jdbcTemplate, transactionManager, 2, 1, 10, 10);
+
+        // The writer holds one row in a stalled batch, the queue holds two more
+        assertTrue(persistence.recordCommand("a", "ok", "SUCCESS"));
+        Thread.sleep(100);
+        assertTrue(persistence.recordCommand("b", "ok", "SUCCESS"));
+        assertTrue(persistence.recordCommand("c", "ok", "SUCCESS"));
+        assertFalse(persistence.recordCommand("d", "ok", "SUCCESS"));
+        assertEquals(1L, persistence.getStats().get("dropped"));
+
+        release.countDown();
+        assertTrue(persistence.awaitDrained(5000));
+        assertEquals(3L, persistence.getStats().get("written"));
+    }
+
+    @Test
+    void transientBatchFailureIsRetriedOnce() throws Exception {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new IllegalStateException("connection lost"))
+                .thenReturn(new int[1]);
+        persistence = new WriteBehindPersistence(jdbcTemplate, transactionManager, 100, 1, 10, 10);
+
+        persistence.recordCommand("a", "ok", "SUCCESS");
+        persistence.recordCommand("b", "ok", "SUCCESS");
+        assertTrue(persistence.awaitDrained(5000));
+
+        assertEquals(0L, persistence.getStats().get("failed"));
+        assertEquals(2L, persistence.getStats().get("written"));
+        assertEquals(1L, persistence.getStats().get("retriedBatches"));
+        verify(jdbcTemplate, never()).update(anyString(), any(Object[].class));
+    }
+
+    @Test
+    void batchFailingTwiceFallsBackToRowsAndCountsOnlyTheBadOne() throws Exception {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenThrow(new IllegalStateException("constraint"));
+        when(jdbcTemplate.update(anyString(), any(Object[].class))).thenAnswer(invocation -> {
+            // Varargs are expanded: argument 1 is the row's first column
+            if ("bad".equals(invocation.getArgument(1))) throw new IllegalStateException("constraint");
+            return 1;
+        });
+        persistence = new WriteBehindPersistence(jdbcTemplate, transactionManager, 100, 10, 200, 10);
+
+        persistence.recordCommand("a", "ok", "SUCCESS");
+        persistence.recordCommand("bad", "ok", "SUCCESS");
+        persistence.recordCommand("c", "ok", "SUCCESS");
+        assertTrue(persistence.awaitDrained(5000));
+
+        assertEquals(1L, persistence.getStats().get("failed"));
+        assertEquals(2L, persistence.getStats().get("written"));
+    }
+}
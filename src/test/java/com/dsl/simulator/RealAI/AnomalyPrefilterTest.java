@@ -0,0 +1,86 @@
+package com.dsl.simulator.RealAI;
+
+import com.dsl.simulator.Streaming.AlertEngine;
+import com.dsl.simulator.Streaming.ReplayContext;
+import com.dsl.simulator.Streaming.TelemetryData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class AnomalyPrefilterTest {
+
+    private final AnomalyDetectionNetwork detector = mock(AnomalyDetectionNetwork.class);
+    private final OnlineAnomalyTrainer trainer = mock(OnlineAnomalyTrainer.class);
+    private final AnomalyPrefilter prefilter = new AnomalyPrefilter(detector, mock(AlertEngine.class), trainer,
+            true, 0.05, 64, 16, 32, 4.0, 5.0, 0.5, 8.0, 60_000, 16);
+
+    @AfterEach
+    void tearDown() {
+        prefilter.shutdown();
+    }
+
+    @Test
+    void onlyFramesThatPassTheScreenReachTheOnlineTrainer() {
+        when(detector.getManagedModel()).thenReturn(mock(ManagedModel.class));
+        Random random = new Random(3);
+        for (int i = 0; i < 200; i++) {
+            prefilter.accept(frame(85 + random.nextGaussian(), 20 + random.nextGaussian(), 250 + random.nextGaussian() * 5));
+        }
+        long nominal = 200 - (long) prefilter.getStats().get("suspicious");
+        verify(trainer, times((int) nominal)).offer(any());
+
+        TelemetryData spike = frame(85, 20, 20);
+        prefilter.accept(spike);
+        assertEquals(200L - nominal + 1, prefilter.getStats().get("suspicious"));
+        verify(trainer, never()).offer(spike);
+    }
+
+    @Test
+    void channelsOutsideTheAutoencoderInputAreNotScreened() {
+        for (int i = 0; i < 100; i++) {
+            prefilter.accept(TelemetryData.builder()
+                    .satelliteId("SAT-1")
+                    .timestamp(Instant.now())
+                    .batteryLevel(85)
+                    .temperature(20)
+                    .powerGeneration(250)
+                    .signalStrength(i == 99 ? -120 : -70)
+                    .fuelLevel(i == 99 ? 0 : 80)
+                    .build());
+        }
+        assertEquals(0L, prefilter.getStats().get("suspicious"));
+        verify(trainer, times(100)).offer(any());
+    }
+
+    @Test
+    void replayedFramesAreScreenedOnTheirOwnStatisticsAndNeverEscalatedOrTrainedOn() {
+        ReplayContext replay = new ReplayContext("capture");
+        Random random = new Random(3);
+        for (int i = 0; i < 200; i++) {
+            prefilter.replay(frame(85 + random.nextGaussian(), 20 + random.nextGaussian(), 250 + random.nextGaussian() * 5), replay);
+        }
+        prefilter.replay(frame(85, 20, 20), replay);
+
+        assertTrue(replay.outcomes().get("prefilter.suspicious") >= 1);
+        assertEquals(1L, replay.outcomes().get("prefilter.escalated"));
+        assertEquals(0L, prefilter.getStats().get("frames"));
+        assertEquals(0, prefilter.getStats().get("satellites"));
+        verifyNoInteractions(detector, trainer);
+    }
+
+    private static TelemetryData frame(double battery, double temperature, double power) {
+        return TelemetryData.builder()
+                .satelliteId("SAT-1")
+                .timestamp(Instant.now())
+                .batteryLevel(battery)
+                .temperature(temperature)
+                .powerGeneration(power)
+                .build();
+    }
+}
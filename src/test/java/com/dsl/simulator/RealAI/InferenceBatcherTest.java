@@ -0,0 +1,155 @@
+package com.dsl.simulator.RealAI;
+
+import org.deeplearning4j.nn.conf.MultiLayerConfiguration;
+import org.deeplearning4j.nn.conf.NeuralNetConfiguration;
+import org.deeplearning4j.nn.conf.layers.DenseLayer;
+import org.deeplearning4j.nn.conf.layers.OutputLayer;
+import org.deeplearning4j.nn.multilayer.MultiLayerNetwork;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.nd4j.linalg.activations.Activation;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.linalg.lossfunctions.LossFunctions;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InferenceBatcherTest {
+
+    @TempDir
+    Path dir;
+
+    private ModelRegistry registry;
+    private ManagedModel model;
+
+    @BeforeEach
+    void setUp() {
+        registry = new ModelRegistry(dir.toString(), 3, false, 1, 4, 5000);
+        model = registry.register("tiny", () -> ManagedModel.TrainingResult.of(tinyNetwork()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        registry.shutdown();
+    }
+
+    @Test
+    void concurrentRequestsShareForwardPassesAndGetTheirOwnRows() {
+        InferenceBatcher batcher = new InferenceBatcher(model, new InferenceRuntime(0, true, 1, true), 2, 32, 20_000, 1024);
+        try {
+            Random random = new Random(1);
+            List<double[]> inputs = new ArrayList<>();
+            List<CompletableFuture<double[]>> futures = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                double[] row = {random.nextDouble(), random.nextDouble(), random.nextDouble()};
+                inputs.add(row);
+                futures.add(batcher.submit(row));
+            }
+
+            MultiLayerNetwork network = model.get().network();
+            for (int i = 0; i < inputs.size(); i++) {
+                double[] expected = network.output(Nd4j.create(new double[][]{inputs.get(i)})).toDoubleVector();
+                assertArrayEquals(expected, futures.get(i).join(), 1e-5);
+            }
+
+            long batches = (long) batcher.getStats().get("batches");
+            assertTrue(batches < inputs.size(), "expected coalescing, got " + batches + " batches");
+            assertTrue((int) batcher.getStats().get("largestBatch") <= 32);
+        } finally {
+            batcher.shutdown();
+        }
+    }
+
+    @Test
+    void malformedRowFailsAloneWithoutKillingTheWorker() {
+        InferenceBatcher batcher = new InferenceBatcher(model, new InferenceRuntime(0, true, 1, true), 2, 8, 1_000, 64);
+        try {
+            model.get();
+            CompletableFuture<double[]> bad = batcher.submit(new double[]{1, 2});
+            CompletableFuture<double[]> good = batcher.submit(new double[]{0.1, 0.2, 0.3});
+
+            assertThrows(Exception.class, bad::join);
+            assertEquals(2, good.join().length);
+            assertEquals(2, batcher.infer(new double[]{0.4, 0.5, 0.6}).length);
+        } finally {
+            batcher.shutdown();
+        }
+    }
+
+    @Test
+    void workerSessionIsRebuiltForANewVersion() {
+        InferenceRuntime runtime = new InferenceRuntime(0, true, 1, true);
+        InferenceBatcher batcher = new InferenceBatcher(model, runtime, 1, 8, 1_000, 64);
+        try {
+            double[] row = {0.1, 0.2, 0.3};
+            batcher.infer(row);
+            batcher.infer(row);
+            assertEquals(1, runtime.getStats().get("sessions"));
+
+            MultiLayerNetwork next = tinyNetwork();
+            next.setParams(next.params().mul(2));
+            model.promote(next, Map.of());
+            double[] expected = next.output(Nd4j.create(new double[][]{row})).toDoubleVector();
+            InferenceBatcher.Inference result = batcher.inferVersioned(row);
+            assertArrayEquals(expected, result.output(), 1e-5);
+            assertEquals(model.get(), result.handle(), "output reports the version that ran");
+            assertEquals(2, runtime.getStats().get("sessions"), "old session released, new one built");
+        } finally {
+            batcher.shutdown();
+        }
+    }
+
+    @Test
+    void replicasArePooledBoundedAndReplacedWithEachVersion() throws Exception {
+        ManagedModel.Lease first = model.acquire();
+        MultiLayerNetwork reused = first.network();
+        assertNotSame(model.get().network(), reused);
+        first.close();
+        try (ManagedModel.Lease again = model.acquire()) {
+            assertSame(reused, again.network());
+        }
+
+        // At capacity (4 per version) the next caller waits for a lease instead of cloning
+        List<ManagedModel.Lease> held = new ArrayList<>();
+        for (int i = 0; i < 4; i++) held.add(model.acquire());
+        assertEquals(4, model.getReplicasCreated());
+        CompletableFuture<ManagedModel.Lease> waiting = CompletableFuture.supplyAsync(model::acquire);
+        Thread.sleep(100);
+        assertFalse(waiting.isDone());
+        held.get(0).close();
+        try (ManagedModel.Lease handedOver = waiting.get(5, TimeUnit.SECONDS)) {
+            assertSame(held.get(0).network(), handedOver.network());
+        }
+        assertEquals(4, model.getReplicasCreated());
+
+        model.promote(tinyNetwork(), Map.of());
+        try (ManagedModel.Lease fresh = model.acquire()) {
+            assertEquals(model.get(), fresh.handle());
+            assertTrue(held.stream().noneMatch(lease -> lease.network() == fresh.network()));
+        }
+        held.forEach(ManagedModel.Lease::close);
+        assertEquals(5, model.getReplicasCreated());
+    }
+
+    private static MultiLayerNetwork tinyNetwork() {
+        MultiLayerConfiguration conf = new NeuralNetConfiguration.Builder()
+                .seed(7)
+                .list()
+                .layer(0, new DenseLayer.Builder().nIn(3).nOut(4).activation(Activation.RELU).build())
+                .layer(1, new OutputLayer.Builder(LossFunctions.LossFunction.MSE)
+                        .nIn(4).nOut(2).activation(Activation.SIGMOID).build())
+                .build();
+        MultiLayerNetwork network = new MultiLayerNetwork(conf);
+        network.init();
+        return network;
+    }
+}
@@ -0,0 +1,139 @@
+package com.dsl.simulator.RealAI;
+
+import org.deeplearning4j.nn.conf.MultiLayerConfiguration;
+import org.deeplearning4j.nn.conf.NeuralNetConfiguration;
+import org.deeplearning4j.nn.conf.layers.DenseLayer;
+import org.deeplearning4j.nn.conf.layers.LSTM;
+import org.deeplearning4j.nn.conf.layers.OutputLayer;
+import org.deeplearning4j.nn.conf.layers.RnnOutputLayer;
+import org.deeplearning4j.nn.multilayer.MultiLayerNetwork;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.nd4j.linalg.activations.Activation;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.linalg.lossfunctions.LossFunctions;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InferenceSessionTest {
+
+    @TempDir
+    Path dir;
+
+    private ModelRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new ModelRegistry(dir.toString(), 3, false, 1, 4, 5000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        registry.shutdown();
+    }
+
+    @Test
+    void workspacePassesMatchPlainOutputAndReuseBuffers() {
+        ManagedModel model = registry.register("dense", () -> ManagedModel.TrainingResult.of(denseNetwork()));
+        MultiLayerNetwork network = model.get().network();
+        InferenceRuntime runtime = new InferenceRuntime(0, true, 1, true);
+        InferenceSession session = runtime.session(model, 8, 3);
+
+        Random random = new Random(3);
+        double[][] rows = new double[8][3];
+        double[][] outputs = new double[8][];
+        try {
+            for (int pass = 0; pass < 50; pass++) {
+                int count = 1 + pass % 8;
+                for (int i = 0; i < count; i++) {
+                    for (int j = 0; j < 3; j++) rows[i][j] = random.nextDouble();
+                }
+                session.infer(rows, count, outputs);
+
+                for (int i = 0; i < count; i++) {
+                    double[] expected = network.output(Nd4j.create(new double[][]{rows[i]})).toDoubleVector();
+                    assertArrayEquals(expected, outputs[i], 1e-5);
+                }
+            }
+        } finally {
+            session.release();
+        }
+
+        assertEquals(50L, runtime.getStats().get("passes"));
+        assertEquals(1L, runtime.getStats().get("bufferAllocations"), "input buffer is allocated once");
+    }
+
+    @Test
+    void fleetPassLeavesNoWorkspaceOnTheCallingThread() {
+        InferenceRuntime runtime = new InferenceRuntime(0, true, 1, true);
+        InferenceService inference = new InferenceService(runtime, 1, 16, 1000, 64);
+        try {
+            AnomalyDetectionNetwork detector = new AnomalyDetectionNetwork(registry, inference, runtime);
+            double[][] fleet = new double[16][8];
+            for (double[] sensors : fleet) Arrays.fill(sensors, 0.5);
+
+            for (int pass = 0; pass < 3; pass++) {
+                assertEquals(16, detector.reconstructionErrors(Nd4j.create(fleet)).errors().length);
+                assertFalse(Nd4j.getWorkspaceManager().checkIfWorkspaceExists("anomaly-fleet"));
+            }
+        } finally {
+            inference.shutdown();
+        }
+    }
+
+    @Test
+    void recurrentExamplesRoundTripInRowMajorLayout() {
+        ManagedModel model = registry.register("rnn", () -> ManagedModel.TrainingResult.of(recurrentNetwork()));
+        MultiLayerNetwork network = model.get().network();
+        double[][] sequence = new double[2][5];
+        Random random = new Random(5);
+        for (double[] feature : sequence) {
+            for (int t = 0; t < feature.length; t++) feature[t] = random.nextDouble();
+        }
+        double[] expected = network.output(Nd4j.create(new double[][][]{sequence})).dup('c').data().asDouble();
+
+        double[] flat = new double[10];
+        System.arraycopy(sequence[0], 0, flat, 0, 5);
+        System.arraycopy(sequence[1], 0, flat, 5, 5);
+        for (boolean workspaces : new boolean[]{true, false}) {
+            InferenceSession session = new InferenceRuntime(0, workspaces, 1, true).session(model, 1, 2, 5);
+            try {
+                assertArrayEquals(expected, session.infer(flat, null), 1e-5);
+            } finally {
+                session.release();
+            }
+        }
+    }
+
+    private static MultiLayerNetwork denseNetwork() {
+        MultiLayerConfiguration conf = new NeuralNetConfiguration.Builder()
+                .seed(11)
+                .list()
+                .layer(0, new DenseLayer.Builder().nIn(3).nOut(6).activation(Activation.TANH).build())
+                .layer(1, new OutputLayer.Builder(LossFunctions.LossFunction.MSE)
+                        .nIn(6).nOut(2).activation(Activation.SIGMOID).build())
+                .build();
+        MultiLayerNetwork network = new MultiLayerNetwork(conf);
+        network.init();
+        return network;
+    }
+
+    private static MultiLayerNetwork recurrentNetwork() {
+        MultiLayerConfiguration conf = new NeuralNetConfiguration.Builder()
+                .seed(13)
+                .list()
+                .layer(0, new LSTM.Builder().nIn(2).nOut(4).activation(Activation.TANH).build())
+                .layer(1, new RnnOutputLayer.Builder(LossFunctions.LossFunction.MSE)
+                        .nIn(4).nOut(2).activation(Activation.SIGMOID).build())
+                .build();
+        MultiLayerNetwork network = new MultiLayerNetwork(conf);
+        network.init();
+        return network;
+    }
+}
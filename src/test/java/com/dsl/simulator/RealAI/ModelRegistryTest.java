@@ -0,0 +1,141 @@
+package com.dsl.simulator.RealAI;
+
+import org.deeplearning4j.nn.conf.MultiLayerConfiguration;
+import org.deeplearning4j.nn.conf.NeuralNetConfiguration;
+import org.deeplearning4j.nn.conf.layers.DenseLayer;
+import org.deeplearning4j.nn.conf.layers.OutputLayer;
+import org.deeplearning4j.nn.multilayer.MultiLayerNetwork;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.nd4j.linalg.activations.Activation;
+import org.nd4j.linalg.lossfunctions.LossFunctions;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ModelRegistryTest {
+
+    @TempDir
+    Path dir;
+
+    private ModelRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new ModelRegistry(dir.toString(), 2, false, 1, 4, 50);
+    }
+
+    @AfterEach
+    void tearDown() {
+        registry.shutdown();
+    }
+
+    @Test
+    void savedVersionsRoundTripWithMetadataAndOldOnesArePruned() {
+        for (int i = 0; i < 3; i++) {
+            registry.save("tiny", network(3, 2), Map.of("anomalyThreshold", "0.2" + i));
+        }
+
+        assertEquals(List.of(2, 3), registry.versions("tiny"));
+        ModelRegistry.ModelHandle latest = registry.loadLatest("tiny").orElseThrow();
+        assertEquals(3, latest.version());
+        assertEquals(0.22, latest.metadataDouble("anomalyThreshold", 0), 1e-9);
+        assertEquals(3, latest.network().layerInputSize(0));
+    }
+
+    @Test
+    void storedVersionIsLoadedWithoutTraining() {
+        registry.save("tiny", network(3, 2), Map.of());
+        AtomicInteger trainings = new AtomicInteger();
+        ManagedModel model = registry.register("tiny", 3, 2, () -> {
+            trainings.incrementAndGet();
+            return ManagedModel.TrainingResult.of(network(3, 2));
+        });
+
+        assertEquals(1, model.get().version());
+        assertEquals(0, trainings.get());
+    }
+
+    @Test
+    void mismatchedOrUnreadableStoredVersionIsRetrained() throws Exception {
+        registry.save("resized", network(5, 2), Map.of());
+        ManagedModel resized = registry.register("resized", 3, 2, () -> ManagedModel.TrainingResult.of(network(3, 2)));
+        assertEquals(2, resized.get().version());
+        assertEquals(3, resized.get().network().layerInputSize(0));
+
+        Files.createDirectories(dir.resolve("corrupt"));
+        Files.writeString(dir.resolve("corrupt").resolve("v1.zip"), "not a model");
+        ManagedModel corrupt = registry.register("corrupt", 3, 2, () -> ManagedModel.TrainingResult.of(network(3, 2)));
+        assertEquals(2, corrupt.get().version());
+    }
+
+    @Test
+    void failedFirstTrainingFailsWaitersAndIsRetriedAfterBackoff() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+        ManagedModel model = registry.register("flaky", () -> {
+            if (attempts.incrementAndGet() == 1) throw new IllegalStateException("out of memory");
+            return ManagedModel.TrainingResult.of(network(3, 2));
+        });
+
+        assertThrows(CompletionException.class, model::get);
+        assertFalse(model.isReady());
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!model.isReady()) {
+            assertTrue(System.currentTimeMillis() < deadline, "model was not retried");
+            Thread.sleep(10);
+        }
+        assertEquals(1, model.get().version());
+        assertEquals(2, attempts.get());
+    }
+
+    @Test
+    void failedReplicaCloneGivesItsPoolSlotBack() throws Exception {
+        ModelRegistry single = new ModelRegistry(dir.resolve("single").toString(), 2, false, 1, 1, 50);
+        try {
+            AtomicInteger failClones = new AtomicInteger(1);
+            MultiLayerNetwork source = new MultiLayerNetwork(network(3, 2).getLayerWiseConfigurations()) {
+                @Override
+                public MultiLayerNetwork clone() {
+                    if (failClones.getAndDecrement() > 0) throw new OutOfMemoryError("no room for a replica");
+                    return super.clone();
+                }
+            };
+            source.init();
+            ManagedModel model = single.register("cloned", () -> ManagedModel.TrainingResult.of(network(3, 2)));
+            model.promote(source, Map.of());
+
+            assertThrows(OutOfMemoryError.class, model::acquire);
+            CompletableFuture<ManagedModel.Lease> lease = CompletableFuture.supplyAsync(model::acquire);
+            try (ManagedModel.Lease replica = lease.get(5, TimeUnit.SECONDS)) {
+                assertNotSame(source, replica.network());
+            }
+            assertEquals(1, model.getReplicasCreated());
+        } finally {
+            single.shutdown();
+        }
+    }
+
+    private static MultiLayerNetwork network(int inputs, int outputs) {
+        MultiLayerConfiguration conf = new NeuralNetConfiguration.Builder()
+                .seed(7)
+                .list()
+                .layer(0, new DenseLayer.Builder().nIn(inputs).nOut(4).activation(Activation.RELU).build())
+                .layer(1, new OutputLayer.Builder(LossFunctions.LossFunction.MSE)
+                        .nIn(4).nOut(outputs).activation(Activation.IDENTITY).build())
+                .build();
+        MultiLayerNetwork network = new MultiLayerNetwork(conf);
+        network.init();
+        return network;
+    }
+}
@@ -0,0 +1,116 @@
+package com.dsl.simulator.RealAI;
+
+import com.dsl.simulator.Streaming.TelemetryData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OnlineAnomalyTrainerTest {
+
+    @TempDir
+    Path dir;
+
+    private ModelRegistry registry;
+    private InferenceService inference;
+
+    @AfterEach
+    void tearDown() {
+        inference.shutdown();
+        registry.shutdown();
+    }
+
+    @Test
+    void promotesShadowThatFitsLiveTelemetryBetter() {
+        AnomalyDetectionNetwork detector = detector();
+        ManagedModel model = detector.getManagedModel();
+        ModelRegistry.ModelHandle initial = model.get();
+
+        // Scheduler effectively off; rounds are driven by the test
+        OnlineAnomalyTrainer trainer = new OnlineAnomalyTrainer(detector, true, 2048, 256, 3600, 64, 20, 0.2, 0.0);
+        try {
+            Random random = new Random(7);
+            for (int i = 0; i < 1500; i++) {
+                trainer.offer(nominal(i, random));
+            }
+
+            trainer.runRound();
+
+            Map<String, Object> round = lastRound(trainer);
+            assertEquals(true, round.get("promoted"), round.toString());
+            assertTrue((double) round.get("shadowValidationError") < (double) round.get("liveValidationError"));
+
+            ModelRegistry.ModelHandle promoted = model.get();
+            assertEquals(initial.version() + 1, promoted.version());
+            assertEquals("online", promoted.metadata().get("source"));
+            assertEquals((double) round.get("threshold"), promoted.metadataDouble("anomalyThreshold", -1), 1e-12);
+
+            // Nothing new buffered: the next round is a no-op
+            trainer.runRound();
+            assertEquals(1L, trainer.getStats().get("rounds"));
+        } finally {
+            trainer.shutdown();
+        }
+    }
+
+    @Test
+    void framesAboveTheLiveThresholdAreNotTrainedOn() {
+        AnomalyDetectionNetwork detector = detector();
+        OnlineAnomalyTrainer trainer = new OnlineAnomalyTrainer(detector, true, 2048, 256, 3600, 64, 1, 0.2, 0.0);
+        try {
+            Random random = new Random(11);
+            for (int i = 0; i < 1000; i++) {
+                trainer.offer(nominal(i, random));
+            }
+            for (int i = 0; i < 200; i++) {
+                trainer.offer(TelemetryData.builder()
+                        .satelliteId("SAT-" + (i % 5))
+                        .timestamp(Instant.now())
+                        .batteryLevel(3)
+                        .powerGeneration(0)
+                        .temperature(45)
+                        .build());
+            }
+
+            trainer.runRound();
+
+            Map<String, Object> round = lastRound(trainer);
+            assertEquals(1200, round.get("buffered"));
+            assertTrue((int) round.get("excludedAboveThreshold") >= 200, round.toString());
+            assertEquals(1200 - (int) round.get("excludedAboveThreshold"), round.get("samples"));
+        } finally {
+            trainer.shutdown();
+        }
+    }
+
+    private AnomalyDetectionNetwork detector() {
+        registry = new ModelRegistry(dir.toString(), 3, false, 1, 4, 5000);
+        InferenceRuntime runtime = new InferenceRuntime(0, true, 1, true);
+        inference = new InferenceService(runtime, 1, 16, 1000, 64);
+        AnomalyDetectionNetwork detector = new AnomalyDetectionNetwork(registry, inference, runtime);
+        detector.getManagedModel().get();
+        return detector;
+    }
+
+    /** Inside the envelope the autoencoder was trained on, so the live threshold keeps it. */
+    private static TelemetryData nominal(int i, Random random) {
+        return TelemetryData.builder()
+                .satelliteId("SAT-" + (i % 5))
+                .timestamp(Instant.now())
+                .batteryLevel(88 + random.nextGaussian() * 2)
+                .powerGeneration(300 + random.nextGaussian() * 10)
+                .temperature(20 + random.nextGaussian() * 3)
+                .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> lastRound(OnlineAnomalyTrainer trainer) {
+        return (Map<String, Object>) trainer.getStats().get("lastRound");
+    }
+}
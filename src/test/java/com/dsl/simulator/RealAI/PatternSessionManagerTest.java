@@ -0,0 +1,129 @@
+package com.dsl.simulator.RealAI;
+
+import com.dsl.simulator.Streaming.TelemetryData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.Nd4j;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PatternSessionManagerTest {
+
+    private static final int HOURS = 24;
+
+    @TempDir
+    Path dir;
+
+    private ModelRegistry registry;
+    private PatternSessionManager sessions;
+    private final InferenceService inference = new InferenceService(new InferenceRuntime(0, true, 1, true), 1, 8, 1_000, 64);
+
+    @AfterEach
+    void tearDown() {
+        if (sessions != null) sessions.shutdown();
+        inference.shutdown();
+        registry.shutdown();
+    }
+
+    @Test
+    void incrementalStepsMatchFullSequenceAcrossInterleavedSatellites() {
+        registry = new ModelRegistry(dir.toString(), 3, false, 1, 4, 5000);
+        PatternRecognitionLSTM lstm = new PatternRecognitionLSTM(registry, inference);
+        ModelRegistry.ModelHandle handle = lstm.getManagedModel().get();
+
+        // Stepping thread effectively off; the test drives it
+        sessions = new PatternSessionManager(lstm, true, 100, 32, 256, 3_600_000, 30);
+
+        Random random = new Random(5);
+        Instant start = Instant.parse("2026-01-01T00:00:00Z");
+        double[][] sequenceA = new double[4][HOURS];
+        for (int hour = 0; hour < HOURS; hour++) {
+            for (String satelliteId : new String[]{"SAT-A", "SAT-B", "SAT-C"}) {
+                TelemetryData frame = frame(satelliteId, start.plusSeconds(hour * 3600L), random);
+                if (satelliteId.equals("SAT-A")) {
+                    double[] features = new double[4];
+                    TelemetryFeatures.fillPattern(frame, features, 0);
+                    for (int f = 0; f < 4; f++) sequenceA[f][hour] = features[f];
+                }
+                sessions.accept(frame);
+            }
+            // Alternate between single and multi-sample drains
+            if (hour % 3 == 2) sessions.stepPending();
+        }
+        sessions.stepPending();
+
+        INDArray full = handle.network().output(Nd4j.create(new double[][][]{sequenceA}));
+        @SuppressWarnings("unchecked")
+        Map<String, Double> prediction = (Map<String, Double>) sessions.getSession("SAT-A").orElseThrow()
+                .get("nextStepPrediction");
+        assertEquals(full.getDouble(0, 0, HOURS - 1), prediction.get("power"), 1e-4);
+        assertEquals(full.getDouble(0, 1, HOURS - 1), prediction.get("temperature"), 1e-4);
+        assertEquals(full.getDouble(0, 2, HOURS - 1), prediction.get("communication"), 1e-4);
+
+        Map<String, Object> stats = sessions.getStats();
+        assertEquals(3L * HOURS, stats.get("steps"));
+        assertEquals(24L, sessions.getSession("SAT-C").orElseThrow().get("steps"));
+    }
+
+    @Test
+    void leastRecentlyUsedSessionIsEvictedAtCapacity() {
+        registry = new ModelRegistry(dir.toString(), 3, false, 1, 4, 5000);
+        sessions = new PatternSessionManager(new PatternRecognitionLSTM(registry, inference), true, 2, 4, 256, 3_600_000, 30);
+
+        Random random = new Random(1);
+        sessions.accept(frame("SAT-1", Instant.now(), random));
+        sessions.accept(frame("SAT-2", Instant.now(), random));
+        sessions.accept(frame("SAT-1", Instant.now(), random));
+        sessions.accept(frame("SAT-3", Instant.now(), random));
+
+        assertTrue(sessions.getSession("SAT-1").isPresent());
+        assertTrue(sessions.getSession("SAT-2").isEmpty());
+        assertTrue(sessions.getSession("SAT-3").isPresent());
+        assertEquals(1L, sessions.getStats().get("evicted"));
+    }
+
+    @Test
+    void analysesOfAnyLengthShareOneFixedShapeSession() {
+        registry = new ModelRegistry(dir.toString(), 3, false, 1, 4, 5000);
+        PatternRecognitionLSTM lstm = new PatternRecognitionLSTM(registry, inference);
+
+        Random random = new Random(9);
+        double[][] day = new double[4][24];
+        for (double[] feature : day) {
+            for (int t = 0; t < feature.length; t++) feature[t] = 0.2 + 0.6 * random.nextDouble();
+        }
+        double dayAccuracy = (double) lstm.analyzePatterns("SAT-1", day).get("predictionAccuracy");
+
+        // A shorter series is padded; a longer one keeps its latest 24 hours
+        double[][] half = new double[4][12];
+        double[][] twoDays = new double[4][48];
+        for (int f = 0; f < 4; f++) {
+            System.arraycopy(day[f], 0, half[f], 0, 12);
+            System.arraycopy(day[f], 0, twoDays[f], 24, 24);
+        }
+        assertTrue((double) lstm.analyzePatterns("SAT-1", half).get("predictionAccuracy") >= 0);
+        assertEquals(dayAccuracy, (double) lstm.analyzePatterns("SAT-1", twoDays).get("predictionAccuracy"), 1e-9);
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> runtimeStats = (Map<String, Object>) inference.getStats().get("runtime");
+        assertEquals(1, runtimeStats.get("sessions"), "one worker, one shape, one session");
+    }
+
+    private static TelemetryData frame(String satelliteId, Instant timestamp, Random random) {
+        return TelemetryData.builder()
+                .satelliteId(satelliteId)
+                .timestamp(timestamp)
+                .powerGeneration(250 + random.nextGaussian() * 20)
+                .temperature(5 + random.nextGaussian() * 4)
+                .signalStrength(-70 - random.nextDouble() * 10)
+                .batteryLevel(85)
+                .build();
+    }
+}
@@ -0,0 +1,68 @@
+package com.dsl.simulator.RealAI;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamingChannelDetectorTest {
+
+    private static StreamingChannelDetector detector() {
+        return new StreamingChannelDetector(2, 0.05, 64, 16, 32, 4.0, 5.0, 0.5, 8.0);
+    }
+
+    @Test
+    void nominalNoiseRarelyEscalates() {
+        Random random = new Random(7);
+        StreamingChannelDetector detector = detector();
+        double[] frame = new double[2];
+        int flagged = 0;
+        for (int i = 0; i < 100_000; i++) {
+            frame[0] = 80 + random.nextGaussian();
+            frame[1] = 20 + 0.5 * random.nextGaussian();
+            if (detector.update(frame) != 0) flagged++;
+        }
+        assertTrue(flagged < 1_000, "flagged " + flagged + " of 100000 nominal frames");
+    }
+
+    @Test
+    void stepChangeIsFlaggedOnTheAffectedChannel() {
+        Random random = new Random(11);
+        StreamingChannelDetector detector = detector();
+        double[] frame = new double[2];
+        for (int i = 0; i < 500; i++) {
+            frame[0] = 80 + random.nextGaussian();
+            frame[1] = 20 + 0.5 * random.nextGaussian();
+            detector.update(frame);
+        }
+
+        frame[0] = 80;
+        frame[1] = 35;
+        int flags = detector.update(frame);
+        assertEquals(0, flags & 0b111, "battery channel should be nominal");
+        int temperature = flags >>> StreamingChannelDetector.BITS_PER_CHANNEL;
+        assertTrue((temperature & StreamingChannelDetector.EWMA) != 0);
+        assertTrue((temperature & StreamingChannelDetector.ROBUST) != 0);
+        assertEquals("temperature:EWMA+MAD",
+                StreamingChannelDetector.describe(flags & (0b011 << 3), new String[]{"battery", "temperature"}));
+    }
+
+    @Test
+    void slowDriftTripsCusum() {
+        Random random = new Random(3);
+        StreamingChannelDetector detector = detector();
+        double[] frame = new double[2];
+        for (int i = 0; i < 500; i++) {
+            frame[0] = 80 + random.nextGaussian();
+            detector.update(frame);
+        }
+
+        int cusumAt = -1;
+        for (int i = 0; i < 200 && cusumAt < 0; i++) {
+            frame[0] = 80 + 1.5 + random.nextGaussian();
+            if ((detector.update(frame) & StreamingChannelDetector.CUSUM) != 0) cusumAt = i;
+        }
+        assertTrue(cusumAt >= 0, "1.5 sigma shift never tripped CUSUM");
+    }
+}
@@ -0,0 +1,195 @@
+package com.dsl.simulator.Repository;
+
+import com.dsl.simulator.Entity.CommandHistory;
+import com.dsl.simulator.Entity.Message;
+import com.dsl.simulator.Entity.Satellite;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import jakarta.persistence.EntityManager;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Insert and query throughput of the repositories on the embedded database, at roughly a
+ * day of busy operation: 50k commands, 20k messages and a 2k-satellite fleet. Prints one
+ * line per operation. Excluded from the default build; run with {@code mvn test -Pload-test}.
+ */
+@Tag("load")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles({"embedded", "test"})
+class RepositoryLoadTest {
+
+    private static final int COMMANDS = 50_000;
+    private static final int MESSAGES = 20_000;
+    private static final int SATELLITES = 2_000;
+    private static final int CHUNK = 1_000;
+    private static final int QUERIES = 200;
+    private static final int PAGE = 50;
+
+    @Autowired
+    private CommandHistoryRepository commandHistoryRepository;
+    @Autowired
+    private MessageRepository messageRepository;
+    @Autowired
+    private SatelliteRepository satelliteRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void commandHistoryThroughput() {
+        measure("command_history saveAll", COMMANDS, () -> {
+            for (int from = 0; from < COMMANDS; from += CHUNK) {
+                List<CommandHistory> chunk = new ArrayList<>(CHUNK);
+                for (int i = from; i < from + CHUNK; i++) {
+                    chunk.add(CommandHistory.builder()
+                            .command("status SAT_" + (i % SATELLITES))
+                            .result("✅ nominal")
+                            .status("SUCCESS")
+                            .build());
+                }
+                commandHistoryRepository.saveAll(chunk);
+                flushAndClear();
+            }
+            return COMMANDS;
+        });
+
+        // The write-behind path: one JDBC batch per chunk instead of one statement per entity
+        measure("command_history JDBC batch", COMMANDS, () -> {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            for (int from = 0; from < COMMANDS; from += CHUNK) {
+                List<Object[]> rows = new ArrayList<>(CHUNK);
+                for (int i = from; i < from + CHUNK; i++) {
+                    rows.add(new Object[]{"status SAT_" + (i % SATELLITES), "✅ nominal", "SUCCESS", now});
+                }
+                jdbcTemplate.batchUpdate(
+                        "INSERT INTO command_history (command, result, status, executed_at) VALUES (?, ?, ?, ?)", rows);
+            }
+            return COMMANDS;
+        });
+
+        measure("command_history findTop20ByOrderByExecutedAtDesc", QUERIES, () -> {
+            for (int i = 0; i < QUERIES; i++) {
+                assertEquals(20, commandHistoryRepository.findTop20ByOrderByExecutedAtDesc().size());
+            }
+            return QUERIES;
+        });
+
+        measure("command_history first keyset page", QUERIES, () -> {
+            for (int i = 0; i < QUERIES; i++) {
+                assertEquals(PAGE, commandHistoryRepository.findByOrderByExecutedAtDescIdDesc(
+                        ScrollPosition.keyset(), Limit.of(PAGE)).size());
+                entityManager.clear();
+            }
+            return QUERIES;
+        });
+        assertEquals(2L * COMMANDS, commandHistoryRepository.count());
+    }
+
+    @Test
+    void messageThroughput() {
+        measure("messages saveAll", MESSAGES, () -> {
+            for (int from = 0; from < MESSAGES; from += CHUNK) {
+                List<Message> chunk = new ArrayList<>(CHUNK);
+                for (int i = from; i < from + CHUNK; i++) {
+                    chunk.add(Message.builder()
+                            .fromEntity("SAT_" + (i % 100))
+                            .toEntity("GS_" + (i % 10))
+                            .messageText("telemetry frame " + i)
+                            .build());
+                }
+                messageRepository.saveAll(chunk);
+                flushAndClear();
+            }
+            return MESSAGES;
+        });
+
+        measure("messages first keyset page by sender", QUERIES, () -> {
+            for (int i = 0; i < QUERIES; i++) {
+                assertEquals(PAGE, messageRepository.findByFromEntityOrderBySentAtDescIdDesc(
+                        "SAT_" + (i % 100), ScrollPosition.keyset(), Limit.of(PAGE)).size());
+                entityManager.clear();
+            }
+            return QUERIES;
+        });
+
+        // Deep pages cost the same as the first: each continues an index range scan from the cursor
+        Window<Message> first = messageRepository.findByToEntityOrderBySentAtDescIdDesc(
+                "GS_0", ScrollPosition.keyset(), Limit.of(PAGE));
+        measure("messages keyset pages by recipient (scroll)", MESSAGES / 10 / PAGE - 1, () -> {
+            Window<Message> window = first;
+            int pages = 0;
+            while (window.hasNext()) {
+                window = messageRepository.findByToEntityOrderBySentAtDescIdDesc(
+                        "GS_0", window.positionAt(window.size() - 1), Limit.of(PAGE));
+                entityManager.clear();
+                pages++;
+            }
+            return pages;
+        });
+    }
+
+    @Test
+    void satelliteThroughput() {
+        measure("satellites saveAll", SATELLITES, () -> {
+            List<Satellite> fleet = new ArrayList<>(SATELLITES);
+            for (int i = 0; i < SATELLITES; i++) {
+                fleet.add(Satellite.builder()
+                        .satelliteId("SAT_" + i)
+                        .name("Satellite " + i)
+                        .noradId(40_000 + i)
+                        .tleLine1("1 25544U 98067A   08264.51782528 -.00002182  00000-0 -11606-4 0  2927")
+                        .tleLine2("2 25544  51.6416 247.4627 0006703 130.5360 325.0288 15.72125391563537")
+                        .status("OPERATIONAL")
+                        .build());
+            }
+            satelliteRepository.saveAll(fleet);
+            flushAndClear();
+            return SATELLITES;
+        });
+
+        measure("satellites findBySatelliteId", QUERIES, () -> {
+            for (int i = 0; i < QUERIES; i++) {
+                assertTrue(satelliteRepository.findBySatelliteId("SAT_" + (i % SATELLITES)).isPresent());
+            }
+            entityManager.clear();
+            return QUERIES;
+        });
+
+        measure("satellites findAllProjectedBy (rows)", 100 * SATELLITES, () -> {
+            for (int i = 0; i < 100; i++) {
+                assertEquals(SATELLITES, satelliteRepository.findAllProjectedBy().size());
+            }
+            return 100 * SATELLITES;
+        });
+    }
+
+    private void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private static void measure(String operation, int expected, IntSupplier work) {
+        long started = System.nanoTime();
+        int done = work.getAsInt();
+        double seconds = (System.nanoTime() - started) / 1e9;
+        assertEquals(expected, done);
+        System.out.printf("%-55s %8d in %6.2f s = %10.0f /s%n", operation, done, seconds, done / seconds);
+    }
+}
@@ -1,11 +1,28 @@
 package com.dsl.simulator;
 
+import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import org.orekit.data.DataContext;
+import org.orekit.data.DataProvidersManager;
+import org.orekit.data.DirectoryCrawler;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.File;
 
 @SpringBootTest
+@ActiveProfiles({"embedded", "test"})
 class SatopsDslApplicationTests {
 
+	// SatopsDslApplication.main registers the Orekit data before the context starts; tests bypass main
+	@BeforeAll
+	static void loadOrekitData() {
+		DataProvidersManager manager = DataContext.getDefault().getDataProvidersManager();
+		if (manager.getProviders().isEmpty()) {
+			manager.addProvider(new DirectoryCrawler(new File("src/main/resources/orekit-data-main")));
+		}
+	}
+
 	@Test
 	void contextLoads() {
 	}
@@ -0,0 +1,44 @@
+package com.dsl.simulator.Service;
+
+import com.dsl.simulator.Persistence.WriteBehindPersistence;
+import com.dsl.simulator.SatOpsLexer;
+import com.dsl.simulator.SatOpsParser;
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class SatOpsVisitorTest {
+
+    private final MissionControlService missionControl = mock(MissionControlService.class);
+    private final WriteBehindPersistence persistence = mock(WriteBehindPersistence.class);
+    private final SatOpsVisitor visitor = new SatOpsVisitor(missionControl, null, null, null, null, null,
+            null, null, null, null, null, persistence);
+
+    @Test
+    void failedMoveIsRecordedAsFailedWithItsErrorLine() {
+        when(missionControl.moveSatellite(eq("ghost"), anyDouble(), anyDouble()))
+                .thenThrow(new IllegalArgumentException("Satellite not found: ghost"));
+
+        run("move ghost to (10, 20);");
+
+        assertEquals("✗ ERROR: Satellite not found: ghost", visitor.getLogs().get(0));
+        verify(persistence).recordCommand("move ghost to (10, 20);", "✗ ERROR: Satellite not found: ghost", "FAILED");
+    }
+
+    @Test
+    void successfulMoveIsRecordedAsSuccess() {
+        run("move sat1 to (10, 20);");
+
+        verify(persistence).recordCommand(eq("move sat1 to (10, 20);"), contains("MOVED: sat1"), eq("SUCCESS"));
+    }
+
+    private void run(String script) {
+        SatOpsParser parser = new SatOpsParser(new CommonTokenStream(new SatOpsLexer(CharStreams.fromString(script))));
+        visitor.visit(parser.program());
+    }
+}
@@ -0,0 +1,145 @@
+package com.dsl.simulator.Streaming;
+
+import com.dsl.simulator.Events.SatelliteLifecycleEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class AlertEngineTest {
+
+    private final TelemetryFanoutService fanout = mock(TelemetryFanoutService.class);
+    @SuppressWarnings("unchecked")
+    private final AlertEngine engine = new AlertEngine(mock(ObjectProvider.class), fanout,
+            300, 5, 6, 3600, 20, 25, 60, -20, 5);
+
+    @AfterEach
+    void tearDown() {
+        engine.shutdown();
+    }
+
+    @Test
+    void batteryConditionRaisesOnceAndClearsOnlyPastTheClearLevel() {
+        engine.evaluate(frame(15, 20));
+        engine.evaluate(frame(22, 20));   // recovered, but still below the clear level
+        engine.evaluate(frame(18, 20));
+        assertEquals(1L, engine.getStats().get("activeConditions"));
+        assertEquals(1L, engine.getStats().get("published"));
+
+        engine.evaluate(frame(26, 20));
+        assertEquals(0L, engine.getStats().get("activeConditions"));
+        List<SatelliteAlert> alerts = published();
+        assertEquals(SatelliteAlert.AlertLevel.CRITICAL, alerts.get(0).getAlertLevel());
+        assertEquals(SatelliteAlert.AlertLevel.INFO, alerts.get(1).getAlertLevel());
+        assertTrue(alerts.get(1).getMessage().startsWith("Resolved"));
+
+        engine.evaluate(frame(15, 20));
+        assertEquals(3L, engine.getStats().get("published"), "a new crossing raises again");
+    }
+
+    @Test
+    void bucketThrottlesWarningsButNeverCriticalAlerts() {
+        for (int i = 0; i < 8; i++) {
+            engine.raise("SAT-1", SatelliteAlert.AlertLevel.WARNING, "RULE-" + i, "warning " + i, Map.of());
+        }
+        assertEquals(5L, engine.getStats().get("published"));
+        assertEquals(3L, engine.getStats().get("throttled"));
+
+        for (int i = 0; i < 3; i++) {
+            engine.raise("SAT-1", SatelliteAlert.AlertLevel.CRITICAL, "RULE-" + i, "critical " + i, Map.of());
+        }
+        assertEquals(8L, engine.getStats().get("published"));
+
+        // Other satellites have their own budget
+        engine.raise("SAT-2", SatelliteAlert.AlertLevel.WARNING, "RULE-0", "warning", Map.of());
+        assertEquals(9L, engine.getStats().get("published"));
+    }
+
+    @Test
+    void digestSummarizesSuppressedAlertsAndLosesNoneToAConcurrentFlush() throws Exception {
+        engine.raise("SAT-1", SatelliteAlert.AlertLevel.WARNING, "THERMAL", "hot", Map.of());
+
+        int threads = 4, perThread = 5_000;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch done = new CountDownLatch(threads);
+        AtomicBoolean flushing = new AtomicBoolean(true);
+        Thread flusher = new Thread(() -> {
+            while (flushing.get()) engine.flushDigests();
+        });
+        flusher.start();
+        for (int t = 0; t < threads; t++) {
+            pool.execute(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    engine.raise("SAT-1", SatelliteAlert.AlertLevel.WARNING, "THERMAL", "hot", Map.of());
+                }
+                done.countDown();
+            });
+        }
+        assertTrue(done.await(30, TimeUnit.SECONDS));
+        flushing.set(false);
+        flusher.join();
+        pool.shutdown();
+        engine.flushDigests();
+
+        long summarized = published().stream()
+                .filter(alert -> "DIGEST".equals(alert.getCategory()))
+                .mapToLong(alert -> (Long) alert.getMetadata().get("SAT-1|THERMAL|WARNING"))
+                .sum();
+        assertEquals((long) threads * perThread, engine.getStats().get("deduplicated"));
+        assertEquals((long) threads * perThread, summarized);
+    }
+
+    @Test
+    void decommissionForgetsConditionsBudgetAndPendingDigest() {
+        engine.evaluate(frame(15, 20));
+        engine.evaluate(frame(15, 20));   // deduplicated into the digest
+        for (int i = 0; i < 5; i++) {
+            engine.raise("SAT-1", SatelliteAlert.AlertLevel.WARNING, "RULE-" + i, "warning", Map.of());
+        }
+        assertEquals(1L, engine.getStats().get("activeConditions"));
+
+        engine.onSatelliteLifecycle(new SatelliteLifecycleEvent("SAT-1",
+                SatelliteLifecycleEvent.LifecycleType.DECOMMISSIONED, Instant.now()));
+        assertEquals(0L, engine.getStats().get("activeConditions"));
+
+        clearInvocations(fanout);
+        engine.flushDigests();
+        verify(fanout, never()).publish(anyString(), anyString(), any());
+
+        // A satellite redeployed under the same id starts with a full bucket
+        engine.raise("SAT-1", SatelliteAlert.AlertLevel.WARNING, "RULE-9", "warning", Map.of());
+        verify(fanout).publish(eq("SAT-1"), eq("alert"), any());
+    }
+
+    private List<SatelliteAlert> published() {
+        ArgumentCaptor<Object> payloads = ArgumentCaptor.forClass(Object.class);
+        verify(fanout, atLeast(0)).publish(anyString(), eq("alert"), payloads.capture());
+        List<SatelliteAlert> alerts = new ArrayList<>();
+        payloads.getAllValues().forEach(payload -> alerts.add((SatelliteAlert) payload));
+        return alerts;
+    }
+
+    private static TelemetryData frame(double battery, double temperature) {
+        return TelemetryData.builder()
+                .satelliteId("SAT-1")
+                .timestamp(Instant.now())
+                .batteryLevel(battery)
+                .temperature(temperature)
+                .build();
+    }
+}
@@ -0,0 +1,143 @@
+package com.dsl.simulator.Streaming;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class CommandPipelineTest {
+
+    private CommandPipeline pipeline;
+
+    @AfterEach
+    void tearDown() {
+        pipeline.shutdown();
+    }
+
+    @Test
+    void commandsForOneSatelliteRunInArrivalOrder() {
+        Map<String, List<Integer>> order = new ConcurrentHashMap<>();
+        pipeline = pipeline(4, 1000, command -> {
+            order.computeIfAbsent(command.getSatelliteId(), id -> new CopyOnWriteArrayList<>())
+                    .add((Integer) command.getParameters().get("seq"));
+            return true;
+        });
+
+        List<SatelliteCommand> batch = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            batch.add(command("cmd-" + i, "SAT-" + (i % 7), i));
+        }
+        List<CommandResult> results = pipeline.submitBatch(batch).join();
+
+        assertEquals(500, results.size());
+        assertEquals(7, order.size());
+        order.forEach((satellite, seqs) -> {
+            for (int i = 1; i < seqs.size(); i++) {
+                assertTrue(seqs.get(i - 1) < seqs.get(i), satellite + " ran out of order: " + seqs);
+            }
+        });
+    }
+
+    @Test
+    void duplicateCommandIdsRunOnceButAFailedExecutionCanBeRedelivered() {
+        AtomicInteger runs = new AtomicInteger();
+        pipeline = pipeline(2, 1000, command -> {
+            if (runs.incrementAndGet() == 1 && "crash".equals(command.getCommandId())) {
+                throw new IllegalStateException("uplink lost");
+            }
+            return true;
+        });
+
+        assertThrows(CompletionException.class, () -> pipeline.submitBatch(List.of(command("crash", "SAT-1", 0))).join());
+
+        List<CommandResult> results = pipeline.submitBatch(List.of(
+                command("a", "SAT-1", 1), command("a", "SAT-1", 2), command("crash", "SAT-1", 3))).join();
+        assertEquals(2, results.size());
+        assertEquals(1L, pipeline.getStats().get("duplicatesSkipped"));
+
+        assertTrue(pipeline.submitBatch(List.of(command("a", "SAT-1", 4), command("crash", "SAT-1", 5))).join().isEmpty());
+        assertEquals(3L, pipeline.getStats().get("duplicatesSkipped"));
+        assertEquals(3, runs.get());
+    }
+
+    @Test
+    void submitterBlocksWhileMaxInFlightCommandsAreRunning() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(2);
+        pipeline = pipeline(4, 2, command -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return true;
+        });
+
+        CompletableFuture<List<CommandResult>> batch = new CompletableFuture<>();
+        Thread submitter = new Thread(() -> batch.complete(pipeline.submitBatch(List.of(
+                command("1", "SAT-1", 1), command("2", "SAT-2", 2), command("3", "SAT-3", 3))).join()));
+        submitter.start();
+
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (submitter.getState() != Thread.State.WAITING) {
+            assertTrue(System.currentTimeMillis() < deadline, "submitter did not block on the third command");
+            Thread.sleep(5);
+        }
+        assertEquals(2, pipeline.getStats().get("inFlight"));
+
+        release.countDown();
+        assertEquals(3, batch.get(5, TimeUnit.SECONDS).size());
+        assertEquals(0, pipeline.getStats().get("inFlight"));
+    }
+
+    @Test
+    void rejectedCommandReleasesItsSlotAndIsNotRememberedAsProcessed() {
+        pipeline = pipeline(2, 1, command -> true);
+        pipeline.shutdown();
+
+        for (int attempt = 0; attempt < 3; attempt++) {
+            CompletionException failure = assertThrows(CompletionException.class,
+                    () -> pipeline.submitBatch(List.of(command("a", "SAT-1", 0))).join());
+            assertInstanceOf(RejectedExecutionException.class, failure.getCause());
+        }
+        assertEquals(0, pipeline.getStats().get("inFlight"));
+        assertEquals(0L, pipeline.getStats().get("duplicatesSkipped"));
+        assertEquals(3L, pipeline.getStats().get("rejected"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static CommandPipeline pipeline(int lanes, int maxInFlight, Predicate<SatelliteCommand> uplink) {
+        return new CommandPipeline(mock(ObjectProvider.class), lanes, maxInFlight, 100) {
+            @Override
+            boolean perform(SatelliteCommand command) {
+                return uplink.test(command);
+            }
+        };
+    }
+
+    private static SatelliteCommand command(String id, String satelliteId, int seq) {
+        return SatelliteCommand.builder()
+                .commandId(id)
+                .satelliteId(satelliteId)
+                .command("PING")
+                .parameters(Map.of("seq", seq))
+                .build();
+    }
+}
@@ -0,0 +1,144 @@
+package com.dsl.simulator.Streaming;
+
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.StreamsConfig;
+import org.apache.kafka.streams.TestInputTopic;
+import org.apache.kafka.streams.TestOutputTopic;
+import org.apache.kafka.streams.TopologyTestDriver;
+import org.apache.kafka.streams.state.KeyValueStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.serializer.JsonSerde;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TelemetryAnomalyTopologyTest {
+
+    private static final Instant T0 = Instant.parse("2025-01-01T00:00:00Z");
+
+    private TopologyTestDriver driver;
+    private TestInputTopic<String, TelemetryData> telemetry;
+    private TestOutputTopic<String, SatelliteAlert> alerts;
+    private TestOutputTopic<String, TelemetryStatistics> windows;
+
+    @BeforeEach
+    void setUp() {
+        // 60s windows, 0s grace, z > 3 after 10 baseline samples, baseline half-life of 50 samples
+        TelemetryAnomalyTopology topology = new TelemetryAnomalyTopology(60, 0, 3.0, 10, 50);
+        StreamsBuilder builder = new StreamsBuilder();
+        topology.buildPipeline(builder);
+
+        Properties props = new Properties();
+        props.put(StreamsConfig.APPLICATION_ID_CONFIG, "telemetry-anomaly-test");
+        props.put(StreamsConfig.BOOTSTRAP_SERVERS_CONFIG, "dummy:9092");
+        driver = new TopologyTestDriver(builder.build(), props);
+
+        JsonSerde<TelemetryData> telemetrySerde = new JsonSerde<>(TelemetryData.class);
+        JsonSerde<SatelliteAlert> alertSerde = new JsonSerde<>(SatelliteAlert.class);
+        JsonSerde<TelemetryStatistics> statsSerde = new JsonSerde<>(TelemetryStatistics.class);
+        telemetry = driver.createInputTopic(TelemetryAnomalyTopology.TELEMETRY_TOPIC,
+                Serdes.String().serializer(), telemetrySerde.serializer());
+        alerts = driver.createOutputTopic(TelemetryAnomalyTopology.ALERTS_TOPIC,
+                Serdes.String().deserializer(), alertSerde.deserializer());
+        windows = driver.createOutputTopic(TelemetryAnomalyTopology.WINDOWS_TOPIC,
+                Serdes.String().deserializer(), statsSerde.deserializer());
+    }
+
+    @AfterEach
+    void tearDown() {
+        driver.close();
+    }
+
+    @Test
+    void nominalTelemetryProducesNoAlerts() {
+        for (int i = 0; i < 30; i++) {
+            telemetry.pipeInput("SAT-1", sample("SAT-1", i * 5, 85 + (i % 3), 20 + (i % 2)));
+        }
+        assertTrue(alerts.isEmpty());
+    }
+
+    @Test
+    void deviationFromBaselineRaisesAlert() {
+        for (int i = 0; i < 20; i++) {
+            telemetry.pipeInput("SAT-1", sample("SAT-1", i, 85 + (i % 3), 20 + (i % 2)));
+        }
+        telemetry.pipeInput("SAT-1", sample("SAT-1", 21, 85, 45));
+
+        List<SatelliteAlert> emitted = alerts.readValuesToList();
+        assertEquals(1, emitted.size());
+        SatelliteAlert alert = emitted.get(0);
+        assertEquals("SAT-1", alert.getSatelliteId());
+        assertEquals("STREAM_ANALYTICS", alert.getCategory());
+        assertTrue(alert.getMetadata().containsKey("temperature"));
+    }
+
+    @Test
+    void closedWindowIsSummarizedOnceAndLeavesThresholdsToTheAlertEngine() {
+        for (int i = 0; i < 6; i++) {
+            telemetry.pipeInput("SAT-2", sample("SAT-2", i * 10, 15, 20));
+        }
+        assertTrue(windows.isEmpty(), "window still open");
+
+        // A later record advances stream time past the window end
+        telemetry.pipeInput("SAT-2", sample("SAT-2", 61, 15, 20));
+
+        List<TelemetryStatistics> summaries = windows.readValuesToList();
+        assertEquals(1, summaries.size());
+        assertEquals(6, summaries.get(0).getCount());
+        assertEquals(15.0, summaries.get(0).getBattery().getMean(), 1e-9);
+        assertEquals(T0, summaries.get(0).getWindowStart());
+        assertEquals(T0.plusSeconds(60), summaries.get(0).getWindowEnd());
+        assertTrue(alerts.isEmpty(), "a low battery is raised by AlertEngine, not duplicated here");
+    }
+
+    @Test
+    void baselineFollowsALevelShiftInsteadOfAlertingForever() {
+        for (int i = 0; i < 200; i++) {
+            telemetry.pipeInput("SAT-1", sample("SAT-1", i, 85, 20 + (i % 2 == 0 ? 0.5 : -0.5)));
+        }
+        telemetry.pipeInput("SAT-1", sample("SAT-1", 200, 85, 24));
+        assertEquals(1, alerts.readValuesToList().size(), "the shift itself is an anomaly");
+
+        for (int i = 201; i < 500; i++) {
+            telemetry.pipeInput("SAT-1", sample("SAT-1", i, 85, 24 + (i % 2 == 0 ? 0.5 : -0.5)));
+            if (i == 400) alerts.readValuesToList();
+        }
+        assertTrue(alerts.isEmpty(), "the new level has become the baseline");
+
+        KeyValueStore<String, TelemetryBaseline> store = driver.getKeyValueStore(TelemetryAnomalyTopology.BASELINE_STORE);
+        assertEquals(24.0, store.get("SAT-1").getTemperature().getMean(), 0.2);
+    }
+
+    @Test
+    void baselineIsKeptPerSatellite() {
+        for (int i = 0; i < 5; i++) {
+            telemetry.pipeInput("SAT-A", sample("SAT-A", i, 90, 10));
+            telemetry.pipeInput("SAT-B", sample("SAT-B", i, 50, 30));
+        }
+
+        KeyValueStore<String, TelemetryBaseline> store =
+                driver.getKeyValueStore(TelemetryAnomalyTopology.BASELINE_STORE);
+        assertEquals(5, store.get("SAT-A").getCount());
+        assertEquals(90.0, store.get("SAT-A").getBattery().getMean(), 1e-9);
+        assertEquals(50.0, store.get("SAT-B").getBattery().getMean(), 1e-9);
+    }
+
+    private static TelemetryData sample(String satelliteId, int offsetSeconds, double battery, double temperature) {
+        return TelemetryData.builder()
+                .satelliteId(satelliteId)
+                .timestamp(T0.plusSeconds(offsetSeconds))
+                .batteryLevel(battery)
+                .powerGeneration(250)
+                .fuelLevel(80)
+                .temperature(temperature)
+                .dataRate(2000)
+                .signalStrength(-70)
+                .build();
+    }
+}
@@ -0,0 +1,141 @@
+package com.dsl.simulator.Streaming;
+
+import com.dsl.simulator.Events.SatelliteLifecycleEvent;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class TelemetryFanoutServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    // Scheduler effectively off; flushes are driven by the test. Unlimited rate, 200 ms send limit.
+    private final TelemetryFanoutService fanout = new TelemetryFanoutService(3_600_000, 0, 200, 1 << 20);
+    // Holds blocking sends; released before the send pool is shut down so no send is interrupted
+    private final CountDownLatch unblock = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        unblock.countDown();
+        fanout.shutdown();
+    }
+
+    @Test
+    void pendingUpdatesAreCoalescedPerSatelliteAndTypeAndAlwaysSentAsAnArray() throws Exception {
+        BlockingQueue<String> sent = new LinkedBlockingQueue<>();
+        fanout.register(session("s1", sent, null));
+        fanout.subscribe("s1", List.of("SAT-1"));
+
+        for (int i = 0; i < 5; i++) {
+            fanout.publishTelemetry(frame("SAT-1", 80 + i));
+        }
+        fanout.publish("SAT-1", "position", "p");
+        fanout.publishTelemetry(frame("SAT-2", 50));   // not subscribed
+        fanout.flushAll();
+
+        JsonNode batch = objectMapper.readTree(sent.poll(5, TimeUnit.SECONDS));
+        assertTrue(batch.isArray());
+        assertEquals(2, batch.size());
+        JsonNode telemetry = batch.get(0).get("type").asText().equals("telemetry") ? batch.get(0) : batch.get(1);
+        assertEquals(84.0, telemetry.get("data").get("batteryLevel").asDouble(), "latest value wins");
+        assertEquals(4L, fanout.getStats().get("framesConflated"));
+        assertEquals(2L, awaitSent(2));
+
+        fanout.publishTelemetry(frame("SAT-1", 90));
+        fanout.flushAll();
+        JsonNode single = objectMapper.readTree(sent.poll(5, TimeUnit.SECONDS));
+        assertTrue(single.isArray(), "a single update is still an array");
+        assertEquals(1, single.size());
+    }
+
+    @Test
+    void clientBlockedPastTheSendTimeLimitIsClosedAndDropped() throws Exception {
+        BlockingQueue<String> slowSent = new LinkedBlockingQueue<>();
+        BlockingQueue<String> fastSent = new LinkedBlockingQueue<>();
+        WebSocketSession slow = session("slow", slowSent, unblock);
+        fanout.register(slow);
+        fanout.register(session("fast", fastSent, null));
+        fanout.subscribe("slow", List.of(TelemetryFanoutService.WILDCARD));
+        fanout.subscribe("fast", List.of(TelemetryFanoutService.WILDCARD));
+
+        fanout.publishTelemetry(frame("SAT-1", 80));
+        fanout.flushAll();
+        assertNotNull(slowSent.poll(5, TimeUnit.SECONDS), "slow client's send started");
+        assertNotNull(fastSent.poll(5, TimeUnit.SECONDS));
+
+        Thread.sleep(300);
+        fanout.publishTelemetry(frame("SAT-1", 81));
+        fanout.flushAll();
+
+        verify(slow, timeout(5_000)).close(CloseStatus.SESSION_NOT_RELIABLE);
+        assertEquals(1, fanout.getStats().get("clients"));
+        assertEquals(1L, fanout.getStats().get("clientsDropped"));
+        assertNotNull(fastSent.poll(5, TimeUnit.SECONDS), "other clients keep receiving");
+    }
+
+    @Test
+    void decommissionedSatelliteIsNotSeededToNewSubscribers() throws Exception {
+        fanout.publishTelemetry(frame("SAT-1", 80));
+        fanout.publishTelemetry(frame("SAT-2", 80));
+        fanout.onSatelliteLifecycle(new SatelliteLifecycleEvent("SAT-1",
+                SatelliteLifecycleEvent.LifecycleType.DECOMMISSIONED, Instant.now()));
+
+        BlockingQueue<String> sent = new LinkedBlockingQueue<>();
+        fanout.register(session("s1", sent, null));
+        fanout.subscribe("s1", List.of(TelemetryFanoutService.WILDCARD));
+        fanout.flushAll();
+
+        JsonNode seed = objectMapper.readTree(sent.poll(5, TimeUnit.SECONDS));
+        assertEquals(1, seed.size());
+        assertEquals("SAT-2", seed.get(0).get("satelliteId").asText());
+    }
+
+    private long awaitSent(long expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while ((long) fanout.getStats().get("framesSent") < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        return (long) fanout.getStats().get("framesSent");
+    }
+
+    /** Records every payload; with {@code block} set, each send hangs until it is released (at most ten seconds). */
+    private static WebSocketSession session(String id, BlockingQueue<String> sent, CountDownLatch block) throws Exception {
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn(id);
+        when(session.isOpen()).thenReturn(true);
+        doAnswer(invocation -> {
+            sent.add(((TextMessage) invocation.getArgument(0)).getPayload());
+            if (block != null) {
+                try {
+                    block.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return null;
+        }).when(session).sendMessage(any());
+        return session;
+    }
+
+    private static TelemetryData frame(String satelliteId, double battery) {
+        return TelemetryData.builder()
+                .satelliteId(satelliteId)
+                .timestamp(Instant.parse("2026-01-01T00:00:00Z"))
+                .batteryLevel(battery)
+                .build();
+    }
+}
@@ -0,0 +1,104 @@
+package com.dsl.simulator.Streaming;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TelemetryLogTest {
+
+    private static final Instant T0 = Instant.parse("2025-01-01T00:00:00Z");
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void framesRoundTripThroughCaptureLog() throws Exception {
+        Path file = dir.resolve("roundtrip.tlog");
+        TelemetryData full = TelemetryData.builder()
+                .satelliteId("ISS")
+                .timestamp(T0)
+                .batteryLevel(81.5)
+                .powerGeneration(240)
+                .fuelLevel(66)
+                .temperature(-3.25)
+                .position(new PositionData(1, 2, 3))
+                .velocity(new VelocityData(4, 5, 6))
+                .attitude(new AttitudeData(7, 8, 9))
+                .systemStatus(new SystemStatus(true, false, true, false, true))
+                .dataRate(1500)
+                .signalStrength(-72)
+                .build();
+        TelemetryData sparse = TelemetryData.builder()
+                .satelliteId("HUBBLE")
+                .timestamp(T0.plusSeconds(1))
+                .batteryLevel(50)
+                .build();
+
+        try (TelemetryLogWriter writer = new TelemetryLogWriter(file)) {
+            writer.append(full);
+            writer.append(sparse);
+        }
+
+        try (TelemetryLogReader reader = new TelemetryLogReader(file)) {
+            assertEquals(full, reader.next());
+            assertEquals(sparse, reader.next());
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    void seekUsesIndexToSkipAhead() throws Exception {
+        Path file = dir.resolve("seek.tlog");
+        int frames = TelemetryLogWriter.INDEX_INTERVAL * 4;
+
+        try (TelemetryLogWriter writer = new TelemetryLogWriter(file)) {
+            for (int i = 0; i < frames; i++) {
+                writer.append(TelemetryData.builder()
+                        .satelliteId("SAT-" + (i % 3))
+                        .timestamp(T0.plusSeconds(i))
+                        .batteryLevel(i)
+                        .build());
+            }
+        }
+
+        int target = TelemetryLogWriter.INDEX_INTERVAL * 2 + 10;
+        try (TelemetryLogReader reader = new TelemetryLogReader(file)) {
+            reader.seek(T0.plusSeconds(target));
+            TelemetryData first = reader.next();
+            // Lands on the index entry at or before the target, never after it
+            assertEquals(TelemetryLogWriter.INDEX_INTERVAL * 2, (int) first.getBatteryLevel());
+        }
+    }
+
+    @Test
+    void corruptLengthPrefixEndsTheLogLikeATruncatedTail() throws Exception {
+        for (int badLength : new int[]{Integer.MAX_VALUE, -1, 3, 1000}) {
+            Path file = dir.resolve("corrupt" + badLength + ".tlog");
+            try (TelemetryLogWriter writer = new TelemetryLogWriter(file)) {
+                writer.append(TelemetryData.builder().satelliteId("ISS").timestamp(T0).batteryLevel(80).build());
+            }
+            // A length prefix that is out of range, or larger than what is left of the file
+            try (java.io.DataOutputStream out = new java.io.DataOutputStream(
+                    java.nio.file.Files.newOutputStream(file, java.nio.file.StandardOpenOption.APPEND))) {
+                out.writeInt(badLength);
+                out.write(new byte[100]);
+            }
+
+            try (TelemetryLogReader reader = new TelemetryLogReader(file)) {
+                assertEquals(80, reader.next().getBatteryLevel());
+                assertNull(reader.next(), "length " + badLength);
+            }
+        }
+    }
+
+    @Test
+    void rejectsForeignFiles() throws Exception {
+        Path file = dir.resolve("bogus.tlog");
+        java.nio.file.Files.writeString(file, "not a capture");
+        assertThrows(java.io.IOException.class, () -> new TelemetryLogReader(file));
+    }
+}
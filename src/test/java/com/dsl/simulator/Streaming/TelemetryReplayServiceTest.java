@@ -0,0 +1,96 @@
+package com.dsl.simulator.Streaming;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class TelemetryReplayServiceTest {
+
+    private static final Instant T0 = Instant.parse("2025-01-01T00:00:00Z");
+
+    @TempDir
+    Path dir;
+
+    private final TelemetryFanoutService alertFanout = mock(TelemetryFanoutService.class);
+    @SuppressWarnings("unchecked")
+    private final AlertEngine alerts = new AlertEngine(mock(ObjectProvider.class), alertFanout,
+            300, 5, 6, 60, 20, 25, 60, -20, 5);
+    private final TelemetryHistory history = new TelemetryHistory(64);
+    private final TelemetryFanoutService fanout = new TelemetryFanoutService(3_600_000, 0, 200, 1 << 20);
+
+    @AfterEach
+    void tearDown() {
+        alerts.shutdown();
+        fanout.shutdown();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void replayedFramesRunThroughEverySinkThatOptsInWithoutTouchingLiveState() throws Exception {
+        TelemetryRecorder recorder = new TelemetryRecorder(dir.toString());
+        TelemetryDispatcher dispatcher = new TelemetryDispatcher(List.of(alerts, history, fanout, recorder));
+        TelemetryReplayService replay = new TelemetryReplayService(recorder, dispatcher);
+
+        try (TelemetryLogWriter writer = new TelemetryLogWriter(recorder.resolve("critical"))) {
+            for (int i = 0; i < 20; i++) {
+                writer.append(TelemetryData.builder()
+                        .satelliteId("SAT-1")
+                        .timestamp(T0.plusSeconds(i))
+                        .batteryLevel(5)
+                        .temperature(90)
+                        .build());
+            }
+        }
+
+        Map<String, Object> status;
+        try {
+            long job = replay.startReplay("critical", 0, null);
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (!"COMPLETED".equals(replay.getStatus(job).get("state"))) {
+                assertTrue(System.currentTimeMillis() < deadline, "replay did not finish");
+                Thread.sleep(10);
+            }
+            status = replay.getStatus(job);
+        } finally {
+            replay.shutdown();
+        }
+        assertEquals(20L, status.get("frames"));
+
+        // Every opted-in stage saw every frame; the recorder does not take replays
+        Map<String, Map<String, Object>> stages = (Map<String, Map<String, Object>>) status.get("stages");
+        for (String stage : List.of("alerts", "history", "websocket", "endToEnd")) {
+            assertEquals(20L, stages.get(stage).get("frames"), stage);
+        }
+        assertFalse(stages.containsKey("recorder"));
+
+        // What the sinks would have done: each condition raised once, every frame serialized
+        Map<String, Long> outcomes = (Map<String, Long>) status.get("outcomes");
+        assertEquals(1L, outcomes.get("alerts.CRITICAL"), "battery");
+        assertEquals(1L, outcomes.get("alerts.WARNING"), "temperature");
+        assertEquals(20L, outcomes.get("websocket.frames"));
+
+        // ...and none of it happened live
+        assertEquals(0L, alerts.getStats().get("published"));
+        assertEquals(0L, alerts.getStats().get("activeConditions"));
+        verify(alertFanout, never()).publish(anyString(), anyString(), any());
+        assertEquals(0L, fanout.getStats().get("framesPublished"));
+        assertTrue(history.series("SAT-1").isEmpty());
+        dispatcher.snapshotStages().forEach((stage, snapshot) -> assertEquals(0L, snapshot.count(), stage));
+
+        // The same frames live do raise
+        dispatcher.dispatch(TelemetryData.builder().satelliteId("SAT-1").timestamp(T0).batteryLevel(5).build());
+        assertEquals(1L, alerts.getStats().get("activeConditions"));
+        assertTrue(history.series("SAT-1").isPresent());
+    }
+}